@@ -0,0 +1,189 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.benchmarks;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the valueOf method that EnumGenerator used to generate, which upper-cases the input before switching on it,
+ * with the current one, which switches on the raw input and caches unknown values. Both classes below are copies of
+ * the generated code for the same enum, so the gc profiler shows the allocation per lookup of each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EnumValueOfBenchmark {
+
+    @Param({"RUNNING", "running", "Running", "paused"})
+    private String input;
+
+    private String value;
+
+    @Setup
+    public void setup() {
+        // Copy the input so the lookups cannot rely on the identity of the interned literal
+        value = new String(input.toCharArray());
+    }
+
+    @Benchmark
+    public UpperCasedStatus upperCasedValueOf() {
+        return UpperCasedStatus.valueOf(value);
+    }
+
+    @Benchmark
+    public RawStatus rawValueOf() {
+        return RawStatus.valueOf(value);
+    }
+
+    public static final class UpperCasedStatus {
+
+        public static final UpperCasedStatus RUNNING = new UpperCasedStatus(Value.RUNNING, "RUNNING");
+
+        public static final UpperCasedStatus FAILED = new UpperCasedStatus(Value.FAILED, "FAILED");
+
+        public static final UpperCasedStatus FINISHED = new UpperCasedStatus(Value.FINISHED, "FINISHED");
+
+        private final Value value;
+
+        private final String string;
+
+        UpperCasedStatus(Value value, String string) {
+            this.value = value;
+            this.string = string;
+        }
+
+        public Value getEnumValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return this.string;
+        }
+
+        public static UpperCasedStatus valueOf(String value) {
+            String upperCasedValue = value.toUpperCase(Locale.ROOT);
+            switch (upperCasedValue) {
+                case "RUNNING":
+                    return RUNNING;
+                case "FAILED":
+                    return FAILED;
+                case "FINISHED":
+                    return FINISHED;
+                default:
+                    return new UpperCasedStatus(Value.UNKNOWN, upperCasedValue);
+            }
+        }
+    }
+
+    public static final class RawStatus {
+
+        public static final RawStatus RUNNING = new RawStatus(Value.RUNNING, "RUNNING");
+
+        public static final RawStatus FAILED = new RawStatus(Value.FAILED, "FAILED");
+
+        public static final RawStatus FINISHED = new RawStatus(Value.FINISHED, "FINISHED");
+
+        private static final int MAX_UNKNOWN_VALUES = 256;
+
+        private static final int MAX_UNKNOWN_VALUE_LENGTH = 64;
+
+        private static final ConcurrentMap<String, RawStatus> UNKNOWN_VALUES = new ConcurrentHashMap<>();
+
+        private final Value value;
+
+        private final String string;
+
+        RawStatus(Value value, String string) {
+            this.value = value;
+            this.string = string;
+        }
+
+        public Value getEnumValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return this.string;
+        }
+
+        public static RawStatus valueOf(String value) {
+            switch (value) {
+                case "RUNNING":
+                    return RUNNING;
+                case "FAILED":
+                    return FAILED;
+                case "FINISHED":
+                    return FINISHED;
+                default:
+                    return valueOfIgnoreCase(value);
+            }
+        }
+
+        private static RawStatus valueOfIgnoreCase(String value) {
+            if (value.equalsIgnoreCase("RUNNING")) {
+                return RUNNING;
+            }
+            if (value.equalsIgnoreCase("FAILED")) {
+                return FAILED;
+            }
+            if (value.equalsIgnoreCase("FINISHED")) {
+                return FINISHED;
+            }
+            if (value.length() > MAX_UNKNOWN_VALUE_LENGTH) {
+                return new RawStatus(Value.UNKNOWN, value);
+            }
+            RawStatus unknown = UNKNOWN_VALUES.get(value);
+            if (unknown != null) {
+                return unknown;
+            }
+            unknown = new RawStatus(Value.UNKNOWN, value);
+            if (UNKNOWN_VALUES.size() < MAX_UNKNOWN_VALUES) {
+                RawStatus existing = UNKNOWN_VALUES.putIfAbsent(value, unknown);
+                return existing == null ? unknown : existing;
+            }
+            return unknown;
+        }
+    }
+
+    public enum Value {
+        RUNNING,
+
+        FAILED,
+
+        FINISHED,
+
+        UNKNOWN
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.benchmarks;
+
+import com.fern.java.spring.HandlerMethodUtils;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.method.HandlerMethod;
+
+/**
+ * Compares the endpoint dispatch of generated Spring exception handlers before and after switching on
+ * {@link HandlerMethodUtils#getEndpointKey(HandlerMethod)}. The gc profiler should report no allocation for
+ * {@link #endpointKeySwitch()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ErrorHandlerDispatchBenchmark {
+
+    @Param({"getPost", "deletePost"})
+    private String methodName;
+
+    private HandlerMethod handlerMethod;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        handlerMethod = new HandlerMethod(new PostsController(), methodName, String.class);
+    }
+
+    @Benchmark
+    public int interfaceNamesContains() {
+        if (HandlerMethodUtils.getInterfaceNames(handlerMethod).contains("PostsService")) {
+            if (HandlerMethodUtils.getMethodName(handlerMethod).contains("getPost")) {
+                return 1;
+            } else if (HandlerMethodUtils.getMethodName(handlerMethod).contains("deletePost")) {
+                return 2;
+            }
+        } else if (HandlerMethodUtils.getInterfaceNames(handlerMethod).contains("CommentsService")) {
+            if (HandlerMethodUtils.getMethodName(handlerMethod).contains("getComment")) {
+                return 3;
+            }
+        }
+        return 0;
+    }
+
+    @Benchmark
+    public int endpointKeySwitch() {
+        switch (HandlerMethodUtils.getEndpointKey(handlerMethod)) {
+            case "PostsService.getPost":
+                return 1;
+            case "PostsService.deletePost":
+                return 2;
+            case "CommentsService.getComment":
+                return 3;
+            default:
+                return 0;
+        }
+    }
+
+    public interface PostsService {
+
+        String getPost(String postId);
+
+        String deletePost(String postId);
+    }
+
+    public static final class PostsController implements PostsService {
+
+        @Override
+        public String getPost(String postId) {
+            return postId;
+        }
+
+        @Override
+        public String deletePost(String postId) {
+            return postId;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.benchmarks;
+
+import com.fern.java.exception.HttpException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures throwing and catching a generated error from a given stack depth, with and without the stacklessErrors
+ * option. The two error classes match what ErrorGenerator generates in each mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ErrorThrowBenchmark {
+
+    @Param({"10", "100"})
+    private int stackDepth;
+
+    @Benchmark
+    public String throwError() {
+        try {
+            throwFrom(stackDepth, false);
+            return null;
+        } catch (HttpException e) {
+            return e.getErrorInstanceId();
+        }
+    }
+
+    @Benchmark
+    public String throwStacklessError() {
+        try {
+            throwFrom(stackDepth, true);
+            return null;
+        } catch (HttpException e) {
+            return e.getErrorInstanceId();
+        }
+    }
+
+    private static void throwFrom(int depth, boolean stackless) throws HttpException {
+        if (depth > 0) {
+            throwFrom(depth - 1, stackless);
+            return;
+        }
+        if (stackless) {
+            throw new StacklessNotFoundError("missing");
+        }
+        throw new NotFoundError("missing");
+    }
+
+    public static final class NotFoundError extends HttpException {
+
+        private final String body;
+
+        public NotFoundError(String body) {
+            this.body = body;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        @Override
+        public int getStatusCode() {
+            return 404;
+        }
+    }
+
+    public static final class StacklessNotFoundError extends HttpException {
+
+        private final String body;
+
+        public StacklessNotFoundError(String body) {
+            super(true, false);
+            this.body = body;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        @Override
+        public int getStatusCode() {
+            return 404;
+        }
+    }
+}
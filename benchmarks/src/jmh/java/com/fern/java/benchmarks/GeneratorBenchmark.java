@@ -0,0 +1,119 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.benchmarks;
+
+import com.fern.codegen.GeneratedHttpServiceClient;
+import com.fern.codegen.GeneratedHttpServiceServer;
+import com.fern.codegen.GeneratorContext;
+import com.fern.java.client.cli.IrDeclarations;
+import com.fern.jersey.client.HttpServiceClientGenerator;
+import com.fern.jersey.server.HttpServiceJerseyServerGenerator;
+import com.fern.model.codegen.ModelGenerator;
+import com.fern.model.codegen.ModelGeneratorResult;
+import com.fern.spring.server.HttpServiceSpringServerGenerator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures each code generator separately against the same synthetic IR. The model generator output is computed once
+ * up front so that the client and server benchmarks only measure their own generator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GeneratorBenchmark {
+
+    @Param({"100", "1000"})
+    private int numObjects;
+
+    @Param({"8", "64"})
+    private int numUnionVariants;
+
+    @Param({"10", "100"})
+    private int numEndpointsPerService;
+
+    private IrDeclarations ir;
+    private GeneratorContext generatorContext;
+    private ModelGeneratorResult modelGeneratorResult;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ir = SyntheticIr.create(numObjects, numObjects / 10, numUnionVariants, 10, numEndpointsPerService, 20);
+        generatorContext = SyntheticIr.createGeneratorContext(ir);
+        modelGeneratorResult = generateModels();
+    }
+
+    @Benchmark
+    public ModelGeneratorResult modelGenerator() {
+        return generateModels();
+    }
+
+    @Benchmark
+    public List<GeneratedHttpServiceClient> httpServiceClientGenerator() {
+        return ir.httpServices().stream()
+                .map(httpService -> new HttpServiceClientGenerator(
+                                generatorContext,
+                                modelGeneratorResult.endpointModels().get(httpService),
+                                modelGeneratorResult.errors(),
+                                httpService)
+                        .generate())
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<GeneratedHttpServiceServer> httpServiceJerseyServerGenerator() {
+        return ir.httpServices().stream()
+                .map(httpService -> new HttpServiceJerseyServerGenerator(
+                                generatorContext,
+                                modelGeneratorResult.errors(),
+                                modelGeneratorResult.endpointModels().get(httpService),
+                                httpService)
+                        .generate())
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<GeneratedHttpServiceServer> httpServiceSpringServerGenerator() {
+        return ir.httpServices().stream()
+                .map(httpService -> new HttpServiceSpringServerGenerator(
+                                generatorContext,
+                                modelGeneratorResult.errors(),
+                                modelGeneratorResult.endpointModels().get(httpService),
+                                httpService)
+                        .generate())
+                .collect(Collectors.toList());
+    }
+
+    private ModelGeneratorResult generateModels() {
+        return new ModelGenerator(ir.httpServices(), ir.types(), ir.errors(), generatorContext).generate();
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.benchmarks;
+
+import com.fern.codegen.utils.ObjectMappers;
+import com.fern.java.client.cli.IrDeclarations;
+import com.fern.java.client.cli.IrSectionLoader;
+import com.fern.java.client.cli.IrSnapshots;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Compares loading the JSON IR against loading the equivalent Smile snapshot. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IrLoadBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int numObjects;
+
+    private File jsonIr;
+    private File smileIr;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        IrDeclarations ir = SyntheticIr.create(numObjects);
+        jsonIr = Files.createTempFile("ir", ".json").toFile();
+        smileIr = Files.createTempFile("ir", ".smile").toFile();
+        IrSnapshots.write(ir, jsonIr, ObjectMappers.CLIENT_OBJECT_MAPPER);
+        IrSnapshots.write(ir, smileIr, ObjectMappers.SMILE_OBJECT_MAPPER);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(jsonIr.toPath());
+        Files.deleteIfExists(smileIr.toPath());
+    }
+
+    @Benchmark
+    public IrDeclarations loadJson() {
+        return new IrSectionLoader(ObjectMappers.CLIENT_OBJECT_MAPPER).load(jsonIr);
+    }
+
+    @Benchmark
+    public IrDeclarations loadSmile() {
+        return new IrSectionLoader(ObjectMappers.SMILE_OBJECT_MAPPER).load(smileIr);
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.benchmarks;
+
+import com.fern.codegen.GeneratorContext;
+import com.fern.codegen.GeneratorOptions;
+import com.fern.codegen.IrIndex;
+import com.fern.java.client.cli.IrDeclarations;
+import com.fern.types.ContainerType;
+import com.fern.types.DeclaredTypeName;
+import com.fern.types.ErrorDeclaration;
+import com.fern.types.ErrorName;
+import com.fern.types.FernConstants;
+import com.fern.types.FernFilepath;
+import com.fern.types.HttpErrorConfiguration;
+import com.fern.types.ObjectProperty;
+import com.fern.types.ObjectTypeDeclaration;
+import com.fern.types.PrimitiveType;
+import com.fern.types.SingleUnionType;
+import com.fern.types.Type;
+import com.fern.types.TypeDeclaration;
+import com.fern.types.TypeReference;
+import com.fern.types.UnionTypeDeclaration;
+import com.fern.types.services.Encoding;
+import com.fern.types.services.EndpointId;
+import com.fern.types.services.HttpAuth;
+import com.fern.types.services.HttpEndpoint;
+import com.fern.types.services.HttpMethod;
+import com.fern.types.services.HttpPath;
+import com.fern.types.services.HttpPathPart;
+import com.fern.types.services.HttpRequest;
+import com.fern.types.services.HttpResponse;
+import com.fern.types.services.HttpService;
+import com.fern.types.services.PathParameter;
+import com.fern.types.services.ResponseError;
+import com.fern.types.services.ResponseErrors;
+import com.fern.types.services.ServiceName;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Builds intermediate representations of configurable size for benchmarks: objects, unions whose variants reference
+ * those objects, errors, and services whose endpoints exchange the objects and throw the errors.
+ */
+public final class SyntheticIr {
+
+    public static final String PACKAGE_PREFIX = "com.fern.synthetic";
+
+    public static final FernConstants FERN_CONSTANTS = FernConstants.builder()
+            .errorDiscriminant("_error")
+            .unknownErrorDiscriminantValue("_unknown")
+            .errorInstanceIdKey("_errorInstanceId")
+            .build();
+
+    private static final FernFilepath FERN_FILEPATH = FernFilepath.valueOf(List.of("synthetic"));
+
+    private SyntheticIr() {}
+
+    public static IrDeclarations create(int numObjects) {
+        return create(numObjects, 0, 0, 0, 0, 0);
+    }
+
+    public static IrDeclarations create(
+            int numObjects,
+            int numUnions,
+            int numUnionVariants,
+            int numServices,
+            int numEndpointsPerService,
+            int numErrors) {
+        List<TypeDeclaration> types = new ArrayList<>();
+        for (int i = 0; i < numObjects; i++) {
+            types.add(objectType("Object" + i));
+        }
+        for (int i = 0; i < numUnions; i++) {
+            types.add(unionType("Union" + i, numUnionVariants, numObjects));
+        }
+        List<ErrorDeclaration> errors = new ArrayList<>();
+        for (int i = 0; i < numErrors; i++) {
+            errors.add(error("Error" + i, 400 + (i % 100)));
+        }
+        List<HttpService> httpServices = new ArrayList<>();
+        for (int i = 0; i < numServices; i++) {
+            httpServices.add(httpService("Service" + i, numEndpointsPerService, numObjects, errors));
+        }
+        return IrDeclarations.builder()
+                .constants(FERN_CONSTANTS)
+                .types(types)
+                .errors(errors)
+                .httpServices(httpServices)
+                .build();
+    }
+
+    public static GeneratorContext createGeneratorContext(IrDeclarations ir) {
+        return new GeneratorContext(GeneratorOptions.builder()
+                .irIndex(IrIndex.create(ir.types(), ir.errors(), ir.httpServices()))
+                .fernConstants(ir.constants())
+                .packagePrefix(PACKAGE_PREFIX)
+                .build());
+    }
+
+    private static DeclaredTypeName declaredTypeName(String name) {
+        return DeclaredTypeName.builder().fernFilepath(FERN_FILEPATH).name(name).build();
+    }
+
+    private static TypeReference objectReference(int index, int numObjects) {
+        return numObjects == 0
+                ? TypeReference.primitive(PrimitiveType.STRING)
+                : TypeReference.named(declaredTypeName("Object" + (index % numObjects)));
+    }
+
+    private static TypeDeclaration objectType(String name) {
+        return TypeDeclaration.builder()
+                .name(declaredTypeName(name))
+                .shape(Type._object(ObjectTypeDeclaration.builder()
+                        .addProperties(ObjectProperty.builder()
+                                .key("id")
+                                .valueType(TypeReference.primitive(PrimitiveType.STRING))
+                                .build())
+                        .addProperties(ObjectProperty.builder()
+                                .key("count")
+                                .valueType(TypeReference.primitive(PrimitiveType.INTEGER))
+                                .build())
+                        .addProperties(ObjectProperty.builder()
+                                .key("description")
+                                .valueType(TypeReference.container(
+                                        ContainerType.optional(TypeReference.primitive(PrimitiveType.STRING))))
+                                .build())
+                        .addProperties(ObjectProperty.builder()
+                                .key("tags")
+                                .valueType(TypeReference.container(
+                                        ContainerType.list(TypeReference.primitive(PrimitiveType.STRING))))
+                                .build())
+                        .build()))
+                .build();
+    }
+
+    private static TypeDeclaration unionType(String name, int numVariants, int numObjects) {
+        List<SingleUnionType> variants = new ArrayList<>();
+        for (int i = 0; i < numVariants; i++) {
+            variants.add(SingleUnionType.builder()
+                    .discriminantValue("variant" + i)
+                    .valueType(
+                            i % 2 == 0 ? objectReference(i, numObjects) : TypeReference.primitive(PrimitiveType.LONG))
+                    .build());
+        }
+        return TypeDeclaration.builder()
+                .name(declaredTypeName(name))
+                .shape(Type.union(UnionTypeDeclaration.builder()
+                        .discriminant("type")
+                        .addAllTypes(variants)
+                        .build()))
+                .build();
+    }
+
+    private static ErrorDeclaration error(String name, int statusCode) {
+        return ErrorDeclaration.builder()
+                .name(ErrorName.builder().fernFilepath(FERN_FILEPATH).name(name).build())
+                .type(Type._object(ObjectTypeDeclaration.builder()
+                        .addProperties(ObjectProperty.builder()
+                                .key("message")
+                                .valueType(TypeReference.primitive(PrimitiveType.STRING))
+                                .build())
+                        .build()))
+                .http(HttpErrorConfiguration.builder().statusCode(statusCode).build())
+                .build();
+    }
+
+    private static HttpService httpService(
+            String name, int numEndpoints, int numObjects, List<ErrorDeclaration> errors) {
+        List<HttpEndpoint> endpoints = new ArrayList<>();
+        for (int i = 0; i < numEndpoints; i++) {
+            List<ResponseError> responseErrors = new ArrayList<>();
+            if (!errors.isEmpty()) {
+                ErrorDeclaration error = errors.get(i % errors.size());
+                responseErrors.add(ResponseError.builder()
+                        .discriminantValue(error.name().name())
+                        .error(error.name())
+                        .build());
+            }
+            endpoints.add(HttpEndpoint.builder()
+                    .endpointId(EndpointId.valueOf("endpoint" + i))
+                    .method(i % 2 == 0 ? HttpMethod.GET : HttpMethod.POST)
+                    .path(HttpPath.builder()
+                            .head("/endpoint" + i + "/")
+                            .addParts(HttpPathPart.builder()
+                                    .pathParameter("id")
+                                    .tail("")
+                                    .build())
+                            .build())
+                    .request(HttpRequest.builder()
+                            .encoding(Encoding.json())
+                            .type(i % 2 == 0 ? TypeReference._void() : objectReference(i, numObjects))
+                            .build())
+                    .response(HttpResponse.builder()
+                            .encoding(Encoding.json())
+                            .type(objectReference(i + 1, numObjects))
+                            .build())
+                    .errors(ResponseErrors.valueOf(responseErrors))
+                    .auth(HttpAuth.NONE)
+                    .addPathParameters(PathParameter.builder()
+                            .key("id")
+                            .valueType(TypeReference.primitive(PrimitiveType.STRING))
+                            .build())
+                    .build());
+        }
+        return HttpService.builder()
+                .name(ServiceName.builder().fernFilepath(FERN_FILEPATH).name(name).build())
+                .basePath("/" + name.toLowerCase(Locale.ROOT))
+                .addAllEndpoints(endpoints)
+                .build();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.benchmarks;
+
+import com.fern.codegen.GeneratedError;
+import com.fern.codegen.GeneratedHttpServiceClient;
+import com.fern.codegen.GeneratorContext;
+import com.fern.codegen.IGeneratedFile;
+import com.fern.java.client.cli.CustomPluginConfig.WriteMode;
+import com.fern.java.client.cli.GeneratedFileWriter;
+import com.fern.java.client.cli.IrDeclarations;
+import com.fern.java.client.cli.WriteSummary;
+import com.fern.jersey.client.HttpServiceClientGenerator;
+import com.fern.model.codegen.ModelGenerator;
+import com.fern.model.codegen.ModelGeneratorResult;
+import com.squareup.javapoet.JavaFile;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures rendering and writing the generated model and client files, independent of the generators themselves.
+ * The first invocation populates the output directory, so {@link WriteMode#SKIP_UNCHANGED} measures the steady state
+ * of a regeneration where nothing changed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class WriteBenchmark {
+
+    @Param({"100", "1000"})
+    private int numObjects;
+
+    @Param({"1", "8"})
+    private int numThreads;
+
+    @Param({"OVERWRITE", "SKIP_UNCHANGED"})
+    private WriteMode writeMode;
+
+    private List<JavaFile> javaFiles;
+    private Path outputDirectory;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        IrDeclarations ir = SyntheticIr.create(numObjects, numObjects / 10, 8, 10, 10, 20);
+        GeneratorContext generatorContext = SyntheticIr.createGeneratorContext(ir);
+        ModelGeneratorResult modelGeneratorResult =
+                new ModelGenerator(ir.httpServices(), ir.types(), ir.errors(), generatorContext).generate();
+        List<IGeneratedFile> generatedFiles = new ArrayList<>();
+        generatedFiles.addAll(modelGeneratorResult.aliases());
+        generatedFiles.addAll(modelGeneratorResult.enums());
+        generatedFiles.addAll(modelGeneratorResult.interfaces().values());
+        generatedFiles.addAll(modelGeneratorResult.objects());
+        generatedFiles.addAll(modelGeneratorResult.unions());
+        generatedFiles.addAll(modelGeneratorResult.errors().values());
+        generatedFiles.addAll(modelGeneratorResult.errors().values().stream()
+                .map(GeneratedError::generatedBodyFile)
+                .collect(Collectors.toList()));
+        generatedFiles.addAll(modelGeneratorResult.endpointModelFiles());
+        ir.httpServices().forEach(httpService -> {
+            GeneratedHttpServiceClient generatedHttpServiceClient = new HttpServiceClientGenerator(
+                            generatorContext,
+                            modelGeneratorResult.endpointModels().get(httpService),
+                            modelGeneratorResult.errors(),
+                            httpService)
+                    .generate();
+            generatedFiles.add(generatedHttpServiceClient);
+            generatedHttpServiceClient.generatedErrorDecoder().ifPresent(generatedFiles::add);
+        });
+        javaFiles = generatedFiles.stream().map(IGeneratedFile::file).collect(Collectors.toList());
+        outputDirectory = Files.createTempDirectory("fern-write-benchmark");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(outputDirectory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public WriteSummary write() {
+        GeneratedFileWriter generatedFileWriter = new GeneratedFileWriter(numThreads, writeMode, Optional.empty());
+        javaFiles.forEach(javaFile -> generatedFileWriter.addJavaFile(outputDirectory, javaFile));
+        return generatedFileWriter.write();
+    }
+}
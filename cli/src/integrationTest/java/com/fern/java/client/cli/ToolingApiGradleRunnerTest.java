@@ -0,0 +1,83 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.client.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ToolingApiGradleRunnerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void test_publishToFileRepository() throws IOException {
+        Path projectDirectory = Files.createDirectories(tempDir.resolve("project"));
+        Path repositoryDirectory = tempDir.resolve("repository");
+        Files.write(
+                projectDirectory.resolve("settings.gradle"),
+                "rootProject.name = 'publish-test'\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(
+                projectDirectory.resolve("build.gradle"),
+                getBuildGradle(repositoryDirectory).getBytes(StandardCharsets.UTF_8));
+        Path sourceDirectory = Files.createDirectories(projectDirectory.resolve("src/main/java/com/fern/test"));
+        Files.write(
+                sourceDirectory.resolve("Published.java"),
+                "package com.fern.test;\n\npublic final class Published {}\n".getBytes(StandardCharsets.UTF_8));
+
+        List<String> finishedTasks = new CopyOnWriteArrayList<>();
+        try (ToolingApiGradleRunner runner = new ToolingApiGradleRunner(projectDirectory, finishedTasks::add)) {
+            runner.startWarmUp();
+            runner.run("publish");
+        }
+
+        Path publishedDirectory = repositoryDirectory.resolve("com/fern/test/publish-test/0.0.1");
+        assertThat(publishedDirectory.resolve("publish-test-0.0.1.jar")).isRegularFile();
+        assertThat(publishedDirectory.resolve("publish-test-0.0.1.pom")).isRegularFile();
+        assertThat(finishedTasks).anyMatch(task -> task.contains(":publish"));
+    }
+
+    private static String getBuildGradle(Path repositoryDirectory) {
+        return "plugins {\n"
+                + "    id 'java-library'\n"
+                + "    id 'maven-publish'\n"
+                + "}\n"
+                + "\n"
+                + "group = 'com.fern.test'\n"
+                + "version = '0.0.1'\n"
+                + "\n"
+                + "publishing {\n"
+                + "    publications {\n"
+                + "        maven(MavenPublication) {\n"
+                + "            from components.java\n"
+                + "        }\n"
+                + "    }\n"
+                + "    repositories {\n"
+                + "        maven {\n"
+                + "            url = uri('" + repositoryDirectory.toUri() + "')\n"
+                + "        }\n"
+                + "    }\n"
+                + "}\n";
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.client.cli;
+
+import com.fiddle.generator.logging.types.GeneratorUpdate;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces generator updates submitted within a short window into a single batch, which is sent from a background
+ * thread so that callers never wait on the remote call. Batches are sent in submission order. Closing the sink sends
+ * anything still pending and waits for the background thread to finish.
+ */
+final class BatchingUpdateSink implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchingUpdateSink.class);
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(30);
+
+    private final Consumer<List<GeneratorUpdate>> batchSender;
+    private final Duration window;
+    private final ScheduledThreadPoolExecutor executor;
+    private List<GeneratorUpdate> pendingUpdates = new ArrayList<>();
+    private boolean flushScheduled = false;
+    private boolean closed = false;
+
+    BatchingUpdateSink(Consumer<List<GeneratorUpdate>> batchSender, Duration window) {
+        this.batchSender = batchSender;
+        this.window = window;
+        this.executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+            thread.setName("generator-update-sink");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    void submit(GeneratorUpdate generatorUpdate) {
+        synchronized (this) {
+            if (!closed) {
+                pendingUpdates.add(generatorUpdate);
+                if (!flushScheduled) {
+                    flushScheduled = true;
+                    executor.schedule(this::flush, window.toMillis(), TimeUnit.MILLISECONDS);
+                }
+                return;
+            }
+        }
+        send(List.of(generatorUpdate));
+    }
+
+    /** Sends anything still pending. The background thread is only used if there is something to send. */
+    @Override
+    public void close() {
+        boolean hasPendingUpdates;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            hasPendingUpdates = !pendingUpdates.isEmpty();
+        }
+        if (hasPendingUpdates) {
+            executor.execute(this::flush);
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(CLOSE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Timed out sending pending generator updates");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flush() {
+        List<GeneratorUpdate> batch;
+        synchronized (this) {
+            batch = pendingUpdates;
+            pendingUpdates = new ArrayList<>();
+            flushScheduled = false;
+        }
+        if (!batch.isEmpty()) {
+            send(batch);
+        }
+    }
+
+    private void send(List<GeneratorUpdate> batch) {
+        try {
+            batchSender.accept(batch);
+        } catch (RuntimeException e) {
+            log.warn("Failed to send {} generator updates", batch.size(), e);
+        }
+    }
+}
@@ -15,14 +15,22 @@
  */
 package com.fern.java.client.cli;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fern.codegen.GeneratedAbstractHttpServiceRegistry;
 import com.fern.codegen.GeneratedError;
 import com.fern.codegen.GeneratedFile;
 import com.fern.codegen.GeneratedHttpServiceClient;
 import com.fern.codegen.GeneratedHttpServiceServer;
 import com.fern.codegen.GeneratorContext;
+import com.fern.codegen.GeneratorOptions;
+import com.fern.codegen.IGeneratedFile;
+import com.fern.codegen.IrIndex;
+import com.fern.codegen.utils.ClassNameUtils;
 import com.fern.codegen.utils.ObjectMappers;
+import com.fern.java.client.cli.CustomPluginConfig.PublishBackend;
 import com.fern.java.client.cli.CustomPluginConfig.ServerFramework;
+import com.fern.java.client.cli.CustomPluginConfig.WriteMode;
+import com.fern.jersey.client.ClientObjectMappersGenerator;
 import com.fern.jersey.client.HttpServiceClientGenerator;
 import com.fern.jersey.server.AbstractHttpServiceRegistryGenerator;
 import com.fern.jersey.server.ErrorExceptionMapperGenerator;
@@ -33,9 +41,7 @@ import com.fern.spring.server.DefaultExceptionHandlerGenerator;
 import com.fern.spring.server.ErrorExceptionHandlerGenerator;
 import com.fern.spring.server.HttpServiceSpringServerGenerator;
 import com.fern.types.DeclaredTypeName;
-import com.fern.types.ErrorDeclaration;
 import com.fern.types.ErrorName;
-import com.fern.types.IntermediateRepresentation;
 import com.fern.types.TypeDeclaration;
 import com.fern.types.generators.GeneratorConfig;
 import com.fern.types.generators.GeneratorOutputConfig;
@@ -46,25 +52,32 @@ import com.fiddle.generator.logging.types.ExitStatusUpdate;
 import com.fiddle.generator.logging.types.GeneratorUpdate;
 import com.fiddle.generator.logging.types.InitUpdate;
 import com.fiddle.generator.logging.types.PackageCoordinate;
-import com.squareup.javapoet.JavaFile;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public final class ClientGeneratorCli {
 
-    private static final String SRC_MAIN_JAVA = "src/main/java";
-    private static final String BUILD_GRADLE = "build.gradle";
+    private static final Logger log = LoggerFactory.getLogger(ClientGeneratorCli.class);
+
+    private static final int WRITER_THREADS = Math.min(Runtime.getRuntime().availableProcessors(), 8);
 
     private ClientGeneratorCli() {}
 
@@ -72,6 +85,8 @@ public final class ClientGeneratorCli {
         String pluginPath = args[0];
         GeneratorConfig generatorConfig = getGeneratorConfig(pluginPath);
         GeneratorLoggingClientWrapper loggingClient = new GeneratorLoggingClientWrapper(generatorConfig);
+        PhaseMetricsRecorder metricsRecorder = new PhaseMetricsRecorder(loggingClient::sendPhaseMetrics);
+        Optional<ToolingApiGradleRunner> gradleRunner = Optional.empty();
 
         try {
             FernPluginConfig fernPluginConfig = FernPluginConfig.create(generatorConfig, "0.0.82");
@@ -81,24 +96,47 @@ public final class ClientGeneratorCli {
                     .build()));
 
             createOutputDirectory(fernPluginConfig.generatorConfig().output());
-            startGradleDaemon(fernPluginConfig);
-
-            IntermediateRepresentation ir = getIr(fernPluginConfig.generatorConfig());
-            generate(ir, fernPluginConfig);
-
-            for (PackageCoordinate packageCoordinate : fernPluginConfig.getPackageCoordinates()) {
-                loggingClient.sendUpdate(GeneratorUpdate.publishing(packageCoordinate));
-            }
-            publish(fernPluginConfig);
-
-            for (PackageCoordinate packageCoordinate : fernPluginConfig.getPackageCoordinates()) {
-                loggingClient.sendUpdate(GeneratorUpdate.published(packageCoordinate));
-            }
+            IrDeclarations loadedIr = metricsRecorder.record("loadIr", () -> getIr(fernPluginConfig));
+            IrIndex loadedIrIndex = IrIndex.create(loadedIr.types(), loadedIr.errors(), loadedIr.httpServices());
+            boolean pruneTypes = fernPluginConfig.customPluginConfig().isPruneUnreachableTypes();
+            IrIndex irIndex = pruneTypes
+                    ? metricsRecorder.record("pruneTypes", loadedIrIndex::withoutUnreachableTypes)
+                    : loadedIrIndex;
+            IrDeclarations ir = pruneTypes ? getReachableIr(loadedIr, irIndex, loggingClient) : loadedIr;
+            // The build files list the model shards, so they are computed before the daemon reads the build files
+            Optional<ModelShards> modelShards = fernPluginConfig
+                    .customPluginConfig()
+                    .getModelShardDepth()
+                    .map(depth -> ModelShards.create(fernPluginConfig.getModelProjectName(), depth, irIndex));
+
+            gradleRunner = metricsRecorder.record(
+                    "startGradleDaemon", () -> startGradleDaemon(fernPluginConfig, modelShards, loggingClient));
+            Optional<ToolingApiGradleRunner> warmGradleRunner = gradleRunner;
+            generate(ir, irIndex, modelShards, fernPluginConfig, metricsRecorder);
+
+            loggingClient.sendUpdates(packageCoordinates.stream()
+                    .map(GeneratorUpdate::publishing)
+                    .collect(Collectors.toList()));
+            metricsRecorder.record("publish", () -> publish(fernPluginConfig, warmGradleRunner));
+
+            loggingClient.sendUpdates(packageCoordinates.stream()
+                    .map(GeneratorUpdate::published)
+                    .collect(Collectors.toList()));
 
             loggingClient.sendUpdate(GeneratorUpdate.exitStatusUpdate(ExitStatusUpdate.successful()));
         } catch (Exception e) {
             loggingClient.sendUpdate(GeneratorUpdate.exitStatusUpdate(ExitStatusUpdate.error(
                     ErrorExitStatusUpdate.builder().message(e.getMessage()).build())));
+        } finally {
+            gradleRunner.ifPresent(ToolingApiGradleRunner::close);
+            if (!loggingClient.isRemote()) {
+                try {
+                    metricsRecorder.writeReport(Paths.get(generatorConfig.output().path()));
+                } catch (RuntimeException e) {
+                    log.warn("Failed to write generator metrics report", e);
+                }
+            }
+            loggingClient.close();
         }
     }
 
@@ -121,80 +159,247 @@ public final class ClientGeneratorCli {
         }
     }
 
-    private static IntermediateRepresentation getIr(GeneratorConfig generatorConfig) {
-        try {
-            return ObjectMappers.CLIENT_OBJECT_MAPPER.readValue(
-                    new File(generatorConfig.irFilepath()), IntermediateRepresentation.class);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to read ir", e);
-        }
+    private static IrDeclarations getIr(FernPluginConfig fernPluginConfig) {
+        File irFile = new File(fernPluginConfig.generatorConfig().irFilepath());
+        return fernPluginConfig
+                .customPluginConfig()
+                .irSnapshot()
+                .map(irSnapshot -> IrSnapshots.loadCached(irFile, new File(irSnapshot)))
+                .orElseGet(() -> IrSnapshots.load(irFile));
     }
 
-    private static void generate(IntermediateRepresentation ir, FernPluginConfig fernPluginConfig) {
-        ImmutableCodeGenerationResult.Builder resultBuilder = CodeGenerationResult.builder();
-        Map<DeclaredTypeName, TypeDeclaration> typeDefinitionsByName =
-                ir.types().stream().collect(Collectors.toUnmodifiableMap(TypeDeclaration::name, Function.identity()));
-        Map<ErrorName, ErrorDeclaration> errorDefinitionsByName =
-                ir.errors().stream().collect(Collectors.toUnmodifiableMap(ErrorDeclaration::name, Function.identity()));
-        GeneratorContext generatorContext = new GeneratorContext(
-                fernPluginConfig.customPluginConfig().packagePrefix(),
-                typeDefinitionsByName,
-                errorDefinitionsByName,
-                ir.constants());
+    /** The declarations of the IR that are left in an index without unreachable types, in declaration order. */
+    private static IrDeclarations getReachableIr(
+            IrDeclarations ir, IrIndex reachableIrIndex, GeneratorLoggingClientWrapper loggingClient) {
+        Map<DeclaredTypeName, TypeDeclaration> reachableTypes = reachableIrIndex.getTypeDeclarationsByName();
+        List<TypeDeclaration> reachableTypeDeclarations = ir.types().stream()
+                .filter(typeDeclaration -> reachableTypes.containsKey(typeDeclaration.name()))
+                .collect(Collectors.toList());
+        int numPrunedTypes = ir.types().size() - reachableTypeDeclarations.size();
+        log.info(
+                "Pruned {} of {} types that are not reachable from any endpoint or error",
+                numPrunedTypes,
+                ir.types().size());
+        loggingClient.sendLog("Pruned " + numPrunedTypes + " of " + ir.types().size()
+                + " types that are not reachable from any endpoint or error");
+        return IrDeclarations.builder()
+                .constants(ir.constants())
+                .types(reachableTypeDeclarations)
+                .errors(ir.errors())
+                .httpServices(ir.httpServices())
+                .build();
+    }
 
-        ModelGeneratorResult modelGeneratorResult = addModelFiles(ir, generatorContext, resultBuilder);
+    private static void generate(
+            IrDeclarations ir,
+            IrIndex irIndex,
+            Optional<ModelShards> modelShards,
+            FernPluginConfig fernPluginConfig,
+            PhaseMetricsRecorder metricsRecorder) {
+        GeneratorContext generatorContext = new GeneratorContext(GeneratorOptions.builder()
+                .irIndex(irIndex)
+                .fernConstants(ir.constants())
+                .packagePrefix(fernPluginConfig.customPluginConfig().packagePrefix())
+                .immutablesMode(fernPluginConfig.customPluginConfig().getImmutablesMode())
+                .jacksonCodecs(fernPluginConfig.customPluginConfig().isJacksonCodecs())
+                .stacklessErrors(fernPluginConfig.customPluginConfig().isStacklessErrors())
+                .build());
+        Optional<IncrementalCache> incrementalCache = Optional.empty();
+        Map<DeclaredTypeName, String> typeFingerprints = Collections.emptyMap();
+        Set<DeclaredTypeName> upToDateTypes = Collections.emptySet();
+        if (fernPluginConfig.customPluginConfig().isIncremental()) {
+            String cacheSalt = getCacheSalt(ir, fernPluginConfig, modelShards);
+            IncrementalCache cache = IncrementalCache.load(
+                    Paths.get(fernPluginConfig.generatorConfig().output().path()), cacheSalt);
+            DeclarationFingerprints declarationFingerprints =
+                    new DeclarationFingerprints(cacheSalt, irIndex);
+            typeFingerprints = ir.types().stream()
+                    .collect(Collectors.toMap(
+                            TypeDeclaration::name, declarationFingerprints::getTypeFingerprint));
+            upToDateTypes = typeFingerprints.entrySet().stream()
+                    .filter(entry -> cache.isUpToDate(
+                            DeclarationFingerprints.getTypeKey(entry.getKey()), entry.getValue()))
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toSet());
+            incrementalCache = Optional.of(cache);
+        }
+
+        GeneratedFileWriter generatedFileWriter = new GeneratedFileWriter(
+                WRITER_THREADS,
+                fernPluginConfig.customPluginConfig().getWriteMode(),
+                incrementalCache.map(IncrementalCache::getPreviousContentHashes),
+                fernPluginConfig.customPluginConfig().getPipelineCapacity());
+        GeneratedProjectWriter projectWriter =
+                new GeneratedProjectWriter(fernPluginConfig, generatedFileWriter, modelShards);
+
+        Optional<ExecutorService> generatorExecutor = createGeneratorExecutor(fernPluginConfig);
+        Set<DeclaredTypeName> typesToSkip = upToDateTypes;
+        ModelGeneratorResult modelGeneratorResult;
+        try {
+            modelGeneratorResult = metricsRecorder.record(
+                    "generateModels",
+                    () -> addModelFiles(
+                            ir,
+                            generatorContext,
+                            generatorExecutor,
+                            typeDeclaration -> !typesToSkip.contains(typeDeclaration.name()),
+                            projectWriter),
+                    result -> getModelFiles(result).size());
+        } finally {
+            generatorExecutor.ifPresent(ExecutorService::shutdown);
+        }
+        if (incrementalCache.isPresent()) {
+            for (Map.Entry<DeclaredTypeName, IGeneratedFile> typeFile :
+                    modelGeneratorResult.typeFiles().entrySet()) {
+                incrementalCache
+                        .get()
+                        .recordDeclaration(
+                                DeclarationFingerprints.getTypeKey(typeFile.getKey()),
+                                typeFingerprints.get(typeFile.getKey()),
+                                GeneratedFileWriter.getJavaFilePath(
+                                        projectWriter.getModelSourceDirectory(typeFile.getKey().fernFilepath()),
+                                        typeFile.getValue().file()));
+            }
+        }
         switch (fernPluginConfig.customPluginConfig().mode()) {
             case MODEL:
                 break;
             case CLIENT:
-                addClientFiles(ir, generatorContext, modelGeneratorResult, resultBuilder);
+                addClientFiles(ir, generatorContext, modelGeneratorResult, metricsRecorder, projectWriter);
                 break;
             case SERVER:
-                addServerFiles(fernPluginConfig, ir, generatorContext, modelGeneratorResult, resultBuilder);
+                addServerFiles(
+                        fernPluginConfig, ir, generatorContext, modelGeneratorResult, metricsRecorder, projectWriter);
                 break;
             case CLIENT_AND_SERVER:
-                addClientFiles(ir, generatorContext, modelGeneratorResult, resultBuilder);
-                addServerFiles(fernPluginConfig, ir, generatorContext, modelGeneratorResult, resultBuilder);
+                addClientFiles(ir, generatorContext, modelGeneratorResult, metricsRecorder, projectWriter);
+                addServerFiles(
+                        fernPluginConfig, ir, generatorContext, modelGeneratorResult, metricsRecorder, projectWriter);
                 break;
         }
-        CodeGenerationResult codeGenerationResult = resultBuilder.build();
-        writeToFiles(codeGenerationResult, fernPluginConfig);
+        Optional<IncrementalCache> cacheToSave = incrementalCache;
+        metricsRecorder.record(
+                "writeFiles",
+                () -> {
+                    WriteSummary writeSummary = projectWriter.write();
+                    cacheToSave.ifPresent(cache -> cache.save(generatedFileWriter.getContentHashes()));
+                    return writeSummary;
+                },
+                writeSummary -> writeSummary.filesWritten() + writeSummary.filesUnchanged());
+        ClassNameUtils classNameUtils = generatorContext.getClassNameUtils();
+        log.info(
+                "Class name cache: {}, type name cache: {}",
+                classNameUtils.getClassNameCacheStats(),
+                classNameUtils.getTypeNameCacheStats());
+    }
+
+    private static String getCacheSalt(
+            IrDeclarations ir, FernPluginConfig fernPluginConfig, Optional<ModelShards> modelShards) {
+        CustomPluginConfig customPluginConfig = fernPluginConfig.customPluginConfig();
+        List<Object> saltInputs = List.of(
+                fernPluginConfig.version(),
+                fernPluginConfig.generatorConfig().workspaceName(),
+                customPluginConfig.packagePrefix().orElse(""),
+                customPluginConfig.mode().name(),
+                customPluginConfig.getServerFrameworkEnums().toString(),
+                customPluginConfig.getImmutablesMode().name(),
+                customPluginConfig.isJacksonCodecs(),
+                customPluginConfig.isStacklessErrors(),
+                modelShards.map(ModelShards::getShardNamesByPath).orElseGet(Map::of),
+                ir.constants());
+        try {
+            return ContentHashes.sha256(ObjectMappers.CLIENT_OBJECT_MAPPER.writeValueAsBytes(saltInputs));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to compute generator cache salt", e);
+        }
+    }
+
+    private static Optional<ExecutorService> createGeneratorExecutor(FernPluginConfig fernPluginConfig) {
+        int parallelism = fernPluginConfig.customPluginConfig().getParallelism();
+        if (parallelism <= 1) {
+            return Optional.empty();
+        }
+        return Optional.of(new ForkJoinPool(parallelism));
     }
 
-    private static void publish(FernPluginConfig fernPluginConfig) {
+    private static void publish(FernPluginConfig fernPluginConfig, Optional<ToolingApiGradleRunner> gradleRunner) {
         String outputDirectory = fernPluginConfig.generatorConfig().output().path();
-        if (fernPluginConfig.generatorConfig().publish().isPresent()) {
-            runCommandBlocking(
-                    new String[] {"gradle", "--parallel", "--no-daemon", "publish"}, Paths.get(outputDirectory));
+        if (fernPluginConfig.generatorConfig().publish().isEmpty()) {
+            return;
+        }
+        switch (fernPluginConfig.customPluginConfig().getPublishBackend()) {
+            case GRADLE_CLI:
+                runCommandBlocking(
+                        new String[] {"gradle", "--parallel", "--no-daemon", "publish"}, Paths.get(outputDirectory));
+                break;
+            case TOOLING_API:
+                gradleRunner
+                        .orElseThrow(() -> new IllegalStateException("Gradle daemon was not started"))
+                        .run("publish");
+                break;
         }
     }
 
     private static ModelGeneratorResult addModelFiles(
-            IntermediateRepresentation ir,
+            IrDeclarations ir,
             GeneratorContext generatorContext,
-            ImmutableCodeGenerationResult.Builder resultBuilder) {
-        ModelGenerator modelGenerator =
-                new ModelGenerator(ir.services().http(), ir.types(), ir.errors(), generatorContext);
+            Optional<ExecutorService> generatorExecutor,
+            Predicate<TypeDeclaration> typeFilter,
+            GeneratedProjectWriter projectWriter) {
+        ModelGenerator modelGenerator = new ModelGenerator(
+                ir.httpServices(), ir.types(), ir.errors(), generatorContext, generatorExecutor, typeFilter);
         ModelGeneratorResult modelGeneratorResult = modelGenerator.generate();
-        resultBuilder.addAllModelFiles(modelGeneratorResult.aliases());
-        resultBuilder.addAllModelFiles(modelGeneratorResult.enums());
-        resultBuilder.addAllModelFiles(modelGeneratorResult.interfaces().values());
-        resultBuilder.addAllModelFiles(modelGeneratorResult.objects());
-        resultBuilder.addAllModelFiles(modelGeneratorResult.unions());
-        resultBuilder.addAllModelFiles(modelGeneratorResult.errors().values());
-        resultBuilder.addAllModelFiles(modelGeneratorResult.errors().values().stream()
+        modelGeneratorResult.interfaces().forEach((declaredTypeName, generatedInterface) -> {
+            projectWriter.addModelFile(declaredTypeName.fernFilepath(), generatedInterface);
+        });
+        modelGeneratorResult.typeFiles().forEach((declaredTypeName, typeFile) -> {
+            projectWriter.addModelFile(declaredTypeName.fernFilepath(), typeFile);
+        });
+        modelGeneratorResult.errors().forEach((errorName, generatedError) -> {
+            projectWriter.addModelFile(errorName.fernFilepath(), generatedError);
+            projectWriter.addModelFile(errorName.fernFilepath(), generatedError.generatedBodyFile());
+        });
+        modelGeneratorResult.endpointModels().forEach((httpService, generatedEndpointModels) -> {
+            generatedEndpointModels.values().forEach(generatedEndpointModel -> generatedEndpointModel
+                    .errorFile()
+                    .ifPresent(errorFile -> projectWriter.addModelFile(httpService.name().fernFilepath(), errorFile)));
+        });
+        modelGeneratorResult.jacksonModule().ifPresent(projectWriter::addJacksonModule);
+        return modelGeneratorResult;
+    }
+
+    private static List<IGeneratedFile> getModelFiles(ModelGeneratorResult modelGeneratorResult) {
+        List<IGeneratedFile> modelFiles = new ArrayList<>();
+        modelFiles.addAll(modelGeneratorResult.aliases());
+        modelFiles.addAll(modelGeneratorResult.enums());
+        modelFiles.addAll(modelGeneratorResult.interfaces().values());
+        modelFiles.addAll(modelGeneratorResult.objects());
+        modelFiles.addAll(modelGeneratorResult.unions());
+        modelFiles.addAll(modelGeneratorResult.errors().values());
+        modelFiles.addAll(modelGeneratorResult.errors().values().stream()
                 .map(GeneratedError::generatedBodyFile)
                 .collect(Collectors.toList()));
-        resultBuilder.addAllModelFiles(modelGeneratorResult.endpointModelFiles());
-        return modelGeneratorResult;
+        modelFiles.addAll(modelGeneratorResult.endpointModelFiles());
+        return modelFiles;
     }
 
     private static void addClientFiles(
-            IntermediateRepresentation ir,
+            IrDeclarations ir,
             GeneratorContext generatorContext,
             ModelGeneratorResult modelGeneratorResult,
-            ImmutableCodeGenerationResult.Builder resultBuilder) {
-        List<GeneratedHttpServiceClient> generatedHttpServiceClients = ir.services().http().stream()
+            PhaseMetricsRecorder metricsRecorder,
+            GeneratedProjectWriter projectWriter) {
+        List<IGeneratedFile> clientFiles = metricsRecorder.record(
+                "generateClient",
+                () -> getClientFiles(ir, generatorContext, modelGeneratorResult),
+                List::size);
+        clientFiles.forEach(projectWriter::addClientFile);
+    }
+
+    private static List<IGeneratedFile> getClientFiles(
+            IrDeclarations ir, GeneratorContext generatorContext, ModelGeneratorResult modelGeneratorResult) {
+        List<IGeneratedFile> clientFiles = new ArrayList<>();
+        List<GeneratedHttpServiceClient> generatedHttpServiceClients = ir.httpServices().stream()
                 .map(httpService -> {
                     HttpServiceClientGenerator httpServiceClientGenerator = new HttpServiceClientGenerator(
                             generatorContext,
@@ -205,41 +410,52 @@ public final class ClientGeneratorCli {
                 })
                 .collect(Collectors.toList());
         for (GeneratedHttpServiceClient generatedHttpServiceClient : generatedHttpServiceClients) {
-            resultBuilder.addClientFiles(generatedHttpServiceClient);
-            generatedHttpServiceClient.generatedErrorDecoder().ifPresent(resultBuilder::addClientFiles);
+            clientFiles.add(generatedHttpServiceClient);
+            generatedHttpServiceClient.generatedErrorDecoder().ifPresent(clientFiles::add);
         }
+        if (generatorContext.hasJacksonCodecs()) {
+            clientFiles.add(new ClientObjectMappersGenerator(generatorContext).generate());
+        }
+        return clientFiles;
     }
 
     private static void addServerFiles(
             FernPluginConfig fernPluginConfig,
-            IntermediateRepresentation ir,
+            IrDeclarations ir,
             GeneratorContext generatorContext,
             ModelGeneratorResult modelGeneratorResult,
-            ImmutableCodeGenerationResult.Builder resultBuilder) {
+            PhaseMetricsRecorder metricsRecorder,
+            GeneratedProjectWriter projectWriter) {
         if (fernPluginConfig.customPluginConfig().getServerFrameworkEnums().contains(ServerFramework.JERSEY)) {
-            addJerseyServerFiles(ir, generatorContext, modelGeneratorResult, resultBuilder);
+            metricsRecorder
+                    .record(
+                            "generateJerseyServer",
+                            () -> getJerseyServerFiles(ir, generatorContext, modelGeneratorResult),
+                            List::size)
+                    .forEach(serverFile -> projectWriter.addServerFile(ServerFramework.JERSEY, serverFile));
         }
         if (fernPluginConfig.customPluginConfig().getServerFrameworkEnums().contains(ServerFramework.SPRING)) {
-            addSpringServerFiles(ir, generatorContext, modelGeneratorResult, resultBuilder);
+            metricsRecorder
+                    .record(
+                            "generateSpringServer",
+                            () -> getSpringServerFiles(ir, generatorContext, modelGeneratorResult),
+                            List::size)
+                    .forEach(serverFile -> projectWriter.addServerFile(ServerFramework.SPRING, serverFile));
         }
     }
 
-    private static void addJerseyServerFiles(
-            IntermediateRepresentation ir,
-            GeneratorContext generatorContext,
-            ModelGeneratorResult modelGeneratorResult,
-            ImmutableCodeGenerationResult.Builder resultBuilder) {
+    private static List<IGeneratedFile> getJerseyServerFiles(
+            IrDeclarations ir, GeneratorContext generatorContext, ModelGeneratorResult modelGeneratorResult) {
+        List<IGeneratedFile> serverFiles = new ArrayList<>();
         Map<HttpService, GeneratedHttpServiceServer> generatedHttpServiceServers = new LinkedHashMap<>();
-        Map<ErrorName, Map<HttpService, List<HttpEndpoint>>> errorMap = new LinkedHashMap<>();
-        ir.services().http().forEach(httpService -> {
-            httpService.endpoints().forEach(httpEndpoint -> {
-                buildErrorMap(httpService, httpEndpoint, errorMap);
-            });
+        Map<ErrorName, Map<HttpService, List<HttpEndpoint>>> errorMap =
+                generatorContext.getIrIndex().getEndpointsByError();
+        ir.httpServices().forEach(httpService -> {
             GeneratedHttpServiceServer generatedHttpServiceServer =
                     generateJerseyHttpServiceServer(httpService, generatorContext, modelGeneratorResult);
             generatedHttpServiceServers.put(httpService, generatedHttpServiceServer);
         });
-        resultBuilder.addAllJerseyServerFiles(generatedHttpServiceServers.values());
+        serverFiles.addAll(generatedHttpServiceServers.values());
 
         List<GeneratedFile> generatedExceptionMappers = errorMap.keySet().stream()
                 .map(errorName -> {
@@ -252,33 +468,30 @@ public final class ClientGeneratorCli {
                     return errorExceptionMapperGenerator.generate();
                 })
                 .collect(Collectors.toList());
-        resultBuilder.addAllJerseyServerFiles(generatedExceptionMappers);
+        serverFiles.addAll(generatedExceptionMappers);
 
         GeneratedAbstractHttpServiceRegistry abstractServiceRegistry = new AbstractHttpServiceRegistryGenerator(
                         generatorContext,
                         new ArrayList<>(generatedHttpServiceServers.values()),
                         generatedExceptionMappers)
                 .generate();
-        resultBuilder.addJerseyServerFiles(abstractServiceRegistry);
-        resultBuilder.addJerseyServerFiles(abstractServiceRegistry.defaultExceptionMapper());
+        serverFiles.add(abstractServiceRegistry);
+        serverFiles.add(abstractServiceRegistry.defaultExceptionMapper());
+        return serverFiles;
     }
 
-    private static void addSpringServerFiles(
-            IntermediateRepresentation ir,
-            GeneratorContext generatorContext,
-            ModelGeneratorResult modelGeneratorResult,
-            ImmutableCodeGenerationResult.Builder resultBuilder) {
+    private static List<IGeneratedFile> getSpringServerFiles(
+            IrDeclarations ir, GeneratorContext generatorContext, ModelGeneratorResult modelGeneratorResult) {
+        List<IGeneratedFile> serverFiles = new ArrayList<>();
         Map<HttpService, GeneratedHttpServiceServer> generatedHttpServiceServers = new LinkedHashMap<>();
-        Map<ErrorName, Map<HttpService, List<HttpEndpoint>>> errorMap = new LinkedHashMap<>();
-        ir.services().http().forEach(httpService -> {
-            httpService.endpoints().forEach(httpEndpoint -> {
-                buildErrorMap(httpService, httpEndpoint, errorMap);
-            });
+        Map<ErrorName, Map<HttpService, List<HttpEndpoint>>> errorMap =
+                generatorContext.getIrIndex().getEndpointsByError();
+        ir.httpServices().forEach(httpService -> {
             GeneratedHttpServiceServer generatedHttpServiceServer =
                     generateSpringHttpServiceServer(httpService, generatorContext, modelGeneratorResult);
             generatedHttpServiceServers.put(httpService, generatedHttpServiceServer);
         });
-        resultBuilder.addAllSpringServerFiles(generatedHttpServiceServers.values());
+        serverFiles.addAll(generatedHttpServiceServers.values());
 
         List<GeneratedFile> generatedExceptionHandlers = errorMap.keySet().stream()
                 .map(errorName -> {
@@ -291,9 +504,10 @@ public final class ClientGeneratorCli {
                     return errorExceptionHandlerGenerator.generate();
                 })
                 .collect(Collectors.toList());
-        resultBuilder.addAllSpringServerFiles(generatedExceptionHandlers);
+        serverFiles.addAll(generatedExceptionHandlers);
 
-        resultBuilder.addSpringServerFiles(new DefaultExceptionHandlerGenerator(generatorContext).generate());
+        serverFiles.add(new DefaultExceptionHandlerGenerator(generatorContext).generate());
+        return serverFiles;
     }
 
     private static GeneratedHttpServiceServer generateSpringHttpServiceServer(
@@ -316,91 +530,46 @@ public final class ClientGeneratorCli {
         return httpServiceJerseyServerGenerator.generate();
     }
 
-    private static void buildErrorMap(
-            HttpService httpService,
-            HttpEndpoint httpEndpoint,
-            Map<ErrorName, Map<HttpService, List<HttpEndpoint>>> errorMap) {
-        httpEndpoint.errors().value().forEach(responseError -> {
-            ErrorName errorName = responseError.error();
-            Map<HttpService, List<HttpEndpoint>> containingEndpoints;
-            if (errorMap.containsKey(errorName)) {
-                containingEndpoints = errorMap.get(errorName);
-            } else {
-                containingEndpoints = new HashMap<>();
-                errorMap.put(errorName, containingEndpoints);
-            }
-
-            if (containingEndpoints.containsKey(httpService)) {
-                containingEndpoints.get(httpService).add(httpEndpoint);
-            } else {
-                List<HttpEndpoint> httpEndpoints = new ArrayList<>();
-                httpEndpoints.add(httpEndpoint);
-                containingEndpoints.put(httpService, httpEndpoints);
-            }
-        });
-    }
-
-    private static synchronized void startGradleDaemon(FernPluginConfig fernPluginConfig) {
+    private static void writeProjectBuildFiles(FernPluginConfig fernPluginConfig, Optional<ModelShards> modelShards) {
         String outputDirectory = fernPluginConfig.generatorConfig().output().path();
-
+        WriteMode writeMode = fernPluginConfig.customPluginConfig().getWriteMode();
         writeFileContents(
                 Paths.get(outputDirectory, "settings.gradle"),
-                CodeGenerationResult.getSettingsDotGradle(fernPluginConfig));
-        if (fernPluginConfig.generatorConfig().publish().isPresent()) {
-            writeFileContents(
-                    Paths.get(outputDirectory, "build.gradle"),
-                    CodeGenerationResult.getBuildDotGradle(
-                            fernPluginConfig.generatorConfig().publish().get()));
-        }
+                CodeGenerationResult.getSettingsDotGradle(fernPluginConfig, modelShards),
+                writeMode);
+        CodeGenerationResult.getSubprojectBuildGradles(fernPluginConfig, modelShards)
+                .forEach((subprojectName, buildGradle) -> writeFileContents(
+                        Paths.get(outputDirectory, subprojectName, "build.gradle"), buildGradle, writeMode));
     }
 
-    private static synchronized void writeToFiles(
-            CodeGenerationResult codeGenerationResult, FernPluginConfig fernPluginConfig) {
+    /**
+     * Writes the gradle build files of the generated projects, including the model shards. When publishing through the
+     * tooling API, a gradle daemon is also started in the background to configure the build and resolve dependencies
+     * while code is generated, and returned for reuse by {@link #publish}.
+     */
+    private static synchronized Optional<ToolingApiGradleRunner> startGradleDaemon(
+            FernPluginConfig fernPluginConfig,
+            Optional<ModelShards> modelShards,
+            GeneratorLoggingClientWrapper loggingClient) {
         String outputDirectory = fernPluginConfig.generatorConfig().output().path();
 
-        if (!codeGenerationResult.modelFiles().isEmpty()) {
-            String modelDirectory = fernPluginConfig.getModelProjectName();
-            codeGenerationResult
-                    .modelFiles()
-                    .forEach(modelFile ->
-                            writeFile(Paths.get(outputDirectory, modelDirectory, SRC_MAIN_JAVA), modelFile.file()));
-            writeFileContents(
-                    Paths.get(outputDirectory, modelDirectory, BUILD_GRADLE),
-                    CodeGenerationResult.getModelBuildGradle(fernPluginConfig));
-        }
-
-        if (!codeGenerationResult.clientFiles().isEmpty()) {
-            String clientDirectory = fernPluginConfig.getClientProjectName();
-            codeGenerationResult
-                    .clientFiles()
-                    .forEach(clientFile ->
-                            writeFile(Paths.get(outputDirectory, clientDirectory, SRC_MAIN_JAVA), clientFile.file()));
-            writeFileContents(
-                    Paths.get(outputDirectory, clientDirectory, BUILD_GRADLE),
-                    CodeGenerationResult.getClientBuildGradle(fernPluginConfig));
+        WriteMode writeMode = fernPluginConfig.customPluginConfig().getWriteMode();
+        writeProjectBuildFiles(fernPluginConfig, modelShards);
+        if (fernPluginConfig.generatorConfig().publish().isEmpty()) {
+            return Optional.empty();
         }
-
-        if (!codeGenerationResult.jerseyServerFiles().isEmpty()) {
-            String serverDirectory = fernPluginConfig.getServerProjectName(ServerFramework.JERSEY);
-            codeGenerationResult
-                    .jerseyServerFiles()
-                    .forEach(serverFiles ->
-                            writeFile(Paths.get(outputDirectory, serverDirectory, SRC_MAIN_JAVA), serverFiles.file()));
-            writeFileContents(
-                    Paths.get(outputDirectory, serverDirectory, BUILD_GRADLE),
-                    CodeGenerationResult.getServerBuildGradle(fernPluginConfig, ServerFramework.JERSEY));
-        }
-
-        if (!codeGenerationResult.springServerFiles().isEmpty()) {
-            String serverDirectory = fernPluginConfig.getServerProjectName(ServerFramework.SPRING);
-            codeGenerationResult
-                    .springServerFiles()
-                    .forEach(serverFiles ->
-                            writeFile(Paths.get(outputDirectory, serverDirectory, SRC_MAIN_JAVA), serverFiles.file()));
-            writeFileContents(
-                    Paths.get(outputDirectory, serverDirectory, BUILD_GRADLE),
-                    CodeGenerationResult.getServerBuildGradle(fernPluginConfig, ServerFramework.SPRING));
+        writeFileContents(
+                Paths.get(outputDirectory, "build.gradle"),
+                CodeGenerationResult.getBuildDotGradle(
+                        fernPluginConfig.generatorConfig().publish().get()),
+                writeMode);
+        if (fernPluginConfig.customPluginConfig().getPublishBackend() != PublishBackend.TOOLING_API) {
+            return Optional.empty();
         }
+        ToolingApiGradleRunner gradleRunner =
+                new ToolingApiGradleRunner(Paths.get(outputDirectory), loggingClient::sendLog);
+        gradleRunner.startWarmUp();
+        return Optional.of(gradleRunner);
     }
 
     private static Process runCommandAsync(String[] command, Path workingDirectory) {
@@ -430,19 +599,16 @@ public final class ClientGeneratorCli {
         }
     }
 
-    private static void writeFileContents(Path path, String contents) {
-        try {
-            Files.writeString(path, contents);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to write .gitignore ", e);
+    private static void writeFileContents(Path path, String contents, WriteMode writeMode) {
+        byte[] bytes = contents.getBytes(StandardCharsets.UTF_8);
+        if (writeMode == WriteMode.SKIP_UNCHANGED && FileContents.hasContents(path, bytes)) {
+            return;
         }
-    }
-
-    private static void writeFile(Path path, JavaFile javaFile) {
         try {
-            javaFile.writeToFile(path.toFile());
+            Files.createDirectories(path.getParent());
+            Files.write(path, bytes);
         } catch (IOException e) {
-            throw new RuntimeException("Failed to write generated java file: " + javaFile.typeSpec.name, e);
+            throw new RuntimeException("Failed to write " + path, e);
         }
     }
 }
@@ -15,28 +15,31 @@
  */
 package com.fern.java.client.cli;
 
-import com.fern.codegen.IGeneratedFile;
+import com.fern.codegen.ImmutablesMode;
 import com.fern.java.client.cli.CustomPluginConfig.Mode;
 import com.fern.java.client.cli.CustomPluginConfig.ServerFramework;
 import com.fern.types.generators.GeneratorPublishConfig;
 import com.fern.types.generators.MavenRegistryConfig;
-import java.util.List;
-import org.immutables.value.Value;
-import org.immutables.value.Value.Style.ImplementationVisibility;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
-@Value.Immutable
-@Value.Style(visibility = ImplementationVisibility.PACKAGE, overshadowImplementation = true)
-public abstract class CodeGenerationResult {
+/** Gradle build files of the generated projects. Generated sources are routed by {@link GeneratedProjectWriter}. */
+public final class CodeGenerationResult {
 
-    public abstract List<IGeneratedFile> modelFiles();
-
-    public abstract List<IGeneratedFile> clientFiles();
-
-    public abstract List<IGeneratedFile> jerseyServerFiles();
-
-    public abstract List<IGeneratedFile> springServerFiles();
+    private CodeGenerationResult() {}
 
     public static String getModelBuildGradle(FernPluginConfig pluginConfig) {
+        return getModelBuildGradle(pluginConfig, Set.of());
+    }
+
+    /** A model shard, which depends on the shards whose types it refers to. */
+    public static String getModelBuildGradle(FernPluginConfig pluginConfig, Set<String> shardDependencies) {
+        String projectDependencies = "";
+        for (String shardDependency : shardDependencies) {
+            projectDependencies += "    api project(':" + shardDependency + "')\n";
+        }
         return "plugins {\n"
                 + "    id 'java-library'\n"
                 + "    id \"org.inferred.processors\" version \"3.6.0\"\n"
@@ -50,13 +53,44 @@ public abstract class CodeGenerationResult {
                 + "}\n"
                 + "\n"
                 + "dependencies {\n"
+                + projectDependencies
                 + "    implementation 'com.fasterxml.jackson.core:jackson-databind:2.12.3'\n"
                 + "    implementation 'com.google.code.findbugs:annotations:3.0.1'\n"
                 + "    api 'io.github.fern-api:exception-utils:" + pluginConfig.version() + "'\n"
                 + "    api 'io.github.fern-api:immutables-utils:" + pluginConfig.version() + "'\n"
+                + getImmutablesDependencies(pluginConfig)
+                + "}\n";
+    }
+
+    /**
+     * The model project of a sharded build exposes every shard. Its only sources are the generated Jackson module,
+     * which registers the codecs of all shards.
+     */
+    public static String getShardedModelBuildGradle(FernPluginConfig pluginConfig, Set<String> shardNames) {
+        String projectDependencies = "";
+        for (String shardName : shardNames) {
+            projectDependencies += "    api project(':" + shardName + "')\n";
+        }
+        if (!pluginConfig.customPluginConfig().isJacksonCodecs()) {
+            return "plugins {\n"
+                    + "    id 'java-library'\n"
+                    + "}\n"
+                    + "\n"
+                    + "dependencies {\n"
+                    + projectDependencies
+                    + "}\n";
+        }
+        return "plugins {\n"
+                + "    id 'java-library'\n"
+                + "}\n"
                 + "\n"
-                + "    annotationProcessor 'org.immutables:value:2.8.8'\n"
-                + "    compileOnly 'org.immutables:value-annotations:2.8.8'\n"
+                + "repositories {\n"
+                + "    mavenCentral()\n"
+                + "}\n"
+                + "\n"
+                + "dependencies {\n"
+                + projectDependencies
+                + "    implementation 'com.fasterxml.jackson.core:jackson-databind:2.12.3'\n"
                 + "}\n";
     }
 
@@ -85,9 +119,7 @@ public abstract class CodeGenerationResult {
                 + "    implementation 'io.github.openfeign:feign-jackson:11.8'\n"
                 + "    implementation 'io.github.openfeign:feign-core:11.8'\n"
                 + "    implementation 'io.github.openfeign:feign-jaxrs2:11.8'\n"
-                + "\n"
-                + "    annotationProcessor 'org.immutables:value:2.8.8'\n"
-                + "    compileOnly 'org.immutables:value-annotations:2.8.8'\n"
+                + getImmutablesDependencies(pluginConfig)
                 + "}\n";
     }
 
@@ -119,9 +151,7 @@ public abstract class CodeGenerationResult {
                     + "    implementation 'io.github.openfeign:feign-core:11.8'\n"
                     + "    implementation 'io.github.openfeign:feign-jaxrs2:11.8'\n"
                     + "    implementation 'org.glassfish.jersey.ext:jersey-spring5:2.35'\n"
-                    + "\n"
-                    + "    annotationProcessor 'org.immutables:value:2.8.8'\n"
-                    + "    compileOnly 'org.immutables:value-annotations:2.8.8'\n"
+                    + getImmutablesDependencies(pluginConfig)
                     + "}\n";
         } else {
             return "plugins {\n"
@@ -148,29 +178,64 @@ public abstract class CodeGenerationResult {
                     + "    implementation 'com.fasterxml.jackson.datatype:jackson-datatype-jdk8:2.12.3'\n"
                     + "    implementation 'org.springframework:spring-web:5.3.19'\n"
                     + "    implementation 'org.springframework:spring-webmvc:5.3.19'\n"
-                    + "\n"
-                    + "    annotationProcessor 'org.immutables:value:2.8.8'\n"
-                    + "    compileOnly 'org.immutables:value-annotations:2.8.8'\n"
+                    + getImmutablesDependencies(pluginConfig)
                     + "}\n";
         }
     }
 
+    /** Generated projects only need the annotation processor when the models are not concrete classes. */
+    private static String getImmutablesDependencies(FernPluginConfig pluginConfig) {
+        if (pluginConfig.customPluginConfig().getImmutablesMode() == ImmutablesMode.CONCRETE) {
+            return "";
+        }
+        return "\n"
+                + "    annotationProcessor 'org.immutables:value:2.8.8'\n"
+                + "    compileOnly 'org.immutables:value-annotations:2.8.8'\n";
+    }
+
     public static String getSettingsDotGradle(FernPluginConfig fernPluginConfig) {
-        Mode mode = fernPluginConfig.customPluginConfig().mode();
-        String settingsGradle = "rootProject.name = 'fern-generated-java'\n"
-                + "\n"
-                + "include '" + fernPluginConfig.getModelProjectName() + "'\n";
+        return getSettingsDotGradle(fernPluginConfig, Optional.empty());
+    }
 
+    public static String getSettingsDotGradle(FernPluginConfig fernPluginConfig, Optional<ModelShards> modelShards) {
+        String settingsGradle = "rootProject.name = 'fern-generated-java'\n" + "\n";
+        for (String subprojectName : getSubprojectBuildGradles(fernPluginConfig, modelShards).keySet()) {
+            settingsGradle += "include '" + subprojectName + "'\n";
+        }
+        return settingsGradle;
+    }
+
+    public static Map<String, String> getSubprojectBuildGradles(FernPluginConfig fernPluginConfig) {
+        return getSubprojectBuildGradles(fernPluginConfig, Optional.empty());
+    }
+
+    /** The build.gradle of every generated subproject, keyed by subproject name. */
+    public static Map<String, String> getSubprojectBuildGradles(
+            FernPluginConfig fernPluginConfig, Optional<ModelShards> modelShards) {
+        Mode mode = fernPluginConfig.customPluginConfig().mode();
+        Map<String, String> buildGradles = new LinkedHashMap<>();
+        if (modelShards.isPresent()) {
+            Map<String, Set<String>> shardDependencies = modelShards.get().getShardDependencies();
+            buildGradles.put(
+                    fernPluginConfig.getModelProjectName(),
+                    getShardedModelBuildGradle(fernPluginConfig, shardDependencies.keySet()));
+            shardDependencies.forEach((shardName, dependencies) ->
+                    buildGradles.put(shardName, getModelBuildGradle(fernPluginConfig, dependencies)));
+        } else {
+            buildGradles.put(fernPluginConfig.getModelProjectName(), getModelBuildGradle(fernPluginConfig));
+        }
         if (mode.equals(Mode.CLIENT_AND_SERVER) || mode.equals(Mode.CLIENT)) {
-            settingsGradle += "include '" + fernPluginConfig.getClientProjectName() + "'\n";
+            buildGradles.put(fernPluginConfig.getClientProjectName(), getClientBuildGradle(fernPluginConfig));
         }
         if (mode.equals(Mode.CLIENT_AND_SERVER) || mode.equals(Mode.SERVER)) {
             for (ServerFramework serverFramework :
                     fernPluginConfig.customPluginConfig().getServerFrameworkEnums()) {
-                settingsGradle += "include '" + fernPluginConfig.getServerProjectName(serverFramework) + "'\n";
+                buildGradles.put(
+                        fernPluginConfig.getServerProjectName(serverFramework),
+                        getServerBuildGradle(fernPluginConfig, serverFramework));
             }
         }
-        return settingsGradle;
+        return buildGradles;
     }
 
     public static String getBuildDotGradle(GeneratorPublishConfig publishConfig) {
@@ -211,8 +276,4 @@ public abstract class CodeGenerationResult {
                 + "}\n"
                 + "\n";
     }
-
-    static ImmutableCodeGenerationResult.Builder builder() {
-        return ImmutableCodeGenerationResult.builder();
-    }
 }
@@ -0,0 +1,60 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.client.cli;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+public final class ContentHashes {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private ContentHashes() {}
+
+    public static String sha256(byte[] contents) {
+        return toHex(newSha256().digest(contents));
+    }
+
+    /** Hashes the file through a small buffer, so large files are never held in memory. */
+    public static String sha256(Path path) throws IOException {
+        MessageDigest messageDigest = newSha256();
+        try (InputStream inputStream = new DigestInputStream(Files.newInputStream(path), messageDigest)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (inputStream.read(buffer) != -1) {
+                // the digest is updated as the stream is read
+            }
+        }
+        return toHex(messageDigest.digest());
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String toHex(byte[] digest) {
+        return String.format("%064x", new BigInteger(1, digest));
+    }
+}
@@ -16,6 +16,7 @@
 package com.fern.java.client.cli;
 
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fern.codegen.ImmutablesMode;
 import com.fern.immutables.StagedBuilderStyle;
 import java.util.Arrays;
 import java.util.List;
@@ -39,6 +40,138 @@ public interface CustomPluginConfig {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Number of threads used to generate declarations. Either a positive integer or "auto" to use one thread per
+     * available processor. Defaults to serial generation.
+     */
+    Optional<String> parallelism();
+
+    default int getParallelism() {
+        if (parallelism().isEmpty()) {
+            return 1;
+        }
+        String value = parallelism().get();
+        if (value.equalsIgnoreCase("auto")) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        int parallelism;
+        try {
+            parallelism = Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(
+                    "Invalid parallelism option: expected a positive integer or \"auto\", was \"" + value + "\"", e);
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException(
+                    "Invalid parallelism option: expected a positive integer or \"auto\", was " + parallelism);
+        }
+        return parallelism;
+    }
+
+    /**
+     * When "true", a content-hash cache in the output directory is used to skip regenerating unchanged types and to
+     * leave unchanged files untouched.
+     */
+    Optional<String> incremental();
+
+    default boolean isIncremental() {
+        return incremental().map(Boolean::parseBoolean).orElse(false);
+    }
+
+    /**
+     * Either "overwrite" (the default) or "skip_unchanged", which compares each rendered file against the file on disk
+     * and only writes when the content differs.
+     */
+    Optional<String> writeMode();
+
+    default WriteMode getWriteMode() {
+        return writeMode().map(String::toUpperCase).map(WriteMode::valueOf).orElse(WriteMode.OVERWRITE);
+    }
+
+    /**
+     * Path of a binary IR snapshot used as a read-through cache. The snapshot is read instead of the JSON IR when it
+     * is up to date, and rewritten otherwise.
+     */
+    Optional<String> irSnapshot();
+
+    /**
+     * When set, the files of each generation phase are rendered and written while the later phases run, instead of
+     * after all generation, with at most this many files queued for the writer threads. This only overlaps disk I/O
+     * with generation: it does not lower peak memory, which still grows with the size of the API.
+     */
+    Optional<String> pipelineCapacity();
+
+    default Optional<Integer> getPipelineCapacity() {
+        return pipelineCapacity().map(Integer::parseInt);
+    }
+
+    /**
+     * Either "gradle_cli" (the default), which forks the gradle command line to publish, or "tooling_api", which
+     * publishes through a warm gradle daemon that is reused across runs.
+     */
+    Optional<String> publishBackend();
+
+    default PublishBackend getPublishBackend() {
+        return publishBackend()
+                .map(String::toUpperCase)
+                .map(PublishBackend::valueOf)
+                .orElse(PublishBackend.GRADLE_CLI);
+    }
+
+    /**
+     * When "true", only types reachable from an endpoint or an error declaration are generated. Types that nothing
+     * reaches are dropped from the models.
+     */
+    Optional<String> pruneUnreachableTypes();
+
+    default boolean isPruneUnreachableTypes() {
+        return pruneUnreachableTypes().map(Boolean::parseBoolean).orElse(false);
+    }
+
+    /**
+     * When set, the model project is split into one gradle subproject per fernFilepath prefix of this many components,
+     * so that gradle can compile the models in parallel. The model project then only depends on its shards.
+     */
+    Optional<String> modelShardDepth();
+
+    default Optional<Integer> getModelShardDepth() {
+        return modelShardDepth().map(Integer::parseInt);
+    }
+
+    /**
+     * Either "annotation_processor" (the default) or "concrete". In concrete mode objects, aliases, unions and failed
+     * responses are generated as final classes, so no generated project runs the Immutables annotation processor.
+     */
+    Optional<String> immutablesMode();
+
+    default ImmutablesMode getImmutablesMode() {
+        return immutablesMode()
+                .map(String::toUpperCase)
+                .map(ImmutablesMode::valueOf)
+                .orElse(ImmutablesMode.ANNOTATION_PROCESSOR);
+    }
+
+    /**
+     * When "true", objects, unions and enums get nested streaming Jackson serializers and deserializers, which a
+     * generated FernJacksonModule registers. Generated clients register the module on their own object mapper, and
+     * servers must register it on the object mapper of their framework.
+     */
+    Optional<String> jacksonCodecs();
+
+    default boolean isJacksonCodecs() {
+        return jacksonCodecs().map(Boolean::parseBoolean).orElse(false);
+    }
+
+    /**
+     * When "true", generated errors do not capture a stack trace. This applies both to errors thrown by servers and to
+     * errors decoded by clients, so client stack traces no longer show the calling code.
+     */
+    Optional<String> stacklessErrors();
+
+    default boolean isStacklessErrors() {
+        return stacklessErrors().map(Boolean::parseBoolean).orElse(false);
+    }
+
     Mode mode();
 
     enum Mode {
@@ -53,6 +186,16 @@ public interface CustomPluginConfig {
         SPRING
     }
 
+    enum PublishBackend {
+        GRADLE_CLI,
+        TOOLING_API
+    }
+
+    enum WriteMode {
+        OVERWRITE,
+        SKIP_UNCHANGED
+    }
+
     static ImmutableCustomPluginConfig.ModeBuildStage builder() {
         return ImmutableCustomPluginConfig.builder();
     }
@@ -0,0 +1,114 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.client.cli;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fern.codegen.IrIndex;
+import com.fern.codegen.utils.ObjectMappers;
+import com.fern.types.AliasTypeDeclaration;
+import com.fern.types.DeclaredTypeName;
+import com.fern.types.ObjectTypeDeclaration;
+import com.fern.types.SingleUnionType;
+import com.fern.types.TypeDeclaration;
+import com.fern.types.TypeReference;
+import com.fern.types.UnionTypeDeclaration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Computes a fingerprint for each type declaration that changes whenever the generated file for that type could
+ * change. Besides the declaration itself this covers the extended types whose properties are inlined, whether the
+ * type is itself extended, and for unions the declarations that decide how each variant is serialized.
+ */
+final class DeclarationFingerprints {
+
+    private final String salt;
+    private final Map<DeclaredTypeName, TypeDeclaration> typeDeclarationsByName;
+    private final IrIndex irIndex;
+
+    DeclarationFingerprints(String salt, IrIndex irIndex) {
+        this.salt = salt;
+        this.typeDeclarationsByName = irIndex.getTypeDeclarationsByName();
+        this.irIndex = irIndex;
+    }
+
+    static String getTypeKey(DeclaredTypeName declaredTypeName) {
+        return "type:" + String.join("/", declaredTypeName.fernFilepath().value()) + ":" + declaredTypeName.name();
+    }
+
+    String getTypeFingerprint(TypeDeclaration typeDeclaration) {
+        List<Object> inputs = new ArrayList<>();
+        inputs.add(salt);
+        inputs.add(typeDeclaration);
+        inputs.add(irIndex.isExtended(typeDeclaration.name()));
+        inputs.addAll(getExtendedTypeDeclarations(typeDeclaration));
+        typeDeclaration.shape().getUnion().ifPresent(unionTypeDeclaration -> {
+            inputs.addAll(getUnionVariantTypeDeclarations(unionTypeDeclaration));
+        });
+        try {
+            return ContentHashes.sha256(ObjectMappers.CLIENT_OBJECT_MAPPER.writeValueAsBytes(inputs));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to fingerprint type " + typeDeclaration.name().name(), e);
+        }
+    }
+
+    private Set<TypeDeclaration> getExtendedTypeDeclarations(TypeDeclaration typeDeclaration) {
+        Set<TypeDeclaration> result = new LinkedHashSet<>();
+        Deque<DeclaredTypeName> toVisit = new ArrayDeque<>(getExtends(typeDeclaration));
+        while (!toVisit.isEmpty()) {
+            TypeDeclaration extendedTypeDeclaration = typeDeclarationsByName.get(toVisit.pop());
+            if (extendedTypeDeclaration != null && result.add(extendedTypeDeclaration)) {
+                toVisit.addAll(getExtends(extendedTypeDeclaration));
+            }
+        }
+        return result;
+    }
+
+    private Set<TypeDeclaration> getUnionVariantTypeDeclarations(UnionTypeDeclaration unionTypeDeclaration) {
+        Set<TypeDeclaration> result = new LinkedHashSet<>();
+        for (SingleUnionType singleUnionType : unionTypeDeclaration.types()) {
+            TypeReference typeReference = singleUnionType.valueType();
+            while (typeReference.getNamed().isPresent()) {
+                TypeDeclaration variantTypeDeclaration =
+                        typeDeclarationsByName.get(typeReference.getNamed().get());
+                if (variantTypeDeclaration == null || !result.add(variantTypeDeclaration)) {
+                    break;
+                }
+                Optional<TypeReference> aliasOf =
+                        variantTypeDeclaration.shape().getAlias().map(AliasTypeDeclaration::aliasOf);
+                if (aliasOf.isEmpty()) {
+                    break;
+                }
+                typeReference = aliasOf.get();
+            }
+        }
+        return result;
+    }
+
+    private static List<DeclaredTypeName> getExtends(TypeDeclaration typeDeclaration) {
+        return typeDeclaration
+                .shape()
+                .getObject()
+                .map(ObjectTypeDeclaration::_extends)
+                .orElseGet(List::of);
+    }
+}
@@ -112,6 +112,28 @@ public interface FernPluginConfig {
                                 generatorConfig.customConfig().get("packagePrefix")))
                         .serverFrameworks(Optional.ofNullable(
                                 generatorConfig.customConfig().get("serverFrameworks")))
+                        .parallelism(Optional.ofNullable(
+                                generatorConfig.customConfig().get("parallelism")))
+                        .incremental(Optional.ofNullable(
+                                generatorConfig.customConfig().get("incremental")))
+                        .writeMode(Optional.ofNullable(
+                                generatorConfig.customConfig().get("writeMode")))
+                        .irSnapshot(Optional.ofNullable(
+                                generatorConfig.customConfig().get("irSnapshot")))
+                        .pipelineCapacity(Optional.ofNullable(
+                                generatorConfig.customConfig().get("pipelineCapacity")))
+                        .publishBackend(Optional.ofNullable(
+                                generatorConfig.customConfig().get("publishBackend")))
+                        .pruneUnreachableTypes(Optional.ofNullable(
+                                generatorConfig.customConfig().get("pruneUnreachableTypes")))
+                        .modelShardDepth(Optional.ofNullable(
+                                generatorConfig.customConfig().get("modelShardDepth")))
+                        .immutablesMode(Optional.ofNullable(
+                                generatorConfig.customConfig().get("immutablesMode")))
+                        .jacksonCodecs(Optional.ofNullable(
+                                generatorConfig.customConfig().get("jacksonCodecs")))
+                        .stacklessErrors(Optional.ofNullable(
+                                generatorConfig.customConfig().get("stacklessErrors")))
                         .build())
                 .version(version)
                 .build();
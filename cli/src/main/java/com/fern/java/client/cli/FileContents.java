@@ -0,0 +1,53 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.client.cli;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public final class FileContents {
+
+    /** Files at least this large are compared through a memory mapping instead of being read onto the heap. */
+    private static final long MEMORY_MAPPED_COMPARE_THRESHOLD = 64 * 1024;
+
+    private FileContents() {}
+
+    /** Returns true if the file exists and holds exactly the given bytes. Sizes are compared before any content. */
+    public static boolean hasContents(Path path, byte[] contents) {
+        if (!Files.isRegularFile(path)) {
+            return false;
+        }
+        try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = fileChannel.size();
+            if (size != contents.length) {
+                return false;
+            }
+            if (size < MEMORY_MAPPED_COMPARE_THRESHOLD) {
+                return Arrays.equals(Files.readAllBytes(path), contents);
+            }
+            MappedByteBuffer mappedFile = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return mappedFile.equals(ByteBuffer.wrap(contents));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
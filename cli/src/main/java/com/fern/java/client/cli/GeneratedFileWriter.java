@@ -0,0 +1,253 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.client.cli;
+
+import com.fern.codegen.utils.ParallelUtils;
+import com.fern.java.client.cli.CustomPluginConfig.WriteMode;
+import com.squareup.javapoet.JavaFile;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects generated files and writes them to disk from a bounded pool. Java files are rendered on the worker
+ * threads, and each target directory is created before its first file is written. Files whose content is unchanged are left untouched
+ * when the content hashes of a previous run are provided, or when writing in {@link WriteMode#SKIP_UNCHANGED} mode.
+ *
+ * <p>By default nothing is written until {@link #write()} is called. With a pipeline capacity, each file is handed to
+ * the pool as soon as it is added, and adding blocks while that many files are waiting to be written, so rendering
+ * and disk I/O overlap with the rest of generation. The pipeline overlaps writes only: the generators return all of
+ * their files before any are added, and the model files are kept for client and server generation.
+ */
+public final class GeneratedFileWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(GeneratedFileWriter.class);
+
+    private final int numThreads;
+    private final WriteMode writeMode;
+    private final Optional<Map<Path, String>> previousContentHashes;
+    private final Optional<Pipeline> pipeline;
+    private final List<PendingWrite> pendingWrites = new ArrayList<>();
+    private final Map<Path, String> contentHashes = new ConcurrentHashMap<>();
+    private final Set<Path> createdDirectories = ConcurrentHashMap.newKeySet();
+
+    public GeneratedFileWriter(int numThreads) {
+        this(numThreads, WriteMode.OVERWRITE, Optional.empty());
+    }
+
+    public GeneratedFileWriter(int numThreads, WriteMode writeMode, Optional<Map<Path, String>> previousContentHashes) {
+        this(numThreads, writeMode, previousContentHashes, Optional.empty());
+    }
+
+    public GeneratedFileWriter(
+            int numThreads,
+            WriteMode writeMode,
+            Optional<Map<Path, String>> previousContentHashes,
+            Optional<Integer> pipelineCapacity) {
+        this.numThreads = numThreads;
+        this.writeMode = writeMode;
+        this.previousContentHashes = previousContentHashes;
+        this.pipeline = pipelineCapacity.map(capacity -> new Pipeline(numThreads, capacity));
+    }
+
+    public static Path getJavaFilePath(Path sourceDirectory, JavaFile javaFile) {
+        Path packageDirectory = sourceDirectory;
+        if (!javaFile.packageName.isEmpty()) {
+            for (String packageComponent : javaFile.packageName.split("\\.")) {
+                packageDirectory = packageDirectory.resolve(packageComponent);
+            }
+        }
+        return packageDirectory.resolve(javaFile.typeSpec.name + ".java").toAbsolutePath();
+    }
+
+    public void addJavaFile(Path sourceDirectory, JavaFile javaFile) {
+        add(new PendingWrite(getJavaFilePath(sourceDirectory, javaFile), javaFile::toString));
+    }
+
+    public void addFile(Path path, String contents) {
+        add(new PendingWrite(path.toAbsolutePath(), () -> contents));
+    }
+
+    /** Writes every added file, or waits for the pipeline to finish writing them, and summarizes the result. */
+    public WriteSummary write() {
+        List<Optional<Integer>> bytesWrittenPerFile;
+        if (pipeline.isPresent()) {
+            bytesWrittenPerFile = pipeline.get().awaitWrites();
+        } else {
+            pendingWrites.stream().map(PendingWrite::directory).distinct().forEach(this::createDirectory);
+            Optional<ExecutorService> executorService =
+                    numThreads > 1 ? Optional.of(Executors.newFixedThreadPool(numThreads)) : Optional.empty();
+            try {
+                bytesWrittenPerFile = ParallelUtils.mapInOrder(executorService, pendingWrites, this::write);
+            } finally {
+                executorService.ifPresent(ExecutorService::shutdown);
+            }
+            pendingWrites.clear();
+        }
+        WriteSummary writeSummary = WriteSummary.builder()
+                .filesWritten(
+                        bytesWrittenPerFile.stream().filter(Optional::isPresent).count())
+                .filesUnchanged(
+                        bytesWrittenPerFile.stream().filter(Optional::isEmpty).count())
+                .bytesWritten(bytesWrittenPerFile.stream()
+                        .flatMap(Optional::stream)
+                        .mapToLong(Integer::longValue)
+                        .sum())
+                .build();
+        log.info(
+                "Wrote {} files ({} bytes), left {} unchanged files untouched",
+                writeSummary.filesWritten(),
+                writeSummary.bytesWritten(),
+                writeSummary.filesUnchanged());
+        return writeSummary;
+    }
+
+    /** Content hashes of every file handled by this writer, including unchanged files. */
+    public Map<Path, String> getContentHashes() {
+        return Collections.unmodifiableMap(contentHashes);
+    }
+
+    private void add(PendingWrite pendingWrite) {
+        if (pipeline.isPresent()) {
+            pipeline.get().submit(() -> {
+                createDirectory(pendingWrite.directory());
+                return write(pendingWrite);
+            });
+        } else {
+            pendingWrites.add(pendingWrite);
+        }
+    }
+
+    /**
+     * A directory is only recorded once it exists, so a writer thread never skips a directory that another thread is
+     * still creating. Threads that race on the same new directory both create it, which is safe.
+     */
+    private void createDirectory(Path directory) {
+        if (createdDirectories.contains(directory)) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create directory " + directory, e);
+        }
+        createdDirectories.add(directory);
+    }
+
+    /** Returns the number of bytes written, or empty if the file on disk was already up to date. */
+    private Optional<Integer> write(PendingWrite pendingWrite) {
+        byte[] bytes = pendingWrite.contents.get().getBytes(StandardCharsets.UTF_8);
+        if (isUnchanged(pendingWrite.path, bytes)) {
+            return Optional.empty();
+        }
+        try {
+            Files.write(pendingWrite.path, bytes);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write generated file: " + pendingWrite.path, e);
+        }
+        return Optional.of(bytes.length);
+    }
+
+    /**
+     * Only a file on disk that holds exactly these bytes is unchanged, since generated files may have been edited
+     * since the previous run. A content hash that differs from the previous run's means the file has to be written,
+     * so the file on disk is not read.
+     */
+    private boolean isUnchanged(Path path, byte[] bytes) {
+        if (previousContentHashes.isPresent()) {
+            String contentHash = ContentHashes.sha256(bytes);
+            contentHashes.put(path, contentHash);
+            String previousContentHash = previousContentHashes.get().get(path);
+            if (previousContentHash != null) {
+                return previousContentHash.equals(contentHash) && FileContents.hasContents(path, bytes);
+            }
+        }
+        return writeMode == WriteMode.SKIP_UNCHANGED && FileContents.hasContents(path, bytes);
+    }
+
+    /** Writes files as they are added, with at most {@code capacity} files waiting for a writer thread. */
+    static final class Pipeline {
+
+        private final ExecutorService executorService;
+        private final Semaphore queueSlots;
+        private final List<Future<Optional<Integer>>> writes = new ArrayList<>();
+
+        Pipeline(int numThreads, int capacity) {
+            // Daemon threads, so a generator failure before write() is called cannot keep the JVM alive
+            this.executorService = Executors.newFixedThreadPool(Math.max(numThreads, 1), runnable -> {
+                Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.queueSlots = new Semaphore(capacity + Math.max(numThreads, 1));
+        }
+
+        void submit(Callable<Optional<Integer>> write) {
+            try {
+                queueSlots.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting to write generated file", e);
+            }
+            writes.add(executorService.submit(() -> {
+                try {
+                    return write.call();
+                } finally {
+                    queueSlots.release();
+                }
+            }));
+        }
+
+        List<Optional<Integer>> awaitWrites() {
+            try {
+                return ParallelUtils.getAllInOrder(writes);
+            } finally {
+                executorService.shutdown();
+            }
+        }
+    }
+
+    private static final class PendingWrite {
+
+        private final Path path;
+        private final Supplier<String> contents;
+
+        PendingWrite(Path path, Supplier<String> contents) {
+            this.path = path;
+            this.contents = contents;
+        }
+
+        Path directory() {
+            return path.getParent();
+        }
+    }
+}
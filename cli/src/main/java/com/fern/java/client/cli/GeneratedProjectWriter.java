@@ -0,0 +1,83 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.client.cli;
+
+import com.fern.codegen.IGeneratedFile;
+import com.fern.java.client.cli.CustomPluginConfig.ServerFramework;
+import com.fern.types.FernFilepath;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+/**
+ * Routes generated sources to the gradle subproject they belong to. The build files of the subprojects are written
+ * up front, before generation starts, so that gradle can configure the build while code is generated. Model sources
+ * go to their {@link ModelShards shard} when the model project is sharded.
+ */
+final class GeneratedProjectWriter {
+
+    private static final String SRC_MAIN_JAVA = "src/main/java";
+
+    private final FernPluginConfig fernPluginConfig;
+    private final GeneratedFileWriter generatedFileWriter;
+    private final Optional<ModelShards> modelShards;
+    private final Path outputDirectory;
+
+    GeneratedProjectWriter(
+            FernPluginConfig fernPluginConfig,
+            GeneratedFileWriter generatedFileWriter,
+            Optional<ModelShards> modelShards) {
+        this.fernPluginConfig = fernPluginConfig;
+        this.generatedFileWriter = generatedFileWriter;
+        this.modelShards = modelShards;
+        this.outputDirectory = Paths.get(fernPluginConfig.generatorConfig().output().path());
+    }
+
+    /** The source directory of the models generated for declarations with this fernFilepath. */
+    Path getModelSourceDirectory(FernFilepath fernFilepath) {
+        return getSourceDirectory(modelShards
+                .map(shards -> shards.getShardName(fernFilepath))
+                .orElseGet(fernPluginConfig::getModelProjectName));
+    }
+
+    void addModelFile(FernFilepath fernFilepath, IGeneratedFile modelFile) {
+        generatedFileWriter.addJavaFile(getModelSourceDirectory(fernFilepath), modelFile.file());
+    }
+
+    /** The Jackson module refers to models of every shard, so it goes to the model project itself. */
+    void addJacksonModule(IGeneratedFile jacksonModule) {
+        generatedFileWriter.addJavaFile(
+                getSourceDirectory(fernPluginConfig.getModelProjectName()), jacksonModule.file());
+    }
+
+    void addClientFile(IGeneratedFile clientFile) {
+        generatedFileWriter.addJavaFile(
+                getSourceDirectory(fernPluginConfig.getClientProjectName()), clientFile.file());
+    }
+
+    void addServerFile(ServerFramework serverFramework, IGeneratedFile serverFile) {
+        generatedFileWriter.addJavaFile(
+                getSourceDirectory(fernPluginConfig.getServerProjectName(serverFramework)), serverFile.file());
+    }
+
+    WriteSummary write() {
+        return generatedFileWriter.write();
+    }
+
+    private Path getSourceDirectory(String projectName) {
+        return outputDirectory.resolve(projectName).resolve(SRC_MAIN_JAVA);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.client.cli;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fern.immutables.StagedBuilderStyle;
+import java.util.List;
+import java.util.Map;
+import org.immutables.value.Value;
+
+/** On-disk record of the previous generator run, used for incremental regeneration. */
+@Value.Immutable
+@StagedBuilderStyle
+@JsonSerialize(as = ImmutableGeneratorCache.class)
+@JsonDeserialize(as = ImmutableGeneratorCache.class)
+public interface GeneratorCache {
+
+    /** Hash of everything outside the IR that affects generated output. */
+    String salt();
+
+    /** Fingerprint of each type declaration, keyed by declaration key. */
+    Map<String, String> declarations();
+
+    /** Files generated for each type declaration, relative to the output directory. */
+    Map<String, List<String>> declarationFiles();
+
+    /** Content hash of every generated file, relative to the output directory. */
+    Map<String, String> files();
+
+    static ImmutableGeneratorCache.SaltBuildStage builder() {
+        return ImmutableGeneratorCache.builder();
+    }
+}
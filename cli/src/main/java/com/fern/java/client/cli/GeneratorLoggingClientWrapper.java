@@ -16,18 +16,30 @@
 
 package com.fern.java.client.cli;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fern.codegen.utils.ObjectMappers;
 import com.fern.types.generators.GeneratorConfig;
 import com.fern.types.generators.RemoteGeneratorEnvironment;
 import com.fiddle.generator.logging.client.GeneratorLoggingServiceClient;
 import com.fiddle.generator.logging.types.GeneratorUpdate;
+import com.fiddle.generator.logging.types.LogLevel;
+import com.fiddle.generator.logging.types.LogUpdate;
 import com.fiddle.generator.logging.types.TaskId;
-import java.util.Collections;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
-public final class GeneratorLoggingClientWrapper {
+/**
+ * Sends generator updates to the remote environment, if one is configured. Updates are batched and sent in the
+ * background, so {@link #close()} must be called before exiting to deliver anything still pending.
+ */
+public final class GeneratorLoggingClientWrapper implements AutoCloseable {
+
+    private static final Duration BATCH_WINDOW = Duration.ofMillis(250);
+
     private final GeneratorLoggingServiceClient generatorLoggingServiceClient;
     private final TaskId taskId;
+    private final Optional<BatchingUpdateSink> updateSink;
 
     public GeneratorLoggingClientWrapper(GeneratorConfig generatorConfig) {
         Optional<RemoteGeneratorEnvironment> maybeEnv =
@@ -36,17 +48,45 @@ public final class GeneratorLoggingClientWrapper {
         this.generatorLoggingServiceClient = maybeEnv.map(RemoteGeneratorEnvironment::coordinatorUrl)
                 .map(GeneratorLoggingServiceClient::getClient)
                 .orElse(null);
+        this.updateSink = isRemote()
+                ? Optional.of(new BatchingUpdateSink(
+                        generatorUpdates -> generatorLoggingServiceClient.sendUpdate(taskId, generatorUpdates),
+                        BATCH_WINDOW))
+                : Optional.empty();
     }
 
-    public void sendUpdate(GeneratorUpdate generatorUpdate) {
-        if (generatorLoggingServiceClient != null & taskId != null) {
-            generatorLoggingServiceClient.sendUpdate(taskId, Collections.singletonList(generatorUpdate));
+    public boolean isRemote() {
+        return generatorLoggingServiceClient != null & taskId != null;
+    }
+
+    /** Sends the metrics of a completed phase as a JSON log update. */
+    public void sendPhaseMetrics(PhaseMetrics phaseMetrics) {
+        if (!isRemote()) {
+            return;
+        }
+        try {
+            sendLog(ObjectMappers.CLIENT_OBJECT_MAPPER.writeValueAsString(phaseMetrics));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize metrics for phase " + phaseMetrics.phase(), e);
         }
     }
 
+    public void sendLog(String message) {
+        sendUpdate(GeneratorUpdate.log(
+                LogUpdate.builder().level(LogLevel.INFO).message(message).build()));
+    }
+
+    public void sendUpdate(GeneratorUpdate generatorUpdate) {
+        updateSink.ifPresent(sink -> sink.submit(generatorUpdate));
+    }
+
     public void sendUpdates(List<GeneratorUpdate> generatorUpdates) {
-        if (generatorLoggingServiceClient != null & taskId != null) {
-            generatorLoggingServiceClient.sendUpdate(taskId, generatorUpdates);
-        }
+        updateSink.ifPresent(sink -> generatorUpdates.forEach(sink::submit));
+    }
+
+    /** Sends any pending updates, waiting for them to be delivered. Local runs have nothing to send. */
+    @Override
+    public void close() {
+        updateSink.ifPresent(BatchingUpdateSink::close);
     }
 }
@@ -0,0 +1,159 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.client.cli;
+
+import com.fern.codegen.utils.ObjectMappers;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tracks which type declarations and generated files are unchanged since the previous run. The cache lives in the
+ * output directory and is discarded whenever the salt (generator version and configuration) changes.
+ */
+public final class IncrementalCache {
+
+    private static final Logger log = LoggerFactory.getLogger(IncrementalCache.class);
+
+    private static final String CACHE_FILE = ".fern/java-generator-cache.json";
+
+    private final Path outputDirectory;
+    private final String salt;
+    private final GeneratorCache previousCache;
+    private final Map<String, String> declarations = new HashMap<>();
+    private final Map<String, List<String>> declarationFiles = new HashMap<>();
+
+    private IncrementalCache(Path outputDirectory, String salt, GeneratorCache previousCache) {
+        this.outputDirectory = outputDirectory.toAbsolutePath();
+        this.salt = salt;
+        this.previousCache = previousCache;
+    }
+
+    public static IncrementalCache load(Path outputDirectory, String salt) {
+        Path cachePath = outputDirectory.resolve(CACHE_FILE);
+        GeneratorCache emptyCache = GeneratorCache.builder().salt(salt).build();
+        if (!Files.exists(cachePath)) {
+            return new IncrementalCache(outputDirectory, salt, emptyCache);
+        }
+        try {
+            GeneratorCache previousCache =
+                    ObjectMappers.CLIENT_OBJECT_MAPPER.readValue(cachePath.toFile(), GeneratorCache.class);
+            if (!previousCache.salt().equals(salt)) {
+                log.info("Generator version or configuration changed, regenerating all files");
+                return new IncrementalCache(outputDirectory, salt, emptyCache);
+            }
+            return new IncrementalCache(outputDirectory, salt, previousCache);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable generator cache {}", cachePath, e);
+            return new IncrementalCache(outputDirectory, salt, emptyCache);
+        }
+    }
+
+    /**
+     * Returns true if the declaration had the same fingerprint in the previous run and all of its files are still on
+     * disk with the content that run wrote. Up to date declarations are carried forward into the next cache without
+     * being regenerated.
+     */
+    public boolean isUpToDate(String declarationKey, String fingerprint) {
+        if (!fingerprint.equals(previousCache.declarations().get(declarationKey))) {
+            return false;
+        }
+        List<String> files = previousCache.declarationFiles().getOrDefault(declarationKey, List.of());
+        if (files.isEmpty() || !files.stream().allMatch(this::isUnchangedOnDisk)) {
+            return false;
+        }
+        declarations.put(declarationKey, fingerprint);
+        declarationFiles.put(declarationKey, files);
+        return true;
+    }
+
+    public void recordDeclaration(String declarationKey, String fingerprint, Path file) {
+        declarations.put(declarationKey, fingerprint);
+        declarationFiles.put(declarationKey, List.of(relativize(file)));
+    }
+
+    public Map<Path, String> getPreviousContentHashes() {
+        return previousCache.files().entrySet().stream()
+                .collect(Collectors.toMap(entry -> outputDirectory.resolve(entry.getKey()), Map.Entry::getValue));
+    }
+
+    /**
+     * Persists the cache for the next run. Files generated by the previous run that were neither carried forward nor
+     * written by this run belong to removed declarations and are deleted.
+     */
+    public void save(Map<Path, String> contentHashes) {
+        Map<String, String> files = new TreeMap<>();
+        declarationFiles.values().stream().flatMap(List::stream).forEach(file -> {
+            String previousContentHash = previousCache.files().get(file);
+            if (previousContentHash != null) {
+                files.put(file, previousContentHash);
+            }
+        });
+        contentHashes.forEach((path, contentHash) -> files.put(relativize(path), contentHash));
+
+        for (String previousFile : previousCache.files().keySet()) {
+            if (!files.containsKey(previousFile)) {
+                deleteStaleFile(outputDirectory.resolve(previousFile));
+            }
+        }
+
+        GeneratorCache generatorCache = GeneratorCache.builder()
+                .salt(salt)
+                .putAllDeclarations(new TreeMap<>(declarations))
+                .putAllDeclarationFiles(new TreeMap<>(declarationFiles))
+                .putAllFiles(files)
+                .build();
+        Path cachePath = outputDirectory.resolve(CACHE_FILE);
+        try {
+            Files.createDirectories(cachePath.getParent());
+            Files.write(cachePath, ObjectMappers.CLIENT_OBJECT_MAPPER.writeValueAsBytes(generatorCache));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write generator cache " + cachePath, e);
+        }
+    }
+
+    private boolean isUnchangedOnDisk(String file) {
+        String previousContentHash = previousCache.files().get(file);
+        Path path = outputDirectory.resolve(file);
+        if (previousContentHash == null || !Files.isRegularFile(path)) {
+            return false;
+        }
+        try {
+            return previousContentHash.equals(ContentHashes.sha256(Files.readAllBytes(path)));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private String relativize(Path path) {
+        return outputDirectory.relativize(path.toAbsolutePath()).toString();
+    }
+
+    private static void deleteStaleFile(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to delete stale generated file " + path, e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.client.cli;
+
+import com.fern.immutables.StagedBuilderStyle;
+import com.fern.types.ErrorDeclaration;
+import com.fern.types.FernConstants;
+import com.fern.types.TypeDeclaration;
+import com.fern.types.services.HttpService;
+import java.util.List;
+import org.immutables.value.Value;
+
+/** The parts of the intermediate representation that the generators consume. */
+@Value.Immutable
+@StagedBuilderStyle
+public interface IrDeclarations {
+
+    FernConstants constants();
+
+    List<TypeDeclaration> types();
+
+    List<ErrorDeclaration> errors();
+
+    List<HttpService> httpServices();
+
+    static ImmutableIrDeclarations.ConstantsBuildStage builder() {
+        return ImmutableIrDeclarations.builder();
+    }
+}
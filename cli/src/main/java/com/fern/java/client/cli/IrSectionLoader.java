@@ -0,0 +1,127 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.client.cli;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fern.types.ErrorDeclaration;
+import com.fern.types.FernConstants;
+import com.fern.types.TypeDeclaration;
+import com.fern.types.services.HttpService;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads the sections of the intermediate representation that the generators use. Each type, error and http service is
+ * bound with a cached reader and collected into {@link IrDeclarations}; sections the generators do not use, such as
+ * websocket services, are skipped without being bound. Skipping those sections is the only gain over binding the
+ * whole document: the generators resolve types and errors across the whole IR, so nothing is handed off before the
+ * file has been read and memory scales with the declarations that are used.
+ */
+public final class IrSectionLoader {
+
+    private static final String TYPES_FIELD = "types";
+    private static final String ERRORS_FIELD = "errors";
+    private static final String SERVICES_FIELD = "services";
+    private static final String HTTP_SERVICES_FIELD = "http";
+    private static final String CONSTANTS_FIELD = "constants";
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader typeReader;
+    private final ObjectReader errorReader;
+    private final ObjectReader httpServiceReader;
+    private final ObjectReader constantsReader;
+
+    public IrSectionLoader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.typeReader = objectMapper.readerFor(TypeDeclaration.class);
+        this.errorReader = objectMapper.readerFor(ErrorDeclaration.class);
+        this.httpServiceReader = objectMapper.readerFor(HttpService.class);
+        this.constantsReader = objectMapper.readerFor(FernConstants.class);
+    }
+
+    public IrDeclarations load(File irFile) {
+        List<TypeDeclaration> types = new ArrayList<>();
+        List<ErrorDeclaration> errors = new ArrayList<>();
+        List<HttpService> httpServices = new ArrayList<>();
+        Optional<FernConstants> constants = Optional.empty();
+        try (JsonParser parser = objectMapper.getFactory().createParser(irFile)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken valueToken = parser.nextToken();
+                if (valueToken == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                switch (fieldName) {
+                    case TYPES_FIELD:
+                        readArray(parser, typeReader, types);
+                        break;
+                    case ERRORS_FIELD:
+                        readArray(parser, errorReader, errors);
+                        break;
+                    case SERVICES_FIELD:
+                        readServices(parser, httpServices);
+                        break;
+                    case CONSTANTS_FIELD:
+                        constants = Optional.of(constantsReader.readValue(parser));
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read ir", e);
+        }
+        return IrDeclarations.builder()
+                .constants(constants.orElseThrow(() -> new IllegalStateException("Malformed ir: missing constants")))
+                .types(types)
+                .errors(errors)
+                .httpServices(httpServices)
+                .build();
+    }
+
+    private void readServices(JsonParser parser, List<HttpService> httpServices) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_OBJECT);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken valueToken = parser.nextToken();
+            if (fieldName.equals(HTTP_SERVICES_FIELD) && valueToken != JsonToken.VALUE_NULL) {
+                readArray(parser, httpServiceReader, httpServices);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static <T> void readArray(JsonParser parser, ObjectReader objectReader, List<T> values) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_ARRAY);
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            values.add(objectReader.readValue(parser));
+        }
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) {
+        if (actual != expected) {
+            throw new IllegalStateException("Malformed ir: expected " + expected + " but found " + actual);
+        }
+    }
+}
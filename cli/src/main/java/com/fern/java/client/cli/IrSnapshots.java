@@ -0,0 +1,218 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.client.cli;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileConstants;
+import com.fern.codegen.utils.ObjectMappers;
+import com.fern.types.ErrorDeclaration;
+import com.fern.types.TypeDeclaration;
+import com.fern.types.services.HttpService;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Optional;
+
+/**
+ * Reads and writes IR snapshots, a Smile encoding of the same document layout as the JSON IR. Snapshots are read by
+ * {@link IrSectionLoader} just like JSON, but skip text parsing and are considerably smaller.
+ *
+ * <p>Cached snapshots start with a {@code source} header recording the size and SHA-256 of the IR they were built
+ * from, which the loader skips like any other unknown section.
+ */
+public final class IrSnapshots {
+
+    private static final String SOURCE_FIELD = "source";
+    private static final String SOURCE_SIZE_FIELD = "size";
+    private static final String SOURCE_SHA256_FIELD = "sha256";
+
+    private IrSnapshots() {}
+
+    /** Returns the mapper able to read the given IR file, detecting Smile snapshots by their header. */
+    public static ObjectMapper getObjectMapper(File irFile) {
+        return isSnapshot(irFile) ? ObjectMappers.SMILE_OBJECT_MAPPER : ObjectMappers.CLIENT_OBJECT_MAPPER;
+    }
+
+    public static IrDeclarations load(File irFile) {
+        return new IrSectionLoader(getObjectMapper(irFile)).load(irFile);
+    }
+
+    /**
+     * Loads the IR through a snapshot cache. The snapshot is used if its header matches the size and hash of the IR,
+     * otherwise the IR is loaded and the snapshot is rewritten for the next run.
+     */
+    public static IrDeclarations loadCached(File irFile, File snapshotFile) {
+        long irSize = IrSource.getSize(irFile);
+        Optional<IrSource> maybeSnapshotSource = snapshotFile.isFile() ? readSource(snapshotFile) : Optional.empty();
+        if (maybeSnapshotSource.isPresent() && maybeSnapshotSource.get().size == irSize) {
+            IrSource irSource = new IrSource(irSize, IrSource.getSha256(irFile));
+            if (maybeSnapshotSource.get().equals(irSource)) {
+                return load(snapshotFile);
+            }
+            return loadAndWrite(irFile, snapshotFile, irSource);
+        }
+        return loadAndWrite(irFile, snapshotFile, new IrSource(irSize, IrSource.getSha256(irFile)));
+    }
+
+    private static IrDeclarations loadAndWrite(File irFile, File snapshotFile, IrSource irSource) {
+        IrDeclarations ir = load(irFile);
+        write(ir, snapshotFile, ObjectMappers.SMILE_OBJECT_MAPPER, Optional.of(irSource));
+        return ir;
+    }
+
+    public static void write(IrDeclarations ir, File snapshotFile) {
+        write(ir, snapshotFile, ObjectMappers.SMILE_OBJECT_MAPPER);
+    }
+
+    /** Writes the IR in the layout expected by {@link IrSectionLoader}, using the mapper's format. */
+    public static void write(IrDeclarations ir, File file, ObjectMapper objectMapper) {
+        write(ir, file, objectMapper, Optional.empty());
+    }
+
+    private static void write(
+            IrDeclarations ir, File file, ObjectMapper objectMapper, Optional<IrSource> maybeIrSource) {
+        try (JsonGenerator generator = objectMapper.createGenerator(file, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            if (maybeIrSource.isPresent()) {
+                generator.writeObjectFieldStart(SOURCE_FIELD);
+                generator.writeNumberField(SOURCE_SIZE_FIELD, maybeIrSource.get().size);
+                generator.writeStringField(SOURCE_SHA256_FIELD, maybeIrSource.get().sha256);
+                generator.writeEndObject();
+            }
+            generator.writeArrayFieldStart("types");
+            for (TypeDeclaration typeDeclaration : ir.types()) {
+                generator.writeObject(typeDeclaration);
+            }
+            generator.writeEndArray();
+            generator.writeArrayFieldStart("errors");
+            for (ErrorDeclaration errorDeclaration : ir.errors()) {
+                generator.writeObject(errorDeclaration);
+            }
+            generator.writeEndArray();
+            generator.writeObjectFieldStart("services");
+            generator.writeArrayFieldStart("http");
+            for (HttpService httpService : ir.httpServices()) {
+                generator.writeObject(httpService);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeObjectField("constants", ir.constants());
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write ir " + file, e);
+        }
+    }
+
+    private static boolean isSnapshot(File irFile) {
+        byte[] header = new byte[3];
+        try (InputStream inputStream = Files.newInputStream(irFile.toPath())) {
+            return inputStream.readNBytes(header, 0, header.length) == header.length
+                    && header[0] == SmileConstants.HEADER_BYTE_1
+                    && header[1] == SmileConstants.HEADER_BYTE_2
+                    && header[2] == SmileConstants.HEADER_BYTE_3;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read ir " + irFile, e);
+        }
+    }
+
+    /** Reads the source header of a snapshot, which is empty if the file is not a snapshot or has no header. */
+    static Optional<IrSource> readSource(File snapshotFile) {
+        if (!isSnapshot(snapshotFile)) {
+            return Optional.empty();
+        }
+        try (JsonParser parser = ObjectMappers.SMILE_OBJECT_MAPPER.getFactory().createParser(snapshotFile)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT
+                    || parser.nextToken() != JsonToken.FIELD_NAME
+                    || !parser.getCurrentName().equals(SOURCE_FIELD)
+                    || parser.nextToken() != JsonToken.START_OBJECT) {
+                return Optional.empty();
+            }
+            Optional<Long> size = Optional.empty();
+            Optional<String> sha256 = Optional.empty();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken valueToken = parser.nextToken();
+                if (fieldName.equals(SOURCE_SIZE_FIELD) && valueToken == JsonToken.VALUE_NUMBER_INT) {
+                    size = Optional.of(parser.getLongValue());
+                } else if (fieldName.equals(SOURCE_SHA256_FIELD) && valueToken == JsonToken.VALUE_STRING) {
+                    sha256 = Optional.of(parser.getText());
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (size.isEmpty() || sha256.isEmpty()) {
+                return Optional.empty();
+            }
+            return Optional.of(new IrSource(size.get(), sha256.get()));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read ir snapshot " + snapshotFile, e);
+        }
+    }
+
+    /** The size and SHA-256 of the IR a snapshot was built from. */
+    static final class IrSource {
+
+        private final long size;
+        private final String sha256;
+
+        IrSource(long size, String sha256) {
+            this.size = size;
+            this.sha256 = sha256;
+        }
+
+        static IrSource of(File irFile) {
+            return new IrSource(getSize(irFile), getSha256(irFile));
+        }
+
+        private static long getSize(File irFile) {
+            try {
+                return Files.size(irFile.toPath());
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to read ir " + irFile, e);
+            }
+        }
+
+        private static String getSha256(File irFile) {
+            try {
+                return ContentHashes.sha256(irFile.toPath());
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to read ir " + irFile, e);
+            }
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof IrSource)) {
+                return false;
+            }
+            IrSource otherIrSource = (IrSource) other;
+            return size == otherIrSource.size && sha256.equals(otherIrSource.sha256);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(size) + sha256.hashCode();
+        }
+    }
+}
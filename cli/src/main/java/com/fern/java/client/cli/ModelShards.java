@@ -0,0 +1,209 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.client.cli;
+
+import com.fern.codegen.IrIndex;
+import com.fern.types.DeclaredTypeName;
+import com.fern.types.ErrorName;
+import com.fern.types.FernFilepath;
+import com.fern.types.TypeDeclaration;
+import com.fern.types.services.HttpEndpoint;
+import com.fern.types.services.HttpService;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Splits the generated model project into subprojects along the fernFilepath of each declaration, so that gradle can
+ * compile the models of a large API in parallel. Declarations whose fernFilepaths share the same first {@code depth}
+ * components go to the same shard, and shard dependencies follow the type reference graph. Shards that depend on each
+ * other, directly or transitively, are merged because gradle project dependencies cannot form a cycle.
+ */
+final class ModelShards {
+
+    private final int depth;
+    private final Map<String, String> shardNamesByPath;
+    private final Map<String, Set<String>> shardDependencies;
+
+    private ModelShards(int depth, Map<String, String> shardNamesByPath, Map<String, Set<String>> shardDependencies) {
+        this.depth = depth;
+        this.shardNamesByPath = shardNamesByPath;
+        this.shardDependencies = shardDependencies;
+    }
+
+    static ModelShards create(String modelProjectName, int depth, IrIndex irIndex) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Model shard depth must be positive, was " + depth);
+        }
+        // Dependencies between fernFilepath prefixes, keyed by the path that the prefix is named after
+        Map<String, Set<String>> pathDependencies = new TreeMap<>();
+        for (TypeDeclaration typeDeclaration : irIndex.getTypeDeclarationsByName().values()) {
+            Set<String> dependencies = pathDependencies.computeIfAbsent(
+                    getPath(typeDeclaration.name().fernFilepath(), depth), _path -> new TreeSet<>());
+            for (DeclaredTypeName referencedType : irIndex.getReferencedTypes(typeDeclaration.name())) {
+                dependencies.add(getPath(referencedType.fernFilepath(), depth));
+            }
+        }
+        for (ErrorName errorName : irIndex.getErrorDeclarationsByName().keySet()) {
+            Set<String> dependencies = pathDependencies.computeIfAbsent(
+                    getPath(errorName.fernFilepath(), depth), _path -> new TreeSet<>());
+            for (DeclaredTypeName referencedType : irIndex.getReferencedTypes(errorName)) {
+                dependencies.add(getPath(referencedType.fernFilepath(), depth));
+            }
+        }
+        // Only endpoints that can fail generate a model, which refers to the errors the endpoint can return
+        for (HttpService httpService : irIndex.getHttpServicesByName().values()) {
+            for (HttpEndpoint httpEndpoint : httpService.endpoints()) {
+                if (httpEndpoint.errors().value().isEmpty()) {
+                    continue;
+                }
+                Set<String> dependencies = pathDependencies.computeIfAbsent(
+                        getPath(httpService.name().fernFilepath(), depth), _path -> new TreeSet<>());
+                httpEndpoint.errors().value().forEach(responseError -> {
+                    dependencies.add(getPath(responseError.error().fernFilepath(), depth));
+                });
+            }
+        }
+        // Referenced types that are not declared still need a path to resolve to
+        new ArrayList<>(pathDependencies.values())
+                .forEach(dependencies -> dependencies.forEach(
+                        dependency -> pathDependencies.computeIfAbsent(dependency, _path -> new TreeSet<>())));
+
+        Map<String, String> shardNamesByPath = new TreeMap<>();
+        for (List<String> component : new StronglyConnectedComponents(pathDependencies).compute()) {
+            String shardName = getShardName(modelProjectName, Collections.min(component));
+            component.forEach(path -> shardNamesByPath.put(path, shardName));
+        }
+        Map<String, Set<String>> shardDependencies = new TreeMap<>();
+        pathDependencies.forEach((path, dependencies) -> {
+            String shardName = shardNamesByPath.get(path);
+            Set<String> dependencyShardNames = shardDependencies.computeIfAbsent(shardName, _name -> new TreeSet<>());
+            for (String dependency : dependencies) {
+                String dependencyShardName = shardNamesByPath.get(dependency);
+                if (!dependencyShardName.equals(shardName)) {
+                    dependencyShardNames.add(dependencyShardName);
+                }
+            }
+        });
+        return new ModelShards(
+                depth,
+                Collections.unmodifiableMap(shardNamesByPath),
+                Collections.unmodifiableMap(shardDependencies));
+    }
+
+    /** The shard that declarations with this fernFilepath are generated into. */
+    String getShardName(FernFilepath fernFilepath) {
+        String shardName = shardNamesByPath.get(getPath(fernFilepath, depth));
+        if (shardName == null) {
+            throw new IllegalStateException("No model shard contains declarations in " + fernFilepath.value());
+        }
+        return shardName;
+    }
+
+    /** Every shard, in name order, with the shards it depends on. */
+    Map<String, Set<String>> getShardDependencies() {
+        return shardDependencies;
+    }
+
+    /** The shard of every fernFilepath prefix. Generated files move between shards whenever this changes. */
+    Map<String, String> getShardNamesByPath() {
+        return shardNamesByPath;
+    }
+
+    private static String getPath(FernFilepath fernFilepath, int depth) {
+        List<String> components = fernFilepath.value();
+        return String.join("/", components.subList(0, Math.min(depth, components.size())));
+    }
+
+    private static String getShardName(String modelProjectName, String path) {
+        return modelProjectName + "-" + (path.isEmpty() ? "root" : path.replace('/', '-'));
+    }
+
+    /** Tarjan's algorithm, iterative so that deep reference chains cannot overflow the stack. */
+    private static final class StronglyConnectedComponents {
+
+        private final Map<String, Set<String>> graph;
+        private final Map<String, Integer> indices = new HashMap<>();
+        private final Map<String, Integer> lowLinks = new HashMap<>();
+        private final Deque<String> stack = new ArrayDeque<>();
+        private final Set<String> onStack = new TreeSet<>();
+        private final List<List<String>> components = new ArrayList<>();
+
+        StronglyConnectedComponents(Map<String, Set<String>> graph) {
+            this.graph = graph;
+        }
+
+        List<List<String>> compute() {
+            for (String node : graph.keySet()) {
+                if (!indices.containsKey(node)) {
+                    visit(node);
+                }
+            }
+            return components;
+        }
+
+        private void visit(String root) {
+            Deque<Map.Entry<String, List<String>>> callStack = new ArrayDeque<>();
+            push(root, callStack);
+            while (!callStack.isEmpty()) {
+                Map.Entry<String, List<String>> frame = callStack.peek();
+                String node = frame.getKey();
+                List<String> remainingSuccessors = frame.getValue();
+                if (!remainingSuccessors.isEmpty()) {
+                    String successor = remainingSuccessors.remove(remainingSuccessors.size() - 1);
+                    if (!indices.containsKey(successor)) {
+                        push(successor, callStack);
+                    } else if (onStack.contains(successor)) {
+                        lowLinks.put(node, Math.min(lowLinks.get(node), indices.get(successor)));
+                    }
+                    continue;
+                }
+                callStack.pop();
+                if (!callStack.isEmpty()) {
+                    String parent = callStack.peek().getKey();
+                    lowLinks.put(parent, Math.min(lowLinks.get(parent), lowLinks.get(node)));
+                }
+                if (lowLinks.get(node).equals(indices.get(node))) {
+                    List<String> component = new ArrayList<>();
+                    String member;
+                    do {
+                        member = stack.pop();
+                        onStack.remove(member);
+                        component.add(member);
+                    } while (!member.equals(node));
+                    components.add(component);
+                }
+            }
+        }
+
+        private void push(String node, Deque<Map.Entry<String, List<String>>> callStack) {
+            indices.put(node, indices.size());
+            lowLinks.put(node, indices.get(node));
+            stack.push(node);
+            onStack.add(node);
+            List<String> successors = new ArrayList<>(graph.getOrDefault(node, Set.of()));
+            Collections.reverse(successors);
+            callStack.push(Map.entry(node, successors));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.client.cli;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fern.immutables.StagedBuilderStyle;
+import org.immutables.value.Value;
+
+/** Resource usage of a single phase of a generator run. */
+@Value.Immutable
+@StagedBuilderStyle
+@JsonSerialize(as = ImmutablePhaseMetrics.class)
+@JsonDeserialize(as = ImmutablePhaseMetrics.class)
+public interface PhaseMetrics {
+
+    String phase();
+
+    long wallTimeMillis();
+
+    /** CPU time of the whole generator process, excluding child processes such as gradle. */
+    long cpuTimeMillis();
+
+    /** Bytes allocated by threads that were still alive when the phase finished. */
+    long allocatedBytes();
+
+    long fileCount();
+
+    static ImmutablePhaseMetrics.PhaseBuildStage builder() {
+        return ImmutablePhaseMetrics.builder();
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.client.cli;
+
+import com.fern.codegen.utils.ObjectMappers;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Measures wall-clock time, CPU time, allocated bytes and file counts of each phase of a generator run. Every
+ * completed phase is handed to the listener and kept for the final report.
+ */
+public final class PhaseMetricsRecorder {
+
+    private static final String REPORT_FILE = ".fern/java-generator-metrics.json";
+
+    private final Consumer<PhaseMetrics> listener;
+    private final List<PhaseMetrics> phaseMetrics = Collections.synchronizedList(new ArrayList<>());
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private final OperatingSystemMXBean operatingSystemMXBean = ManagementFactory.getOperatingSystemMXBean();
+
+    public PhaseMetricsRecorder(Consumer<PhaseMetrics> listener) {
+        this.listener = listener;
+    }
+
+    public void record(String phase, Runnable action) {
+        record(
+                phase,
+                () -> {
+                    action.run();
+                    return null;
+                },
+                _result -> 0);
+    }
+
+    public <T> T record(String phase, Supplier<T> action) {
+        return record(phase, action, _result -> 0);
+    }
+
+    public <T> T record(String phase, Supplier<T> action, ToLongFunction<T> fileCount) {
+        long startWallTimeNanos = System.nanoTime();
+        long startCpuTimeNanos = getCpuTimeNanos();
+        Map<Long, Long> startAllocatedBytes = getAllocatedBytesByThread();
+        T result = action.get();
+        PhaseMetrics metrics = PhaseMetrics.builder()
+                .phase(phase)
+                .wallTimeMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startWallTimeNanos))
+                .cpuTimeMillis(TimeUnit.NANOSECONDS.toMillis(getCpuTimeNanos() - startCpuTimeNanos))
+                .allocatedBytes(getAllocatedBytesSince(startAllocatedBytes))
+                .fileCount(fileCount.applyAsLong(result))
+                .build();
+        phaseMetrics.add(metrics);
+        listener.accept(metrics);
+        return result;
+    }
+
+    public List<PhaseMetrics> getPhaseMetrics() {
+        synchronized (phaseMetrics) {
+            return List.copyOf(phaseMetrics);
+        }
+    }
+
+    /** Writes every recorded phase to a JSON report in the output directory. */
+    public void writeReport(Path outputDirectory) {
+        Path reportPath = outputDirectory.resolve(REPORT_FILE);
+        try {
+            Files.createDirectories(reportPath.getParent());
+            Files.write(
+                    reportPath,
+                    ObjectMappers.CLIENT_OBJECT_MAPPER
+                            .writerWithDefaultPrettyPrinter()
+                            .writeValueAsBytes(getPhaseMetrics()));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write generator metrics " + reportPath, e);
+        }
+    }
+
+    private long getCpuTimeNanos() {
+        if (operatingSystemMXBean instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) operatingSystemMXBean).getProcessCpuTime();
+        }
+        return threadMXBean.getCurrentThreadCpuTime();
+    }
+
+    private Map<Long, Long> getAllocatedBytesByThread() {
+        Map<Long, Long> allocatedBytesByThread = new HashMap<>();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            long[] threadIds = threadMXBean.getAllThreadIds();
+            long[] allocatedBytes = ((com.sun.management.ThreadMXBean) threadMXBean).getThreadAllocatedBytes(threadIds);
+            for (int i = 0; i < threadIds.length; i++) {
+                if (allocatedBytes[i] >= 0) {
+                    allocatedBytesByThread.put(threadIds[i], allocatedBytes[i]);
+                }
+            }
+        }
+        return allocatedBytesByThread;
+    }
+
+    private long getAllocatedBytesSince(Map<Long, Long> startAllocatedBytes) {
+        long allocatedBytes = 0;
+        for (Map.Entry<Long, Long> threadAllocatedBytes : getAllocatedBytesByThread().entrySet()) {
+            allocatedBytes += threadAllocatedBytes.getValue()
+                    - startAllocatedBytes.getOrDefault(threadAllocatedBytes.getKey(), 0L);
+        }
+        return allocatedBytes;
+    }
+}
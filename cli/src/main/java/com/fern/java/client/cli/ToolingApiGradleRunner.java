@@ -0,0 +1,147 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.client.cli;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import org.gradle.tooling.CancellationTokenSource;
+import org.gradle.tooling.GradleConnectionException;
+import org.gradle.tooling.GradleConnector;
+import org.gradle.tooling.ProjectConnection;
+import org.gradle.tooling.ResultHandler;
+import org.gradle.tooling.events.OperationType;
+import org.gradle.tooling.events.task.TaskFinishEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs gradle tasks in the generated project through the Gradle Tooling API. Builds run in a long-lived daemon that
+ * outlives the generator, so later runs skip JVM startup and reuse its caches. The outcome of every executed task is
+ * reported to the progress listener.
+ */
+public final class ToolingApiGradleRunner implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ToolingApiGradleRunner.class);
+
+    private static final String RESOLVE_DEPENDENCIES_TASK = "resolveFernDependencies";
+    private static final String RESOLVE_DEPENDENCIES_INIT_SCRIPT = "allprojects {\n"
+            + "    tasks.register('" + RESOLVE_DEPENDENCIES_TASK + "') {\n"
+            + "        doLast {\n"
+            + "            project.configurations.findAll { it.canBeResolved }.each { it.resolve() }\n"
+            + "        }\n"
+            + "    }\n"
+            + "}\n";
+
+    private final ProjectConnection projectConnection;
+    private final Consumer<String> taskProgressListener;
+    private final CancellationTokenSource warmUpCancellation = GradleConnector.newCancellationTokenSource();
+    private CompletableFuture<Void> warmUp = CompletableFuture.completedFuture(null);
+
+    public ToolingApiGradleRunner(Path projectDirectory, Consumer<String> taskProgressListener) {
+        GradleConnector gradleConnector = GradleConnector.newConnector().forProjectDirectory(projectDirectory.toFile());
+        // Prefer the local installation over downloading the distribution that matches the tooling API version
+        getGradleHome().ifPresent(gradleConnector::useInstallation);
+        this.projectConnection = gradleConnector.connect();
+        this.taskProgressListener = taskProgressListener;
+    }
+
+    /**
+     * Starts the daemon in the background, configures every project and resolves their dependencies, so that a later
+     * {@link #run} finds a warm daemon and populated caches. Failures are logged and otherwise ignored.
+     */
+    public void startWarmUp() {
+        Path initScript;
+        try {
+            initScript = Files.createTempFile("fern-resolve-dependencies", ".gradle");
+            Files.write(initScript, RESOLVE_DEPENDENCIES_INIT_SCRIPT.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            log.warn("Skipping gradle warm-up, failed to write init script", e);
+            return;
+        }
+        CompletableFuture<Void> buildResult = new CompletableFuture<>();
+        projectConnection
+                .newBuild()
+                .forTasks(RESOLVE_DEPENDENCIES_TASK)
+                .withArguments("--parallel", "--init-script", initScript.toString())
+                .withCancellationToken(warmUpCancellation.token())
+                .run(new ResultHandler<Void>() {
+                    @Override
+                    public void onComplete(Void _result) {
+                        buildResult.complete(null);
+                    }
+
+                    @Override
+                    public void onFailure(GradleConnectionException failure) {
+                        buildResult.completeExceptionally(failure);
+                    }
+                });
+        warmUp = buildResult.handle((_result, failure) -> {
+            if (failure != null) {
+                log.warn("Gradle warm-up failed", failure);
+            }
+            try {
+                Files.deleteIfExists(initScript);
+            } catch (IOException e) {
+                log.warn("Failed to delete init script {}", initScript, e);
+            }
+            return null;
+        });
+    }
+
+    /** Runs the tasks once any warm-up build has finished, so that both builds share one daemon. */
+    @SuppressWarnings("BanSystemOut")
+    public void run(String... tasks) {
+        warmUp.join();
+        try {
+            projectConnection
+                    .newBuild()
+                    .forTasks(tasks)
+                    .withArguments("--parallel")
+                    .setStandardOutput(System.out)
+                    .setStandardError(System.err)
+                    .addProgressListener(
+                            event -> {
+                                if (event instanceof TaskFinishEvent) {
+                                    taskProgressListener.accept(event.getDisplayName());
+                                }
+                            },
+                            OperationType.TASK)
+                    .run();
+        } catch (GradleConnectionException e) {
+            throw new RuntimeException("Gradle build failed: " + String.join(" ", tasks), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!warmUp.isDone()) {
+            warmUpCancellation.cancel();
+        }
+        projectConnection.close();
+    }
+
+    private static Optional<File> getGradleHome() {
+        return Optional.ofNullable(System.getenv("GRADLE_HOME"))
+                .map(File::new)
+                .filter(File::isDirectory);
+    }
+}
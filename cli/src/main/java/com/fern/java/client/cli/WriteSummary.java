@@ -0,0 +1,34 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.client.cli;
+
+import com.fern.immutables.StagedBuilderStyle;
+import org.immutables.value.Value;
+
+@Value.Immutable
+@StagedBuilderStyle
+public interface WriteSummary {
+
+    long filesWritten();
+
+    long filesUnchanged();
+
+    long bytesWritten();
+
+    static ImmutableWriteSummary.FilesWrittenBuildStage builder() {
+        return ImmutableWriteSummary.builder();
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.client.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fiddle.generator.logging.types.GeneratorUpdate;
+import com.fiddle.generator.logging.types.LogLevel;
+import com.fiddle.generator.logging.types.LogUpdate;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+
+public class BatchingUpdateSinkTest {
+
+    private static final GeneratorUpdate FIRST_UPDATE = logUpdate("first");
+    private static final GeneratorUpdate SECOND_UPDATE = logUpdate("second");
+    private static final GeneratorUpdate THIRD_UPDATE = logUpdate("third");
+
+    private final List<List<GeneratorUpdate>> sentBatches = Collections.synchronizedList(new ArrayList<>());
+    private final List<Thread> senderThreads = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    public void test_batchesUpdatesWithinWindow() throws InterruptedException {
+        CountDownLatch batchSent = new CountDownLatch(1);
+        BatchingUpdateSink sink = new BatchingUpdateSink(
+                recordingSender().andThen(_batch -> batchSent.countDown()), Duration.ofMillis(500));
+
+        sink.submit(FIRST_UPDATE);
+        sink.submit(SECOND_UPDATE);
+        sink.submit(THIRD_UPDATE);
+
+        assertThat(batchSent.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(sentBatches).containsExactly(List.of(FIRST_UPDATE, SECOND_UPDATE, THIRD_UPDATE));
+        assertThat(senderThreads).noneMatch(Thread.currentThread()::equals);
+        sink.close();
+        assertThat(sentBatches).hasSize(1);
+    }
+
+    @Test
+    public void test_closeFlushesPendingUpdates() {
+        BatchingUpdateSink sink = new BatchingUpdateSink(recordingSender(), Duration.ofHours(1));
+
+        sink.submit(FIRST_UPDATE);
+        sink.submit(SECOND_UPDATE);
+        sink.close();
+
+        assertThat(sentBatches).containsExactly(List.of(FIRST_UPDATE, SECOND_UPDATE));
+    }
+
+    @Test
+    public void test_closeWithoutPendingUpdatesSendsNothing() {
+        BatchingUpdateSink sink = new BatchingUpdateSink(recordingSender(), Duration.ofHours(1));
+
+        sink.close();
+        sink.close();
+
+        assertThat(sentBatches).isEmpty();
+    }
+
+    @Test
+    public void test_submitAfterCloseSendsImmediately() {
+        BatchingUpdateSink sink = new BatchingUpdateSink(recordingSender(), Duration.ofHours(1));
+        sink.close();
+
+        sink.submit(FIRST_UPDATE);
+
+        assertThat(sentBatches).containsExactly(List.of(FIRST_UPDATE));
+        assertThat(senderThreads).containsExactly(Thread.currentThread());
+    }
+
+    @Test
+    public void test_sendFailureDoesNotStopLaterBatches() throws InterruptedException {
+        CountDownLatch failedBatchSent = new CountDownLatch(1);
+        Consumer<List<GeneratorUpdate>> recordingSender = recordingSender();
+        BatchingUpdateSink sink = new BatchingUpdateSink(
+                batch -> {
+                    if (batch.contains(FIRST_UPDATE)) {
+                        failedBatchSent.countDown();
+                        throw new IllegalStateException("coordinator unavailable");
+                    }
+                    recordingSender.accept(batch);
+                },
+                Duration.ofMillis(10));
+
+        sink.submit(FIRST_UPDATE);
+        assertThat(failedBatchSent.await(10, TimeUnit.SECONDS)).isTrue();
+        sink.submit(SECOND_UPDATE);
+        sink.close();
+        sink.submit(THIRD_UPDATE);
+
+        assertThat(sentBatches).containsExactly(List.of(SECOND_UPDATE), List.of(THIRD_UPDATE));
+    }
+
+    private Consumer<List<GeneratorUpdate>> recordingSender() {
+        return batch -> {
+            sentBatches.add(List.copyOf(batch));
+            senderThreads.add(Thread.currentThread());
+        };
+    }
+
+    private static GeneratorUpdate logUpdate(String message) {
+        return GeneratorUpdate.log(
+                LogUpdate.builder().level(LogLevel.INFO).message(message).build());
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.client.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fern.java.client.cli.CustomPluginConfig.Mode;
+import org.junit.jupiter.api.Test;
+
+public class CustomPluginConfigTest {
+
+    @Test
+    public void test_parallelism() {
+        assertThat(CustomPluginConfig.builder().mode(Mode.MODEL).build().getParallelism())
+                .isEqualTo(1);
+        assertThat(withParallelism("4").getParallelism()).isEqualTo(4);
+        assertThat(withParallelism("AUTO").getParallelism())
+                .isEqualTo(Runtime.getRuntime().availableProcessors());
+    }
+
+    @Test
+    public void test_invalidParallelism() {
+        assertThatThrownBy(() -> withParallelism("four").getParallelism())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("parallelism")
+                .hasMessageContaining("four");
+        assertThatThrownBy(() -> withParallelism("0").getParallelism())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("parallelism");
+        assertThatThrownBy(() -> withParallelism("-2").getParallelism())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("parallelism")
+                .hasMessageContaining("-2");
+    }
+
+    private static CustomPluginConfig withParallelism(String parallelism) {
+        return CustomPluginConfig.builder()
+                .mode(Mode.MODEL)
+                .parallelism(parallelism)
+                .build();
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.client.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fern.codegen.IrIndex;
+import com.fern.types.AliasTypeDeclaration;
+import com.fern.types.DeclaredTypeName;
+import com.fern.types.FernFilepath;
+import com.fern.types.ObjectProperty;
+import com.fern.types.ObjectTypeDeclaration;
+import com.fern.types.PrimitiveType;
+import com.fern.types.SingleUnionType;
+import com.fern.types.Type;
+import com.fern.types.TypeDeclaration;
+import com.fern.types.TypeReference;
+import com.fern.types.UnionTypeDeclaration;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class DeclarationFingerprintsTest {
+
+    private static final DeclaredTypeName PARENT = declaredTypeName("Parent");
+    private static final DeclaredTypeName CHILD = declaredTypeName("Child");
+    private static final DeclaredTypeName POINT = declaredTypeName("Point");
+    private static final DeclaredTypeName POINT_ALIAS = declaredTypeName("PointAlias");
+    private static final DeclaredTypeName SHAPE = declaredTypeName("Shape");
+    private static final DeclaredTypeName OTHER = declaredTypeName("Other");
+
+    private static final TypeDeclaration SHAPE_TYPE = TypeDeclaration.builder()
+            .name(SHAPE)
+            .shape(Type.union(UnionTypeDeclaration.builder()
+                    .discriminant("type")
+                    .addTypes(SingleUnionType.builder()
+                            .discriminantValue("point")
+                            .valueType(TypeReference.named(POINT_ALIAS))
+                            .build())
+                    .build()))
+            .build();
+    private static final TypeDeclaration POINT_ALIAS_TYPE = TypeDeclaration.builder()
+            .name(POINT_ALIAS)
+            .shape(Type.alias(AliasTypeDeclaration.builder()
+                    .aliasOf(TypeReference.named(POINT))
+                    .build()))
+            .build();
+
+    @Test
+    public void test_typeKey() {
+        assertThat(DeclarationFingerprints.getTypeKey(SHAPE)).isEqualTo("type:com/fern:Shape");
+    }
+
+    @Test
+    public void test_fingerprintDependsOnDeclarationAndSalt() {
+        List<TypeDeclaration> typeDeclarations = List.of(objectType(POINT, "x"));
+
+        String fingerprint = getFingerprint("salt", typeDeclarations, POINT);
+
+        assertThat(getFingerprint("salt", typeDeclarations, POINT)).isEqualTo(fingerprint);
+        assertThat(getFingerprint("otherSalt", typeDeclarations, POINT)).isNotEqualTo(fingerprint);
+        assertThat(getFingerprint("salt", List.of(objectType(POINT, "y")), POINT))
+                .isNotEqualTo(fingerprint);
+    }
+
+    @Test
+    public void test_fingerprintCoversExtendedTypes() {
+        TypeDeclaration childType = objectType(CHILD, "name", PARENT);
+
+        String fingerprint = getFingerprint("salt", List.of(objectType(PARENT, "id"), childType), CHILD);
+
+        assertThat(getFingerprint("salt", List.of(objectType(PARENT, "key"), childType), CHILD))
+                .isNotEqualTo(fingerprint);
+        assertThat(getFingerprint("salt", List.of(objectType(PARENT, "id"), childType, objectType(OTHER, "x")), CHILD))
+                .isEqualTo(fingerprint);
+    }
+
+    @Test
+    public void test_fingerprintCoversWhetherTypeIsExtended() {
+        TypeDeclaration parentType = objectType(PARENT, "id");
+
+        assertThat(getFingerprint("salt", List.of(parentType, objectType(CHILD, "name", PARENT)), PARENT))
+                .isNotEqualTo(getFingerprint("salt", List.of(parentType, objectType(CHILD, "name")), PARENT));
+    }
+
+    @Test
+    public void test_fingerprintCoversAliasedUnionVariants() {
+        String fingerprint = getFingerprint(
+                "salt", List.of(SHAPE_TYPE, POINT_ALIAS_TYPE, objectType(POINT, "x"), objectType(OTHER, "x")), SHAPE);
+
+        assertThat(getFingerprint(
+                        "salt",
+                        List.of(SHAPE_TYPE, POINT_ALIAS_TYPE, objectType(POINT, "y"), objectType(OTHER, "x")),
+                        SHAPE))
+                .isNotEqualTo(fingerprint);
+        assertThat(getFingerprint(
+                        "salt",
+                        List.of(SHAPE_TYPE, POINT_ALIAS_TYPE, objectType(POINT, "x"), objectType(OTHER, "y")),
+                        SHAPE))
+                .isEqualTo(fingerprint);
+    }
+
+    private static String getFingerprint(
+            String salt, List<TypeDeclaration> typeDeclarations, DeclaredTypeName declaredTypeName) {
+        IrIndex irIndex = IrIndex.create(typeDeclarations, Collections.emptyList(), Collections.emptyList());
+        return new DeclarationFingerprints(salt, irIndex)
+                .getTypeFingerprint(irIndex.getTypeDeclarationsByName().get(declaredTypeName));
+    }
+
+    private static TypeDeclaration objectType(
+            DeclaredTypeName declaredTypeName, String propertyKey, DeclaredTypeName... extendedTypes) {
+        return TypeDeclaration.builder()
+                .name(declaredTypeName)
+                .shape(Type._object(ObjectTypeDeclaration.builder()
+                        ._extends(List.of(extendedTypes))
+                        .addProperties(ObjectProperty.builder()
+                                .key(propertyKey)
+                                .valueType(TypeReference.primitive(PrimitiveType.STRING))
+                                .build())
+                        .build()))
+                .build();
+    }
+
+    private static DeclaredTypeName declaredTypeName(String name) {
+        return DeclaredTypeName.builder()
+                .fernFilepath(FernFilepath.valueOf(List.of("com", "fern")))
+                .name(name)
+                .build();
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.client.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fern.java.client.cli.CustomPluginConfig.WriteMode;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class GeneratedFileWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void test_pipelineReturnsResultsInSubmissionOrder() {
+        GeneratedFileWriter.Pipeline pipeline = new GeneratedFileWriter.Pipeline(4, 8);
+        for (int i = 0; i < 100; i++) {
+            int bytesWritten = i;
+            pipeline.submit(() -> {
+                // Later submissions finish first
+                Thread.sleep((100 - bytesWritten) % 5);
+                return Optional.of(bytesWritten);
+            });
+        }
+
+        List<Optional<Integer>> results = pipeline.awaitWrites();
+
+        assertThat(results).hasSize(100);
+        for (int i = 0; i < 100; i++) {
+            assertThat(results.get(i)).hasValue(i);
+        }
+    }
+
+    @Test
+    public void test_pipelineBlocksSubmitAtCapacity() throws Exception {
+        GeneratedFileWriter.Pipeline pipeline = new GeneratedFileWriter.Pipeline(1, 1);
+        CountDownLatch releaseWrites = new CountDownLatch(1);
+        // One write runs on the only thread and one waits in the queue, which fills the pipeline
+        pipeline.submit(() -> {
+            releaseWrites.await();
+            return Optional.of(1);
+        });
+        pipeline.submit(() -> Optional.of(2));
+
+        CompletableFuture<Void> blockedSubmit = CompletableFuture.runAsync(() -> pipeline.submit(() -> Optional.of(3)));
+
+        assertThatThrownBy(() -> blockedSubmit.get(200, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+        releaseWrites.countDown();
+        blockedSubmit.get(10, TimeUnit.SECONDS);
+        assertThat(pipeline.awaitWrites()).containsExactly(Optional.of(1), Optional.of(2), Optional.of(3));
+    }
+
+    @Test
+    public void test_pipelineRethrowsWriteFailure() {
+        GeneratedFileWriter.Pipeline pipeline = new GeneratedFileWriter.Pipeline(2, 2);
+        pipeline.submit(() -> Optional.of(1));
+        pipeline.submit(() -> {
+            throw new IllegalStateException("disk full");
+        });
+        pipeline.submit(() -> Optional.of(3));
+
+        assertThatThrownBy(pipeline::awaitWrites)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("disk full");
+    }
+
+    @Test
+    public void test_pipelineWritesFiles() throws IOException {
+        GeneratedFileWriter generatedFileWriter =
+                new GeneratedFileWriter(2, WriteMode.OVERWRITE, Optional.empty(), Optional.of(1));
+        for (int i = 0; i < 10; i++) {
+            generatedFileWriter.addFile(tempDir.resolve("dir" + (i % 3)).resolve("file" + i), "contents" + i);
+        }
+
+        WriteSummary writeSummary = generatedFileWriter.write();
+
+        assertThat(writeSummary.filesWritten()).isEqualTo(10);
+        assertThat(writeSummary.filesUnchanged()).isZero();
+        for (int i = 0; i < 10; i++) {
+            assertThat(readString(tempDir.resolve("dir" + (i % 3)).resolve("file" + i)))
+                    .isEqualTo("contents" + i);
+        }
+        assertThat(generatedFileWriter.getContentHashes()).isEqualTo(Map.of());
+    }
+
+    @Test
+    public void test_pipelineWritesConcurrentlyIntoNewDirectories() throws IOException {
+        GeneratedFileWriter generatedFileWriter =
+                new GeneratedFileWriter(8, WriteMode.OVERWRITE, Optional.empty(), Optional.of(64));
+        // Every thread writes into the same few new, nested directories at once
+        for (int i = 0; i < 400; i++) {
+            generatedFileWriter.addFile(
+                    tempDir.resolve("a").resolve("b" + (i % 2)).resolve("c").resolve("file" + i), "contents" + i);
+        }
+
+        WriteSummary writeSummary = generatedFileWriter.write();
+
+        assertThat(writeSummary.filesWritten()).isEqualTo(400);
+        for (int i = 0; i < 400; i++) {
+            assertThat(readString(tempDir.resolve("a")
+                            .resolve("b" + (i % 2))
+                            .resolve("c")
+                            .resolve("file" + i)))
+                    .isEqualTo("contents" + i);
+        }
+    }
+
+    @Test
+    public void test_skipsFileWithUnchangedContentHash() throws IOException {
+        Path file = tempDir.resolve("dir").resolve("file");
+        Files.createDirectories(file.getParent());
+        Files.write(file, bytes("contents"));
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        GeneratedFileWriter generatedFileWriter = new GeneratedFileWriter(
+                1, WriteMode.OVERWRITE, Optional.of(Map.of(file, ContentHashes.sha256(bytes("contents")))));
+        generatedFileWriter.addFile(file, "contents");
+
+        WriteSummary writeSummary = generatedFileWriter.write();
+
+        assertThat(writeSummary.filesWritten()).isZero();
+        assertThat(writeSummary.filesUnchanged()).isEqualTo(1);
+        assertThat(Files.getLastModifiedTime(file).toMillis()).isEqualTo(lastModified);
+        assertThat(generatedFileWriter.getContentHashes()).containsEntry(file, ContentHashes.sha256(bytes("contents")));
+    }
+
+    @Test
+    public void test_rewritesEditedFileWithUnchangedContentHash() throws IOException {
+        Path file = tempDir.resolve("file");
+        // Edited since the previous run, without changing its size
+        Files.write(file, bytes("edited!!"));
+        GeneratedFileWriter generatedFileWriter = new GeneratedFileWriter(
+                1, WriteMode.OVERWRITE, Optional.of(Map.of(file, ContentHashes.sha256(bytes("contents")))));
+        generatedFileWriter.addFile(file, "contents");
+
+        WriteSummary writeSummary = generatedFileWriter.write();
+
+        assertThat(writeSummary.filesWritten()).isEqualTo(1);
+        assertThat(readString(file)).isEqualTo("contents");
+    }
+
+    @Test
+    public void test_rewritesFileWithChangedContentHash() throws IOException {
+        Path file = tempDir.resolve("file");
+        Files.write(file, bytes("previous"));
+        GeneratedFileWriter generatedFileWriter = new GeneratedFileWriter(
+                1, WriteMode.SKIP_UNCHANGED, Optional.of(Map.of(file, ContentHashes.sha256(bytes("previous")))));
+        generatedFileWriter.addFile(file, "contents");
+        generatedFileWriter.addFile(tempDir.resolve("new"), "new");
+
+        WriteSummary writeSummary = generatedFileWriter.write();
+
+        assertThat(writeSummary.filesWritten()).isEqualTo(2);
+        assertThat(readString(file)).isEqualTo("contents");
+        assertThat(readString(tempDir.resolve("new"))).isEqualTo("new");
+        assertThat(generatedFileWriter.getContentHashes())
+                .containsOnlyKeys(file.toAbsolutePath(), tempDir.resolve("new").toAbsolutePath());
+    }
+
+    @Test
+    public void test_skipUnchangedComparesFileOnDisk() throws IOException {
+        Files.write(tempDir.resolve("unchanged"), bytes("contents"));
+        Files.write(tempDir.resolve("changed"), bytes("previous"));
+        GeneratedFileWriter generatedFileWriter =
+                new GeneratedFileWriter(2, WriteMode.SKIP_UNCHANGED, Optional.empty());
+        generatedFileWriter.addFile(tempDir.resolve("unchanged"), "contents");
+        generatedFileWriter.addFile(tempDir.resolve("changed"), "contents");
+
+        WriteSummary writeSummary = generatedFileWriter.write();
+
+        assertThat(writeSummary.filesWritten()).isEqualTo(1);
+        assertThat(writeSummary.filesUnchanged()).isEqualTo(1);
+        assertThat(readString(tempDir.resolve("changed"))).isEqualTo("contents");
+    }
+
+    private static byte[] bytes(String contents) {
+        return contents.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String readString(Path path) throws IOException {
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.client.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class IncrementalCacheTest {
+
+    private static final String SALT = "salt";
+
+    @TempDir
+    Path tempDir;
+
+    private Path fileA;
+    private Path fileB;
+
+    @BeforeEach
+    public void beforeEach() throws IOException {
+        fileA = tempDir.resolve("model").resolve("A.java");
+        fileB = tempDir.resolve("model").resolve("B.java");
+        IncrementalCache cache = IncrementalCache.load(tempDir, SALT);
+        cache.recordDeclaration("type:A", "fingerprintA", fileA);
+        cache.recordDeclaration("type:B", "fingerprintB", fileB);
+        cache.save(Map.of(fileA, write(fileA, "a"), fileB, write(fileB, "b")));
+    }
+
+    @Test
+    public void test_upToDateWithSameFingerprint() {
+        IncrementalCache cache = IncrementalCache.load(tempDir, SALT);
+
+        assertThat(cache.isUpToDate("type:A", "fingerprintA")).isTrue();
+        assertThat(cache.isUpToDate("type:B", "changed")).isFalse();
+        assertThat(cache.isUpToDate("type:C", "fingerprintC")).isFalse();
+        assertThat(cache.getPreviousContentHashes()).containsOnlyKeys(fileA.toAbsolutePath(), fileB.toAbsolutePath());
+    }
+
+    @Test
+    public void test_notUpToDateWhenSaltChanges() {
+        IncrementalCache cache = IncrementalCache.load(tempDir, "otherSalt");
+
+        assertThat(cache.isUpToDate("type:A", "fingerprintA")).isFalse();
+        assertThat(cache.getPreviousContentHashes()).isEmpty();
+    }
+
+    @Test
+    public void test_notUpToDateWhenFileIsDeletedOrEdited() throws IOException {
+        Files.delete(fileA);
+        Files.write(fileB, "c".getBytes(StandardCharsets.UTF_8));
+        IncrementalCache cache = IncrementalCache.load(tempDir, SALT);
+
+        assertThat(cache.isUpToDate("type:A", "fingerprintA")).isFalse();
+        assertThat(cache.isUpToDate("type:B", "fingerprintB")).isFalse();
+    }
+
+    @Test
+    public void test_notUpToDateWhenCacheIsUnreadable() throws IOException {
+        Files.write(tempDir.resolve(".fern").resolve("java-generator-cache.json"), new byte[] {'{'});
+        IncrementalCache cache = IncrementalCache.load(tempDir, SALT);
+
+        assertThat(cache.isUpToDate("type:A", "fingerprintA")).isFalse();
+    }
+
+    @Test
+    public void test_saveCarriesForwardUpToDateFilesAndDeletesStaleFiles() throws IOException {
+        Path fileC = tempDir.resolve("model").resolve("C.java");
+        IncrementalCache cache = IncrementalCache.load(tempDir, SALT);
+        assertThat(cache.isUpToDate("type:A", "fingerprintA")).isTrue();
+        // B was removed from the IR and C was added
+        cache.recordDeclaration("type:C", "fingerprintC", fileC);
+        cache.save(Map.of(fileC, write(fileC, "c")));
+
+        assertThat(fileA).exists();
+        assertThat(fileB).doesNotExist();
+        assertThat(fileC).exists();
+        IncrementalCache nextCache = IncrementalCache.load(tempDir, SALT);
+        assertThat(nextCache.isUpToDate("type:A", "fingerprintA")).isTrue();
+        assertThat(nextCache.isUpToDate("type:B", "fingerprintB")).isFalse();
+        assertThat(nextCache.isUpToDate("type:C", "fingerprintC")).isTrue();
+    }
+
+    @Test
+    public void test_saveKeepsFilesWrittenOutsideDeclarations() throws IOException {
+        Path buildFile = tempDir.resolve("build.gradle");
+        IncrementalCache cache = IncrementalCache.load(tempDir, SALT);
+        cache.save(Map.of(buildFile, write(buildFile, "build")));
+
+        assertThat(buildFile).exists();
+        assertThat(fileA).doesNotExist();
+        assertThat(IncrementalCache.load(tempDir, SALT).getPreviousContentHashes())
+                .containsOnlyKeys(buildFile.toAbsolutePath());
+    }
+
+    private static String write(Path path, String contents) throws IOException {
+        byte[] bytes = contents.getBytes(StandardCharsets.UTF_8);
+        Files.createDirectories(path.getParent());
+        Files.write(path, bytes);
+        return ContentHashes.sha256(bytes);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.client.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fern.codegen.utils.ObjectMappers;
+import com.fern.java.test.TestConstants;
+import com.fern.types.IntermediateRepresentation;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class IrSectionLoaderTest {
+
+    private static final Path FERN_IR = Paths.get("../model-codegen/src/test/resources/fern-ir.json");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void test_matchesFullBind() throws IOException {
+        File irFile = getIrFile();
+
+        IrDeclarations loaded = new IrSectionLoader(ObjectMappers.CLIENT_OBJECT_MAPPER).load(irFile);
+        IntermediateRepresentation bound =
+                ObjectMappers.CLIENT_OBJECT_MAPPER.readValue(irFile, IntermediateRepresentation.class);
+
+        assertThat(loaded.types()).isNotEmpty().isEqualTo(bound.types());
+        assertThat(loaded.errors()).isEqualTo(bound.errors());
+        assertThat(loaded.httpServices())
+                .isNotEmpty()
+                .isEqualTo(bound.services().http());
+        assertThat(loaded.constants()).isEqualTo(bound.constants());
+    }
+
+    @Test
+    public void test_snapshotMatchesJson() throws IOException {
+        File irFile = getIrFile();
+        File snapshotFile = tempDir.resolve("ir.smile").toFile();
+
+        IrDeclarations loaded = IrSnapshots.load(irFile);
+        IrSnapshots.write(loaded, snapshotFile);
+
+        assertThat(IrSnapshots.load(snapshotFile)).isEqualTo(loaded);
+    }
+
+    /**
+     * Returns fern-ir.json with the constants the generators require and an unknown top-level section. The loader
+     * should skip that section along with the file's websocket services.
+     */
+    private File getIrFile() throws IOException {
+        ObjectNode ir = (ObjectNode) ObjectMappers.CLIENT_OBJECT_MAPPER.readTree(FERN_IR.toFile());
+        ir.set("constants", ObjectMappers.CLIENT_OBJECT_MAPPER.valueToTree(TestConstants.FERN_CONSTANTS));
+        ir.putObject("unknownSection").putArray("values").add(1).add(2);
+        File irFile = tempDir.resolve("ir.json").toFile();
+        ObjectMappers.CLIENT_OBJECT_MAPPER.writeValue(irFile, ir);
+        return irFile;
+    }
+}
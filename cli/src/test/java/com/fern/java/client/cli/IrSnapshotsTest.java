@@ -0,0 +1,117 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.client.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fern.codegen.utils.ObjectMappers;
+import com.fern.java.test.TestConstants;
+import com.fern.types.FernConstants;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class IrSnapshotsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void test_snapshotIsReused() {
+        File irFile = tempDir.resolve("ir.json").toFile();
+        File snapshotFile = tempDir.resolve("ir.smile").toFile();
+        writeIr(irFile, TestConstants.FERN_CONSTANTS);
+
+        IrDeclarations ir = IrSnapshots.loadCached(irFile, snapshotFile);
+
+        assertThat(ir.constants()).isEqualTo(TestConstants.FERN_CONSTANTS);
+        assertThat(IrSnapshots.readSource(snapshotFile)).isEqualTo(Optional.of(IrSnapshots.IrSource.of(irFile)));
+        assertThat(IrSnapshots.loadCached(irFile, snapshotFile)).isEqualTo(ir);
+    }
+
+    @Test
+    public void test_staleSnapshotIsRewritten() {
+        File irFile = tempDir.resolve("ir.json").toFile();
+        File snapshotFile = tempDir.resolve("ir.smile").toFile();
+        writeIr(irFile, TestConstants.FERN_CONSTANTS);
+        IrSnapshots.loadCached(irFile, snapshotFile);
+
+        // The IR stays older than the snapshot, so only the recorded size and hash reveal that it changed
+        FernConstants changedConstants = FernConstants.builder()
+                .errorDiscriminant("_changedError")
+                .unknownErrorDiscriminantValue("_unknown")
+                .errorInstanceIdKey("_errorInstanceId")
+                .build();
+        writeIr(irFile, changedConstants);
+        assertThat(irFile.setLastModified(snapshotFile.lastModified() - 1000)).isTrue();
+
+        IrDeclarations ir = IrSnapshots.loadCached(irFile, snapshotFile);
+
+        assertThat(ir.constants()).isEqualTo(changedConstants);
+        assertThat(IrSnapshots.readSource(snapshotFile)).isEqualTo(Optional.of(IrSnapshots.IrSource.of(irFile)));
+        assertThat(IrSnapshots.load(snapshotFile).constants()).isEqualTo(changedConstants);
+    }
+
+    @Test
+    public void test_sameSizeSnapshotIsRewritten() {
+        File irFile = tempDir.resolve("ir.json").toFile();
+        File snapshotFile = tempDir.resolve("ir.smile").toFile();
+        writeIr(irFile, TestConstants.FERN_CONSTANTS);
+        IrSnapshots.loadCached(irFile, snapshotFile);
+        long previousSize = irFile.length();
+
+        // The changed discriminant has the same length, so only the hash reveals that the IR changed
+        FernConstants changedConstants = FernConstants.builder()
+                .errorDiscriminant("_fault")
+                .unknownErrorDiscriminantValue("_unknown")
+                .errorInstanceIdKey("_errorInstanceId")
+                .build();
+        writeIr(irFile, changedConstants);
+        assertThat(irFile.length()).isEqualTo(previousSize);
+
+        IrDeclarations ir = IrSnapshots.loadCached(irFile, snapshotFile);
+
+        assertThat(ir.constants()).isEqualTo(changedConstants);
+        assertThat(IrSnapshots.readSource(snapshotFile)).isEqualTo(Optional.of(IrSnapshots.IrSource.of(irFile)));
+    }
+
+    @Test
+    public void test_snapshotWithoutSourceIsStale() {
+        File irFile = tempDir.resolve("ir.json").toFile();
+        File snapshotFile = tempDir.resolve("ir.smile").toFile();
+        writeIr(irFile, TestConstants.FERN_CONSTANTS);
+        IrSnapshots.write(IrSnapshots.load(irFile), snapshotFile);
+
+        assertThat(IrSnapshots.readSource(snapshotFile)).isEmpty();
+        assertThat(IrSnapshots.readSource(irFile)).isEmpty();
+
+        IrSnapshots.loadCached(irFile, snapshotFile);
+        assertThat(IrSnapshots.readSource(snapshotFile)).isEqualTo(Optional.of(IrSnapshots.IrSource.of(irFile)));
+    }
+
+    private static void writeIr(File irFile, FernConstants fernConstants) {
+        IrDeclarations ir = IrDeclarations.builder()
+                .constants(fernConstants)
+                .types(List.of())
+                .errors(List.of())
+                .httpServices(List.of())
+                .build();
+        IrSnapshots.write(ir, irFile, ObjectMappers.CLIENT_OBJECT_MAPPER);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.client.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fern.codegen.IrIndex;
+import com.fern.types.AliasTypeDeclaration;
+import com.fern.types.DeclaredTypeName;
+import com.fern.types.ErrorDeclaration;
+import com.fern.types.ErrorName;
+import com.fern.types.FernFilepath;
+import com.fern.types.ObjectProperty;
+import com.fern.types.ObjectTypeDeclaration;
+import com.fern.types.Type;
+import com.fern.types.TypeDeclaration;
+import com.fern.types.TypeReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+public class ModelShardsTest {
+
+    private static final String MODEL_PROJECT_NAME = "model";
+
+    @Test
+    public void test_shardsFollowReferences() {
+        ModelShards modelShards = create(
+                1,
+                List.of(objectType(typeName("A", "a", "x"), typeName("B", "b")), objectType(typeName("B", "b"))),
+                List.of());
+
+        assertThat(modelShards.getShardDependencies())
+                .isEqualTo(Map.of("model-a", Set.of("model-b"), "model-b", Set.of()));
+        assertThat(modelShards.getShardName(FernFilepath.valueOf(List.of("a", "x", "y"))))
+                .isEqualTo("model-a");
+        assertThat(modelShards.getShardNamesByPath()).isEqualTo(Map.of("a", "model-a", "b", "model-b"));
+    }
+
+    @Test
+    public void test_depthSplitsNestedPaths() {
+        ModelShards modelShards = create(
+                2,
+                List.of(
+                        objectType(typeName("A", "a", "x"), typeName("B", "a", "y", "z")),
+                        objectType(typeName("B", "a", "y", "z")),
+                        objectType(typeName("Root"), typeName("A", "a", "x"))),
+                List.of());
+
+        assertThat(modelShards.getShardDependencies())
+                .isEqualTo(Map.of(
+                        "model-a-x", Set.of("model-a-y"),
+                        "model-a-y", Set.of(),
+                        "model-root", Set.of("model-a-x")));
+    }
+
+    @Test
+    public void test_cyclicShardsAreMerged() {
+        // a -> b -> c -> a is one component, and d and e depend on it from outside
+        ModelShards modelShards = create(
+                1,
+                List.of(
+                        objectType(typeName("A", "a"), typeName("B", "b")),
+                        objectType(typeName("B", "b"), typeName("C", "c")),
+                        objectType(typeName("C", "c"), typeName("A", "a"), typeName("E", "e")),
+                        objectType(typeName("D", "d"), typeName("B", "b")),
+                        objectType(typeName("E", "e"))),
+                List.of());
+
+        assertThat(modelShards.getShardNamesByPath())
+                .isEqualTo(Map.of("a", "model-a", "b", "model-a", "c", "model-a", "d", "model-d", "e", "model-e"));
+        assertThat(modelShards.getShardDependencies())
+                .isEqualTo(Map.of("model-a", Set.of("model-e"), "model-d", Set.of("model-a"), "model-e", Set.of()));
+    }
+
+    @Test
+    public void test_deepReferenceChainDoesNotOverflow() {
+        List<TypeDeclaration> typeDeclarations = Stream.iterate(0, i -> i + 1)
+                .limit(20_000)
+                .map(i -> objectType(typeName("T", "p" + i), typeName("T", "p" + ((i + 1) % 20_000))))
+                .collect(Collectors.toList());
+
+        ModelShards modelShards = create(1, typeDeclarations, List.of());
+
+        assertThat(modelShards.getShardDependencies()).isEqualTo(Map.of("model-p0", Set.of()));
+    }
+
+    @Test
+    public void test_errorsAndUndeclaredTypesHaveShards() {
+        ErrorDeclaration errorDeclaration = ErrorDeclaration.builder()
+                .name(ErrorName.builder()
+                        .fernFilepath(FernFilepath.valueOf(List.of("errors")))
+                        .name("NotFoundError")
+                        .build())
+                .type(Type.alias(AliasTypeDeclaration.builder()
+                        .aliasOf(TypeReference.named(typeName("Missing", "missing")))
+                        .build()))
+                .build();
+
+        ModelShards modelShards = create(1, List.of(), List.of(errorDeclaration));
+
+        assertThat(modelShards.getShardDependencies())
+                .isEqualTo(Map.of("model-errors", Set.of("model-missing"), "model-missing", Set.of()));
+    }
+
+    @Test
+    public void test_invalidDepthAndUnknownPath() {
+        assertThatThrownBy(() -> create(0, List.of(), List.of())).isInstanceOf(IllegalArgumentException.class);
+        ModelShards modelShards = create(1, List.of(objectType(typeName("A", "a"))), List.of());
+        assertThatThrownBy(() -> modelShards.getShardName(FernFilepath.valueOf(List.of("b"))))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static ModelShards create(
+            int depth, List<TypeDeclaration> typeDeclarations, List<ErrorDeclaration> errorDeclarations) {
+        return ModelShards.create(
+                MODEL_PROJECT_NAME,
+                depth,
+                IrIndex.create(typeDeclarations, errorDeclarations, Collections.emptyList()));
+    }
+
+    private static TypeDeclaration objectType(DeclaredTypeName declaredTypeName, DeclaredTypeName... referencedTypes) {
+        List<ObjectProperty> properties = new ArrayList<>();
+        for (int i = 0; i < referencedTypes.length; i++) {
+            properties.add(ObjectProperty.builder()
+                    .key("property" + i)
+                    .valueType(TypeReference.named(referencedTypes[i]))
+                    .build());
+        }
+        return TypeDeclaration.builder()
+                .name(declaredTypeName)
+                .shape(Type._object(ObjectTypeDeclaration.builder()
+                        .addAllProperties(properties)
+                        .build()))
+                .build();
+    }
+
+    private static DeclaredTypeName typeName(String name, String... fernFilepath) {
+        return DeclaredTypeName.builder()
+                .fernFilepath(FernFilepath.valueOf(List.of(fernFilepath)))
+                .name(name)
+                .build();
+    }
+}
@@ -23,6 +23,8 @@ import com.fern.types.ErrorDeclaration;
 import com.fern.types.ErrorName;
 import com.fern.types.FernConstants;
 import com.fern.types.TypeDeclaration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 
@@ -31,27 +33,54 @@ public final class GeneratorContext {
     private final ClassNameUtils classNameUtils;
     private final ImmutablesUtils immutablesUtils;
     private final VisitorUtils visitorUtils;
-    private final Map<DeclaredTypeName, TypeDeclaration> typeDefinitionsByName;
-    private final Map<ErrorName, ErrorDeclaration> errorDefinitionsByName;
+    private final IrIndex irIndex;
     private final FernConstants fernConstants;
+    private final ImmutablesMode immutablesMode;
+    private final boolean jacksonCodecs;
+    private final boolean stacklessErrors;
 
     public GeneratorContext(
             Optional<String> packagePrefix,
             Map<DeclaredTypeName, TypeDeclaration> typeDefinitionsByName,
             Map<ErrorName, ErrorDeclaration> errorDefinitionsByName,
             FernConstants fernConstants) {
-        this.classNameUtils = new ClassNameUtils(packagePrefix);
+        this(GeneratorOptions.builder()
+                .irIndex(IrIndex.create(
+                        new ArrayList<>(typeDefinitionsByName.values()),
+                        new ArrayList<>(errorDefinitionsByName.values()),
+                        Collections.emptyList()))
+                .fernConstants(fernConstants)
+                .packagePrefix(packagePrefix)
+                .build());
+    }
+
+    public GeneratorContext(GeneratorOptions options) {
+        this.classNameUtils = new ClassNameUtils(options.packagePrefix());
         this.immutablesUtils = new ImmutablesUtils(classNameUtils);
         this.visitorUtils = new VisitorUtils();
-        this.typeDefinitionsByName = typeDefinitionsByName;
-        this.errorDefinitionsByName = errorDefinitionsByName;
-        this.fernConstants = fernConstants;
+        this.irIndex = options.irIndex();
+        this.fernConstants = options.fernConstants();
+        this.immutablesMode = options.immutablesMode();
+        this.jacksonCodecs = options.jacksonCodecs();
+        this.stacklessErrors = options.stacklessErrors();
     }
 
     public FernConstants getFernConstants() {
         return fernConstants;
     }
 
+    public ImmutablesMode getImmutablesMode() {
+        return immutablesMode;
+    }
+
+    public boolean hasJacksonCodecs() {
+        return jacksonCodecs;
+    }
+
+    public boolean hasStacklessErrors() {
+        return stacklessErrors;
+    }
+
     public ClassNameUtils getClassNameUtils() {
         return classNameUtils;
     }
@@ -60,12 +89,16 @@ public final class GeneratorContext {
         return immutablesUtils;
     }
 
+    public IrIndex getIrIndex() {
+        return irIndex;
+    }
+
     public Map<DeclaredTypeName, TypeDeclaration> getTypeDefinitionsByName() {
-        return typeDefinitionsByName;
+        return irIndex.getTypeDeclarationsByName();
     }
 
     public Map<ErrorName, ErrorDeclaration> getErrorDefinitionsByName() {
-        return errorDefinitionsByName;
+        return irIndex.getErrorDeclarationsByName();
     }
 
     public VisitorUtils getVisitorUtils() {
@@ -0,0 +1,59 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.codegen;
+
+import com.fern.immutables.StagedBuilderStyle;
+import com.fern.types.FernConstants;
+import java.util.Optional;
+import org.immutables.value.Value;
+
+@Value.Immutable
+@StagedBuilderStyle
+public interface GeneratorOptions {
+
+    IrIndex irIndex();
+
+    FernConstants fernConstants();
+
+    Optional<String> packagePrefix();
+
+    @Value.Default
+    default ImmutablesMode immutablesMode() {
+        return ImmutablesMode.ANNOTATION_PROCESSOR;
+    }
+
+    /**
+     * Whether objects, unions and enums get generated streaming Jackson serializers and deserializers, registered
+     * through a generated Jackson module instead of bean introspection.
+     */
+    @Value.Default
+    default boolean jacksonCodecs() {
+        return false;
+    }
+
+    /**
+     * Whether generated errors skip capturing a stack trace, which makes throwing them, and decoding them in clients,
+     * cheaper.
+     */
+    @Value.Default
+    default boolean stacklessErrors() {
+        return false;
+    }
+
+    static ImmutableGeneratorOptions.IrIndexBuildStage builder() {
+        return ImmutableGeneratorOptions.builder();
+    }
+}
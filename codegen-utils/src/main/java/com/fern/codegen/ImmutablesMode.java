@@ -0,0 +1,24 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.codegen;
+
+/** How generated value types get their immutable implementations. */
+public enum ImmutablesMode {
+    /** Emit {@code @Value.Immutable} interfaces and let the Immutables annotation processor implement them. */
+    ANNOTATION_PROCESSOR,
+    /** Emit the immutable classes, their builders and Jackson creators directly. */
+    CONCRETE
+}
@@ -0,0 +1,329 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.codegen;
+
+import com.fern.types.AliasTypeDeclaration;
+import com.fern.types.ContainerType;
+import com.fern.types.DeclaredTypeName;
+import com.fern.types.EnumTypeDeclaration;
+import com.fern.types.ErrorDeclaration;
+import com.fern.types.ErrorName;
+import com.fern.types.MapType;
+import com.fern.types.ObjectProperty;
+import com.fern.types.ObjectTypeDeclaration;
+import com.fern.types.PrimitiveType;
+import com.fern.types.SingleUnionType;
+import com.fern.types.Type;
+import com.fern.types.TypeDeclaration;
+import com.fern.types.TypeReference;
+import com.fern.types.UnionTypeDeclaration;
+import com.fern.types.services.HttpEndpoint;
+import com.fern.types.services.HttpService;
+import com.fern.types.services.ServiceName;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Lookups over the intermediate representation that generators would otherwise recompute by rescanning every
+ * declaration: declarations by name, the types each declaration refers to, the extended types, and endpoints by
+ * error. Built once per run and immutable, so it is safe to share between parallel generators.
+ */
+public final class IrIndex {
+
+    private final Map<DeclaredTypeName, TypeDeclaration> typeDeclarationsByName;
+    private final Map<ErrorName, ErrorDeclaration> errorDeclarationsByName;
+    private final Map<DeclaredTypeName, Set<DeclaredTypeName>> referencedTypes;
+    private final Map<ErrorName, Set<DeclaredTypeName>> errorReferencedTypes;
+    private final Set<DeclaredTypeName> extendedTypes;
+    private final Map<ServiceName, HttpService> httpServicesByName;
+    private final Map<ErrorName, Map<HttpService, List<HttpEndpoint>>> endpointsByError;
+
+    private IrIndex(
+            List<TypeDeclaration> typeDeclarations,
+            List<ErrorDeclaration> errorDeclarations,
+            List<HttpService> httpServices) {
+        this.typeDeclarationsByName = typeDeclarations.stream()
+                .collect(Collectors.toUnmodifiableMap(TypeDeclaration::name, Function.identity()));
+        this.errorDeclarationsByName = errorDeclarations.stream()
+                .collect(Collectors.toUnmodifiableMap(ErrorDeclaration::name, Function.identity()));
+
+        Map<DeclaredTypeName, Set<DeclaredTypeName>> referencedTypes = new LinkedHashMap<>();
+        Set<DeclaredTypeName> extendedTypes = new LinkedHashSet<>();
+        for (TypeDeclaration typeDeclaration : typeDeclarations) {
+            Set<DeclaredTypeName> references = new LinkedHashSet<>();
+            typeDeclaration.shape().visit(new TypeReferenceCollector(references));
+            referencedTypes.put(typeDeclaration.name(), Collections.unmodifiableSet(references));
+            typeDeclaration
+                    .shape()
+                    .getObject()
+                    .map(ObjectTypeDeclaration::_extends)
+                    .ifPresent(extendedTypes::addAll);
+        }
+        Map<ErrorName, Set<DeclaredTypeName>> errorReferencedTypes = new LinkedHashMap<>();
+        for (ErrorDeclaration errorDeclaration : errorDeclarations) {
+            Set<DeclaredTypeName> references = new LinkedHashSet<>();
+            errorDeclaration.type().visit(new TypeReferenceCollector(references));
+            errorReferencedTypes.put(errorDeclaration.name(), Collections.unmodifiableSet(references));
+        }
+        this.referencedTypes = Collections.unmodifiableMap(referencedTypes);
+        this.errorReferencedTypes = Collections.unmodifiableMap(errorReferencedTypes);
+        this.extendedTypes = Collections.unmodifiableSet(extendedTypes);
+
+        Map<ServiceName, HttpService> httpServicesByName = new LinkedHashMap<>();
+        Map<ErrorName, Map<HttpService, List<HttpEndpoint>>> endpointsByError = new LinkedHashMap<>();
+        for (HttpService httpService : httpServices) {
+            httpServicesByName.put(httpService.name(), httpService);
+            for (HttpEndpoint httpEndpoint : httpService.endpoints()) {
+                httpEndpoint.errors().value().forEach(responseError -> endpointsByError
+                        .computeIfAbsent(responseError.error(), _errorName -> new HashMap<>())
+                        .computeIfAbsent(httpService, _httpService -> new ArrayList<>())
+                        .add(httpEndpoint));
+            }
+        }
+        this.httpServicesByName = Collections.unmodifiableMap(httpServicesByName);
+        this.endpointsByError = unmodifiableValues(
+                endpointsByError, endpointsByErrorService -> unmodifiableValues(endpointsByErrorService, List::copyOf));
+    }
+
+    private IrIndex(
+            Map<DeclaredTypeName, TypeDeclaration> typeDeclarationsByName,
+            Map<ErrorName, ErrorDeclaration> errorDeclarationsByName,
+            Map<DeclaredTypeName, Set<DeclaredTypeName>> referencedTypes,
+            Map<ErrorName, Set<DeclaredTypeName>> errorReferencedTypes,
+            Set<DeclaredTypeName> extendedTypes,
+            Map<ServiceName, HttpService> httpServicesByName,
+            Map<ErrorName, Map<HttpService, List<HttpEndpoint>>> endpointsByError) {
+        this.typeDeclarationsByName = typeDeclarationsByName;
+        this.errorDeclarationsByName = errorDeclarationsByName;
+        this.referencedTypes = referencedTypes;
+        this.errorReferencedTypes = errorReferencedTypes;
+        this.extendedTypes = extendedTypes;
+        this.httpServicesByName = httpServicesByName;
+        this.endpointsByError = endpointsByError;
+    }
+
+    public static IrIndex create(
+            List<TypeDeclaration> typeDeclarations,
+            List<ErrorDeclaration> errorDeclarations,
+            List<HttpService> httpServices) {
+        return new IrIndex(typeDeclarations, errorDeclarations, httpServices);
+    }
+
+    public Map<DeclaredTypeName, TypeDeclaration> getTypeDeclarationsByName() {
+        return typeDeclarationsByName;
+    }
+
+    public Map<ErrorName, ErrorDeclaration> getErrorDeclarationsByName() {
+        return errorDeclarationsByName;
+    }
+
+    /** Named types that the declaration of this type refers to directly, including the types it extends. */
+    public Set<DeclaredTypeName> getReferencedTypes(DeclaredTypeName declaredTypeName) {
+        return referencedTypes.getOrDefault(declaredTypeName, Set.of());
+    }
+
+    /** Named types that the declaration of this error refers to directly. */
+    public Set<DeclaredTypeName> getReferencedTypes(ErrorName errorName) {
+        return errorReferencedTypes.getOrDefault(errorName, Set.of());
+    }
+
+    /** Every type that some object extends, in declaration order. */
+    public Set<DeclaredTypeName> getExtendedTypes() {
+        return extendedTypes;
+    }
+
+    public boolean isExtended(DeclaredTypeName declaredTypeName) {
+        return extendedTypes.contains(declaredTypeName);
+    }
+
+    public Map<ServiceName, HttpService> getHttpServicesByName() {
+        return httpServicesByName;
+    }
+
+    /**
+     * Types reachable from an endpoint's request, response, headers or path and query parameters, from a service
+     * header, or from an error declaration, following references transitively.
+     */
+    public Set<DeclaredTypeName> getReachableTypes() {
+        Set<DeclaredTypeName> roots = new LinkedHashSet<>();
+        TypeReferenceCollector rootCollector = new TypeReferenceCollector(roots);
+        for (HttpService httpService : httpServicesByName.values()) {
+            httpService.headers().forEach(httpHeader -> httpHeader.valueType().visit(rootCollector));
+            for (HttpEndpoint httpEndpoint : httpService.endpoints()) {
+                httpEndpoint.request().type().visit(rootCollector);
+                httpEndpoint.response().type().visit(rootCollector);
+                httpEndpoint
+                        .headers()
+                        .forEach(httpHeader -> httpHeader.valueType().visit(rootCollector));
+                httpEndpoint
+                        .pathParameters()
+                        .forEach(pathParameter -> pathParameter.valueType().visit(rootCollector));
+                httpEndpoint
+                        .queryParameters()
+                        .forEach(queryParameter -> queryParameter.valueType().visit(rootCollector));
+            }
+        }
+        errorReferencedTypes.values().forEach(roots::addAll);
+
+        Set<DeclaredTypeName> reachableTypes = new LinkedHashSet<>();
+        Deque<DeclaredTypeName> toVisit = new ArrayDeque<>(roots);
+        while (!toVisit.isEmpty()) {
+            DeclaredTypeName declaredTypeName = toVisit.pop();
+            if (reachableTypes.add(declaredTypeName)) {
+                toVisit.addAll(getReferencedTypes(declaredTypeName));
+            }
+        }
+        return reachableTypes;
+    }
+
+    /**
+     * The index of the same IR without the types that {@link #getReachableTypes()} does not return. It is derived from
+     * this index rather than by rescanning the declarations. Errors and services are kept as they are.
+     */
+    public IrIndex withoutUnreachableTypes() {
+        Set<DeclaredTypeName> reachableTypes = getReachableTypes();
+        Map<DeclaredTypeName, TypeDeclaration> reachableTypeDeclarationsByName =
+                typeDeclarationsByName.entrySet().stream()
+                        .filter(entry -> reachableTypes.contains(entry.getKey()))
+                        .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, Map.Entry::getValue));
+        Set<DeclaredTypeName> reachableExtendedTypes = reachableTypeDeclarationsByName.values().stream()
+                .flatMap(typeDeclaration -> typeDeclaration.shape().getObject().stream())
+                .flatMap(objectTypeDeclaration -> objectTypeDeclaration._extends().stream())
+                .collect(Collectors.toSet());
+        return new IrIndex(
+                reachableTypeDeclarationsByName,
+                errorDeclarationsByName,
+                referencedTypes.entrySet().stream()
+                        .filter(entry -> reachableTypes.contains(entry.getKey()))
+                        .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, Map.Entry::getValue)),
+                errorReferencedTypes,
+                Collections.unmodifiableSet(extendedTypes.stream()
+                        .filter(reachableExtendedTypes::contains)
+                        .collect(Collectors.toCollection(LinkedHashSet::new))),
+                httpServicesByName,
+                endpointsByError);
+    }
+
+    /** For each error, the endpoints of each service that can return it. */
+    public Map<ErrorName, Map<HttpService, List<HttpEndpoint>>> getEndpointsByError() {
+        return endpointsByError;
+    }
+
+    private static <K, V> Map<K, V> unmodifiableValues(Map<K, V> map, Function<V, V> unmodifiableValue) {
+        map.replaceAll((_key, value) -> unmodifiableValue.apply(value));
+        return Collections.unmodifiableMap(map);
+    }
+
+    private static final class TypeReferenceCollector
+            implements Type.Visitor<Void>, TypeReference.Visitor<Void>, ContainerType.Visitor<Void> {
+
+        private final Collection<DeclaredTypeName> references;
+
+        TypeReferenceCollector(Collection<DeclaredTypeName> references) {
+            this.references = references;
+        }
+
+        @Override
+        public Void visitObject(ObjectTypeDeclaration objectTypeDeclaration) {
+            references.addAll(objectTypeDeclaration._extends());
+            for (ObjectProperty objectProperty : objectTypeDeclaration.properties()) {
+                objectProperty.valueType().visit(this);
+            }
+            return null;
+        }
+
+        @Override
+        public Void visitUnion(UnionTypeDeclaration unionTypeDeclaration) {
+            for (SingleUnionType singleUnionType : unionTypeDeclaration.types()) {
+                singleUnionType.valueType().visit(this);
+            }
+            return null;
+        }
+
+        @Override
+        public Void visitAlias(AliasTypeDeclaration aliasTypeDeclaration) {
+            return aliasTypeDeclaration.aliasOf().visit(this);
+        }
+
+        @Override
+        public Void visitEnum(EnumTypeDeclaration _enumTypeDeclaration) {
+            return null;
+        }
+
+        @Override
+        public Void visitNamed(DeclaredTypeName declaredTypeName) {
+            references.add(declaredTypeName);
+            return null;
+        }
+
+        @Override
+        public Void visitPrimitive(PrimitiveType _primitiveType) {
+            return null;
+        }
+
+        @Override
+        public Void visitContainer(ContainerType containerType) {
+            return containerType.visit(this);
+        }
+
+        @Override
+        public Void visitVoid() {
+            return null;
+        }
+
+        @Override
+        public Void visitUnknown() {
+            return null;
+        }
+
+        @Override
+        public Void visitMap(MapType mapType) {
+            mapType.keyType().visit(this);
+            return mapType.valueType().visit(this);
+        }
+
+        @Override
+        public Void visitList(TypeReference typeReference) {
+            return typeReference.visit(this);
+        }
+
+        @Override
+        public Void visitSet(TypeReference typeReference) {
+            return typeReference.visit(this);
+        }
+
+        @Override
+        public Void visitOptional(TypeReference typeReference) {
+            return typeReference.visit(this);
+        }
+
+        @Override
+        public Void visitUnknown(String _unknownType) {
+            return null;
+        }
+    }
+}
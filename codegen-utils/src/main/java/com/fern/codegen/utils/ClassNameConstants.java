@@ -16,6 +16,7 @@
 
 package com.fern.codegen.utils;
 
+import com.fern.java.exception.ErrorInstanceIds;
 import com.fern.java.exception.HttpException;
 import com.fern.java.immutables.AliasImmutablesStyle;
 import com.fern.java.jackson.ClientObjectMappers;
@@ -44,11 +45,17 @@ public final class ClassNameConstants {
             getMethodName(ResourceInfoUtils.class, "getInterfaceNames", ResourceInfo.class);
     public static final String RESOURCE_INFO_GET_METHOD_NAME_METHOD_NAME =
             getMethodName(ResourceInfoUtils.class, "getMethodName", ResourceInfo.class);
+    public static final String RESOURCE_INFO_GET_ENDPOINT_KEY_METHOD_NAME =
+            getMethodName(ResourceInfoUtils.class, "getEndpointKey", ResourceInfo.class);
 
     public static final ClassName HTTP_EXCEPTION_CLASSNAME = ClassName.get(HttpException.class);
     public static final String HTTP_EXCEPTION_ERROR_INSTANCE_ID_METHOD_NAME =
             getMethodName(HttpException.class, "getErrorInstanceId");
 
+    public static final ClassName ERROR_INSTANCE_IDS_CLASSNAME = ClassName.get(ErrorInstanceIds.class);
+    public static final String ERROR_INSTANCE_IDS_GENERATE_METHOD_NAME =
+            getMethodName(ErrorInstanceIds.class, "generate");
+
     public static final ClassName ALIAS_IMMUTABLES_STYLE_CLASSNAME = ClassName.get(AliasImmutablesStyle.class);
 
     public static final ClassName CLIENT_OBJECT_MAPPERS_CLASS_NAME = ClassName.get(ClientObjectMappers.class);
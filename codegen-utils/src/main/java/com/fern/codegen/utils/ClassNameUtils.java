@@ -25,12 +25,18 @@ import com.squareup.javapoet.TypeName;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import org.apache.commons.lang3.StringUtils;
 
+/**
+ * Converts IR names and type references to JavaPoet names. Conversions are memoized, and the instance is safe to
+ * share between generators running in parallel.
+ */
 public final class ClassNameUtils {
     private final List<String> packagePrefixes;
     private final TypeReferenceUtils typeReferenceUtils;
+    private final Memoizer<ClassNameKey, ClassName> classNames = new Memoizer<>(this::computeClassName);
 
     public ClassNameUtils(Optional<String> maybePackagePrefix) {
         String[] splitPackagePrefix = maybePackagePrefix
@@ -84,18 +90,30 @@ public final class ClassNameUtils {
             Optional<String> maybeSuffix,
             Optional<PackageType> generatedClassType,
             Optional<FernFilepath> fernFilepath) {
-        String fullClassName = maybeSuffix
-                .map(suffix -> className + StringUtils.capitalize(suffix))
-                .orElse(className);
-        String compatibleClassname = getCompatibleClassName(fullClassName);
-        String packageName = getPackage(generatedClassType, fernFilepath);
-        return ClassName.get(packageName, compatibleClassname);
+        return classNames.get(new ClassNameKey(className, maybeSuffix, generatedClassType, fernFilepath));
     }
 
     public TypeName getTypeNameFromTypeReference(boolean primitiveAllowed, TypeReference typeReference) {
         return typeReferenceUtils.convertToTypeName(primitiveAllowed, typeReference);
     }
 
+    public CacheStats getClassNameCacheStats() {
+        return classNames.getStats();
+    }
+
+    public CacheStats getTypeNameCacheStats() {
+        return typeReferenceUtils.getCacheStats();
+    }
+
+    private ClassName computeClassName(ClassNameKey key) {
+        String fullClassName = key.suffix
+                .map(suffix -> key.className + StringUtils.capitalize(suffix))
+                .orElse(key.className);
+        String compatibleClassname = getCompatibleClassName(fullClassName);
+        String packageName = getPackage(key.packageType, key.fernFilepath);
+        return ClassName.get(packageName, compatibleClassname);
+    }
+
     @SuppressWarnings("RightCurly")
     private static String getCompatibleClassName(String name) {
         StringBuilder camelCaseNameBuilder = new StringBuilder();
@@ -146,6 +164,47 @@ public final class ClassNameUtils {
         throw new IllegalStateException("Encountered unknown PackageType: " + packageType);
     }
 
+    private static final class ClassNameKey {
+        private final String className;
+        private final Optional<String> suffix;
+        private final Optional<PackageType> packageType;
+        private final Optional<FernFilepath> fernFilepath;
+        private final int hashCode;
+
+        ClassNameKey(
+                String className,
+                Optional<String> suffix,
+                Optional<PackageType> packageType,
+                Optional<FernFilepath> fernFilepath) {
+            this.className = className;
+            this.suffix = suffix;
+            this.packageType = packageType;
+            this.fernFilepath = fernFilepath;
+            this.hashCode = Objects.hash(className, suffix, packageType, fernFilepath);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof ClassNameKey)) {
+                return false;
+            }
+            ClassNameKey that = (ClassNameKey) other;
+            return hashCode == that.hashCode
+                    && className.equals(that.className)
+                    && suffix.equals(that.suffix)
+                    && packageType.equals(that.packageType)
+                    && fernFilepath.equals(that.fernFilepath);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
     public enum PackageType {
         INTERFACES,
         TYPES,
@@ -0,0 +1,48 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.codegen.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/** Thread-safe cache of a pure function that counts its hits and misses. Failed computations are not cached. */
+final class Memoizer<K, V> {
+
+    private final Function<K, V> function;
+    private final Map<K, V> values = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    Memoizer(Function<K, V> function) {
+        this.function = function;
+    }
+
+    V get(K key) {
+        V value = values.get(key);
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+        misses.increment();
+        return values.computeIfAbsent(key, function);
+    }
+
+    CacheStats getStats() {
+        return CacheStats.builder().hits(hits.sum()).misses(misses.sum()).build();
+    }
+}
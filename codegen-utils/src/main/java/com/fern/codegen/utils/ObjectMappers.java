@@ -18,6 +18,7 @@ package com.fern.codegen.utils;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 
 public final class ObjectMappers {
@@ -27,5 +28,11 @@ public final class ObjectMappers {
             .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
             .enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS);
 
+    /** Binary (Smile) counterpart of {@link #CLIENT_OBJECT_MAPPER}, used for IR snapshots. */
+    public static final ObjectMapper SMILE_OBJECT_MAPPER = new ObjectMapper(new SmileFactory())
+            .registerModule(new Jdk8Module())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS);
+
     private ObjectMappers() {}
 }
@@ -0,0 +1,77 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.codegen.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public final class ParallelUtils {
+
+    private ParallelUtils() {}
+
+    /**
+     * Applies the mapper to every input, fanning out over the executor when one is present. Results are always
+     * returned in input order so callers produce the same output as the serial path.
+     */
+    public static <T, R> List<R> mapInOrder(
+            Optional<ExecutorService> maybeExecutorService, List<T> inputs, Function<T, R> mapper) {
+        if (maybeExecutorService.isEmpty()) {
+            return inputs.stream().map(mapper).collect(Collectors.toList());
+        }
+        ExecutorService executorService = maybeExecutorService.get();
+        List<Future<R>> futures = inputs.stream()
+                .map(input -> executorService.submit(() -> mapper.apply(input)))
+                .collect(Collectors.toList());
+        return getAllInOrder(futures);
+    }
+
+    /**
+     * Waits for every future and returns the results in order. If any future fails, the remaining futures are
+     * cancelled and the failure is rethrown.
+     */
+    public static <R> List<R> getAllInOrder(List<Future<R>> futures) {
+        List<R> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<R> future : futures) {
+                results.add(getUnchecked(future));
+            }
+        } catch (RuntimeException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+        return results;
+    }
+
+    private static <R> R getUnchecked(Future<R> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for generator task", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Generator task failed", e.getCause());
+        }
+    }
+}
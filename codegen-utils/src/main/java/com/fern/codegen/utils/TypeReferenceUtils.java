@@ -33,16 +33,33 @@ import java.util.UUID;
 class TypeReferenceUtils {
 
     private final ClassNameUtils classNameUtils;
+    private final TypeReferenceToTypeNameConverter primitiveAllowedTypeReferenceConverter =
+            new TypeReferenceToTypeNameConverter(true);
     private final TypeReferenceToTypeNameConverter primitiveDisAllowedTypeReferenceConverter =
             new TypeReferenceToTypeNameConverter(false);
     private final ContainerToTypeNameConverter containerToTypeNameConverter = new ContainerToTypeNameConverter();
+    private final Memoizer<TypeReference, TypeName> primitiveAllowedTypeNames =
+            new Memoizer<>(typeReference -> typeReference.visit(primitiveAllowedTypeReferenceConverter));
+    private final Memoizer<TypeReference, TypeName> primitiveDisAllowedTypeNames =
+            new Memoizer<>(typeReference -> typeReference.visit(primitiveDisAllowedTypeReferenceConverter));
 
     TypeReferenceUtils(ClassNameUtils classNameUtils) {
         this.classNameUtils = classNameUtils;
     }
 
     TypeName convertToTypeName(boolean primitiveAllowed, TypeReference typeReference) {
-        return typeReference.visit(new TypeReferenceToTypeNameConverter(primitiveAllowed));
+        return primitiveAllowed
+                ? primitiveAllowedTypeNames.get(typeReference)
+                : primitiveDisAllowedTypeNames.get(typeReference);
+    }
+
+    CacheStats getCacheStats() {
+        CacheStats primitiveAllowedStats = primitiveAllowedTypeNames.getStats();
+        CacheStats primitiveDisAllowedStats = primitiveDisAllowedTypeNames.getStats();
+        return CacheStats.builder()
+                .hits(primitiveAllowedStats.hits() + primitiveDisAllowedStats.hits())
+                .misses(primitiveAllowedStats.misses() + primitiveDisAllowedStats.misses())
+                .build();
     }
 
     private final class TypeReferenceToTypeNameConverter implements TypeReference.Visitor<TypeName> {
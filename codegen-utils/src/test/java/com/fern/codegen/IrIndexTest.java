@@ -0,0 +1,247 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.codegen;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fern.types.AliasTypeDeclaration;
+import com.fern.types.DeclaredTypeName;
+import com.fern.types.ErrorDeclaration;
+import com.fern.types.ErrorName;
+import com.fern.types.FernFilepath;
+import com.fern.types.ObjectProperty;
+import com.fern.types.ObjectTypeDeclaration;
+import com.fern.types.PrimitiveType;
+import com.fern.types.Type;
+import com.fern.types.TypeDeclaration;
+import com.fern.types.TypeReference;
+import com.fern.types.services.Encoding;
+import com.fern.types.services.EndpointId;
+import com.fern.types.services.HttpAuth;
+import com.fern.types.services.HttpEndpoint;
+import com.fern.types.services.HttpMethod;
+import com.fern.types.services.HttpPath;
+import com.fern.types.services.HttpPathPart;
+import com.fern.types.services.HttpRequest;
+import com.fern.types.services.HttpResponse;
+import com.fern.types.services.HttpService;
+import com.fern.types.services.PathParameter;
+import com.fern.types.services.ResponseError;
+import com.fern.types.services.ResponseErrors;
+import com.fern.types.services.ServiceName;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class IrIndexTest {
+
+    private static final DeclaredTypeName ENTITY = declaredTypeName("Entity");
+    private static final DeclaredTypeName PERSON = declaredTypeName("Person");
+    private static final DeclaredTypeName PERSON_ID = declaredTypeName("PersonId");
+    private static final DeclaredTypeName ADDRESS = declaredTypeName("Address");
+    private static final DeclaredTypeName CREATE_PERSON_REQUEST = declaredTypeName("CreatePersonRequest");
+    private static final DeclaredTypeName ERROR_DETAIL = declaredTypeName("ErrorDetail");
+    private static final DeclaredTypeName UNUSED_ENTITY = declaredTypeName("UnusedEntity");
+    private static final DeclaredTypeName UNUSED_BASE = declaredTypeName("UnusedBase");
+    private static final DeclaredTypeName UNUSED_CHILD = declaredTypeName("UnusedChild");
+
+    private static final List<TypeDeclaration> TYPE_DECLARATIONS = List.of(
+            object(ENTITY, List.of()),
+            object(
+                    PERSON,
+                    List.of(ENTITY),
+                    ObjectProperty.builder()
+                            .key("address")
+                            .valueType(TypeReference.named(ADDRESS))
+                            .build()),
+            alias(PERSON_ID, TypeReference.primitive(PrimitiveType.STRING)),
+            object(ADDRESS, List.of()),
+            object(CREATE_PERSON_REQUEST, List.of()),
+            object(ERROR_DETAIL, List.of()),
+            object(
+                    UNUSED_ENTITY,
+                    List.of(ENTITY),
+                    ObjectProperty.builder()
+                            .key("person")
+                            .valueType(TypeReference.named(PERSON))
+                            .build()),
+            object(UNUSED_BASE, List.of()),
+            object(UNUSED_CHILD, List.of(UNUSED_BASE)));
+
+    private static final ErrorDeclaration PERSON_NOT_FOUND = ErrorDeclaration.builder()
+            .name(ErrorName.builder()
+                    .fernFilepath(FernFilepath.valueOf(List.of("fern")))
+                    .name("PersonNotFound")
+                    .build())
+            .type(Type.alias(AliasTypeDeclaration.builder()
+                    .aliasOf(TypeReference.named(ERROR_DETAIL))
+                    .build()))
+            .build();
+
+    private static final HttpService PERSON_SERVICE = HttpService.builder()
+            .name(ServiceName.builder()
+                    .fernFilepath(FernFilepath.valueOf(List.of("fern")))
+                    .name("PersonService")
+                    .build())
+            .basePath("/person")
+            .addEndpoints(HttpEndpoint.builder()
+                    .endpointId(EndpointId.valueOf("getPerson"))
+                    .method(HttpMethod.GET)
+                    .path(HttpPath.builder()
+                            .head("/")
+                            .addParts(HttpPathPart.builder()
+                                    .pathParameter("personId")
+                                    .tail("")
+                                    .build())
+                            .build())
+                    .request(HttpRequest.builder()
+                            .encoding(Encoding.json())
+                            .type(TypeReference._void())
+                            .build())
+                    .response(HttpResponse.builder()
+                            .encoding(Encoding.json())
+                            .type(TypeReference.named(PERSON))
+                            .build())
+                    .errors(ResponseErrors.valueOf(List.of(ResponseError.builder()
+                            .discriminantValue("notFound")
+                            .error(PERSON_NOT_FOUND.name())
+                            .build())))
+                    .auth(HttpAuth.NONE)
+                    .addPathParameters(PathParameter.builder()
+                            .key("personId")
+                            .valueType(TypeReference.named(PERSON_ID))
+                            .build())
+                    .build())
+            .addEndpoints(HttpEndpoint.builder()
+                    .endpointId(EndpointId.valueOf("createPerson"))
+                    .method(HttpMethod.POST)
+                    .path(HttpPath.builder().head("/create").build())
+                    .request(HttpRequest.builder()
+                            .encoding(Encoding.json())
+                            .type(TypeReference.named(CREATE_PERSON_REQUEST))
+                            .build())
+                    .response(HttpResponse.builder()
+                            .encoding(Encoding.json())
+                            .type(TypeReference.primitive(PrimitiveType.STRING))
+                            .build())
+                    .errors(ResponseErrors.valueOf(List.of()))
+                    .auth(HttpAuth.NONE)
+                    .build())
+            .build();
+
+    @Test
+    public void test_declarationsByName() {
+        IrIndex irIndex = IrIndex.create(TYPE_DECLARATIONS, List.of(PERSON_NOT_FOUND), List.of(PERSON_SERVICE));
+        assertThat(irIndex.getTypeDeclarationsByName()).hasSize(TYPE_DECLARATIONS.size());
+        assertThat(irIndex.getTypeDeclarationsByName().get(PERSON)).isEqualTo(TYPE_DECLARATIONS.get(1));
+        assertThat(irIndex.getErrorDeclarationsByName()).containsEntry(PERSON_NOT_FOUND.name(), PERSON_NOT_FOUND);
+        assertThat(irIndex.getHttpServicesByName()).containsEntry(PERSON_SERVICE.name(), PERSON_SERVICE);
+    }
+
+    @Test
+    public void test_referencedTypes() {
+        IrIndex irIndex = IrIndex.create(TYPE_DECLARATIONS, List.of(PERSON_NOT_FOUND), List.of(PERSON_SERVICE));
+        assertThat(irIndex.getReferencedTypes(PERSON)).containsExactly(ENTITY, ADDRESS);
+        assertThat(irIndex.getReferencedTypes(UNUSED_ENTITY)).containsExactly(ENTITY, PERSON);
+        assertThat(irIndex.getReferencedTypes(PERSON_ID)).isEmpty();
+        assertThat(irIndex.getReferencedTypes(declaredTypeName("Undeclared"))).isEmpty();
+        assertThat(irIndex.getReferencedTypes(PERSON_NOT_FOUND.name())).containsExactly(ERROR_DETAIL);
+    }
+
+    @Test
+    public void test_extendedTypes() {
+        IrIndex irIndex = IrIndex.create(TYPE_DECLARATIONS, List.of(PERSON_NOT_FOUND), List.of(PERSON_SERVICE));
+        assertThat(irIndex.getExtendedTypes()).containsExactly(ENTITY, UNUSED_BASE);
+        assertThat(irIndex.isExtended(ENTITY)).isTrue();
+        assertThat(irIndex.isExtended(UNUSED_BASE)).isTrue();
+        assertThat(irIndex.isExtended(PERSON)).isFalse();
+    }
+
+    @Test
+    public void test_endpointsByError() {
+        IrIndex irIndex = IrIndex.create(TYPE_DECLARATIONS, List.of(PERSON_NOT_FOUND), List.of(PERSON_SERVICE));
+        assertThat(irIndex.getEndpointsByError()).containsOnlyKeys(PERSON_NOT_FOUND.name());
+        Map<HttpService, List<HttpEndpoint>> endpointsByService =
+                irIndex.getEndpointsByError().get(PERSON_NOT_FOUND.name());
+        assertThat(endpointsByService).containsOnlyKeys(PERSON_SERVICE);
+        assertThat(endpointsByService.get(PERSON_SERVICE))
+                .containsExactly(PERSON_SERVICE.endpoints().get(0));
+    }
+
+    @Test
+    public void test_reachableTypes() {
+        IrIndex irIndex = IrIndex.create(TYPE_DECLARATIONS, List.of(PERSON_NOT_FOUND), List.of(PERSON_SERVICE));
+        assertThat(irIndex.getReachableTypes())
+                .containsExactlyInAnyOrder(PERSON, PERSON_ID, ENTITY, ADDRESS, CREATE_PERSON_REQUEST, ERROR_DETAIL);
+    }
+
+    @Test
+    public void test_withoutUnreachableTypes() {
+        IrIndex irIndex = IrIndex.create(TYPE_DECLARATIONS, List.of(PERSON_NOT_FOUND), List.of(PERSON_SERVICE))
+                .withoutUnreachableTypes();
+
+        assertThat(irIndex.getTypeDeclarationsByName())
+                .containsOnlyKeys(PERSON, PERSON_ID, ENTITY, ADDRESS, CREATE_PERSON_REQUEST, ERROR_DETAIL);
+        assertThat(irIndex.getReferencedTypes(PERSON)).containsExactly(ENTITY, ADDRESS);
+        assertThat(irIndex.getReferencedTypes(UNUSED_ENTITY)).isEmpty();
+        assertThat(irIndex.getReferencedTypes(PERSON_NOT_FOUND.name())).containsExactly(ERROR_DETAIL);
+        assertThat(irIndex.getExtendedTypes()).containsExactly(ENTITY);
+        assertThat(irIndex.isExtended(ENTITY)).isTrue();
+        assertThat(irIndex.isExtended(UNUSED_BASE)).isFalse();
+        assertThat(irIndex.getErrorDeclarationsByName()).containsOnlyKeys(PERSON_NOT_FOUND.name());
+        assertThat(irIndex.getHttpServicesByName()).containsOnlyKeys(PERSON_SERVICE.name());
+        assertThat(irIndex.getReachableTypes())
+                .isEqualTo(irIndex.getTypeDeclarationsByName().keySet());
+    }
+
+    @Test
+    public void test_withoutUnreachableTypesKeepsIndexWhenAllTypesAreReachable() {
+        IrIndex irIndex =
+                IrIndex.create(TYPE_DECLARATIONS.subList(0, 6), List.of(PERSON_NOT_FOUND), List.of(PERSON_SERVICE));
+        Map<DeclaredTypeName, TypeDeclaration> typeDeclarationsByName = irIndex.getTypeDeclarationsByName();
+
+        IrIndex prunedIrIndex = irIndex.withoutUnreachableTypes();
+
+        assertThat(prunedIrIndex.getTypeDeclarationsByName()).isEqualTo(typeDeclarationsByName);
+        assertThat(prunedIrIndex.getExtendedTypes()).isEqualTo(irIndex.getExtendedTypes());
+    }
+
+    private static TypeDeclaration object(
+            DeclaredTypeName declaredTypeName, List<DeclaredTypeName> extendedTypes, ObjectProperty... properties) {
+        return TypeDeclaration.builder()
+                .name(declaredTypeName)
+                .shape(Type._object(ObjectTypeDeclaration.builder()
+                        ._extends(extendedTypes)
+                        .addAllProperties(List.of(properties))
+                        .build()))
+                .build();
+    }
+
+    private static TypeDeclaration alias(DeclaredTypeName declaredTypeName, TypeReference aliasOf) {
+        return TypeDeclaration.builder()
+                .name(declaredTypeName)
+                .shape(Type.alias(
+                        AliasTypeDeclaration.builder().aliasOf(aliasOf).build()))
+                .build();
+    }
+
+    private static DeclaredTypeName declaredTypeName(String name) {
+        return DeclaredTypeName.builder()
+                .fernFilepath(FernFilepath.valueOf(List.of("fern")))
+                .name(name)
+                .build();
+    }
+}
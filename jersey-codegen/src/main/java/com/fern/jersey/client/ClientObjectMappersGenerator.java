@@ -0,0 +1,93 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.jersey.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fern.codegen.GeneratedFile;
+import com.fern.codegen.GeneratorContext;
+import com.fern.codegen.utils.ClassNameConstants;
+import com.fern.codegen.utils.ClassNameUtils.PackageType;
+import com.fern.model.codegen.Generator;
+import com.fern.model.codegen.jackson.JacksonModuleGenerator;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeSpec;
+import java.util.Optional;
+import javax.lang.model.element.Modifier;
+
+/**
+ * Generates the client object mapper that registers the generated Jackson module, for clients whose models have
+ * Jackson codecs.
+ */
+public final class ClientObjectMappersGenerator extends Generator {
+
+    private static final String OBJECT_MAPPERS_CLASS_NAME = "FernClientObjectMappers";
+
+    private final ClassName objectMappersClassName;
+
+    public ClientObjectMappersGenerator(GeneratorContext generatorContext) {
+        super(generatorContext, PackageType.CLIENT);
+        this.objectMappersClassName = getObjectMappersClassName(generatorContext);
+    }
+
+    @Override
+    public GeneratedFile generate() {
+        TypeSpec objectMappersTypeSpec = TypeSpec.classBuilder(objectMappersClassName)
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addField(FieldSpec.builder(
+                                ObjectMapper.class,
+                                ClassNameConstants.CLIENT_OBJECT_MAPPERS_JSON_MAPPER_FIELD_NAME,
+                                Modifier.PUBLIC,
+                                Modifier.STATIC,
+                                Modifier.FINAL)
+                        .initializer(
+                                "$T.$L.copy().registerModule(new $T())",
+                                ClassNameConstants.CLIENT_OBJECT_MAPPERS_CLASS_NAME,
+                                ClassNameConstants.CLIENT_OBJECT_MAPPERS_JSON_MAPPER_FIELD_NAME,
+                                JacksonModuleGenerator.getModuleClassName(generatorContext))
+                        .build())
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PRIVATE)
+                        .build())
+                .build();
+        JavaFile objectMappersFile = JavaFile.builder(objectMappersClassName.packageName(), objectMappersTypeSpec)
+                .build();
+        return GeneratedFile.builder()
+                .file(objectMappersFile)
+                .className(objectMappersClassName)
+                .build();
+    }
+
+    /** The object mapper that generated clients read and write JSON with. */
+    public static CodeBlock getJsonMapper(GeneratorContext generatorContext) {
+        return CodeBlock.of(
+                "$T.$L",
+                generatorContext.hasJacksonCodecs()
+                        ? getObjectMappersClassName(generatorContext)
+                        : ClassNameConstants.CLIENT_OBJECT_MAPPERS_CLASS_NAME,
+                ClassNameConstants.CLIENT_OBJECT_MAPPERS_JSON_MAPPER_FIELD_NAME);
+    }
+
+    private static ClassName getObjectMappersClassName(GeneratorContext generatorContext) {
+        return generatorContext
+                .getClassNameUtils()
+                .getClassName(
+                        OBJECT_MAPPERS_CLASS_NAME, Optional.empty(), Optional.of(PackageType.CLIENT), Optional.empty());
+    }
+}
@@ -170,6 +170,7 @@ public final class HttpServiceClientGenerator extends Generator {
             ServiceErrorDecoderGenerator serviceErrorDecoderGenerator = new ServiceErrorDecoderGenerator(
                     generatorContext,
                     httpService,
+                    generatedServiceClassName,
                     KeyedStream.stream(generatedEndpointModels)
                             .map(GeneratedEndpointModel::errorFile)
                             .collectToMap());
@@ -185,15 +186,13 @@ public final class HttpServiceClientGenerator extends Generator {
                 .indent()
                 .add(".contract(new $T(new $T()))\n", OptionalAwareContract.class, JAXRSContract.class)
                 .add(
-                        ".decoder(new $T($T.$L))\n",
+                        ".decoder(new $T($L))\n",
                         JacksonDecoder.class,
-                        ClassNameConstants.CLIENT_OBJECT_MAPPERS_CLASS_NAME,
-                        ClassNameConstants.CLIENT_OBJECT_MAPPERS_JSON_MAPPER_FIELD_NAME)
+                        ClientObjectMappersGenerator.getJsonMapper(generatorContext))
                 .add(
-                        ".encoder(new $T($T.$L))\n",
+                        ".encoder(new $T($L))\n",
                         JacksonEncoder.class,
-                        ClassNameConstants.CLIENT_OBJECT_MAPPERS_CLASS_NAME,
-                        ClassNameConstants.CLIENT_OBJECT_MAPPERS_JSON_MAPPER_FIELD_NAME);
+                        ClientObjectMappersGenerator.getJsonMapper(generatorContext));
         if (generatedErrorDecoder.isPresent()) {
             codeBlockBuilder.add(
                     ".errorDecoder(new $T())", generatedErrorDecoder.get().className());
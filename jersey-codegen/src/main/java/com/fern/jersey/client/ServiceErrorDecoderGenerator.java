@@ -28,14 +28,19 @@ import com.fern.types.services.HttpEndpoint;
 import com.fern.types.services.HttpService;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 import com.squareup.javapoet.TypeVariableName;
+import feign.Feign;
 import feign.Response;
 import feign.codec.ErrorDecoder;
 import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
@@ -56,16 +61,25 @@ public final class ServiceErrorDecoderGenerator extends Generator {
     private static final String DECODE_EXCEPTION_CLAZZ_PARAMETER_NAME = "clazz";
     private static final String DECODE_EXCEPTION_RETRIEVER_PARAMETER_NAME = "exceptionRetriever";
 
+    private static final String ENDPOINT_IDS_BY_CONFIG_KEY_FIELD_NAME = "ENDPOINT_IDS_BY_CONFIG_KEY";
+    private static final String GET_ENDPOINT_IDS_BY_CONFIG_KEY_METHOD_NAME = "getEndpointIdsByConfigKey";
+    private static final String UNKNOWN_ENDPOINT_ID = "";
+    private static final TypeName ENDPOINT_IDS_BY_CONFIG_KEY_TYPE_NAME =
+            ParameterizedTypeName.get(Map.class, String.class, String.class);
+
     private final HttpService httpService;
+    private final ClassName clientClassName;
     private final ClassName errorDecoderClassName;
     private final Map<EndpointId, Optional<GeneratedEndpointError>> generatedEndpointErrorFiles;
 
     public ServiceErrorDecoderGenerator(
             GeneratorContext generatorContext,
             HttpService httpService,
+            ClassName clientClassName,
             Map<EndpointId, Optional<GeneratedEndpointError>> generatedEndpointErrorFiles) {
         super(generatorContext, PackageType.CLIENT);
         this.httpService = httpService;
+        this.clientClassName = clientClassName;
         this.errorDecoderClassName = generatorContext
                 .getClassNameUtils()
                 .getClassNameFromServiceName(httpService.name(), PackageType.CLIENT, ERROR_DECODER_CLASSNAME_SUFFIX);
@@ -77,8 +91,17 @@ public final class ServiceErrorDecoderGenerator extends Generator {
         TypeSpec errorDecoderTypeSpec = TypeSpec.classBuilder(errorDecoderClassName.simpleName())
                 .addModifiers(Modifier.FINAL)
                 .addSuperinterface(ErrorDecoder.class)
+                .addField(FieldSpec.builder(
+                                ENDPOINT_IDS_BY_CONFIG_KEY_TYPE_NAME,
+                                ENDPOINT_IDS_BY_CONFIG_KEY_FIELD_NAME,
+                                Modifier.PRIVATE,
+                                Modifier.STATIC,
+                                Modifier.FINAL)
+                        .initializer("$L()", GET_ENDPOINT_IDS_BY_CONFIG_KEY_METHOD_NAME)
+                        .build())
                 .addMethod(getDecodeMethodSpec())
                 .addMethod(getDecodeExceptionMethodSpec())
+                .addMethod(getEndpointIdsByConfigKeyMethodSpec())
                 .build();
         JavaFile errorDecoderServiceFile = JavaFile.builder(errorDecoderClassName.packageName(), errorDecoderTypeSpec)
                 .build();
@@ -95,8 +118,12 @@ public final class ServiceErrorDecoderGenerator extends Generator {
                 .returns(Exception.class)
                 .addParameter(ClassNameConstants.STRING_CLASS_NAME, DECODE_METHOD_KEY_PARAMETER_NAME)
                 .addParameter(FEIGN_RESPONSE_PARAMETER_TYPE, DECODE_METHOD_RESPONSE_PARAMETER_NAME);
-        CodeBlock.Builder codeBlockBuilder = CodeBlock.builder();
-        boolean ifStatementStarted = false;
+        CodeBlock.Builder codeBlockBuilder = CodeBlock.builder()
+                .beginControlFlow(
+                        "switch ($L.getOrDefault($L, $S))",
+                        ENDPOINT_IDS_BY_CONFIG_KEY_FIELD_NAME,
+                        DECODE_METHOD_KEY_PARAMETER_NAME,
+                        UNKNOWN_ENDPOINT_ID);
         for (HttpEndpoint httpEndpoint : httpService.endpoints()) {
             Optional<GeneratedEndpointError> maybeGeneratedEndpointErrorFile =
                     generatedEndpointErrorFiles.get(httpEndpoint.endpointId());
@@ -104,11 +131,8 @@ public final class ServiceErrorDecoderGenerator extends Generator {
                 continue;
             }
             codeBlockBuilder
-                    .beginControlFlow(
-                            "$L ($L.contains($S))",
-                            ifStatementStarted ? "else if" : "if",
-                            DECODE_METHOD_KEY_PARAMETER_NAME,
-                            httpEndpoint.endpointId())
+                    .add("case $S:\n", httpEndpoint.endpointId().value())
+                    .indent()
                     .addStatement(
                             "return $L($L, $T.class, $T::$L)",
                             DECODE_EXCEPTION_METHOD_NAME,
@@ -116,13 +140,18 @@ public final class ServiceErrorDecoderGenerator extends Generator {
                             maybeGeneratedEndpointErrorFile.get().className(),
                             maybeGeneratedEndpointErrorFile.get().className(),
                             FailedResponseGenerator.GET_EXCEPTION_METHOD_NAME)
-                    .endControlFlow();
+                    .unindent();
         }
-        codeBlockBuilder.addStatement(
-                "return new $T($S + $L)",
-                ClassName.get(UnknownRemoteException.class),
-                "Encountered exception for unknown method: ",
-                DECODE_METHOD_KEY_PARAMETER_NAME);
+        codeBlockBuilder
+                .add("default:\n")
+                .indent()
+                .addStatement(
+                        "return new $T($S + $L)",
+                        ClassName.get(UnknownRemoteException.class),
+                        "Encountered exception for unknown method: ",
+                        DECODE_METHOD_KEY_PARAMETER_NAME)
+                .unindent()
+                .endControlFlow();
         return decodeMethodSpecBuilder.addCode(codeBlockBuilder.build()).build();
     }
 
@@ -144,10 +173,9 @@ public final class ServiceErrorDecoderGenerator extends Generator {
                         DECODE_EXCEPTION_RETRIEVER_PARAMETER_NAME)
                 .beginControlFlow("try")
                 .addStatement(
-                        "$T value = $T.$L.readValue($L.body().asInputStream(), $L)",
+                        "$T value = $L.readValue($L.body().asInputStream(), $L)",
                         genericReturnType,
-                        ClassNameConstants.CLIENT_OBJECT_MAPPERS_CLASS_NAME,
-                        ClassNameConstants.CLIENT_OBJECT_MAPPERS_JSON_MAPPER_FIELD_NAME,
+                        ClientObjectMappersGenerator.getJsonMapper(generatorContext),
                         DECODE_EXCEPTION_RESPONSE_PARAMETER_NAME,
                         DECODE_EXCEPTION_CLAZZ_PARAMETER_NAME)
                 .addStatement("return $L.apply(value)", DECODE_EXCEPTION_RETRIEVER_PARAMETER_NAME)
@@ -158,4 +186,24 @@ public final class ServiceErrorDecoderGenerator extends Generator {
                 .endControlFlow()
                 .build();
     }
+
+    /**
+     * Maps each Feign config key of the client interface, which Feign passes to the decoder as the method key, to the
+     * endpoint id that names the method. It is computed once when the decoder class is initialized.
+     */
+    private MethodSpec getEndpointIdsByConfigKeyMethodSpec() {
+        return MethodSpec.methodBuilder(GET_ENDPOINT_IDS_BY_CONFIG_KEY_METHOD_NAME)
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .returns(ENDPOINT_IDS_BY_CONFIG_KEY_TYPE_NAME)
+                .addStatement(
+                        "$T endpointIdsByConfigKey = new $T<>()", ENDPOINT_IDS_BY_CONFIG_KEY_TYPE_NAME, HashMap.class)
+                .beginControlFlow("for ($T method : $T.class.getMethods())", Method.class, clientClassName)
+                .addStatement(
+                        "endpointIdsByConfigKey.put($T.configKey($T.class, method), method.getName())",
+                        Feign.class,
+                        clientClassName)
+                .endControlFlow()
+                .addStatement("return endpointIdsByConfigKey")
+                .build();
+    }
 }
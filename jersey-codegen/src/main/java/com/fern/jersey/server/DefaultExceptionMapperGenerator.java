@@ -20,6 +20,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fern.codegen.GeneratedFile;
 import com.fern.codegen.GeneratorContext;
+import com.fern.codegen.ImmutablesMode;
 import com.fern.codegen.utils.ClassNameConstants;
 import com.fern.codegen.utils.ClassNameUtils.PackageType;
 import com.fern.model.codegen.Generator;
@@ -31,10 +32,10 @@ import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeSpec;
 import java.util.Optional;
-import java.util.UUID;
 import javax.lang.model.element.Modifier;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.ext.ExceptionMapper;
+import org.immutables.value.Value;
 import org.immutables.value.Value.Immutable;
 
 public final class DefaultExceptionMapperGenerator extends Generator {
@@ -45,7 +46,6 @@ public final class DefaultExceptionMapperGenerator extends Generator {
     private static final String BODY_LOCAL_VAR_NAME = "body";
     private static final String ERROR_INSTANCE_ID_METHOD_NAME = "errorInstanceId";
     private static final String TO_RESPONSE_METHOD_NAME;
-    private static final String RANDOM_UUID_METHOD_NAME;
 
     static {
         try {
@@ -55,12 +55,6 @@ public final class DefaultExceptionMapperGenerator extends Generator {
         } catch (NoSuchMethodException e) {
             throw new RuntimeException("Failed to find ExceptionMapper.toResponse method name", e);
         }
-
-        try {
-            RANDOM_UUID_METHOD_NAME = UUID.class.getMethod("randomUUID").getName();
-        } catch (NoSuchMethodException e) {
-            throw new RuntimeException("Failed to find UUID.randomUUID method name", e);
-        }
     }
 
     private final ClassName defaultExceptionMapperClassName;
@@ -77,7 +71,9 @@ public final class DefaultExceptionMapperGenerator extends Generator {
 
     @Override
     public GeneratedFile generate() {
-        TypeSpec defaultResponseBodyClass = generateDefaultResponseBodyNestedClass();
+        TypeSpec defaultResponseBodyClass = generatorContext.getImmutablesMode() == ImmutablesMode.CONCRETE
+                ? generateConcreteDefaultResponseBodyNestedClass()
+                : generateDefaultResponseBodyNestedClass();
         TypeSpec defaultExceptionMapperTypeSpec = TypeSpec.classBuilder(defaultExceptionMapperClassName)
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addSuperinterface(ParameterizedTypeName.get(ExceptionMapper.class, Exception.class))
@@ -152,8 +148,12 @@ public final class DefaultExceptionMapperGenerator extends Generator {
                                         "$S",
                                         generatorContext.getFernConstants().errorInstanceIdKey())
                                 .build())
+                        .addAnnotation(Value.Derived.class)
                         .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
-                        .addStatement("return $T.$N().toString()", UUID.class, RANDOM_UUID_METHOD_NAME)
+                        .addStatement(
+                                "return $T.$L()",
+                                ClassNameConstants.ERROR_INSTANCE_IDS_CLASSNAME,
+                                ClassNameConstants.ERROR_INSTANCE_IDS_GENERATE_METHOD_NAME)
                         .returns(String.class)
                         .build())
                 .addMethod(MethodSpec.methodBuilder(DEFAULT_EXCEPTION_BODY_CREATE_METHOD_NAME)
@@ -163,4 +163,48 @@ public final class DefaultExceptionMapperGenerator extends Generator {
                         .build())
                 .build();
     }
+
+    private TypeSpec generateConcreteDefaultResponseBodyNestedClass() {
+        return TypeSpec.classBuilder(defaultExceptionBodyClassname)
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .addField(String.class, ERROR_INSTANCE_ID_METHOD_NAME, Modifier.PRIVATE, Modifier.FINAL)
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PRIVATE)
+                        .addParameter(String.class, ERROR_INSTANCE_ID_METHOD_NAME)
+                        .addStatement("this.$L = $L", ERROR_INSTANCE_ID_METHOD_NAME, ERROR_INSTANCE_ID_METHOD_NAME)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("errorType")
+                        .addAnnotation(AnnotationSpec.builder(JsonProperty.class)
+                                .addMember(
+                                        "value",
+                                        "$S",
+                                        generatorContext.getFernConstants().errorDiscriminant())
+                                .build())
+                        .addModifiers(Modifier.PUBLIC)
+                        .addStatement(
+                                "return $S", generatorContext.getFernConstants().unknownErrorDiscriminantValue())
+                        .returns(String.class)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder(ERROR_INSTANCE_ID_METHOD_NAME)
+                        .addAnnotation(AnnotationSpec.builder(JsonProperty.class)
+                                .addMember(
+                                        "value",
+                                        "$S",
+                                        generatorContext.getFernConstants().errorInstanceIdKey())
+                                .build())
+                        .addModifiers(Modifier.PUBLIC)
+                        .addStatement("return $L", ERROR_INSTANCE_ID_METHOD_NAME)
+                        .returns(String.class)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder(DEFAULT_EXCEPTION_BODY_CREATE_METHOD_NAME)
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addStatement(
+                                "return new $T($T.$L())",
+                                defaultExceptionBodyClassname,
+                                ClassNameConstants.ERROR_INSTANCE_IDS_CLASSNAME,
+                                ClassNameConstants.ERROR_INSTANCE_IDS_GENERATE_METHOD_NAME)
+                        .returns(defaultExceptionBodyClassname)
+                        .build())
+                .build();
+    }
 }
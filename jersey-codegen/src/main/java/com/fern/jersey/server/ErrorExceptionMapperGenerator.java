@@ -24,20 +24,24 @@ import com.fern.codegen.GeneratedHttpServiceServer;
 import com.fern.codegen.GeneratorContext;
 import com.fern.codegen.utils.ClassNameConstants;
 import com.fern.codegen.utils.ClassNameUtils.PackageType;
+import com.fern.java.jersey.ResourceInfoUtils;
 import com.fern.model.codegen.Generator;
 import com.fern.model.codegen.errors.ErrorGenerator;
 import com.fern.types.services.EndpointId;
 import com.fern.types.services.HttpEndpoint;
 import com.fern.types.services.HttpService;
 import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeSpec;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import javax.lang.model.element.Modifier;
 import javax.ws.rs.container.ResourceInfo;
 import javax.ws.rs.core.Context;
@@ -134,28 +138,26 @@ public final class ErrorExceptionMapperGenerator extends Generator {
                 ClassNameConstants.HTTP_EXCEPTION_ERROR_INSTANCE_ID_METHOD_NAME,
                 EXCEPTION_PARAMETER_NAME);
 
-        boolean firstServiceCondition = true;
+        CodeBlock.Builder dispatchCodeBlockBuilder = CodeBlock.builder()
+                .beginControlFlow(
+                        "switch ($T.$L($L))",
+                        ClassNameConstants.RESOURCE_INFO_UTILS_CLASSNAME,
+                        ClassNameConstants.RESOURCE_INFO_GET_ENDPOINT_KEY_METHOD_NAME,
+                        RESOURCE_INFO_FIELD_NAME);
+        // Services with the same simple name share keys, so only the first endpoint with a key is dispatched to
+        Set<String> endpointKeys = new HashSet<>();
         for (Map.Entry<HttpService, List<HttpEndpoint>> entry : endpointsThrowingError.entrySet()) {
             HttpService httpService = entry.getKey();
             GeneratedHttpServiceServer generatedHttpServiceServer = generatedHttpServers.get(httpService);
-            toResponseMethodBuilder.beginControlFlow(
-                    firstServiceCondition ? "if ($T.$L($L).contains($S))" : "else if ($T.$L($L).contains($S))",
-                    ClassNameConstants.RESOURCE_INFO_UTILS_CLASSNAME,
-                    ClassNameConstants.RESOURCE_INFO_GET_INTERFACE_NAMES_METHOD_NAME,
-                    RESOURCE_INFO_FIELD_NAME,
-                    generatedHttpServiceServer.className().simpleName());
-
-            boolean firstEndpointCondition = true;
             for (HttpEndpoint httpEndpoint : entry.getValue()) {
                 EndpointId endpointId = httpEndpoint.endpointId();
                 MethodSpec endpointMethodSpec =
                         generatedHttpServiceServer.methodsByEndpointId().get(endpointId);
-                toResponseMethodBuilder.beginControlFlow(
-                        firstEndpointCondition ? "if ($T.$L($L).contains($S))" : "else if ($T.$L($L).contains($S))",
-                        ClassNameConstants.RESOURCE_INFO_UTILS_CLASSNAME,
-                        ClassNameConstants.RESOURCE_INFO_GET_METHOD_NAME_METHOD_NAME,
-                        RESOURCE_INFO_FIELD_NAME,
-                        endpointMethodSpec.name);
+                String endpointKey = ResourceInfoUtils.getEndpointKey(
+                        generatedHttpServiceServer.className().simpleName(), endpointMethodSpec.name);
+                if (!endpointKeys.add(endpointKey)) {
+                    continue;
+                }
                 GeneratedEndpointModel generatedEndpointModel =
                         generatedEndpointModels.get(httpService).get(endpointId);
                 GeneratedEndpointError generatedEndpointError = generatedEndpointModel
@@ -163,27 +165,31 @@ public final class ErrorExceptionMapperGenerator extends Generator {
                         .orElseThrow(() -> new IllegalStateException(
                                 "Expected endpoint error to exist, but not found. EndpointId=" + endpointId));
 
-                toResponseMethodBuilder.addStatement(
-                        "return $T.status($L.$L()).entity($L.$L($L)).build()",
-                        Response.class,
-                        EXCEPTION_PARAMETER_NAME,
-                        ErrorGenerator.GET_STATUS_CODE_METHOD_NAME,
-                        generatedEndpointError.className(),
-                        generatedEndpointError
-                                .constructorsByResponseError()
-                                .get(generatedError.errorDeclaration().name())
-                                .name,
-                        EXCEPTION_PARAMETER_NAME);
-
-                toResponseMethodBuilder.endControlFlow();
-                firstEndpointCondition = false;
+                dispatchCodeBlockBuilder
+                        .add("case $S:\n", endpointKey)
+                        .indent()
+                        .addStatement(
+                                "return $T.status($L.$L()).entity($L.$L($L)).build()",
+                                Response.class,
+                                EXCEPTION_PARAMETER_NAME,
+                                ErrorGenerator.GET_STATUS_CODE_METHOD_NAME,
+                                generatedEndpointError.className(),
+                                generatedEndpointError
+                                        .constructorsByResponseError()
+                                        .get(generatedError.errorDeclaration().name())
+                                        .name,
+                                EXCEPTION_PARAMETER_NAME)
+                        .unindent();
             }
-
-            toResponseMethodBuilder.endControlFlow();
-            firstServiceCondition = false;
         }
-
-        toResponseMethodBuilder.addStatement("return null");
+        dispatchCodeBlockBuilder
+                .add("default:\n")
+                .indent()
+                .addStatement("return null")
+                .unindent()
+                .endControlFlow();
+
+        toResponseMethodBuilder.addCode(dispatchCodeBlockBuilder.build());
         return toResponseMethodBuilder.build();
     }
 }
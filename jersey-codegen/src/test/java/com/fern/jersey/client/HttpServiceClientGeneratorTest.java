@@ -214,7 +214,28 @@ public final class HttpServiceClientGeneratorTest {
         System.out.println(generatedHttpServiceClient.file().toString());
         Assertions.assertThat(generatedHttpServiceClient.generatedErrorDecoder())
                 .isPresent();
-        System.out.println(
-                generatedHttpServiceClient.generatedErrorDecoder().get().file().toString());
+        String generatedErrorDecoder =
+                generatedHttpServiceClient.generatedErrorDecoder().get().file().toString();
+        System.out.println(generatedErrorDecoder);
+        Assertions.assertThat(generatedErrorDecoder)
+                .contains("ENDPOINT_IDS_BY_CONFIG_KEY.getOrDefault(methodKey, \"\")")
+                .doesNotContain("methodKey.contains(");
+    }
+
+    @Test
+    public void test_jacksonCodecsObjectMapper() {
+        String objectMappersFile = new ClientObjectMappersGenerator(TestConstants.JACKSON_GENERATOR_CONTEXT)
+                .generate()
+                .file()
+                .toString();
+        System.out.println(objectMappersFile);
+        Assertions.assertThat(objectMappersFile)
+                .contains("ClientObjectMappers.JSON_MAPPER.copy().registerModule(new FernJacksonModule())");
+        Assertions.assertThat(ClientObjectMappersGenerator.getJsonMapper(TestConstants.JACKSON_GENERATOR_CONTEXT)
+                        .toString())
+                .isEqualTo("com.client.FernClientObjectMappers.JSON_MAPPER");
+        Assertions.assertThat(ClientObjectMappersGenerator.getJsonMapper(GENERATOR_CONTEXT)
+                        .toString())
+                .isEqualTo("com.fern.java.jackson.ClientObjectMappers.JSON_MAPPER");
     }
 }
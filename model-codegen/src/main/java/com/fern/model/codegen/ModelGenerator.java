@@ -29,24 +29,27 @@ import com.fern.codegen.payload.Payload;
 import com.fern.codegen.payload.TypeNamePayload;
 import com.fern.codegen.payload.VoidPayload;
 import com.fern.codegen.utils.ClassNameUtils.PackageType;
+import com.fern.codegen.utils.ParallelUtils;
 import com.fern.model.codegen.errors.ErrorGenerator;
+import com.fern.model.codegen.jackson.JacksonModuleGenerator;
 import com.fern.model.codegen.services.payloads.FailedResponseGenerator;
 import com.fern.model.codegen.types.InterfaceGenerator;
 import com.fern.types.DeclaredTypeName;
 import com.fern.types.ErrorDeclaration;
 import com.fern.types.ErrorName;
 import com.fern.types.ObjectTypeDeclaration;
-import com.fern.types.Type;
 import com.fern.types.TypeDeclaration;
 import com.fern.types.TypeReference;
 import com.fern.types.services.EndpointId;
 import com.fern.types.services.HttpService;
 import com.squareup.javapoet.TypeName;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public final class ModelGenerator {
@@ -56,28 +59,69 @@ public final class ModelGenerator {
     private final List<ErrorDeclaration> errroDeclarations;
     private final Map<DeclaredTypeName, TypeDeclaration> typeDeclarationsByName;
     private final GeneratorContext generatorContext;
+    private final Optional<ExecutorService> executorService;
+    private final Predicate<TypeDeclaration> typeFilter;
 
     public ModelGenerator(
             List<HttpService> httpServices,
             List<TypeDeclaration> typeDeclarations,
             List<ErrorDeclaration> errroDeclarations,
             GeneratorContext generatorContext) {
+        this(httpServices, typeDeclarations, errroDeclarations, generatorContext, Optional.empty());
+    }
+
+    public ModelGenerator(
+            List<HttpService> httpServices,
+            List<TypeDeclaration> typeDeclarations,
+            List<ErrorDeclaration> errroDeclarations,
+            GeneratorContext generatorContext,
+            Optional<ExecutorService> executorService) {
+        this(
+                httpServices,
+                typeDeclarations,
+                errroDeclarations,
+                generatorContext,
+                executorService,
+                typeDeclaration -> true);
+    }
+
+    /**
+     * When an executor is provided, interfaces, types, errors and endpoint models are generated concurrently. Results
+     * are merged back in declaration order so the output is identical to the serial path. Only types matching the
+     * type filter are generated; interfaces are still generated for every extended type.
+     */
+    public ModelGenerator(
+            List<HttpService> httpServices,
+            List<TypeDeclaration> typeDeclarations,
+            List<ErrorDeclaration> errroDeclarations,
+            GeneratorContext generatorContext,
+            Optional<ExecutorService> executorService,
+            Predicate<TypeDeclaration> typeFilter) {
         this.httpServices = httpServices;
         this.typeDeclarations = typeDeclarations;
         this.errroDeclarations = errroDeclarations;
         this.typeDeclarationsByName = generatorContext.getTypeDefinitionsByName();
         this.generatorContext = generatorContext;
+        this.executorService = executorService;
+        this.typeFilter = typeFilter;
     }
 
     public ModelGeneratorResult generate() {
         ModelGeneratorResult.Builder modelGeneratorResultBuilder = ModelGeneratorResult.builder();
         Map<DeclaredTypeName, GeneratedInterface> generatedInterfaces = getGeneratedInterfaces();
         modelGeneratorResultBuilder.putAllInterfaces(generatedInterfaces);
-        typeDeclarations.forEach(typeDefinition -> {
-            IGeneratedFile generatedFile = typeDefinition
-                    .shape()
-                    .visit(new TypeDefinitionGenerator(
-                            typeDefinition, generatorContext, generatedInterfaces, PackageType.TYPES));
+        List<TypeDeclaration> filteredTypeDeclarations =
+                typeDeclarations.stream().filter(typeFilter).collect(Collectors.toList());
+        List<IGeneratedFile> generatedTypes = ParallelUtils.mapInOrder(
+                executorService,
+                filteredTypeDeclarations,
+                typeDefinition -> typeDefinition
+                        .shape()
+                        .visit(new TypeDefinitionGenerator(
+                                typeDefinition, generatorContext, generatedInterfaces, PackageType.TYPES)));
+        for (int i = 0; i < filteredTypeDeclarations.size(); i++) {
+            IGeneratedFile generatedFile = generatedTypes.get(i);
+            modelGeneratorResultBuilder.putTypeFiles(filteredTypeDeclarations.get(i).name(), generatedFile);
             if (generatedFile instanceof GeneratedObject) {
                 modelGeneratorResultBuilder.addObjects((GeneratedObject) generatedFile);
             } else if (generatedFile instanceof GeneratedUnion) {
@@ -90,44 +134,53 @@ public final class ModelGenerator {
                 throw new RuntimeException(
                         "Encountered unknown model generator result type: " + generatedFile.className());
             }
-        });
-        Map<ErrorName, GeneratedError> generatedErrors = errroDeclarations.stream()
-                .collect(Collectors.toMap(ErrorDeclaration::name, errorDefinition -> {
-                    ErrorGenerator errorGenerator =
-                            new ErrorGenerator(errorDefinition, generatorContext, generatedInterfaces);
-                    return errorGenerator.generate();
-                }));
+        }
+        Map<ErrorName, GeneratedError> generatedErrors = ParallelUtils.mapInOrder(
+                        executorService,
+                        errroDeclarations,
+                        errorDefinition -> new ErrorGenerator(errorDefinition, generatorContext, generatedInterfaces)
+                                .generate())
+                .stream()
+                .collect(Collectors.toMap(
+                        generatedError -> generatedError.errorDeclaration().name(), Function.identity()));
         modelGeneratorResultBuilder.putAllErrors(generatedErrors);
+        if (generatorContext.hasJacksonCodecs()) {
+            modelGeneratorResultBuilder.jacksonModule(
+                    new JacksonModuleGenerator(typeDeclarations, errroDeclarations, generatorContext).generate());
+        }
 
-        httpServices.forEach(httpService -> {
-            Map<EndpointId, GeneratedEndpointModel> generatedEndpointModels =
-                    getGeneratedEndpointModels(httpService, generatedInterfaces, generatedErrors);
-            modelGeneratorResultBuilder.putEndpointModels(httpService, generatedEndpointModels);
-        });
+        List<Map<EndpointId, GeneratedEndpointModel>> generatedEndpointModelsByService = ParallelUtils.mapInOrder(
+                executorService,
+                httpServices,
+                httpService -> getGeneratedEndpointModels(httpService, generatedInterfaces, generatedErrors));
+        for (int i = 0; i < httpServices.size(); i++) {
+            modelGeneratorResultBuilder.putEndpointModels(
+                    httpServices.get(i), generatedEndpointModelsByService.get(i));
+        }
 
         return modelGeneratorResultBuilder.build();
     }
 
     private Map<DeclaredTypeName, GeneratedInterface> getGeneratedInterfaces() {
-        Set<DeclaredTypeName> interfaceCandidates = typeDeclarations.stream()
-                .map(TypeDeclaration::shape)
-                .map(Type::getObject)
-                .flatMap(Optional::stream)
-                .map(ObjectTypeDeclaration::_extends)
-                .flatMap(List::stream)
-                .collect(Collectors.toSet());
-        return interfaceCandidates.stream().collect(Collectors.toMap(Function.identity(), namedType -> {
-            TypeDeclaration typeDeclaration = typeDeclarationsByName.get(namedType);
-            ObjectTypeDeclaration objectTypeDeclaration = typeDeclaration
-                    .shape()
-                    .getObject()
-                    .orElseThrow(() -> new IllegalStateException("Non-objects cannot be extended. Fix type "
-                            + typeDeclaration.name().name() + " located in file"
-                            + typeDeclaration.name().fernFilepath()));
-            InterfaceGenerator interfaceGenerator =
-                    new InterfaceGenerator(objectTypeDeclaration, namedType, generatorContext);
-            return interfaceGenerator.generate();
-        }));
+        List<DeclaredTypeName> interfaceCandidates = List.copyOf(generatorContext.getIrIndex().getExtendedTypes());
+        List<GeneratedInterface> generatedInterfaces =
+                ParallelUtils.mapInOrder(executorService, interfaceCandidates, namedType -> {
+                    TypeDeclaration typeDeclaration = typeDeclarationsByName.get(namedType);
+                    ObjectTypeDeclaration objectTypeDeclaration = typeDeclaration
+                            .shape()
+                            .getObject()
+                            .orElseThrow(() -> new IllegalStateException("Non-objects cannot be extended. Fix type "
+                                    + typeDeclaration.name().name() + " located in file"
+                                    + typeDeclaration.name().fernFilepath()));
+                    InterfaceGenerator interfaceGenerator =
+                            new InterfaceGenerator(objectTypeDeclaration, namedType, generatorContext);
+                    return interfaceGenerator.generate();
+                });
+        Map<DeclaredTypeName, GeneratedInterface> generatedInterfacesByName = new LinkedHashMap<>();
+        for (int i = 0; i < interfaceCandidates.size(); i++) {
+            generatedInterfacesByName.put(interfaceCandidates.get(i), generatedInterfaces.get(i));
+        }
+        return generatedInterfacesByName;
     }
 
     private Map<EndpointId, GeneratedEndpointModel> getGeneratedEndpointModels(
@@ -19,6 +19,7 @@ import com.fern.codegen.GeneratedAlias;
 import com.fern.codegen.GeneratedEndpointModel;
 import com.fern.codegen.GeneratedEnum;
 import com.fern.codegen.GeneratedError;
+import com.fern.codegen.GeneratedFile;
 import com.fern.codegen.GeneratedInterface;
 import com.fern.codegen.GeneratedObject;
 import com.fern.codegen.GeneratedUnion;
@@ -29,6 +30,7 @@ import com.fern.types.services.EndpointId;
 import com.fern.types.services.HttpService;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.immutables.value.Value;
@@ -46,10 +48,16 @@ public interface ModelGeneratorResult {
 
     List<GeneratedUnion> unions();
 
+    /** The generated alias, enum, object or union file for each type that was generated. */
+    Map<DeclaredTypeName, IGeneratedFile> typeFiles();
+
     Map<ErrorName, GeneratedError> errors();
 
     Map<HttpService, Map<EndpointId, GeneratedEndpointModel>> endpointModels();
 
+    /** The module that registers the generated Jackson codecs, when they are enabled. */
+    Optional<GeneratedFile> jacksonModule();
+
     default List<IGeneratedFile> endpointModelFiles() {
         return endpointModels().values().stream()
                 .flatMap(endpointIdToModel -> endpointIdToModel.values().stream())
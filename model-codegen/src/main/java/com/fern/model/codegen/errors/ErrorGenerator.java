@@ -58,30 +58,39 @@ public final class ErrorGenerator extends Generator {
                 generatorContext.getClassNameUtils().getClassNameFromErrorName(errorDeclaration.name(), packageType);
     }
 
+    /** The name under which the body of an error is generated, in the errors package. */
+    public static DeclaredTypeName getBodyTypeName(ErrorDeclaration errorDeclaration, ClassName errorClassName) {
+        return DeclaredTypeName.builder()
+                .fernFilepath(errorDeclaration.name().fernFilepath())
+                .name(errorClassName.simpleName() + BODY_SUFFIX)
+                .build();
+    }
+
     @Override
     public GeneratedError generate() {
         IGeneratedFile generatedBodyFile = errorDeclaration
                 .type()
                 .visit(new TypeDefinitionGenerator(
                         TypeDeclaration.builder()
-                                .name(DeclaredTypeName.builder()
-                                        .fernFilepath(errorDeclaration.name().fernFilepath())
-                                        .name(errorClassName.simpleName() + BODY_SUFFIX)
-                                        .build())
+                                .name(getBodyTypeName(errorDeclaration, errorClassName))
                                 .shape(errorDeclaration.type())
                                 .build(),
                         generatorContext,
                         generatedInterfaces,
                         PackageType.ERRORS));
         ClassName bodyClassName = generatedBodyFile.className();
+        MethodSpec.Builder constructorBuilder = MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(generatedBodyFile.className(), BODY_FIELD_NAME);
+        if (generatorContext.hasStacklessErrors()) {
+            constructorBuilder.addStatement("super(true, false)");
+        }
         TypeSpec.Builder errorTypeSpecBuilder = TypeSpec.classBuilder(errorClassName)
                 .superclass(ClassName.get(HttpException.class))
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addField(FieldSpec.builder(generatedBodyFile.className(), BODY_FIELD_NAME)
                         .build())
-                .addMethod(MethodSpec.constructorBuilder()
-                        .addModifiers(Modifier.PUBLIC)
-                        .addParameter(generatedBodyFile.className(), BODY_FIELD_NAME)
+                .addMethod(constructorBuilder
                         .addStatement("this.$L = $L", BODY_FIELD_NAME, BODY_FIELD_NAME)
                         .build())
                 .addMethod(MethodSpec.methodBuilder(GET_ERROR_BODY_METHOD_NAME)
@@ -0,0 +1,61 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.model.codegen.jackson;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.TypeSpec;
+import java.util.List;
+
+/** Generates the codecs of an enum, which is written as its string value and read through its valueOf method. */
+public final class EnumCodecGenerator {
+
+    private final ClassName enumClassName;
+
+    public EnumCodecGenerator(ClassName enumClassName) {
+        this.enumClassName = enumClassName;
+    }
+
+    public List<TypeSpec> generate() {
+        TypeSpec serializer = JacksonCodecs.serializerBuilder(enumClassName)
+                .addMethod(JacksonCodecs.serializeMethodBuilder("serialize", enumClassName)
+                        .addAnnotation(Override.class)
+                        .addStatement(
+                                "$L.writeString($L.toString())",
+                                JacksonCodecs.GENERATOR_PARAMETER_NAME,
+                                JacksonCodecs.VALUE_PARAMETER_NAME)
+                        .build())
+                .build();
+        TypeSpec deserializer = JacksonCodecs.deserializerBuilder(enumClassName)
+                .addMethod(JacksonCodecs.deserializeMethodBuilder(enumClassName)
+                        .beginControlFlow(
+                                "if ($L.currentToken() == $T.VALUE_STRING)",
+                                JacksonCodecs.PARSER_PARAMETER_NAME,
+                                JsonToken.class)
+                        .addStatement(
+                                "return $T.valueOf($L.getText())", enumClassName, JacksonCodecs.PARSER_PARAMETER_NAME)
+                        .endControlFlow()
+                        .addStatement(
+                                "return ($T) $L.handleUnexpectedToken($T.class, $L)",
+                                enumClassName,
+                                JacksonCodecs.CONTEXT_PARAMETER_NAME,
+                                enumClassName,
+                                JacksonCodecs.PARSER_PARAMETER_NAME)
+                        .build())
+                .build();
+        return List.of(serializer, deserializer);
+    }
+}
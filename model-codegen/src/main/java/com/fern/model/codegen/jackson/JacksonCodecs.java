@@ -0,0 +1,208 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.model.codegen.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import javax.lang.model.element.Modifier;
+
+/**
+ * Building blocks of the streaming Jackson serializers and deserializers that are nested in generated objects, unions
+ * and enums when Jackson codecs are enabled. Each codec has a shared instance that the generated Jackson module
+ * registers.
+ */
+public final class JacksonCodecs {
+
+    public static final String SERIALIZER_CLASS_NAME = "JacksonSerializer";
+    public static final String DESERIALIZER_CLASS_NAME = "JacksonDeserializer";
+    public static final String INSTANCE_FIELD_NAME = "INSTANCE";
+
+    static final String VALUE_PARAMETER_NAME = "value";
+    static final String GENERATOR_PARAMETER_NAME = "generator";
+    static final String PROVIDER_PARAMETER_NAME = "provider";
+    static final String PARSER_PARAMETER_NAME = "parser";
+    static final String CONTEXT_PARAMETER_NAME = "context";
+
+    private static final ClassName STRING_CLASS_NAME = ClassName.get(String.class);
+
+    private JacksonCodecs() {}
+
+    public static ClassName getSerializerClassName(ClassName valueClassName) {
+        return valueClassName.nestedClass(SERIALIZER_CLASS_NAME);
+    }
+
+    public static ClassName getDeserializerClassName(ClassName valueClassName) {
+        return valueClassName.nestedClass(DESERIALIZER_CLASS_NAME);
+    }
+
+    /** A serializer class with its shared instance. The caller adds the serialize method. */
+    static TypeSpec.Builder serializerBuilder(ClassName valueClassName) {
+        return codecBuilder(
+                getSerializerClassName(valueClassName),
+                ParameterizedTypeName.get(ClassName.get(StdSerializer.class), valueClassName),
+                valueClassName);
+    }
+
+    /** A deserializer class with its shared instance. The caller adds the deserialize method. */
+    static TypeSpec.Builder deserializerBuilder(ClassName valueClassName) {
+        return codecBuilder(
+                getDeserializerClassName(valueClassName),
+                ParameterizedTypeName.get(ClassName.get(StdDeserializer.class), valueClassName),
+                valueClassName);
+    }
+
+    static MethodSpec.Builder serializeMethodBuilder(String methodName, ClassName valueClassName) {
+        return MethodSpec.methodBuilder(methodName)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(valueClassName, VALUE_PARAMETER_NAME)
+                .addParameter(JsonGenerator.class, GENERATOR_PARAMETER_NAME)
+                .addParameter(SerializerProvider.class, PROVIDER_PARAMETER_NAME)
+                .addException(IOException.class);
+    }
+
+    static MethodSpec.Builder deserializeMethodBuilder(ClassName valueClassName) {
+        return MethodSpec.methodBuilder("deserialize")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(JsonParser.class, PARSER_PARAMETER_NAME)
+                .addParameter(DeserializationContext.class, CONTEXT_PARAMETER_NAME)
+                .addException(IOException.class)
+                .returns(valueClassName);
+    }
+
+    /** Writes a field whose value is never null, with the dedicated generator method for primitives. */
+    static CodeBlock writeField(String jsonName, CodeBlock value, TypeName typeName) {
+        if (typeName.equals(STRING_CLASS_NAME)) {
+            return CodeBlock.of("$L.writeStringField($S, $L);\n", GENERATOR_PARAMETER_NAME, jsonName, value);
+        } else if (isType(typeName, TypeName.INT)
+                || isType(typeName, TypeName.LONG)
+                || isType(typeName, TypeName.DOUBLE)) {
+            return CodeBlock.of("$L.writeNumberField($S, $L);\n", GENERATOR_PARAMETER_NAME, jsonName, value);
+        } else if (isType(typeName, TypeName.BOOLEAN)) {
+            return CodeBlock.of("$L.writeBooleanField($S, $L);\n", GENERATOR_PARAMETER_NAME, jsonName, value);
+        }
+        return CodeBlock.builder()
+                .addStatement("$L.writeFieldName($S)", GENERATOR_PARAMETER_NAME, jsonName)
+                .addStatement(
+                        "$L.defaultSerializeValue($L, $L)", PROVIDER_PARAMETER_NAME, value, GENERATOR_PARAMETER_NAME)
+                .build();
+    }
+
+    /**
+     * Reads the current value of the parser, which must not be a null token. Primitives are read straight off the
+     * parser, and every other type through the deserializer that the context has cached for it.
+     */
+    static CodeBlock readValue(CodeBlock parser, TypeName typeName, JavaTypeFields javaTypeFields, String nameHint) {
+        if (typeName.equals(STRING_CLASS_NAME)) {
+            return CodeBlock.of("_parseString($L, $L)", parser, CONTEXT_PARAMETER_NAME);
+        } else if (isType(typeName, TypeName.INT)) {
+            return CodeBlock.of("_parseIntPrimitive($L, $L)", parser, CONTEXT_PARAMETER_NAME);
+        } else if (isType(typeName, TypeName.LONG)) {
+            return CodeBlock.of("_parseLongPrimitive($L, $L)", parser, CONTEXT_PARAMETER_NAME);
+        } else if (isType(typeName, TypeName.DOUBLE)) {
+            return CodeBlock.of("_parseDoublePrimitive($L, $L)", parser, CONTEXT_PARAMETER_NAME);
+        } else if (isType(typeName, TypeName.BOOLEAN)) {
+            return CodeBlock.of("_parseBooleanPrimitive($L, $L)", parser, CONTEXT_PARAMETER_NAME);
+        } else if (typeName instanceof ClassName) {
+            return CodeBlock.of("$L.readValue($L, $T.class)", CONTEXT_PARAMETER_NAME, parser, typeName);
+        }
+        return CodeBlock.of(
+                "$L.readValue($L, $N)", CONTEXT_PARAMETER_NAME, parser, javaTypeFields.get(typeName, nameHint));
+    }
+
+    private static boolean isType(TypeName typeName, TypeName primitiveTypeName) {
+        return typeName.equals(primitiveTypeName) || typeName.equals(primitiveTypeName.box());
+    }
+
+    private static TypeSpec.Builder codecBuilder(
+            ClassName codecClassName, TypeName superclass, ClassName valueClassName) {
+        return TypeSpec.classBuilder(codecClassName)
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .superclass(superclass)
+                .addField(FieldSpec.builder(
+                                codecClassName,
+                                INSTANCE_FIELD_NAME,
+                                Modifier.PUBLIC,
+                                Modifier.STATIC,
+                                Modifier.FINAL)
+                        .initializer("new $T()", codecClassName)
+                        .build())
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PRIVATE)
+                        .addStatement("super($T.class)", valueClassName)
+                        .build());
+    }
+
+    /** The {@link JavaType} constants of a deserializer, resolved once per generic type that it reads. */
+    static final class JavaTypeFields {
+
+        private final Map<TypeName, FieldSpec> fieldsByType = new LinkedHashMap<>();
+
+        FieldSpec get(TypeName typeName, String nameHint) {
+            FieldSpec field = fieldsByType.get(typeName);
+            if (field == null) {
+                field = FieldSpec.builder(
+                                JavaType.class,
+                                getFieldName(nameHint),
+                                Modifier.PRIVATE,
+                                Modifier.STATIC,
+                                Modifier.FINAL)
+                        .initializer(
+                                "$T.defaultInstance().constructType(new $T<$T>() {})",
+                                TypeFactory.class,
+                                TypeReference.class,
+                                typeName)
+                        .build();
+                fieldsByType.put(typeName, field);
+            }
+            return field;
+        }
+
+        List<FieldSpec> getFields() {
+            return new ArrayList<>(fieldsByType.values());
+        }
+
+        private String getFieldName(String nameHint) {
+            String fieldName = nameHint.replaceAll("([a-z0-9])([A-Z])", "$1_$2")
+                            .replaceAll("^_+", "")
+                            .toUpperCase(Locale.ROOT)
+                    + "_TYPE";
+            // Two hints can map to the same constant, e.g. "fooBar" and "foo_bar"
+            boolean isTaken = fieldsByType.values().stream().anyMatch(field -> field.name.equals(fieldName));
+            return isTaken ? fieldName + "_" + fieldsByType.size() : fieldName;
+        }
+    }
+}
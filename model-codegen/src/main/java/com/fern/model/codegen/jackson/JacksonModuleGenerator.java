@@ -0,0 +1,137 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.model.codegen.jackson;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fern.codegen.GeneratedFile;
+import com.fern.codegen.GeneratorContext;
+import com.fern.codegen.utils.ClassNameUtils.PackageType;
+import com.fern.model.codegen.Generator;
+import com.fern.model.codegen.errors.ErrorGenerator;
+import com.fern.types.ErrorDeclaration;
+import com.fern.types.Type;
+import com.fern.types.TypeDeclaration;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeSpec;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import javax.lang.model.element.Modifier;
+
+/**
+ * Generates the Jackson module that registers the codecs of every object, union and enum, including error bodies.
+ * Types that are not regenerated by an incremental run are still registered, since their codecs are unchanged.
+ */
+public final class JacksonModuleGenerator extends Generator {
+
+    public static final String MODULE_CLASS_NAME = "FernJacksonModule";
+
+    /** Registrations are split across methods so that no method exceeds the size limit of the class file format. */
+    private static final int CODECS_PER_METHOD = 500;
+
+    private static final String REGISTER_CODECS_METHOD_NAME_PREFIX = "registerCodecs";
+
+    private final List<TypeDeclaration> typeDeclarations;
+    private final List<ErrorDeclaration> errorDeclarations;
+    private final ClassName moduleClassName;
+
+    public JacksonModuleGenerator(
+            List<TypeDeclaration> typeDeclarations,
+            List<ErrorDeclaration> errorDeclarations,
+            GeneratorContext generatorContext) {
+        super(generatorContext, PackageType.TYPES);
+        this.typeDeclarations = typeDeclarations;
+        this.errorDeclarations = errorDeclarations;
+        this.moduleClassName = getModuleClassName(generatorContext);
+    }
+
+    /** The generated module is not discovered from the classpath, so generated code registers it by this name. */
+    public static ClassName getModuleClassName(GeneratorContext generatorContext) {
+        return generatorContext
+                .getClassNameUtils()
+                .getClassName(MODULE_CLASS_NAME, Optional.empty(), Optional.of(PackageType.TYPES), Optional.empty());
+    }
+
+    @Override
+    public GeneratedFile generate() {
+        List<ClassName> codecClassNames = getCodecClassNames();
+        TypeSpec.Builder moduleTypeSpecBuilder = TypeSpec.classBuilder(moduleClassName)
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .superclass(SimpleModule.class);
+        MethodSpec.Builder constructorBuilder = MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PUBLIC)
+                .addStatement("super($T.class.getSimpleName())", moduleClassName);
+        for (int start = 0; start < codecClassNames.size(); start += CODECS_PER_METHOD) {
+            String methodName = REGISTER_CODECS_METHOD_NAME_PREFIX + (start / CODECS_PER_METHOD);
+            MethodSpec.Builder registerCodecsBuilder =
+                    MethodSpec.methodBuilder(methodName).addModifiers(Modifier.PRIVATE);
+            for (ClassName className :
+                    codecClassNames.subList(start, Math.min(start + CODECS_PER_METHOD, codecClassNames.size()))) {
+                registerCodecsBuilder
+                        .addStatement(
+                                "addSerializer($T.class, $T.$L)",
+                                className,
+                                JacksonCodecs.getSerializerClassName(className),
+                                JacksonCodecs.INSTANCE_FIELD_NAME)
+                        .addStatement(
+                                "addDeserializer($T.class, $T.$L)",
+                                className,
+                                JacksonCodecs.getDeserializerClassName(className),
+                                JacksonCodecs.INSTANCE_FIELD_NAME);
+            }
+            constructorBuilder.addStatement("$L()", methodName);
+            moduleTypeSpecBuilder.addMethod(registerCodecsBuilder.build());
+        }
+        TypeSpec moduleTypeSpec =
+                moduleTypeSpecBuilder.addMethod(0, constructorBuilder.build()).build();
+        JavaFile moduleFile = JavaFile.builder(moduleClassName.packageName(), moduleTypeSpec)
+                .build();
+        return GeneratedFile.builder()
+                .file(moduleFile)
+                .className(moduleClassName)
+                .build();
+    }
+
+    private List<ClassName> getCodecClassNames() {
+        List<ClassName> codecClassNames = new ArrayList<>();
+        for (TypeDeclaration typeDeclaration : typeDeclarations) {
+            if (hasCodecs(typeDeclaration.shape())) {
+                codecClassNames.add(generatorContext
+                        .getClassNameUtils()
+                        .getClassNameFromDeclaredTypeName(typeDeclaration.name(), PackageType.TYPES));
+            }
+        }
+        for (ErrorDeclaration errorDeclaration : errorDeclarations) {
+            if (hasCodecs(errorDeclaration.type())) {
+                ClassName errorClassName = generatorContext
+                        .getClassNameUtils()
+                        .getClassNameFromErrorName(errorDeclaration.name(), PackageType.ERRORS);
+                codecClassNames.add(generatorContext
+                        .getClassNameUtils()
+                        .getClassNameFromDeclaredTypeName(
+                                ErrorGenerator.getBodyTypeName(errorDeclaration, errorClassName),
+                                PackageType.ERRORS));
+            }
+        }
+        return codecClassNames;
+    }
+
+    private static boolean hasCodecs(Type type) {
+        return type.isObject() || type.isUnion() || type.isEnum();
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.model.codegen.jackson;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fern.types.ObjectProperty;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Generates the codecs of an object. The deserializer reads every property into a local and then sets them on the
+ * object's staged builder, so it works for both Immutables and concrete objects. Unknown properties are skipped.
+ */
+public final class ObjectCodecGenerator {
+
+    public static final String SERIALIZE_FIELDS_METHOD_NAME = "serializeFields";
+
+    private static final ClassName OPTIONAL_CLASS_NAME = ClassName.get(Optional.class);
+    private static final ClassName LIST_CLASS_NAME = ClassName.get(List.class);
+    private static final ClassName SET_CLASS_NAME = ClassName.get(Set.class);
+    private static final ClassName MAP_CLASS_NAME = ClassName.get(Map.class);
+
+    private static final String TOKEN_VARIABLE_NAME = "token";
+    private static final String FIELD_NAME_VARIABLE_NAME = "fieldName";
+    private static final String LOCAL_VARIABLE_SUFFIX = "Value";
+
+    private final ClassName objectClassName;
+    private final List<Property> properties = new ArrayList<>();
+
+    /** Properties must be in the order of the builder stages, with inherited properties first. */
+    public ObjectCodecGenerator(ClassName objectClassName, Map<ObjectProperty, MethodSpec> orderedProperties) {
+        this.objectClassName = objectClassName;
+        Map<String, Property> propertiesByName = new LinkedHashMap<>();
+        orderedProperties.forEach((objectProperty, accessor) ->
+                propertiesByName.putIfAbsent(accessor.name, new Property(objectProperty.key(), accessor)));
+        this.properties.addAll(propertiesByName.values());
+    }
+
+    public List<TypeSpec> generate() {
+        return List.of(generateSerializer(), generateDeserializer());
+    }
+
+    /**
+     * Fields are written by a separate public method so that unions can inline them next to their discriminant. Empty
+     * optionals are written as null, like Jackson does for the accessors of Immutables objects.
+     */
+    private TypeSpec generateSerializer() {
+        MethodSpec.Builder serializeFieldsBuilder =
+                JacksonCodecs.serializeMethodBuilder(SERIALIZE_FIELDS_METHOD_NAME, objectClassName);
+        for (Property property : properties) {
+            CodeBlock value = CodeBlock.of("$L.$N()", JacksonCodecs.VALUE_PARAMETER_NAME, property.name);
+            if (property.kind == PropertyKind.OPTIONAL) {
+                serializeFieldsBuilder
+                        .beginControlFlow("if ($L.isPresent())", value)
+                        .addCode(JacksonCodecs.writeField(
+                                property.jsonName, CodeBlock.of("$L.get()", value), property.valueType))
+                        .nextControlFlow("else")
+                        .addStatement(
+                                "$L.writeNullField($S)", JacksonCodecs.GENERATOR_PARAMETER_NAME, property.jsonName)
+                        .endControlFlow();
+            } else {
+                serializeFieldsBuilder.addCode(JacksonCodecs.writeField(property.jsonName, value, property.type));
+            }
+        }
+        return JacksonCodecs.serializerBuilder(objectClassName)
+                .addMethod(JacksonCodecs.serializeMethodBuilder("serialize", objectClassName)
+                        .addAnnotation(Override.class)
+                        .addStatement(
+                                "$L.writeStartObject($L)",
+                                JacksonCodecs.GENERATOR_PARAMETER_NAME,
+                                JacksonCodecs.VALUE_PARAMETER_NAME)
+                        .addStatement(
+                                "$L($L, $L, $L)",
+                                SERIALIZE_FIELDS_METHOD_NAME,
+                                JacksonCodecs.VALUE_PARAMETER_NAME,
+                                JacksonCodecs.GENERATOR_PARAMETER_NAME,
+                                JacksonCodecs.PROVIDER_PARAMETER_NAME)
+                        .addStatement("$L.writeEndObject()", JacksonCodecs.GENERATOR_PARAMETER_NAME)
+                        .build())
+                .addMethod(serializeFieldsBuilder.build())
+                .build();
+    }
+
+    private TypeSpec generateDeserializer() {
+        JacksonCodecs.JavaTypeFields javaTypeFields = new JacksonCodecs.JavaTypeFields();
+        MethodSpec.Builder deserializeBuilder = JacksonCodecs.deserializeMethodBuilder(objectClassName)
+                .addStatement(
+                        "$T $L = $L.currentToken()",
+                        JsonToken.class,
+                        TOKEN_VARIABLE_NAME,
+                        JacksonCodecs.PARSER_PARAMETER_NAME)
+                .beginControlFlow("if ($L == $T.START_OBJECT)", TOKEN_VARIABLE_NAME, JsonToken.class)
+                .addStatement("$L = $L.nextToken()", TOKEN_VARIABLE_NAME, JacksonCodecs.PARSER_PARAMETER_NAME)
+                .nextControlFlow(
+                        "else if ($L != $T.FIELD_NAME && $L != $T.END_OBJECT)",
+                        TOKEN_VARIABLE_NAME,
+                        JsonToken.class,
+                        TOKEN_VARIABLE_NAME,
+                        JsonToken.class)
+                .addStatement(
+                        "return ($T) $L.handleUnexpectedToken($T.class, $L)",
+                        objectClassName,
+                        JacksonCodecs.CONTEXT_PARAMETER_NAME,
+                        objectClassName,
+                        JacksonCodecs.PARSER_PARAMETER_NAME)
+                .endControlFlow();
+        for (Property property : properties) {
+            deserializeBuilder.addStatement("$T $L = null", property.localType(), property.localName());
+        }
+        deserializeBuilder
+                .beginControlFlow(
+                        "for (; $L == $T.FIELD_NAME; $L = $L.nextToken())",
+                        TOKEN_VARIABLE_NAME,
+                        JsonToken.class,
+                        TOKEN_VARIABLE_NAME,
+                        JacksonCodecs.PARSER_PARAMETER_NAME)
+                .addStatement(
+                        "$T $L = $L.getCurrentName()",
+                        String.class,
+                        FIELD_NAME_VARIABLE_NAME,
+                        JacksonCodecs.PARSER_PARAMETER_NAME)
+                .beginControlFlow(
+                        "if ($L.nextToken() == $T.VALUE_NULL)", JacksonCodecs.PARSER_PARAMETER_NAME, JsonToken.class)
+                .addStatement("continue")
+                .endControlFlow();
+        CodeBlock.Builder switchBuilder = CodeBlock.builder().beginControlFlow("switch ($L)", FIELD_NAME_VARIABLE_NAME);
+        for (Property property : properties) {
+            switchBuilder
+                    .add("case $S:\n", property.jsonName)
+                    .indent()
+                    .addStatement(
+                            "$L = $L",
+                            property.localName(),
+                            JacksonCodecs.readValue(
+                                    CodeBlock.of(JacksonCodecs.PARSER_PARAMETER_NAME),
+                                    property.localType(),
+                                    javaTypeFields,
+                                    property.name))
+                    .addStatement("break")
+                    .unindent();
+        }
+        deserializeBuilder
+                .addCode(switchBuilder
+                        .add("default:\n")
+                        .indent()
+                        .addStatement("$L.skipChildren()", JacksonCodecs.PARSER_PARAMETER_NAME)
+                        .addStatement("break")
+                        .unindent()
+                        .endControlFlow()
+                        .build())
+                .endControlFlow();
+        CodeBlock.Builder buildObject = CodeBlock.builder().add("return $T.builder()", objectClassName);
+        for (Property property : properties) {
+            if (property.kind == PropertyKind.REQUIRED) {
+                deserializeBuilder
+                        .beginControlFlow("if ($L == null)", property.localName())
+                        .addStatement(
+                                "return $L.reportInputMismatch(this, $S, $S, $S)",
+                                JacksonCodecs.CONTEXT_PARAMETER_NAME,
+                                "Missing required property '%s' of %s",
+                                property.jsonName,
+                                objectClassName.simpleName())
+                        .endControlFlow();
+                buildObject.add(".$N($L)", property.name, property.localName());
+            }
+        }
+        for (Property property : properties) {
+            switch (property.kind) {
+                case REQUIRED:
+                    break;
+                case OPTIONAL:
+                    buildObject.add(".$N($T.ofNullable($L))", property.name, Optional.class, property.localName());
+                    break;
+                default:
+                    buildObject.add(
+                            ".$N($L == null ? $T.$L() : $L)",
+                            property.name,
+                            property.localName(),
+                            Collections.class,
+                            property.kind.emptyMethodName,
+                            property.localName());
+                    break;
+            }
+        }
+        return JacksonCodecs.deserializerBuilder(objectClassName)
+                .addFields(javaTypeFields.getFields())
+                .addMethod(deserializeBuilder
+                        .addStatement(buildObject.add(".build()").build())
+                        .build())
+                .build();
+    }
+
+    private enum PropertyKind {
+        REQUIRED(null),
+        OPTIONAL(null),
+        LIST("emptyList"),
+        SET("emptySet"),
+        MAP("emptyMap");
+
+        private final String emptyMethodName;
+
+        PropertyKind(String emptyMethodName) {
+            this.emptyMethodName = emptyMethodName;
+        }
+    }
+
+    private static final class Property {
+
+        private final String name;
+        private final String jsonName;
+        private final TypeName type;
+        private final PropertyKind kind;
+        /** The type of the value itself, which is the element type of optionals. */
+        private final TypeName valueType;
+
+        Property(String jsonName, MethodSpec accessor) {
+            this.name = accessor.name;
+            this.jsonName = jsonName;
+            this.type = accessor.returnType;
+            this.kind = getKind(type);
+            this.valueType =
+                    kind == PropertyKind.OPTIONAL ? ((ParameterizedTypeName) type).typeArguments.get(0) : type;
+        }
+
+        /** Locals are boxed, so that a property that was not read is null. */
+        TypeName localType() {
+            return valueType.box();
+        }
+
+        String localName() {
+            return name + LOCAL_VARIABLE_SUFFIX;
+        }
+
+        private static PropertyKind getKind(TypeName type) {
+            if (!(type instanceof ParameterizedTypeName)) {
+                return PropertyKind.REQUIRED;
+            }
+            ClassName rawType = ((ParameterizedTypeName) type).rawType;
+            if (rawType.equals(OPTIONAL_CLASS_NAME)) {
+                return PropertyKind.OPTIONAL;
+            } else if (rawType.equals(LIST_CLASS_NAME)) {
+                return PropertyKind.LIST;
+            } else if (rawType.equals(SET_CLASS_NAME)) {
+                return PropertyKind.SET;
+            } else if (rawType.equals(MAP_CLASS_NAME)) {
+                return PropertyKind.MAP;
+            }
+            return PropertyKind.REQUIRED;
+        }
+    }
+}
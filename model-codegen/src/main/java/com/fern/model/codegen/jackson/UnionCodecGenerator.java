@@ -0,0 +1,478 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.model.codegen.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.lang.model.element.Modifier;
+import org.immutables.value.Value;
+
+/**
+ * Generates the codecs of a union. Object variants are written with the fields of the object next to the
+ * discriminant, and every other variant under a property named after its discriminant value. Values with an
+ * unrecognized discriminant are read into and written from the union's unknown value.
+ *
+ * <p>The codecs access the internal value of the union, so they must be nested in it.
+ */
+public final class UnionCodecGenerator {
+
+    private static final String INTERNAL_VALUE_VARIABLE_NAME = "internalValue";
+    private static final String TOKEN_VARIABLE_NAME = "token";
+    private static final String FIELD_NAME_VARIABLE_NAME = "fieldName";
+    private static final String DISCRIMINANT_VARIABLE_NAME = "discriminant";
+    private static final String BUFFER_VARIABLE_NAME = "buffer";
+    private static final String BUFFER_PARSER_VARIABLE_NAME = "bufferParser";
+    private static final String VARIANT_PARSER_VARIABLE_NAME = "variantParser";
+    private static final String RESULT_VARIABLE_NAME = "result";
+    private static final String UNKNOWN_VALUE_VARIABLE_NAME = "unknownValue";
+    private static final String DESERIALIZE_VARIANT_METHOD_NAME = "deserializeVariant";
+    private static final String DESERIALIZE_UNKNOWN_METHOD_NAME = "deserializeUnknown";
+    private static final String FIND_FIELD_METHOD_NAME = "findField";
+    private static final String SKIP_REMAINING_FIELDS_METHOD_NAME = "skipRemainingFields";
+
+    private static final TypeName UNKNOWN_VALUE_TYPE_NAME = ParameterizedTypeName.get(
+            ClassName.get(Map.class), ClassName.get(String.class), ClassName.get(Object.class));
+
+    private final ClassName unionClassName;
+    private final String discriminant;
+    private final List<UnionVariant> variants;
+    private final ClassName unknownClassName;
+    private final String getInternalValueMethodName;
+
+    public UnionCodecGenerator(
+            ClassName unionClassName,
+            String discriminant,
+            List<UnionVariant> variants,
+            ClassName unknownClassName,
+            String getInternalValueMethodName) {
+        this.unionClassName = unionClassName;
+        this.discriminant = discriminant;
+        this.variants = variants;
+        this.unknownClassName = unknownClassName;
+        this.getInternalValueMethodName = getInternalValueMethodName;
+    }
+
+    public List<TypeSpec> generate() {
+        return List.of(generateSerializer(), generateDeserializer());
+    }
+
+    private TypeSpec generateSerializer() {
+        MethodSpec.Builder serializeBuilder = JacksonCodecs.serializeMethodBuilder("serialize", unionClassName)
+                .addAnnotation(Override.class)
+                .addStatement(
+                        "$T $L = $L.$L()",
+                        Object.class,
+                        INTERNAL_VALUE_VARIABLE_NAME,
+                        JacksonCodecs.VALUE_PARAMETER_NAME,
+                        getInternalValueMethodName);
+        boolean isFirst = true;
+        for (UnionVariant variant : variants) {
+            String condition = "$L instanceof $T";
+            if (isFirst) {
+                serializeBuilder.beginControlFlow(
+                        "if (" + condition + ")", INTERNAL_VALUE_VARIABLE_NAME, variant.internalValueClassName());
+                isFirst = false;
+            } else {
+                serializeBuilder.nextControlFlow(
+                        "else if (" + condition + ")", INTERNAL_VALUE_VARIABLE_NAME, variant.internalValueClassName());
+            }
+            serializeBuilder
+                    .addStatement(
+                            "$L.writeStartObject($L)",
+                            JacksonCodecs.GENERATOR_PARAMETER_NAME,
+                            JacksonCodecs.VALUE_PARAMETER_NAME)
+                    .addStatement(
+                            "$L.writeStringField($S, $S)",
+                            JacksonCodecs.GENERATOR_PARAMETER_NAME,
+                            discriminant,
+                            variant.discriminantValue());
+            if (variant.property().isPresent()) {
+                MethodSpec property = variant.property().get();
+                CodeBlock propertyValue = CodeBlock.of(
+                        "(($T) $L).$N()", variant.internalValueClassName(), INTERNAL_VALUE_VARIABLE_NAME, property);
+                if (variant.flattenedObjectClassName().isPresent()) {
+                    CodeBlock.Builder objectValue = CodeBlock.builder().add(propertyValue);
+                    for (int i = 0; i < variant.aliasDepth(); i++) {
+                        objectValue.add(".value()");
+                    }
+                    serializeBuilder.addStatement(
+                            "$T.$L.$L($L, $L, $L)",
+                            JacksonCodecs.getSerializerClassName(
+                                    variant.flattenedObjectClassName().get()),
+                            JacksonCodecs.INSTANCE_FIELD_NAME,
+                            ObjectCodecGenerator.SERIALIZE_FIELDS_METHOD_NAME,
+                            objectValue.build(),
+                            JacksonCodecs.GENERATOR_PARAMETER_NAME,
+                            JacksonCodecs.PROVIDER_PARAMETER_NAME);
+                } else {
+                    serializeBuilder.addCode(
+                            JacksonCodecs.writeField(variant.discriminantValue(), propertyValue, property.returnType));
+                }
+            }
+            serializeBuilder.addStatement("$L.writeEndObject()", JacksonCodecs.GENERATOR_PARAMETER_NAME);
+        }
+        if (!isFirst) {
+            serializeBuilder.nextControlFlow("else");
+        }
+        serializeBuilder.addStatement(
+                "$L.defaultSerializeValue((($T) $L).value(), $L)",
+                JacksonCodecs.PROVIDER_PARAMETER_NAME,
+                unknownClassName,
+                INTERNAL_VALUE_VARIABLE_NAME,
+                JacksonCodecs.GENERATOR_PARAMETER_NAME);
+        if (!isFirst) {
+            serializeBuilder.endControlFlow();
+        }
+        return JacksonCodecs.serializerBuilder(unionClassName)
+                .addMethod(serializeBuilder.build())
+                .build();
+    }
+
+    /**
+     * The deserializer streams the value. Fields that precede the discriminant are the only ones that are buffered,
+     * and they are replayed in front of the rest of the object once the variant is known. Values with an unknown
+     * discriminant are read field by field into the unknown value.
+     */
+    private TypeSpec generateDeserializer() {
+        JacksonCodecs.JavaTypeFields javaTypeFields = new JacksonCodecs.JavaTypeFields();
+        return JacksonCodecs.deserializerBuilder(unionClassName)
+                .addMethod(getDeserializeMethod())
+                .addMethod(getDeserializeVariantMethod(javaTypeFields))
+                .addMethod(getDeserializeUnknownMethod())
+                .addMethod(getFindFieldMethod())
+                .addMethod(getSkipRemainingFieldsMethod())
+                .addFields(javaTypeFields.getFields())
+                .build();
+    }
+
+    private MethodSpec getDeserializeMethod() {
+        return JacksonCodecs.deserializeMethodBuilder(unionClassName)
+                .addStatement(
+                        "$T $L = $L.currentToken()",
+                        JsonToken.class,
+                        TOKEN_VARIABLE_NAME,
+                        JacksonCodecs.PARSER_PARAMETER_NAME)
+                .beginControlFlow("if ($L == $T.START_OBJECT)", TOKEN_VARIABLE_NAME, JsonToken.class)
+                .addStatement("$L = $L.nextToken()", TOKEN_VARIABLE_NAME, JacksonCodecs.PARSER_PARAMETER_NAME)
+                .nextControlFlow(
+                        "else if ($L != $T.FIELD_NAME && $L != $T.END_OBJECT)",
+                        TOKEN_VARIABLE_NAME,
+                        JsonToken.class,
+                        TOKEN_VARIABLE_NAME,
+                        JsonToken.class)
+                .addStatement(
+                        "return ($T) $L.handleUnexpectedToken($T.class, $L)",
+                        unionClassName,
+                        JacksonCodecs.CONTEXT_PARAMETER_NAME,
+                        unionClassName,
+                        JacksonCodecs.PARSER_PARAMETER_NAME)
+                .endControlFlow()
+                .addStatement("$T $L = null", TokenBuffer.class, BUFFER_VARIABLE_NAME)
+                .beginControlFlow(
+                        "for (; $L == $T.FIELD_NAME; $L = $L.nextToken())",
+                        TOKEN_VARIABLE_NAME,
+                        JsonToken.class,
+                        TOKEN_VARIABLE_NAME,
+                        JacksonCodecs.PARSER_PARAMETER_NAME)
+                .addStatement(
+                        "$T $L = $L.getCurrentName()",
+                        String.class,
+                        FIELD_NAME_VARIABLE_NAME,
+                        JacksonCodecs.PARSER_PARAMETER_NAME)
+                .addStatement("$L.nextToken()", JacksonCodecs.PARSER_PARAMETER_NAME)
+                .beginControlFlow(
+                        "if ($L.equals($S) && $L.hasToken($T.VALUE_STRING))",
+                        FIELD_NAME_VARIABLE_NAME,
+                        discriminant,
+                        JacksonCodecs.PARSER_PARAMETER_NAME,
+                        JsonToken.class)
+                .addStatement(
+                        "$T $L = $L.getText()",
+                        String.class,
+                        DISCRIMINANT_VARIABLE_NAME,
+                        JacksonCodecs.PARSER_PARAMETER_NAME)
+                .beginControlFlow("if ($L == null)", BUFFER_VARIABLE_NAME)
+                .addStatement("$L.nextToken()", JacksonCodecs.PARSER_PARAMETER_NAME)
+                .addStatement(
+                        "return $L($L, $L, $L)",
+                        DESERIALIZE_VARIANT_METHOD_NAME,
+                        DISCRIMINANT_VARIABLE_NAME,
+                        JacksonCodecs.PARSER_PARAMETER_NAME,
+                        JacksonCodecs.CONTEXT_PARAMETER_NAME)
+                .endControlFlow()
+                .addComment("Replay the fields that preceded the discriminant, then continue with the rest")
+                .addStatement("$L.clearCurrentToken()", JacksonCodecs.PARSER_PARAMETER_NAME)
+                .addStatement(
+                        "$T $L = $T.createFlattened(false, $L.asParser($L), $L)",
+                        JsonParser.class,
+                        VARIANT_PARSER_VARIABLE_NAME,
+                        JsonParserSequence.class,
+                        BUFFER_VARIABLE_NAME,
+                        JacksonCodecs.PARSER_PARAMETER_NAME,
+                        JacksonCodecs.PARSER_PARAMETER_NAME)
+                .addStatement("$L.nextToken()", VARIANT_PARSER_VARIABLE_NAME)
+                .addStatement(
+                        "return $L($L, $L, $L)",
+                        DESERIALIZE_VARIANT_METHOD_NAME,
+                        DISCRIMINANT_VARIABLE_NAME,
+                        VARIANT_PARSER_VARIABLE_NAME,
+                        JacksonCodecs.CONTEXT_PARAMETER_NAME)
+                .endControlFlow()
+                .beginControlFlow("if ($L == null)", BUFFER_VARIABLE_NAME)
+                .addStatement(
+                        "$L = new $T($L, $L)",
+                        BUFFER_VARIABLE_NAME,
+                        TokenBuffer.class,
+                        JacksonCodecs.PARSER_PARAMETER_NAME,
+                        JacksonCodecs.CONTEXT_PARAMETER_NAME)
+                .endControlFlow()
+                .addStatement("$L.writeFieldName($L)", BUFFER_VARIABLE_NAME, FIELD_NAME_VARIABLE_NAME)
+                .addStatement("$L.copyCurrentStructure($L)", BUFFER_VARIABLE_NAME, JacksonCodecs.PARSER_PARAMETER_NAME)
+                .endControlFlow()
+                .addComment("Without a discriminant, every field belongs to the unknown value")
+                .beginControlFlow("if ($L == null)", BUFFER_VARIABLE_NAME)
+                .addStatement(
+                        "return new $T($T.of($T.emptyMap()))", unionClassName, unknownClassName, Collections.class)
+                .endControlFlow()
+                .addStatement(
+                        "$T $L = $L.asParser($L)",
+                        JsonParser.class,
+                        BUFFER_PARSER_VARIABLE_NAME,
+                        BUFFER_VARIABLE_NAME,
+                        JacksonCodecs.PARSER_PARAMETER_NAME)
+                .addStatement("$L.nextToken()", BUFFER_PARSER_VARIABLE_NAME)
+                .addStatement(
+                        "return $L(new $T<>(), $L, $L)",
+                        DESERIALIZE_UNKNOWN_METHOD_NAME,
+                        LinkedHashMap.class,
+                        BUFFER_PARSER_VARIABLE_NAME,
+                        JacksonCodecs.CONTEXT_PARAMETER_NAME)
+                .build();
+    }
+
+    /** Reads the fields that follow the discriminant, starting from the first of them or the end of the object. */
+    private MethodSpec getDeserializeVariantMethod(JacksonCodecs.JavaTypeFields javaTypeFields) {
+        CodeBlock.Builder switchBuilder =
+                CodeBlock.builder().beginControlFlow("switch ($L)", DISCRIMINANT_VARIABLE_NAME);
+        for (UnionVariant variant : variants) {
+            switchBuilder.add("case $S:\n", variant.discriminantValue());
+            if (variant.property().isEmpty()) {
+                switchBuilder
+                        .indent()
+                        .addStatement("$L($L)", SKIP_REMAINING_FIELDS_METHOD_NAME, JacksonCodecs.PARSER_PARAMETER_NAME)
+                        .addStatement("return $T.$L()", unionClassName, variant.factoryMethodName())
+                        .unindent();
+            } else if (variant.flattenedObjectClassName().isPresent()) {
+                MethodSpec property = variant.property().get();
+                switchBuilder
+                        .indent()
+                        .addStatement(
+                                "return $T.$L($L)",
+                                unionClassName,
+                                variant.factoryMethodName(),
+                                JacksonCodecs.readValue(
+                                        CodeBlock.of(JacksonCodecs.PARSER_PARAMETER_NAME),
+                                        property.returnType,
+                                        javaTypeFields,
+                                        property.name))
+                        .unindent();
+            } else {
+                MethodSpec property = variant.property().get();
+                CodeBlock valueParser = CodeBlock.of(
+                        "$L($L, $S, $L)",
+                        FIND_FIELD_METHOD_NAME,
+                        JacksonCodecs.PARSER_PARAMETER_NAME,
+                        variant.discriminantValue(),
+                        JacksonCodecs.CONTEXT_PARAMETER_NAME);
+                switchBuilder
+                        .beginControlFlow("")
+                        .addStatement(
+                                "$T $L = $T.$L($L)",
+                                unionClassName,
+                                RESULT_VARIABLE_NAME,
+                                unionClassName,
+                                variant.factoryMethodName(),
+                                JacksonCodecs.readValue(
+                                        valueParser, property.returnType, javaTypeFields, property.name))
+                        .addStatement("$L.nextToken()", JacksonCodecs.PARSER_PARAMETER_NAME)
+                        .addStatement("$L($L)", SKIP_REMAINING_FIELDS_METHOD_NAME, JacksonCodecs.PARSER_PARAMETER_NAME)
+                        .addStatement("return $L", RESULT_VARIABLE_NAME)
+                        .endControlFlow();
+            }
+        }
+        switchBuilder
+                .add("default:\n")
+                .indent()
+                .addStatement(
+                        "$T $L = new $T<>()", UNKNOWN_VALUE_TYPE_NAME, UNKNOWN_VALUE_VARIABLE_NAME, LinkedHashMap.class)
+                .addStatement("$L.put($S, $L)", UNKNOWN_VALUE_VARIABLE_NAME, discriminant, DISCRIMINANT_VARIABLE_NAME)
+                .addStatement(
+                        "return $L($L, $L, $L)",
+                        DESERIALIZE_UNKNOWN_METHOD_NAME,
+                        UNKNOWN_VALUE_VARIABLE_NAME,
+                        JacksonCodecs.PARSER_PARAMETER_NAME,
+                        JacksonCodecs.CONTEXT_PARAMETER_NAME)
+                .unindent()
+                .endControlFlow();
+        return MethodSpec.methodBuilder(DESERIALIZE_VARIANT_METHOD_NAME)
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(String.class, DISCRIMINANT_VARIABLE_NAME)
+                .addParameter(JsonParser.class, JacksonCodecs.PARSER_PARAMETER_NAME)
+                .addParameter(DeserializationContext.class, JacksonCodecs.CONTEXT_PARAMETER_NAME)
+                .addException(IOException.class)
+                .returns(unionClassName)
+                .addCode(switchBuilder.build())
+                .build();
+    }
+
+    private MethodSpec getDeserializeUnknownMethod() {
+        return MethodSpec.methodBuilder(DESERIALIZE_UNKNOWN_METHOD_NAME)
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(UNKNOWN_VALUE_TYPE_NAME, UNKNOWN_VALUE_VARIABLE_NAME)
+                .addParameter(JsonParser.class, JacksonCodecs.PARSER_PARAMETER_NAME)
+                .addParameter(DeserializationContext.class, JacksonCodecs.CONTEXT_PARAMETER_NAME)
+                .addException(IOException.class)
+                .returns(unionClassName)
+                .beginControlFlow(
+                        "for ($T $L = $L.currentToken(); $L == $T.FIELD_NAME; $L = $L.nextToken())",
+                        JsonToken.class,
+                        TOKEN_VARIABLE_NAME,
+                        JacksonCodecs.PARSER_PARAMETER_NAME,
+                        TOKEN_VARIABLE_NAME,
+                        JsonToken.class,
+                        TOKEN_VARIABLE_NAME,
+                        JacksonCodecs.PARSER_PARAMETER_NAME)
+                .addStatement(
+                        "$T $L = $L.getCurrentName()",
+                        String.class,
+                        FIELD_NAME_VARIABLE_NAME,
+                        JacksonCodecs.PARSER_PARAMETER_NAME)
+                .beginControlFlow(
+                        "if ($L.nextToken() != $T.VALUE_NULL)", JacksonCodecs.PARSER_PARAMETER_NAME, JsonToken.class)
+                .addStatement(
+                        "$L.put($L, $L.readValue($L, $T.class))",
+                        UNKNOWN_VALUE_VARIABLE_NAME,
+                        FIELD_NAME_VARIABLE_NAME,
+                        JacksonCodecs.CONTEXT_PARAMETER_NAME,
+                        JacksonCodecs.PARSER_PARAMETER_NAME,
+                        Object.class)
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("return new $T($T.of($L))", unionClassName, unknownClassName, UNKNOWN_VALUE_VARIABLE_NAME)
+                .build();
+    }
+
+    /** Skips to the non-null value of the field, or reports it as missing if the object ends first. */
+    private MethodSpec getFindFieldMethod() {
+        return MethodSpec.methodBuilder(FIND_FIELD_METHOD_NAME)
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(JsonParser.class, JacksonCodecs.PARSER_PARAMETER_NAME)
+                .addParameter(String.class, FIELD_NAME_VARIABLE_NAME)
+                .addParameter(DeserializationContext.class, JacksonCodecs.CONTEXT_PARAMETER_NAME)
+                .addException(IOException.class)
+                .returns(JsonParser.class)
+                .beginControlFlow(
+                        "for ($T $L = $L.currentToken(); $L == $T.FIELD_NAME; $L = $L.nextToken())",
+                        JsonToken.class,
+                        TOKEN_VARIABLE_NAME,
+                        JacksonCodecs.PARSER_PARAMETER_NAME,
+                        TOKEN_VARIABLE_NAME,
+                        JsonToken.class,
+                        TOKEN_VARIABLE_NAME,
+                        JacksonCodecs.PARSER_PARAMETER_NAME)
+                .addStatement(
+                        "boolean isField = $L.getCurrentName().equals($L)",
+                        JacksonCodecs.PARSER_PARAMETER_NAME,
+                        FIELD_NAME_VARIABLE_NAME)
+                .beginControlFlow(
+                        "if ($L.nextToken() != $T.VALUE_NULL && isField)",
+                        JacksonCodecs.PARSER_PARAMETER_NAME,
+                        JsonToken.class)
+                .addStatement("return $L", JacksonCodecs.PARSER_PARAMETER_NAME)
+                .endControlFlow()
+                .addStatement("$L.skipChildren()", JacksonCodecs.PARSER_PARAMETER_NAME)
+                .endControlFlow()
+                .addStatement(
+                        "return $L.reportInputMismatch(this, $S, $L, $S)",
+                        JacksonCodecs.CONTEXT_PARAMETER_NAME,
+                        "Missing required property '%s' of %s",
+                        FIELD_NAME_VARIABLE_NAME,
+                        unionClassName.simpleName())
+                .build();
+    }
+
+    private static MethodSpec getSkipRemainingFieldsMethod() {
+        return MethodSpec.methodBuilder(SKIP_REMAINING_FIELDS_METHOD_NAME)
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .addParameter(JsonParser.class, JacksonCodecs.PARSER_PARAMETER_NAME)
+                .addException(IOException.class)
+                .beginControlFlow(
+                        "for ($T $L = $L.currentToken(); $L == $T.FIELD_NAME; $L = $L.nextToken())",
+                        JsonToken.class,
+                        TOKEN_VARIABLE_NAME,
+                        JacksonCodecs.PARSER_PARAMETER_NAME,
+                        TOKEN_VARIABLE_NAME,
+                        JsonToken.class,
+                        TOKEN_VARIABLE_NAME,
+                        JacksonCodecs.PARSER_PARAMETER_NAME)
+                .addStatement("$L.nextToken()", JacksonCodecs.PARSER_PARAMETER_NAME)
+                .addStatement("$L.skipChildren()", JacksonCodecs.PARSER_PARAMETER_NAME)
+                .endControlFlow()
+                .build();
+    }
+
+    @Value.Immutable
+    public interface UnionVariant {
+
+        String discriminantValue();
+
+        ClassName internalValueClassName();
+
+        /** The static factory of the union that creates this variant. */
+        String factoryMethodName();
+
+        /** The accessor of the variant's value, which is empty for void variants. */
+        Optional<MethodSpec> property();
+
+        /** The object whose fields are written next to the discriminant, if the value is an object or its alias. */
+        Optional<ClassName> flattenedObjectClassName();
+
+        /** The number of aliases between the value and the flattened object. */
+        @Value.Default
+        default int aliasDepth() {
+            return 0;
+        }
+
+        static ImmutableUnionVariant.Builder builder() {
+            return ImmutableUnionVariant.builder();
+        }
+    }
+}
@@ -28,6 +28,7 @@ import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fern.codegen.GeneratedEndpointError;
 import com.fern.codegen.GeneratedError;
 import com.fern.codegen.GeneratorContext;
+import com.fern.codegen.ImmutablesMode;
 import com.fern.codegen.utils.ClassNameConstants;
 import com.fern.codegen.utils.ClassNameUtils.PackageType;
 import com.fern.codegen.utils.MethodNameUtils;
@@ -70,6 +71,7 @@ public final class FailedResponseGenerator extends Generator {
     public static final String GET_EXCEPTION_METHOD_NAME = "getException";
 
     private static final String VALUE_FIELD_NAME = "value";
+    private static final String EXCEPTION_FIELD_NAME = "exception";
 
     private final ResponseErrors responseErrors;
     private final Map<ErrorName, GeneratedError> generatedErrors;
@@ -107,9 +109,12 @@ public final class FailedResponseGenerator extends Generator {
     @Override
     public GeneratedEndpointError generate() {
         Map<ErrorName, MethodSpec> errorNameToMethodSpec = getStaticBuilderMethods();
-        TypeSpec endpointErrorTypeSpec = TypeSpec.classBuilder(generatedEndpointErrorClassName)
-                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
-                .addAnnotation(Value.Enclosing.class)
+        TypeSpec.Builder endpointErrorTypeSpecBuilder =
+                TypeSpec.classBuilder(generatedEndpointErrorClassName).addModifiers(Modifier.PUBLIC, Modifier.FINAL);
+        if (generatorContext.getImmutablesMode() != ImmutablesMode.CONCRETE) {
+            endpointErrorTypeSpecBuilder.addAnnotation(Value.Enclosing.class);
+        }
+        TypeSpec endpointErrorTypeSpec = endpointErrorTypeSpecBuilder
                 .addField(FieldSpec.builder(internalValueInterfaceClassName, VALUE_FIELD_NAME)
                         .addModifiers(Modifier.PRIVATE, Modifier.FINAL)
                         .build())
@@ -249,6 +254,9 @@ public final class FailedResponseGenerator extends Generator {
         return responseErrors.value().stream().collect(Collectors.toMap(Function.identity(), responseError -> {
             GeneratedError generatedError = generatedErrors.get(responseError.error());
             ClassName internalValueClassName = internalValueClassNames.get(responseError);
+            if (generatorContext.getImmutablesMode() == ImmutablesMode.CONCRETE) {
+                return getConcreteInternalValueTypeSpec(responseError, generatedError, internalValueClassName);
+            }
             TypeSpec.Builder typeSpecBuilder = TypeSpec.interfaceBuilder(internalValueClassName)
                     .addAnnotation(Value.Immutable.class)
                     .addAnnotation(AnnotationSpec.builder(JsonTypeName.class)
@@ -287,4 +295,60 @@ public final class FailedResponseGenerator extends Generator {
                     .build();
         }));
     }
+
+    /**
+     * In concrete mode each error is a final class holding the exception, and is deserialized by reading the whole
+     * object as the error body.
+     */
+    private TypeSpec getConcreteInternalValueTypeSpec(
+            ResponseError responseError, GeneratedError generatedError, ClassName internalValueClassName) {
+        ClassName bodyClassName = generatedError.generatedBodyFile().className();
+        return TypeSpec.classBuilder(internalValueClassName)
+                .addModifiers(Modifier.STATIC, Modifier.FINAL)
+                .addAnnotation(AnnotationSpec.builder(JsonTypeName.class)
+                        .addMember("value", "$S", responseError.discriminantValue())
+                        .build())
+                .addSuperinterface(
+                        ParameterizedTypeName.get(internalValueInterfaceClassName, generatedError.className()))
+                .addField(FieldSpec.builder(generatedError.className(), EXCEPTION_FIELD_NAME)
+                        .addModifiers(Modifier.PRIVATE, Modifier.FINAL)
+                        .build())
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PRIVATE)
+                        .addParameter(generatedError.className(), EXCEPTION_FIELD_NAME)
+                        .addStatement("this.$L = $L", EXCEPTION_FIELD_NAME, EXCEPTION_FIELD_NAME)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("fromJson")
+                        .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                        .addAnnotation(AnnotationSpec.builder(JsonCreator.class)
+                                .addMember(
+                                        "mode",
+                                        "$T.$L",
+                                        ClassName.get(JsonCreator.Mode.class),
+                                        JsonCreator.Mode.DELEGATING.name())
+                                .build())
+                        .returns(internalValueClassName)
+                        .addParameter(bodyClassName, "body")
+                        .addStatement("return new $T(new $T(body))", internalValueClassName, generatedError.className())
+                        .build())
+                .addMethod(MethodSpec.methodBuilder(GET_EXCEPTION_METHOD_NAME)
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(generatedError.className())
+                        .addStatement("return $L", EXCEPTION_FIELD_NAME)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("body")
+                        .addAnnotation(JsonUnwrapped.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(bodyClassName)
+                        .addStatement("return $L.$L()", EXCEPTION_FIELD_NAME, ErrorGenerator.GET_ERROR_BODY_METHOD_NAME)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("of")
+                        .addModifiers(Modifier.STATIC, Modifier.PUBLIC)
+                        .returns(internalValueClassName)
+                        .addParameter(generatedError.className(), "value")
+                        .addStatement("return new $T(value)", internalValueClassName)
+                        .build())
+                .build();
+    }
 }
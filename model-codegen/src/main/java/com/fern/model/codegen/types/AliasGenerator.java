@@ -15,10 +15,12 @@
  */
 package com.fern.model.codegen.types;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fern.codegen.GeneratedAlias;
 import com.fern.codegen.GeneratorContext;
+import com.fern.codegen.ImmutablesMode;
 import com.fern.codegen.utils.ClassNameConstants;
 import com.fern.codegen.utils.ClassNameUtils.PackageType;
 import com.fern.java.immutables.AliasImmutablesStyle;
@@ -29,11 +31,13 @@ import com.fern.types.PrimitiveType;
 import com.squareup.javapoet.AnnotationSpec;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 import java.util.List;
+import java.util.Objects;
 import javax.lang.model.element.Modifier;
 import org.immutables.value.Value;
 
@@ -43,6 +47,8 @@ public final class AliasGenerator extends Generator {
 
     private static final String VALUE_OF_METHOD_NAME = "valueOf";
 
+    private static final String INSTANCE_FIELD_NAME = "INSTANCE";
+
     private final AliasTypeDeclaration aliasTypeDeclaration;
     private final DeclaredTypeName declaredTypeName;
     private final ClassName generatedAliasClassName;
@@ -64,6 +70,9 @@ public final class AliasGenerator extends Generator {
 
     @Override
     public GeneratedAlias generate() {
+        if (generatorContext.getImmutablesMode() == ImmutablesMode.CONCRETE) {
+            return generateConcreteClass();
+        }
         TypeSpec.Builder aliasTypeSpecBuilder = TypeSpec.classBuilder(generatedAliasClassName)
                 .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
                 .addAnnotations(getAnnotationSpecs());
@@ -89,6 +98,127 @@ public final class AliasGenerator extends Generator {
                 .build();
     }
 
+    private GeneratedAlias generateConcreteClass() {
+        TypeSpec.Builder aliasTypeSpecBuilder =
+                TypeSpec.classBuilder(generatedAliasClassName).addModifiers(Modifier.PUBLIC, Modifier.FINAL);
+        if (aliasTypeDeclaration.aliasOf().isVoid()) {
+            // Every void alias is equal, so a single instance is shared
+            aliasTypeSpecBuilder
+                    .addField(FieldSpec.builder(
+                                    generatedAliasClassName,
+                                    INSTANCE_FIELD_NAME,
+                                    Modifier.PRIVATE,
+                                    Modifier.STATIC,
+                                    Modifier.FINAL)
+                            .initializer("new $T()", generatedAliasClassName)
+                            .build())
+                    .addMethod(MethodSpec.constructorBuilder()
+                            .addModifiers(Modifier.PRIVATE)
+                            .build())
+                    .addMethod(MethodSpec.methodBuilder(VALUE_OF_METHOD_NAME)
+                            .addAnnotation(JsonCreator.class)
+                            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                            .addStatement("return $L", INSTANCE_FIELD_NAME)
+                            .returns(generatedAliasClassName)
+                            .build());
+        } else {
+            TypeName aliasTypeName = generatorContext
+                    .getClassNameUtils()
+                    .getTypeNameFromTypeReference(true, aliasTypeDeclaration.aliasOf());
+            aliasTypeSpecBuilder
+                    .addField(aliasTypeName, IMMUTABLES_VALUE_PROPERTY_NAME, Modifier.PRIVATE, Modifier.FINAL)
+                    .addMethod(MethodSpec.constructorBuilder()
+                            .addModifiers(Modifier.PRIVATE)
+                            .addParameter(aliasTypeName, IMMUTABLES_VALUE_PROPERTY_NAME)
+                            .addStatement(
+                                    "this.$L = $L", IMMUTABLES_VALUE_PROPERTY_NAME, IMMUTABLES_VALUE_PROPERTY_NAME)
+                            .build())
+                    .addMethod(MethodSpec.methodBuilder(IMMUTABLES_VALUE_PROPERTY_NAME)
+                            .addModifiers(Modifier.PUBLIC)
+                            .addAnnotation(JsonValue.class)
+                            .addStatement("return $L", IMMUTABLES_VALUE_PROPERTY_NAME)
+                            .returns(aliasTypeName)
+                            .build())
+                    .addMethod(getConcreteEqualsMethod(aliasTypeName))
+                    .addMethod(getConcreteHashCodeMethod(aliasTypeName))
+                    .addMethod(getToStringMethod())
+                    .addMethod(getConcreteValueOfMethod(aliasTypeName));
+        }
+        JavaFile aliasFile = JavaFile.builder(generatedAliasClassName.packageName(), aliasTypeSpecBuilder.build())
+                .build();
+        return GeneratedAlias.builder()
+                .file(aliasFile)
+                .className(generatedAliasClassName)
+                .aliasTypeDeclaration(aliasTypeDeclaration)
+                .build();
+    }
+
+    private MethodSpec getConcreteEqualsMethod(TypeName aliasTypeName) {
+        CodeBlock valueEquals;
+        if (aliasTypeName.equals(TypeName.DOUBLE)) {
+            valueEquals = CodeBlock.of(
+                    "$T.doubleToLongBits($L) == $T.doubleToLongBits((($T) other).$L)",
+                    Double.class,
+                    IMMUTABLES_VALUE_PROPERTY_NAME,
+                    Double.class,
+                    generatedAliasClassName,
+                    IMMUTABLES_VALUE_PROPERTY_NAME);
+        } else if (aliasTypeName.isPrimitive()) {
+            valueEquals = CodeBlock.of(
+                    "$L == (($T) other).$L",
+                    IMMUTABLES_VALUE_PROPERTY_NAME,
+                    generatedAliasClassName,
+                    IMMUTABLES_VALUE_PROPERTY_NAME);
+        } else {
+            valueEquals = CodeBlock.of(
+                    "$L.equals((($T) other).$L)",
+                    IMMUTABLES_VALUE_PROPERTY_NAME,
+                    generatedAliasClassName,
+                    IMMUTABLES_VALUE_PROPERTY_NAME);
+        }
+        return MethodSpec.methodBuilder("equals")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(Object.class, "other")
+                .returns(boolean.class)
+                .addStatement(
+                        "return this == other || (other instanceof $T && $L)", generatedAliasClassName, valueEquals)
+                .build();
+    }
+
+    private MethodSpec getConcreteHashCodeMethod(TypeName aliasTypeName) {
+        CodeBlock hashCode = aliasTypeName.isPrimitive()
+                ? CodeBlock.of("$T.hashCode($L)", aliasTypeName.box(), IMMUTABLES_VALUE_PROPERTY_NAME)
+                : CodeBlock.of("$L.hashCode()", IMMUTABLES_VALUE_PROPERTY_NAME);
+        return MethodSpec.methodBuilder("hashCode")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(int.class)
+                .addStatement("return $L", hashCode)
+                .build();
+    }
+
+    private MethodSpec getConcreteValueOfMethod(TypeName aliasTypeName) {
+        MethodSpec.Builder valueOfBuilder = MethodSpec.methodBuilder(VALUE_OF_METHOD_NAME)
+                .addAnnotation(AnnotationSpec.builder(JsonCreator.class)
+                        .addMember("mode", "$T.DELEGATING", JsonCreator.Mode.class)
+                        .build())
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addParameter(aliasTypeName, IMMUTABLES_VALUE_PROPERTY_NAME)
+                .returns(generatedAliasClassName);
+        if (aliasTypeName.isPrimitive()) {
+            valueOfBuilder.addStatement("return new $T($L)", generatedAliasClassName, IMMUTABLES_VALUE_PROPERTY_NAME);
+        } else {
+            valueOfBuilder.addStatement(
+                    "return new $T($T.requireNonNull($L, $S))",
+                    generatedAliasClassName,
+                    Objects.class,
+                    IMMUTABLES_VALUE_PROPERTY_NAME,
+                    IMMUTABLES_VALUE_PROPERTY_NAME);
+        }
+        return valueOfBuilder.build();
+    }
+
     private List<AnnotationSpec> getAnnotationSpecs() {
         return List.of(
                 AnnotationSpec.builder(Value.Immutable.class).build(),
@@ -24,6 +24,7 @@ import com.fern.codegen.utils.ClassNameUtils.PackageType;
 import com.fern.codegen.utils.VisitorUtils;
 import com.fern.codegen.utils.VisitorUtils.GeneratedVisitor;
 import com.fern.model.codegen.Generator;
+import com.fern.model.codegen.jackson.EnumCodecGenerator;
 import com.fern.types.DeclaredTypeName;
 import com.fern.types.EnumTypeDeclaration;
 import com.fern.types.EnumValue;
@@ -34,12 +35,14 @@ import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeSpec;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -64,6 +67,13 @@ public final class EnumGenerator extends Generator {
     private static final String HASHCODE_METHOD_NAME = "hashCode";
     private static final String VISIT_METHOD_NAME = "visit";
     private static final String VALUE_OF_METHOD_NAME = "valueOf";
+    private static final String VALUE_OF_IGNORE_CASE_METHOD_NAME = "valueOfIgnoreCase";
+
+    private static final String UNKNOWN_VALUES_FIELD_NAME = "UNKNOWN_VALUES";
+    private static final String MAX_UNKNOWN_VALUES_FIELD_NAME = "MAX_UNKNOWN_VALUES";
+    private static final int MAX_UNKNOWN_VALUES = 256;
+    private static final String MAX_UNKNOWN_VALUE_LENGTH_FIELD_NAME = "MAX_UNKNOWN_VALUE_LENGTH";
+    private static final int MAX_UNKNOWN_VALUE_LENGTH = 64;
 
     private static final Pattern CAPITAL_SNAKE_CASE_PATTERN = Pattern.compile("^[A-Z_]*");
 
@@ -89,9 +99,10 @@ public final class EnumGenerator extends Generator {
     public GeneratedEnum generate() {
         Map<EnumValue, FieldSpec> enumConstants = getConstants();
         VisitorUtils.GeneratedVisitor<EnumValue> generatedVisitor = getVisitor();
-        TypeSpec enumTypeSpec = TypeSpec.classBuilder(declaredTypeName.name())
+        TypeSpec.Builder enumTypeSpecBuilder = TypeSpec.classBuilder(declaredTypeName.name())
                 .addModifiers(ENUM_CLASS_MODIFIERS)
                 .addFields(enumConstants.values())
+                .addFields(getUnknownValuesCacheFields())
                 .addFields(getPrivateMembers())
                 .addMethod(getConstructor())
                 .addMethod(getEnumValueMethod())
@@ -100,10 +111,13 @@ public final class EnumGenerator extends Generator {
                 .addMethod(getHashCodeMethod())
                 .addMethod(getAcceptMethod(generatedVisitor))
                 .addMethod(getValueOfMethod(enumConstants))
+                .addMethod(getValueOfIgnoreCaseMethod(enumConstants))
                 .addType(getNestedValueEnum())
-                .addType(generatedVisitor.typeSpec())
-                .build();
-        JavaFile enumFile = JavaFile.builder(generatedEnumClassName.packageName(), enumTypeSpec)
+                .addType(generatedVisitor.typeSpec());
+        if (generatorContext.hasJacksonCodecs()) {
+            enumTypeSpecBuilder.addTypes(new EnumCodecGenerator(generatedEnumClassName).generate());
+        }
+        JavaFile enumFile = JavaFile.builder(generatedEnumClassName.packageName(), enumTypeSpecBuilder.build())
                 .build();
         return GeneratedEnum.builder()
                 .file(enumFile)
@@ -130,6 +144,37 @@ public final class EnumGenerator extends Generator {
                         .build()));
     }
 
+    /**
+     * Unknown values are cached in a {@link ConcurrentHashMap} that stops taking new values once it holds its bound, so
+     * lookups never contend on a lock and a burst of one-off values cannot grow it without limit.
+     */
+    private List<FieldSpec> getUnknownValuesCacheFields() {
+        FieldSpec maxUnknownValuesField = FieldSpec.builder(
+                        int.class, MAX_UNKNOWN_VALUES_FIELD_NAME, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("$L", MAX_UNKNOWN_VALUES)
+                .build();
+        FieldSpec maxUnknownValueLengthField = FieldSpec.builder(
+                        int.class,
+                        MAX_UNKNOWN_VALUE_LENGTH_FIELD_NAME,
+                        Modifier.PRIVATE,
+                        Modifier.STATIC,
+                        Modifier.FINAL)
+                .initializer("$L", MAX_UNKNOWN_VALUE_LENGTH)
+                .build();
+        FieldSpec unknownValuesField = FieldSpec.builder(
+                        ParameterizedTypeName.get(
+                                ClassName.get(ConcurrentMap.class),
+                                ClassNameConstants.STRING_CLASS_NAME,
+                                generatedEnumClassName),
+                        UNKNOWN_VALUES_FIELD_NAME,
+                        Modifier.PRIVATE,
+                        Modifier.STATIC,
+                        Modifier.FINAL)
+                .initializer("new $T<>()", ConcurrentHashMap.class)
+                .build();
+        return List.of(maxUnknownValuesField, maxUnknownValueLengthField, unknownValuesField);
+    }
+
     private List<FieldSpec> getPrivateMembers() {
         List<FieldSpec> privateMembers = new ArrayList<>();
         // Add private Value Field
@@ -238,35 +283,31 @@ public final class EnumGenerator extends Generator {
     }
 
     /**
-     * Generates an accept method that visits the enum as shown below.
-     * public static Status valueOf(@Nonnull value) {
-     *     String upperCasedValue = value.toUpperCase(Locale.ROOT);
-     *     switch (upperCasedValue) {
-     *         case "ON":
+     * Generates a valueOf method that switches on the raw value, so known values are looked up without allocating.
+     * public static Status valueOf(@Nonnull String value) {
+     *     switch (value) {
+     *         case "on":
      *             return ON;
-     *         case "OFF":
+     *         case "off":
      *             return OFF;
-     *         case "UNKNOWN":
      *         default:
-     *             return  new Status(Status.Value.UNKNOWN, upperCasedValue);
+     *             return valueOfIgnoreCase(value);
      *     }
      * }
      */
     private MethodSpec getValueOfMethod(Map<EnumValue, FieldSpec> constants) {
-        CodeBlock.Builder valueOfCodeBlockBuilder = CodeBlock.builder()
-                .addStatement("String upperCasedValue = value.toUpperCase($T.ROOT)", Locale.class)
-                .beginControlFlow("switch (upperCasedValue)");
-        constants.forEach((enumValue, constantField) -> {
+        CodeBlock.Builder valueOfCodeBlockBuilder = CodeBlock.builder().beginControlFlow("switch (value)");
+        enumTypeDeclaration.values().forEach(enumValue -> {
             valueOfCodeBlockBuilder
                     .add("case $S:\n", enumValue.value())
                     .indent()
-                    .addStatement("return $L", constantField.name)
+                    .addStatement("return $L", constants.get(enumValue).name)
                     .unindent();
         });
         CodeBlock valueOfCodeBlock = valueOfCodeBlockBuilder
                 .add("default:\n")
                 .indent()
-                .addStatement("return new $T(Value.UNKNOWN, upperCasedValue)", generatedEnumClassName)
+                .addStatement("return $L(value)", VALUE_OF_IGNORE_CASE_METHOD_NAME)
                 .unindent()
                 .endControlFlow()
                 .build();
@@ -287,6 +328,63 @@ public final class EnumGenerator extends Generator {
                 .build();
     }
 
+    /**
+     * Generates the fallback of valueOf. Known values are matched ignoring case, and the first unknown values seen are
+     * cached, so repeatedly deserializing the same unknown value does not allocate. Long values are never cached.
+     * private static Status valueOfIgnoreCase(String value) {
+     *     if (value.equalsIgnoreCase("on")) {
+     *         return ON;
+     *     }
+     *     ...
+     *     if (value.length() > MAX_UNKNOWN_VALUE_LENGTH) {
+     *         return new Status(Value.UNKNOWN, value);
+     *     }
+     *     Status unknown = UNKNOWN_VALUES.get(value);
+     *     if (unknown != null) {
+     *         return unknown;
+     *     }
+     *     unknown = new Status(Value.UNKNOWN, value);
+     *     if (UNKNOWN_VALUES.size() < MAX_UNKNOWN_VALUES) {
+     *         Status existing = UNKNOWN_VALUES.putIfAbsent(value, unknown);
+     *         return existing == null ? unknown : existing;
+     *     }
+     *     return unknown;
+     * }
+     */
+    private MethodSpec getValueOfIgnoreCaseMethod(Map<EnumValue, FieldSpec> constants) {
+        CodeBlock.Builder valueOfIgnoreCaseCodeBlockBuilder = CodeBlock.builder();
+        enumTypeDeclaration.values().forEach(enumValue -> {
+            valueOfIgnoreCaseCodeBlockBuilder
+                    .beginControlFlow("if (value.equalsIgnoreCase($S))", enumValue.value())
+                    .addStatement("return $L", constants.get(enumValue).name)
+                    .endControlFlow();
+        });
+        CodeBlock valueOfIgnoreCaseCodeBlock = valueOfIgnoreCaseCodeBlockBuilder
+                .beginControlFlow("if (value.length() > $L)", MAX_UNKNOWN_VALUE_LENGTH_FIELD_NAME)
+                .addStatement("return new $T(Value.UNKNOWN, value)", generatedEnumClassName)
+                .endControlFlow()
+                .addStatement("$T unknown = $L.get(value)", generatedEnumClassName, UNKNOWN_VALUES_FIELD_NAME)
+                .beginControlFlow("if (unknown != null)")
+                .addStatement("return unknown")
+                .endControlFlow()
+                .addStatement("unknown = new $T(Value.UNKNOWN, value)", generatedEnumClassName)
+                .beginControlFlow("if ($L.size() < $L)", UNKNOWN_VALUES_FIELD_NAME, MAX_UNKNOWN_VALUES_FIELD_NAME)
+                .addStatement(
+                        "$T existing = $L.putIfAbsent(value, unknown)",
+                        generatedEnumClassName,
+                        UNKNOWN_VALUES_FIELD_NAME)
+                .addStatement("return existing == null ? unknown : existing")
+                .endControlFlow()
+                .addStatement("return unknown")
+                .build();
+        return MethodSpec.methodBuilder(VALUE_OF_IGNORE_CASE_METHOD_NAME)
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .addParameter(ClassName.get(String.class), "value")
+                .addCode(valueOfIgnoreCaseCodeBlock)
+                .returns(generatedEnumClassName)
+                .build();
+    }
+
     /**
      * Generates a nested enum called Value.
      * The nested enum has an UNKNOWN value in addition to configured values.
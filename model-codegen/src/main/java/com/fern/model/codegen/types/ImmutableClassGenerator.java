@@ -0,0 +1,528 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.model.codegen.types;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fern.types.ObjectProperty;
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.WildcardTypeName;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.lang.model.element.Modifier;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Emits a final immutable class for an object, in place of the implementation that the Immutables annotation
+ * processor generates with the staged builder style. Required properties are set through one build stage each, in
+ * property order, and optional and collection properties are set on the final stage. Collections are copied once,
+ * when the object is built or deserialized.
+ */
+public final class ImmutableClassGenerator {
+
+    private static final String BUILDER_METHOD_NAME = "builder";
+    private static final String BUILDER_CLASS_NAME = "Builder";
+    private static final String BUILD_STAGE_SUFFIX = "BuildStage";
+    private static final String FINAL_STAGE_CLASS_NAME = "BuildFinal";
+    private static final String BUILD_METHOD_NAME = "build";
+    private static final String JSON_CREATOR_METHOD_NAME = "fromJson";
+    private static final String EQUAL_TO_METHOD_NAME = "equalTo";
+    private static final String OTHER_PARAMETER_NAME = "other";
+    private static final String HASH_CODE_VARIABLE_NAME = "h";
+
+    private static final ClassName OPTIONAL_CLASS_NAME = ClassName.get(Optional.class);
+    private static final ClassName LIST_CLASS_NAME = ClassName.get(List.class);
+    private static final ClassName SET_CLASS_NAME = ClassName.get(Set.class);
+    private static final ClassName MAP_CLASS_NAME = ClassName.get(Map.class);
+
+    private final ClassName className;
+    private final List<Property> properties;
+    private final List<Property> requiredProperties;
+    private final ClassName builderClassName;
+    private final ClassName finalStageClassName;
+
+    /**
+     * @param inheritedProperties properties declared by interfaces that the class implements
+     * @param ownProperties properties declared only by the class itself
+     */
+    public ImmutableClassGenerator(
+            ClassName className,
+            Map<ObjectProperty, MethodSpec> inheritedProperties,
+            Map<ObjectProperty, MethodSpec> ownProperties) {
+        this.className = className;
+        Map<String, Property> propertiesByName = new LinkedHashMap<>();
+        inheritedProperties.forEach((objectProperty, accessor) ->
+                propertiesByName.putIfAbsent(accessor.name, new Property(objectProperty, accessor, true)));
+        ownProperties.forEach((objectProperty, accessor) ->
+                propertiesByName.putIfAbsent(accessor.name, new Property(objectProperty, accessor, false)));
+        this.properties = new ArrayList<>(propertiesByName.values());
+        this.requiredProperties = properties.stream()
+                .filter(property -> property.kind == PropertyKind.REQUIRED)
+                .collect(Collectors.toList());
+        this.builderClassName = className.nestedClass(BUILDER_CLASS_NAME);
+        this.finalStageClassName =
+                requiredProperties.isEmpty() ? builderClassName : className.nestedClass(FINAL_STAGE_CLASS_NAME);
+    }
+
+    /** The class, to which the caller adds annotations and superinterfaces. */
+    public TypeSpec.Builder generate() {
+        TypeSpec.Builder typeSpecBuilder = TypeSpec.classBuilder(className)
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addFields(properties.stream()
+                        .map(property -> FieldSpec.builder(
+                                        property.type, property.name, Modifier.PRIVATE, Modifier.FINAL)
+                                .build())
+                        .collect(Collectors.toList()))
+                .addMethod(getConstructor())
+                .addMethods(properties.stream().map(this::getAccessor).collect(Collectors.toList()))
+                .addMethod(getEqualsMethod())
+                .addMethod(getEqualToMethod())
+                .addMethod(getHashCodeMethod())
+                .addMethod(getToStringMethod())
+                .addMethod(getJsonCreator())
+                .addMethod(MethodSpec.methodBuilder(BUILDER_METHOD_NAME)
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .returns(getFirstStageClassName())
+                        .addStatement("return new $T()", builderClassName)
+                        .build());
+        for (int i = 0; i < requiredProperties.size(); i++) {
+            Property property = requiredProperties.get(i);
+            typeSpecBuilder.addType(TypeSpec.interfaceBuilder(getStageClassName(property))
+                    .addModifiers(Modifier.PUBLIC)
+                    .addMethod(MethodSpec.methodBuilder(property.name)
+                            .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                            .addParameter(property.type, property.name)
+                            .returns(getNextStageClassName(i))
+                            .build())
+                    .build());
+        }
+        if (!requiredProperties.isEmpty()) {
+            typeSpecBuilder.addType(TypeSpec.interfaceBuilder(finalStageClassName)
+                    .addModifiers(Modifier.PUBLIC)
+                    .addMethods(getFinalStageMethods(true))
+                    .build());
+        }
+        return typeSpecBuilder.addType(getBuilder());
+    }
+
+    private ClassName getFirstStageClassName() {
+        return requiredProperties.isEmpty() ? builderClassName : getStageClassName(requiredProperties.get(0));
+    }
+
+    private ClassName getNextStageClassName(int requiredPropertyIndex) {
+        return requiredPropertyIndex + 1 < requiredProperties.size()
+                ? getStageClassName(requiredProperties.get(requiredPropertyIndex + 1))
+                : finalStageClassName;
+    }
+
+    private ClassName getStageClassName(Property property) {
+        return className.nestedClass(StringUtils.capitalize(property.name) + BUILD_STAGE_SUFFIX);
+    }
+
+    private MethodSpec getConstructor() {
+        MethodSpec.Builder constructorBuilder = MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE);
+        for (Property property : properties) {
+            constructorBuilder
+                    .addParameter(property.type, property.name)
+                    .addStatement("this.$N = $N", property.name, property.name);
+        }
+        return constructorBuilder.build();
+    }
+
+    private MethodSpec getAccessor(Property property) {
+        MethodSpec.Builder accessorBuilder = MethodSpec.methodBuilder(property.name);
+        if (property.inherited) {
+            accessorBuilder.addAnnotation(Override.class);
+        }
+        return accessorBuilder
+                .addAnnotation(getJsonPropertyAnnotation(property))
+                .addModifiers(Modifier.PUBLIC)
+                .returns(property.type)
+                .addStatement("return $N", property.name)
+                .build();
+    }
+
+    private MethodSpec getEqualsMethod() {
+        return MethodSpec.methodBuilder("equals")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(Object.class, OTHER_PARAMETER_NAME)
+                .returns(boolean.class)
+                .beginControlFlow("if (this == $N)", OTHER_PARAMETER_NAME)
+                .addStatement("return true")
+                .endControlFlow()
+                .addStatement(
+                        "return $N instanceof $T && $N(($T) $N)",
+                        OTHER_PARAMETER_NAME,
+                        className,
+                        EQUAL_TO_METHOD_NAME,
+                        className,
+                        OTHER_PARAMETER_NAME)
+                .build();
+    }
+
+    private MethodSpec getEqualToMethod() {
+        List<CodeBlock> comparisons = properties.stream()
+                .map(property -> {
+                    if (property.type.equals(TypeName.DOUBLE)) {
+                        return CodeBlock.of(
+                                "$T.doubleToLongBits($N) == $T.doubleToLongBits($N.$N)",
+                                Double.class,
+                                property.name,
+                                Double.class,
+                                OTHER_PARAMETER_NAME,
+                                property.name);
+                    } else if (property.type.isPrimitive()) {
+                        return CodeBlock.of("$N == $N.$N", property.name, OTHER_PARAMETER_NAME, property.name);
+                    }
+                    return CodeBlock.of("$N.equals($N.$N)", property.name, OTHER_PARAMETER_NAME, property.name);
+                })
+                .collect(Collectors.toList());
+        return MethodSpec.methodBuilder(EQUAL_TO_METHOD_NAME)
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(className, OTHER_PARAMETER_NAME)
+                .returns(boolean.class)
+                .addStatement("return $L", comparisons.isEmpty() ? "true" : CodeBlock.join(comparisons, " && "))
+                .build();
+    }
+
+    private MethodSpec getHashCodeMethod() {
+        MethodSpec.Builder hashCodeBuilder = MethodSpec.methodBuilder("hashCode")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(int.class)
+                .addStatement("int $L = 5381", HASH_CODE_VARIABLE_NAME);
+        for (Property property : properties) {
+            CodeBlock propertyHashCode = property.type.isPrimitive()
+                    ? CodeBlock.of("$T.hashCode($N)", property.type.box(), property.name)
+                    : CodeBlock.of("$N.hashCode()", property.name);
+            hashCodeBuilder.addStatement(
+                    "$L += ($L << 5) + $L", HASH_CODE_VARIABLE_NAME, HASH_CODE_VARIABLE_NAME, propertyHashCode);
+        }
+        return hashCodeBuilder.addStatement("return $L", HASH_CODE_VARIABLE_NAME).build();
+    }
+
+    private MethodSpec getToStringMethod() {
+        CodeBlock.Builder toStringBuilder = CodeBlock.builder().add("return $S", className.simpleName() + "{");
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            toStringBuilder.add(" + $S + $N", (i == 0 ? "" : ", ") + property.name + "=", property.name);
+        }
+        return MethodSpec.methodBuilder("toString")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(String.class)
+                .addStatement(toStringBuilder.add(" + $S", "}").build())
+                .build();
+    }
+
+    /** Absent collections and optionals deserialize as empty, and absent required properties fail. */
+    private MethodSpec getJsonCreator() {
+        MethodSpec.Builder jsonCreatorBuilder = MethodSpec.methodBuilder(JSON_CREATOR_METHOD_NAME)
+                .addAnnotation(JsonCreator.class)
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .returns(className);
+        List<CodeBlock> arguments = new ArrayList<>();
+        for (Property property : properties) {
+            TypeName parameterType = property.kind == PropertyKind.REQUIRED ? property.type.box() : property.type;
+            jsonCreatorBuilder.addParameter(ParameterSpec.builder(parameterType, property.name)
+                    .addAnnotation(getJsonPropertyAnnotation(property))
+                    .build());
+            switch (property.kind) {
+                case REQUIRED:
+                    arguments.add(
+                            CodeBlock.of("$T.requireNonNull($N, $S)", Objects.class, property.name, property.name));
+                    break;
+                case OPTIONAL:
+                    arguments.add(
+                            CodeBlock.of("$N == null ? $T.empty() : $N", property.name, Optional.class, property.name));
+                    break;
+                default:
+                    arguments.add(CodeBlock.of(
+                            "$N == null ? $T.$L() : $L",
+                            property.name,
+                            Collections.class,
+                            property.kind.emptyMethodName,
+                            getUnmodifiableCopy(property)));
+                    break;
+            }
+        }
+        return jsonCreatorBuilder
+                .addStatement("return new $T($L)", className, CodeBlock.join(arguments, ", "))
+                .build();
+    }
+
+    private TypeSpec getBuilder() {
+        TypeSpec.Builder builder = TypeSpec.classBuilder(builderClassName)
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PRIVATE)
+                        .build());
+        for (Property property : properties) {
+            FieldSpec.Builder fieldBuilder = FieldSpec.builder(property.type, property.name, Modifier.PRIVATE);
+            switch (property.kind) {
+                case REQUIRED:
+                    break;
+                case OPTIONAL:
+                    fieldBuilder.initializer("$T.empty()", Optional.class);
+                    break;
+                default:
+                    fieldBuilder.initializer("new $T<>()", property.kind.builderCollectionClassName);
+                    break;
+            }
+            builder.addField(fieldBuilder.build());
+        }
+        for (int i = 0; i < requiredProperties.size(); i++) {
+            Property property = requiredProperties.get(i);
+            MethodSpec.Builder setterBuilder = MethodSpec.methodBuilder(property.name)
+                    .addAnnotation(Override.class)
+                    .addModifiers(Modifier.PUBLIC)
+                    .addParameter(property.type, property.name)
+                    .returns(getNextStageClassName(i));
+            if (property.type.isPrimitive()) {
+                setterBuilder.addStatement("this.$N = $N", property.name, property.name);
+            } else {
+                setterBuilder.addStatement(
+                        "this.$N = $T.requireNonNull($N, $S)",
+                        property.name,
+                        Objects.class,
+                        property.name,
+                        property.name);
+            }
+            builder.addSuperinterface(getStageClassName(property))
+                    .addMethod(setterBuilder.addStatement("return this").build());
+        }
+        if (!requiredProperties.isEmpty()) {
+            builder.addSuperinterface(finalStageClassName);
+        }
+        return builder.addMethods(getFinalStageMethods(false)).build();
+    }
+
+    /** The methods of the final stage, stripped of their bodies when declared on the stage interface. */
+    private List<MethodSpec> getFinalStageMethods(boolean isInterface) {
+        List<MethodSpec> methods = new ArrayList<>();
+        for (Property property : properties) {
+            switch (property.kind) {
+                case REQUIRED:
+                    break;
+                case OPTIONAL:
+                    methods.addAll(getOptionalSetters(property, isInterface));
+                    break;
+                case LIST:
+                case SET:
+                    methods.addAll(getCollectionSetters(property, isInterface));
+                    break;
+                case MAP:
+                    methods.addAll(getMapSetters(property, isInterface));
+                    break;
+            }
+        }
+        List<CodeBlock> arguments = properties.stream()
+                .map(property -> property.kind == PropertyKind.REQUIRED || property.kind == PropertyKind.OPTIONAL
+                        ? CodeBlock.of("$N", property.name)
+                        : getUnmodifiableCopy(property))
+                .collect(Collectors.toList());
+        methods.add(getFinalStageMethod(BUILD_METHOD_NAME, isInterface)
+                .returns(className)
+                .addStatement("return new $T($L)", className, CodeBlock.join(arguments, ", "))
+                .build());
+        if (isInterface) {
+            return methods.stream()
+                    .map(method -> MethodSpec.methodBuilder(method.name)
+                            .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                            .addParameters(method.parameters)
+                            .returns(method.returnType)
+                            .build())
+                    .collect(Collectors.toList());
+        }
+        return methods;
+    }
+
+    private List<MethodSpec> getOptionalSetters(Property property, boolean isInterface) {
+        return List.of(
+                getFinalStageMethod(property.name, isInterface)
+                        .addParameter(property.typeArguments.get(0), property.name)
+                        .addStatement("this.$N = $T.of($N)", property.name, Optional.class, property.name)
+                        .addStatement("return this")
+                        .build(),
+                getFinalStageMethod(property.name, isInterface)
+                        .addParameter(property.type, property.name)
+                        .addStatement(
+                                "this.$N = $T.requireNonNull($N, $S)",
+                                property.name,
+                                Objects.class,
+                                property.name,
+                                property.name)
+                        .addStatement("return this")
+                        .build());
+    }
+
+    private List<MethodSpec> getCollectionSetters(Property property, boolean isInterface) {
+        String capitalizedName = StringUtils.capitalize(property.name);
+        TypeName elementType = property.typeArguments.get(0);
+        TypeName elementsType =
+                ParameterizedTypeName.get(ClassName.get(Iterable.class), WildcardTypeName.subtypeOf(elementType));
+        return List.of(
+                getFinalStageMethod("add" + capitalizedName, isInterface)
+                        .addParameter(elementType, "element")
+                        .addStatement(
+                                "this.$N.add($T.requireNonNull(element, $S))",
+                                property.name,
+                                Objects.class,
+                                property.name + " element")
+                        .addStatement("return this")
+                        .build(),
+                getFinalStageMethod(property.name, isInterface)
+                        .addParameter(elementsType, "elements")
+                        .addStatement("this.$N.clear()", property.name)
+                        .addStatement("return addAll$L(elements)", capitalizedName)
+                        .build(),
+                getFinalStageMethod("addAll" + capitalizedName, isInterface)
+                        .addParameter(elementsType, "elements")
+                        .beginControlFlow("for ($T element : elements)", elementType)
+                        .addStatement("add$L(element)", capitalizedName)
+                        .endControlFlow()
+                        .addStatement("return this")
+                        .build());
+    }
+
+    private List<MethodSpec> getMapSetters(Property property, boolean isInterface) {
+        String capitalizedName = StringUtils.capitalize(property.name);
+        TypeName keyType = property.typeArguments.get(0);
+        TypeName valueType = property.typeArguments.get(1);
+        TypeName entriesType = ParameterizedTypeName.get(
+                MAP_CLASS_NAME, WildcardTypeName.subtypeOf(keyType), WildcardTypeName.subtypeOf(valueType));
+        return List.of(
+                getFinalStageMethod("put" + capitalizedName, isInterface)
+                        .addParameter(keyType, "key")
+                        .addParameter(valueType, "value")
+                        .addStatement(
+                                "this.$N.put($T.requireNonNull(key, $S), $T.requireNonNull(value, $S))",
+                                property.name,
+                                Objects.class,
+                                property.name + " key",
+                                Objects.class,
+                                property.name + " value")
+                        .addStatement("return this")
+                        .build(),
+                getFinalStageMethod(property.name, isInterface)
+                        .addParameter(entriesType, "entries")
+                        .addStatement("this.$N.clear()", property.name)
+                        .addStatement("return putAll$L(entries)", capitalizedName)
+                        .build(),
+                getFinalStageMethod("putAll" + capitalizedName, isInterface)
+                        .addParameter(entriesType, "entries")
+                        .addStatement("entries.forEach(this::put$L)", capitalizedName)
+                        .addStatement("return this")
+                        .build());
+    }
+
+    private MethodSpec.Builder getFinalStageMethod(String methodName, boolean isInterface) {
+        MethodSpec.Builder methodBuilder =
+                MethodSpec.methodBuilder(methodName).addModifiers(Modifier.PUBLIC).returns(finalStageClassName);
+        if (!isInterface && !requiredProperties.isEmpty()) {
+            methodBuilder.addAnnotation(Override.class);
+        }
+        return methodBuilder;
+    }
+
+    private static CodeBlock getUnmodifiableCopy(Property property) {
+        return CodeBlock.of(
+                "$T.$L(new $T<>($N))",
+                Collections.class,
+                property.kind.unmodifiableMethodName,
+                property.kind.builderCollectionClassName,
+                property.name);
+    }
+
+    private static AnnotationSpec getJsonPropertyAnnotation(Property property) {
+        return AnnotationSpec.builder(JsonProperty.class)
+                .addMember("value", "$S", property.jsonName)
+                .build();
+    }
+
+    private enum PropertyKind {
+        REQUIRED(null, null, null),
+        OPTIONAL(null, null, null),
+        LIST(ClassName.get(ArrayList.class), "unmodifiableList", "emptyList"),
+        SET(ClassName.get(LinkedHashSet.class), "unmodifiableSet", "emptySet"),
+        MAP(ClassName.get(LinkedHashMap.class), "unmodifiableMap", "emptyMap");
+
+        private final ClassName builderCollectionClassName;
+        private final String unmodifiableMethodName;
+        private final String emptyMethodName;
+
+        PropertyKind(ClassName builderCollectionClassName, String unmodifiableMethodName, String emptyMethodName) {
+            this.builderCollectionClassName = builderCollectionClassName;
+            this.unmodifiableMethodName = unmodifiableMethodName;
+            this.emptyMethodName = emptyMethodName;
+        }
+    }
+
+    private static final class Property {
+
+        private final String name;
+        private final String jsonName;
+        private final TypeName type;
+        private final PropertyKind kind;
+        private final List<TypeName> typeArguments;
+        private final boolean inherited;
+
+        Property(ObjectProperty objectProperty, MethodSpec accessor, boolean inherited) {
+            this.name = accessor.name;
+            this.jsonName = objectProperty.key();
+            this.type = accessor.returnType;
+            this.inherited = inherited;
+            if (type instanceof ParameterizedTypeName) {
+                ParameterizedTypeName parameterizedType = (ParameterizedTypeName) type;
+                this.typeArguments = parameterizedType.typeArguments;
+                this.kind = getKind(parameterizedType.rawType);
+            } else {
+                this.typeArguments = Collections.emptyList();
+                this.kind = PropertyKind.REQUIRED;
+            }
+        }
+
+        private static PropertyKind getKind(ClassName rawType) {
+            if (rawType.equals(OPTIONAL_CLASS_NAME)) {
+                return PropertyKind.OPTIONAL;
+            } else if (rawType.equals(LIST_CLASS_NAME)) {
+                return PropertyKind.LIST;
+            } else if (rawType.equals(SET_CLASS_NAME)) {
+                return PropertyKind.SET;
+            } else if (rawType.equals(MAP_CLASS_NAME)) {
+                return PropertyKind.MAP;
+            }
+            return PropertyKind.REQUIRED;
+        }
+    }
+}
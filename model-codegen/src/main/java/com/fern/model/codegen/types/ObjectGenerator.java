@@ -21,9 +21,11 @@ import com.fern.codegen.GeneratedInterface;
 import com.fern.codegen.GeneratedObject;
 import com.fern.codegen.GeneratorContext;
 import com.fern.codegen.IGeneratedFile;
+import com.fern.codegen.ImmutablesMode;
 import com.fern.codegen.utils.ClassNameUtils.PackageType;
 import com.fern.java.immutables.StagedBuilderImmutablesStyle;
 import com.fern.model.codegen.Generator;
+import com.fern.model.codegen.jackson.ObjectCodecGenerator;
 import com.fern.types.DeclaredTypeName;
 import com.fern.types.ObjectProperty;
 import com.fern.types.ObjectTypeDeclaration;
@@ -35,6 +37,7 @@ import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -77,6 +80,9 @@ public final class ObjectGenerator extends Generator {
 
     @Override
     public GeneratedObject generate() {
+        if (generatorContext.getImmutablesMode() == ImmutablesMode.CONCRETE) {
+            return generateConcreteClass();
+        }
         TypeSpec.Builder objectTypeSpecBuilder = TypeSpec.interfaceBuilder(generatedObjectClassName)
                 .addModifiers(OBJECT_INTERFACE_MODIFIERS)
                 .addAnnotations(getAnnotations())
@@ -89,6 +95,38 @@ public final class ObjectGenerator extends Generator {
         objectTypeSpecBuilder
                 .addMethods(methodSpecsByProperty.values())
                 .addMethod(generateStaticBuilder(methodSpecsByProperty));
+        if (generatorContext.hasJacksonCodecs()) {
+            objectTypeSpecBuilder.addTypes(getJacksonCodecs(methodSpecsByProperty));
+        }
+        TypeSpec objectTypeSpec = objectTypeSpecBuilder.build();
+        JavaFile objectFile = JavaFile.builder(generatedObjectClassName.packageName(), objectTypeSpec)
+                .build();
+        return GeneratedObject.builder()
+                .file(objectFile)
+                .className(generatedObjectClassName)
+                .objectTypeDeclaration(objectTypeDeclaration)
+                .build();
+    }
+
+    private GeneratedObject generateConcreteClass() {
+        Map<ObjectProperty, MethodSpec> inheritedProperties = new LinkedHashMap<>();
+        extendedInterfaces.forEach(
+                extendedInterface -> inheritedProperties.putAll(extendedInterface.methodSpecsByProperties()));
+        selfInterface.ifPresent(
+                generatedInterface -> inheritedProperties.putAll(generatedInterface.methodSpecsByProperties()));
+        Map<ObjectProperty, MethodSpec> ownProperties = selfInterface.isEmpty()
+                ? generatorContext.getImmutablesUtils().getOrderedImmutablesPropertyMethods(objectTypeDeclaration)
+                : Collections.emptyMap();
+        TypeSpec.Builder objectTypeSpecBuilder = new ImmutableClassGenerator(
+                        generatedObjectClassName, inheritedProperties, ownProperties)
+                .generate()
+                .addAnnotation(AnnotationSpec.builder(JsonIgnoreProperties.class)
+                        .addMember("ignoreUnknown", "$L", Boolean.TRUE.toString())
+                        .build())
+                .addSuperinterfaces(getSuperInterfaces());
+        if (generatorContext.hasJacksonCodecs()) {
+            objectTypeSpecBuilder.addTypes(getJacksonCodecs(ownProperties));
+        }
         TypeSpec objectTypeSpec = objectTypeSpecBuilder.build();
         JavaFile objectFile = JavaFile.builder(generatedObjectClassName.packageName(), objectTypeSpec)
                 .build();
@@ -104,9 +142,12 @@ public final class ObjectGenerator extends Generator {
         annotationSpecs.add(AnnotationSpec.builder(Value.Immutable.class).build());
         annotationSpecs.add(AnnotationSpec.builder(ClassName.get(StagedBuilderImmutablesStyle.class))
                 .build());
-        annotationSpecs.add(AnnotationSpec.builder(JsonDeserialize.class)
-                .addMember("as", "$T.class", generatedObjectImmutablesClassName)
-                .build());
+        // The generated deserializer is registered for this interface, which as = ... would bypass
+        if (!generatorContext.hasJacksonCodecs()) {
+            annotationSpecs.add(AnnotationSpec.builder(JsonDeserialize.class)
+                    .addMember("as", "$T.class", generatedObjectImmutablesClassName)
+                    .build());
+        }
         annotationSpecs.add(AnnotationSpec.builder(JsonIgnoreProperties.class)
                 .addMember("ignoreUnknown", "$L", Boolean.TRUE.toString())
                 .build());
@@ -121,6 +162,17 @@ public final class ObjectGenerator extends Generator {
         return superInterfaces;
     }
 
+    /** Properties are passed in builder stage order: extended interfaces first, then the object's own. */
+    private List<TypeSpec> getJacksonCodecs(Map<ObjectProperty, MethodSpec> ownProperties) {
+        Map<ObjectProperty, MethodSpec> orderedProperties = new LinkedHashMap<>();
+        extendedInterfaces.forEach(
+                extendedInterface -> orderedProperties.putAll(extendedInterface.methodSpecsByProperties()));
+        selfInterface.ifPresent(
+                generatedInterface -> orderedProperties.putAll(generatedInterface.methodSpecsByProperties()));
+        orderedProperties.putAll(ownProperties);
+        return new ObjectCodecGenerator(generatedObjectClassName, orderedProperties).generate();
+    }
+
     private MethodSpec generateStaticBuilder(Map<ObjectProperty, MethodSpec> methodSpecsByProperty) {
         Optional<String> firstMandatoryFieldName =
                 getFirstRequiredFieldName(extendedInterfaces, selfInterface, methodSpecsByProperty);
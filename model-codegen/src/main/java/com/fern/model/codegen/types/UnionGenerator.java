@@ -17,6 +17,7 @@ package com.fern.model.codegen.types;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.annotation.JsonTypeName;
@@ -24,6 +25,7 @@ import com.fasterxml.jackson.annotation.JsonValue;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fern.codegen.GeneratedUnion;
 import com.fern.codegen.GeneratorContext;
+import com.fern.codegen.ImmutablesMode;
 import com.fern.codegen.utils.ClassNameConstants;
 import com.fern.codegen.utils.ClassNameUtils.PackageType;
 import com.fern.codegen.utils.KeyWordUtils;
@@ -31,8 +33,12 @@ import com.fern.codegen.utils.VisitorUtils;
 import com.fern.codegen.utils.VisitorUtils.GeneratedVisitor;
 import com.fern.immutables.StagedBuilderStyle;
 import com.fern.model.codegen.Generator;
+import com.fern.model.codegen.jackson.ImmutableUnionVariant;
+import com.fern.model.codegen.jackson.UnionCodecGenerator;
+import com.fern.model.codegen.jackson.UnionCodecGenerator.UnionVariant;
 import com.fern.types.DeclaredTypeName;
 import com.fern.types.SingleUnionType;
+import com.fern.types.Type;
 import com.fern.types.TypeDeclaration;
 import com.fern.types.TypeReference;
 import com.fern.types.UnionTypeDeclaration;
@@ -74,6 +80,9 @@ public final class UnionGenerator extends Generator {
     private static final String VISIT_METHOD_NAME = "visit";
     private static final String EQUALS_METHOD_OTHER_PARAM_NAME = "other";
 
+    private static final TypeName UNKNOWN_VALUE_TYPE_NAME = ParameterizedTypeName.get(
+            ClassName.get(Map.class), ClassName.get(String.class), ClassName.get(Object.class));
+
     private final DeclaredTypeName declaredTypeName;
     private final UnionTypeDeclaration unionTypeDeclaration;
     private final Map<DeclaredTypeName, TypeDeclaration> typeDefinitionsByName;
@@ -116,7 +125,7 @@ public final class UnionGenerator extends Generator {
         GeneratedVisitor<SingleUnionType> visitor = getVisitor();
         Map<SingleUnionType, GeneratedInternalValueTypeSpec> internalValueTypeSpecs =
                 getInternalValueTypeSpecs(visitor);
-        TypeSpec unionTypeSpec = TypeSpec.classBuilder(generatedUnionClassName)
+        TypeSpec.Builder unionTypeSpecBuilder = TypeSpec.classBuilder(generatedUnionClassName)
                 .addModifiers(UNION_CLASS_MODIFIERS)
                 .addAnnotations(getAnnotations())
                 .addFields(getFields())
@@ -133,8 +142,11 @@ public final class UnionGenerator extends Generator {
                 .addTypes(internalValueTypeSpecs.values().stream()
                         .map(GeneratedInternalValueTypeSpec::typeSpec)
                         .collect(Collectors.toList()))
-                .addType(getUnknownInternalValueTypeSpec())
-                .build();
+                .addType(getUnknownInternalValueTypeSpec());
+        if (generatorContext.hasJacksonCodecs()) {
+            unionTypeSpecBuilder.addTypes(getJacksonCodecs(internalValueTypeSpecs));
+        }
+        TypeSpec unionTypeSpec = unionTypeSpecBuilder.build();
         JavaFile unionFile = JavaFile.builder(generatedUnionClassName.packageName(), unionTypeSpec)
                 .build();
         return GeneratedUnion.builder()
@@ -145,6 +157,9 @@ public final class UnionGenerator extends Generator {
     }
 
     private List<AnnotationSpec> getAnnotations() {
+        if (isConcrete()) {
+            return Collections.emptyList();
+        }
         return Collections.singletonList(
                 AnnotationSpec.builder(Value.Enclosing.class).build());
     }
@@ -398,6 +413,10 @@ public final class UnionGenerator extends Generator {
             ClassName internalValueClassName = internalValueClassNames.get(singleUnionType);
             MethodSpec visitorMethodName =
                     generatedVisitor.visitMethodsByKeyName().get(singleUnionType);
+            if (isConcrete()) {
+                result.put(singleUnionType, getConcreteInternalValueTypeSpec(singleUnionType, visitorMethodName));
+                return;
+            }
 
             TypeSpec.Builder typeSpecBuilder = TypeSpec.interfaceBuilder(internalValueClassName)
                     .addAnnotation(Value.Immutable.class)
@@ -484,6 +503,9 @@ public final class UnionGenerator extends Generator {
     }
 
     private TypeSpec getUnknownInternalValueTypeSpec() {
+        if (isConcrete()) {
+            return getConcreteUnknownInternalValueTypeSpec();
+        }
         return TypeSpec.interfaceBuilder(UNKNOWN_INTERNAL_VALUE_INTERFACE_NAME)
                 .addAnnotation(Value.Immutable.class)
                 .addAnnotation(AnnotationSpec.builder(JsonDeserialize.class)
@@ -495,8 +517,7 @@ public final class UnionGenerator extends Generator {
                         .build())
                 .addSuperinterface(internalValueInterfaceClassName)
                 .addMethod(MethodSpec.methodBuilder("value")
-                        .returns(ParameterizedTypeName.get(
-                                ClassName.get(Map.class), ClassName.get(String.class), ClassName.get(Object.class)))
+                        .returns(UNKNOWN_VALUE_TYPE_NAME)
                         .addAnnotation(JsonValue.class)
                         .addModifiers(Modifier.ABSTRACT, Modifier.PUBLIC)
                         .build())
@@ -515,9 +536,234 @@ public final class UnionGenerator extends Generator {
                         .addStatement("return visitor.visitUnknown(type())")
                         .addModifiers(Modifier.DEFAULT, Modifier.PUBLIC)
                         .build())
+                .addMethod(MethodSpec.methodBuilder("of")
+                        .addModifiers(Modifier.STATIC, Modifier.PUBLIC)
+                        .returns(unknownInternalValueClassName)
+                        .addParameter(UNKNOWN_VALUE_TYPE_NAME, VALUE_FIELD_NAME)
+                        .addStatement(
+                                "return $T.builder().putAllValue($L).build()",
+                                generatedUnionImmutablesClassName.nestedClass(UNKNOWN_INTERNAL_VALUE_INTERFACE_NAME),
+                                VALUE_FIELD_NAME)
+                        .build())
                 .build();
     }
 
+    /**
+     * In concrete mode each variant is a final class holding its value, deserialized through a constructor: a
+     * delegating one for objects, whose properties are collapsed one level, and a properties one otherwise.
+     */
+    private GeneratedInternalValueTypeSpec getConcreteInternalValueTypeSpec(
+            SingleUnionType singleUnionType, MethodSpec visitorMethod) {
+        ClassName internalValueClassName = internalValueClassNames.get(singleUnionType);
+        TypeSpec.Builder typeSpecBuilder = TypeSpec.classBuilder(internalValueClassName)
+                .addModifiers(Modifier.STATIC, Modifier.FINAL)
+                .addAnnotation(AnnotationSpec.builder(JsonTypeName.class)
+                        .addMember("value", "$S", singleUnionType.discriminantValue())
+                        .build())
+                .addSuperinterface(internalValueInterfaceClassName);
+        MethodSpec.Builder visitMethodBuilder = MethodSpec.methodBuilder(VISIT_METHOD_NAME)
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addTypeVariable(VisitorUtils.VISITOR_RETURN_TYPE)
+                .returns(VisitorUtils.VISITOR_RETURN_TYPE)
+                .addParameter(
+                        generatorContext.getVisitorUtils().getVisitorTypeName(generatedUnionClassName), "visitor");
+        if (singleUnionType.valueType().isVoid()) {
+            TypeSpec typeSpec = typeSpecBuilder
+                    .addMethod(MethodSpec.constructorBuilder()
+                            .addAnnotation(JsonCreator.class)
+                            .addModifiers(Modifier.PRIVATE)
+                            .build())
+                    .addMethod(visitMethodBuilder
+                            .addStatement("return visitor.$N()", visitorMethod)
+                            .build())
+                    .addMethod(MethodSpec.methodBuilder("equals")
+                            .addAnnotation(Override.class)
+                            .addModifiers(Modifier.PUBLIC)
+                            .returns(boolean.class)
+                            .addParameter(Object.class, EQUALS_METHOD_OTHER_PARAM_NAME)
+                            .addStatement(
+                                    "return $L instanceof $T", EQUALS_METHOD_OTHER_PARAM_NAME, internalValueClassName)
+                            .build())
+                    .addMethod(MethodSpec.methodBuilder("hashCode")
+                            .addAnnotation(Override.class)
+                            .addModifiers(Modifier.PUBLIC)
+                            .returns(int.class)
+                            .addStatement("return 0")
+                            .build())
+                    .addMethod(MethodSpec.methodBuilder("toString")
+                            .addAnnotation(Override.class)
+                            .addModifiers(Modifier.PUBLIC)
+                            .returns(String.class)
+                            .addStatement("return $S", internalValueClassName.simpleName() + "{}")
+                            .build())
+                    .addMethod(MethodSpec.methodBuilder("of")
+                            .addModifiers(Modifier.STATIC, Modifier.PUBLIC)
+                            .returns(internalValueClassName)
+                            .addStatement("return new $T()", internalValueClassName)
+                            .build())
+                    .build();
+            return GeneratedInternalValueTypeSpec.builder().typeSpec(typeSpec).build();
+        }
+        MethodSpec internalValueImmutablesProperty = getInternalValueImmutablesProperty(singleUnionType);
+        String fieldName = internalValueImmutablesProperty.name;
+        TypeName valueTypeName = internalValueImmutablesProperty.returnType;
+        boolean isObject = isTypeReferenceAnObject(singleUnionType.valueType());
+        AnnotationSpec jsonPropertyAnnotation = AnnotationSpec.builder(JsonProperty.class)
+                .addMember("value", "$S", singleUnionType.discriminantValue())
+                .build();
+        MethodSpec.Builder constructorBuilder = MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PRIVATE)
+                .addAnnotation(AnnotationSpec.builder(JsonCreator.class)
+                        .addMember(
+                                "mode",
+                                "$T.$L",
+                                ClassName.get(JsonCreator.Mode.class),
+                                isObject ? JsonCreator.Mode.DELEGATING.name() : JsonCreator.Mode.PROPERTIES.name())
+                        .build());
+        ParameterSpec.Builder parameterBuilder = ParameterSpec.builder(valueTypeName, fieldName);
+        if (!isObject) {
+            parameterBuilder.addAnnotation(jsonPropertyAnnotation);
+        }
+        constructorBuilder.addParameter(parameterBuilder.build());
+        if (valueTypeName instanceof ParameterizedTypeName
+                && ((ParameterizedTypeName) valueTypeName).rawType.equals(ClassNameConstants.OPTIONAL_CLASS_NAME)) {
+            constructorBuilder.addStatement(
+                    "this.$L = $L == null ? $T.empty() : $L",
+                    fieldName,
+                    fieldName,
+                    ClassNameConstants.OPTIONAL_CLASS_NAME,
+                    fieldName);
+        } else {
+            constructorBuilder.addStatement(
+                    "this.$L = $T.requireNonNull($L, $S)",
+                    fieldName,
+                    ClassName.get(Objects.class),
+                    fieldName,
+                    singleUnionType.discriminantValue());
+        }
+        TypeSpec typeSpec = typeSpecBuilder
+                .addField(FieldSpec.builder(valueTypeName, fieldName, Modifier.PRIVATE, Modifier.FINAL)
+                        .build())
+                .addMethod(constructorBuilder.build())
+                .addMethod(MethodSpec.methodBuilder(fieldName)
+                        .addAnnotation(
+                                isObject
+                                        ? AnnotationSpec.builder(JsonValue.class)
+                                                .build()
+                                        : jsonPropertyAnnotation)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(valueTypeName)
+                        .addStatement("return $L", fieldName)
+                        .build())
+                .addMethod(visitMethodBuilder
+                        .addStatement("return visitor.$N($L)", visitorMethod, fieldName)
+                        .build())
+                .addMethods(getConcreteValueMethods(internalValueClassName, fieldName))
+                .addMethod(MethodSpec.methodBuilder("of")
+                        .addModifiers(Modifier.STATIC, Modifier.PUBLIC)
+                        .returns(internalValueClassName)
+                        .addParameter(valueTypeName, VALUE_FIELD_NAME)
+                        .addStatement("return new $T($L)", internalValueClassName, VALUE_FIELD_NAME)
+                        .build())
+                .build();
+        return GeneratedInternalValueTypeSpec.builder()
+                .typeSpec(typeSpec)
+                .internalValueImmutablesProperty(internalValueImmutablesProperty)
+                .build();
+    }
+
+    private TypeSpec getConcreteUnknownInternalValueTypeSpec() {
+        return TypeSpec.classBuilder(unknownInternalValueClassName)
+                .addModifiers(Modifier.STATIC, Modifier.FINAL)
+                .addSuperinterface(internalValueInterfaceClassName)
+                .addField(FieldSpec.builder(UNKNOWN_VALUE_TYPE_NAME, VALUE_FIELD_NAME, Modifier.PRIVATE, Modifier.FINAL)
+                        .build())
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PRIVATE)
+                        .addAnnotation(AnnotationSpec.builder(JsonCreator.class)
+                                .addMember(
+                                        "mode",
+                                        "$T.$L",
+                                        ClassName.get(JsonCreator.Mode.class),
+                                        JsonCreator.Mode.DELEGATING.name())
+                                .build())
+                        .addParameter(UNKNOWN_VALUE_TYPE_NAME, VALUE_FIELD_NAME)
+                        .addStatement(
+                                "this.$L = $T.unmodifiableMap(new $T<>($L))",
+                                VALUE_FIELD_NAME,
+                                ClassName.get(Collections.class),
+                                ClassName.get(LinkedHashMap.class),
+                                VALUE_FIELD_NAME)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder(VALUE_FIELD_NAME)
+                        .addAnnotation(JsonValue.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(UNKNOWN_VALUE_TYPE_NAME)
+                        .addStatement("return $L", VALUE_FIELD_NAME)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("type")
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(String.class)
+                        .addStatement("return value().get(\"type\").toString()")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder(VISIT_METHOD_NAME)
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .addTypeVariable(VisitorUtils.VISITOR_RETURN_TYPE)
+                        .returns(VisitorUtils.VISITOR_RETURN_TYPE)
+                        .addParameter(
+                                generatorContext.getVisitorUtils().getVisitorTypeName(generatedUnionClassName),
+                                "visitor")
+                        .addStatement("return visitor.visitUnknown(type())")
+                        .build())
+                .addMethods(getConcreteValueMethods(unknownInternalValueClassName, VALUE_FIELD_NAME))
+                .addMethod(MethodSpec.methodBuilder("of")
+                        .addModifiers(Modifier.STATIC, Modifier.PUBLIC)
+                        .returns(unknownInternalValueClassName)
+                        .addParameter(UNKNOWN_VALUE_TYPE_NAME, VALUE_FIELD_NAME)
+                        .addStatement("return new $T($L)", unknownInternalValueClassName, VALUE_FIELD_NAME)
+                        .build())
+                .build();
+    }
+
+    /** The equals, hashCode and toString methods of a concrete class that holds a single value in the field. */
+    private static List<MethodSpec> getConcreteValueMethods(ClassName className, String fieldName) {
+        return List.of(
+                MethodSpec.methodBuilder("equals")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(boolean.class)
+                        .addParameter(Object.class, EQUALS_METHOD_OTHER_PARAM_NAME)
+                        .addStatement(
+                                "return this == $L || ($L instanceof $T && $L.equals((($T) $L).$L))",
+                                EQUALS_METHOD_OTHER_PARAM_NAME,
+                                EQUALS_METHOD_OTHER_PARAM_NAME,
+                                className,
+                                fieldName,
+                                className,
+                                EQUALS_METHOD_OTHER_PARAM_NAME,
+                                fieldName)
+                        .build(),
+                MethodSpec.methodBuilder("hashCode")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(int.class)
+                        .addStatement("return $L.hashCode()", fieldName)
+                        .build(),
+                MethodSpec.methodBuilder("toString")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(String.class)
+                        .addStatement(
+                                "return $S + $L + $S", className.simpleName() + "{" + fieldName + "=", fieldName, "}")
+                        .build());
+    }
+
+    private boolean isConcrete() {
+        return generatorContext.getImmutablesMode() == ImmutablesMode.CONCRETE;
+    }
+
     private MethodSpec getInternalValueImmutablesProperty(SingleUnionType singleUnionType) {
         TypeName returnTypeName =
                 generatorContext.getClassNameUtils().getTypeNameFromTypeReference(true, singleUnionType.valueType());
@@ -536,6 +782,47 @@ public final class UnionGenerator extends Generator {
         return internalValueImmutablesProperty;
     }
 
+    private List<TypeSpec> getJacksonCodecs(
+            Map<SingleUnionType, GeneratedInternalValueTypeSpec> internalValueTypeSpecs) {
+        List<UnionVariant> variants = unionTypeDeclaration.types().stream()
+                .map(singleUnionType -> {
+                    ImmutableUnionVariant.Builder variantBuilder = UnionVariant.builder()
+                            .discriminantValue(singleUnionType.discriminantValue())
+                            .internalValueClassName(internalValueClassNames.get(singleUnionType))
+                            .factoryMethodName(
+                                    KeyWordUtils.getKeyWordCompatibleName(singleUnionType.discriminantValue()))
+                            .property(
+                                    internalValueTypeSpecs.get(singleUnionType).internalValueImmutablesProperty());
+                    TypeReference valueType = singleUnionType.valueType();
+                    int aliasDepth = 0;
+                    while (valueType.isNamed()) {
+                        DeclaredTypeName namedType = valueType.getNamed().get();
+                        Type shape = typeDefinitionsByName.get(namedType).shape();
+                        if (shape.isObject()) {
+                            variantBuilder
+                                    .flattenedObjectClassName(generatorContext
+                                            .getClassNameUtils()
+                                            .getClassNameFromDeclaredTypeName(namedType, PackageType.TYPES))
+                                    .aliasDepth(aliasDepth);
+                            break;
+                        } else if (!shape.isAlias()) {
+                            break;
+                        }
+                        valueType = shape.getAlias().get().aliasOf();
+                        aliasDepth++;
+                    }
+                    return variantBuilder.build();
+                })
+                .collect(Collectors.toList());
+        return new UnionCodecGenerator(
+                        generatedUnionClassName,
+                        unionTypeDeclaration.discriminant(),
+                        variants,
+                        unknownInternalValueClassName,
+                        GET_INTERNAL_VALUE_METHOD_NAME)
+                .generate();
+    }
+
     private boolean isTypeReferenceAnObject(TypeReference typeReference) {
         Optional<DeclaredTypeName> maybeNamedType = typeReference.getNamed();
         if (maybeNamedType.isPresent()) {
@@ -15,6 +15,8 @@
  */
 package com.fern.model.codegen;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import com.fern.codegen.GeneratedAlias;
 import com.fern.codegen.utils.ClassNameUtils.PackageType;
 import com.fern.java.test.TestConstants;
@@ -73,4 +75,27 @@ public final class AliasGeneratorTest {
         GeneratedAlias generatedAlias = aliasGenerator.generate();
         System.out.println(generatedAlias.file().toString());
     }
+
+    @Test
+    public void test_concrete() {
+        AliasTypeDeclaration aliasTypeDefinition = AliasTypeDeclaration.builder()
+                .aliasOf(TypeReference.primitive(PrimitiveType.LONG))
+                .build();
+        TypeDeclaration countTypeDefinition = TypeDeclaration.builder()
+                .name(DeclaredTypeName.builder()
+                        .fernFilepath(FernFilepath.valueOf(List.of("com", "trace", "problem")))
+                        .name("Count")
+                        .build())
+                .shape(Type.alias(aliasTypeDefinition))
+                .build();
+        AliasGenerator aliasGenerator = new AliasGenerator(
+                aliasTypeDefinition,
+                PackageType.TYPES,
+                countTypeDefinition.name(),
+                TestConstants.CONCRETE_GENERATOR_CONTEXT);
+        GeneratedAlias generatedAlias = aliasGenerator.generate();
+        String generatedFile = generatedAlias.file().toString();
+        System.out.println(generatedFile);
+        assertThat(generatedFile).doesNotContain("Value.Immutable").contains("public final class Count");
+    }
 }
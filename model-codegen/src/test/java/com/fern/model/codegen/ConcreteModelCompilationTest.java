@@ -0,0 +1,212 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.model.codegen;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fern.codegen.GeneratedEndpointError;
+import com.fern.codegen.GeneratedError;
+import com.fern.codegen.GeneratorContext;
+import com.fern.codegen.GeneratorOptions;
+import com.fern.codegen.IGeneratedFile;
+import com.fern.codegen.ImmutablesMode;
+import com.fern.codegen.IrIndex;
+import com.fern.java.test.GeneratedSources;
+import com.fern.java.test.TestConstants;
+import com.fern.model.codegen.services.payloads.FailedResponseGenerator;
+import com.fern.types.AliasTypeDeclaration;
+import com.fern.types.DeclaredTypeName;
+import com.fern.types.ErrorDeclaration;
+import com.fern.types.ErrorName;
+import com.fern.types.FernFilepath;
+import com.fern.types.HttpErrorConfiguration;
+import com.fern.types.ObjectProperty;
+import com.fern.types.ObjectTypeDeclaration;
+import com.fern.types.PrimitiveType;
+import com.fern.types.SingleUnionType;
+import com.fern.types.Type;
+import com.fern.types.TypeDeclaration;
+import com.fern.types.TypeReference;
+import com.fern.types.UnionTypeDeclaration;
+import com.fern.types.services.EndpointId;
+import com.fern.types.services.HttpEndpoint;
+import com.fern.types.services.HttpService;
+import com.fern.types.services.ResponseError;
+import com.fern.types.services.ResponseErrors;
+import com.fern.types.services.ServiceName;
+import com.squareup.javapoet.JavaFile;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class ConcreteModelCompilationTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Mock
+    HttpService httpService;
+
+    @Mock
+    HttpEndpoint httpEndpoint;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void test_generatedModelsCompileWithoutAnnotationProcessor() throws Exception {
+        TypeDeclaration pointType = TypeDeclaration.builder()
+                .name(declaredTypeName("Point"))
+                .shape(Type._object(ObjectTypeDeclaration.builder()
+                        .addProperties(ObjectProperty.builder()
+                                .key("x")
+                                .valueType(TypeReference.primitive(PrimitiveType.INTEGER))
+                                .build())
+                        .build()))
+                .build();
+        TypeDeclaration pointIdType = TypeDeclaration.builder()
+                .name(declaredTypeName("PointId"))
+                .shape(Type.alias(AliasTypeDeclaration.builder()
+                        .aliasOf(TypeReference.primitive(PrimitiveType.STRING))
+                        .build()))
+                .build();
+        TypeDeclaration shapeType = TypeDeclaration.builder()
+                .name(declaredTypeName("Shape"))
+                .shape(Type.union(UnionTypeDeclaration.builder()
+                        .discriminant("type")
+                        .addTypes(SingleUnionType.builder()
+                                .discriminantValue("point")
+                                .valueType(TypeReference.named(pointType.name()))
+                                .build())
+                        .addTypes(SingleUnionType.builder()
+                                .discriminantValue("label")
+                                .valueType(TypeReference.primitive(PrimitiveType.STRING))
+                                .build())
+                        .addTypes(SingleUnionType.builder()
+                                .discriminantValue("empty")
+                                .valueType(TypeReference._void())
+                                .build())
+                        .build()))
+                .build();
+        ErrorName notFoundErrorName = ErrorName.builder()
+                .fernFilepath(FernFilepath.valueOf(List.of("com", "fern")))
+                .name("NotFoundError")
+                .build();
+        ErrorDeclaration notFoundError = ErrorDeclaration.builder()
+                .name(notFoundErrorName)
+                .type(Type._object(ObjectTypeDeclaration.builder()
+                        .addProperties(ObjectProperty.builder()
+                                .key("msg")
+                                .valueType(TypeReference.primitive(PrimitiveType.STRING))
+                                .build())
+                        .build()))
+                .http(HttpErrorConfiguration.builder().statusCode(404).build())
+                .build();
+        List<TypeDeclaration> typeDeclarations = List.of(pointType, pointIdType, shapeType);
+        GeneratorContext generatorContext = new GeneratorContext(GeneratorOptions.builder()
+                .irIndex(IrIndex.create(typeDeclarations, List.of(notFoundError), Collections.emptyList()))
+                .fernConstants(TestConstants.FERN_CONSTANTS)
+                .packagePrefix(TestConstants.PACKAGE_PREFIX)
+                .immutablesMode(ImmutablesMode.CONCRETE)
+                .build());
+        ModelGeneratorResult modelGeneratorResult = new ModelGenerator(
+                        Collections.emptyList(), typeDeclarations, List.of(notFoundError), generatorContext)
+                .generate();
+
+        when(httpService.name())
+                .thenReturn(ServiceName.builder()
+                        .fernFilepath(FernFilepath.valueOf(List.of("com", "fern")))
+                        .name("PointService")
+                        .build());
+        when(httpEndpoint.endpointId()).thenReturn(EndpointId.valueOf("getPoint"));
+        when(httpEndpoint.errors())
+                .thenReturn(ResponseErrors.valueOf(List.of(ResponseError.builder()
+                        .discriminantValue("notFound")
+                        .error(notFoundErrorName)
+                        .build())));
+        GeneratedEndpointError failedResponse = new FailedResponseGenerator(
+                        httpService, httpEndpoint, generatorContext, modelGeneratorResult.errors())
+                .generate();
+
+        List<JavaFile> javaFiles = new ArrayList<>();
+        modelGeneratorResult.typeFiles().values().forEach(typeFile -> javaFiles.add(typeFile.file()));
+        modelGeneratorResult
+                .interfaces()
+                .values()
+                .forEach(generatedInterface -> javaFiles.add(generatedInterface.file()));
+        for (GeneratedError generatedError : modelGeneratorResult.errors().values()) {
+            javaFiles.add(generatedError.file());
+            javaFiles.add(generatedError.generatedBodyFile().file());
+        }
+        javaFiles.add(failedResponse.file());
+        assertThat(javaFiles)
+                .allSatisfy(javaFile -> assertThat(javaFile.toString()).doesNotContain("org.immutables"));
+        ClassLoader classLoader = GeneratedSources.compile(tempDir, javaFiles);
+
+        Class<?> shapeClass =
+                loadClass(classLoader, modelGeneratorResult.typeFiles().get(shapeType.name()));
+        assertRoundTrips(shapeClass, "{\"type\":\"point\",\"x\":3}");
+        assertRoundTrips(shapeClass, "{\"type\":\"label\",\"label\":\"origin\"}");
+        assertRoundTrips(shapeClass, "{\"type\":\"empty\"}");
+        assertThat(OBJECT_MAPPER.readValue("{\"type\":\"circle\",\"radius\":2}", shapeClass))
+                .isEqualTo(OBJECT_MAPPER.readValue("{\"radius\":2,\"type\":\"circle\"}", shapeClass));
+        assertThat(OBJECT_MAPPER.readValue("{\"type\":\"label\",\"label\":\"origin\"}", shapeClass))
+                .isEqualTo(OBJECT_MAPPER.readValue("{\"label\":\"origin\",\"type\":\"label\"}", shapeClass));
+
+        Class<?> failedResponseClass = loadClass(classLoader, failedResponse);
+        Object decoded = OBJECT_MAPPER.readValue("{\"_error\":\"notFound\",\"msg\":\"missing\"}", failedResponseClass);
+        Object exception = failedResponseClass
+                .getMethod(FailedResponseGenerator.GET_EXCEPTION_METHOD_NAME)
+                .invoke(decoded);
+        assertThat(exception.getClass().getName())
+                .isEqualTo(modelGeneratorResult
+                        .errors()
+                        .get(notFoundErrorName)
+                        .className()
+                        .reflectionName());
+        assertThat(OBJECT_MAPPER.readTree(OBJECT_MAPPER.writeValueAsString(decoded)))
+                .satisfies(json -> {
+                    assertThat(json.get("_error").asText()).isEqualTo("notFound");
+                    assertThat(json.get("msg").asText()).isEqualTo("missing");
+                    assertThat(json.has("_errorInstanceId")).isTrue();
+                });
+    }
+
+    private static void assertRoundTrips(Class<?> valueClass, String json) throws Exception {
+        Object value = OBJECT_MAPPER.readValue(json, valueClass);
+        assertThat(OBJECT_MAPPER.readTree(OBJECT_MAPPER.writeValueAsString(value)))
+                .isEqualTo(OBJECT_MAPPER.readTree(json));
+    }
+
+    private static Class<?> loadClass(ClassLoader classLoader, IGeneratedFile generatedFile) throws Exception {
+        return Class.forName(generatedFile.className().reflectionName(), true, classLoader);
+    }
+
+    private static DeclaredTypeName declaredTypeName(String name) {
+        return DeclaredTypeName.builder()
+                .fernFilepath(FernFilepath.valueOf(List.of("com", "fern")))
+                .name(name)
+                .build();
+    }
+}
@@ -15,8 +15,11 @@
  */
 package com.fern.model.codegen;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import com.fern.codegen.GeneratedEnum;
 import com.fern.codegen.utils.ClassNameUtils.PackageType;
+import com.fern.java.test.GeneratedSources;
 import com.fern.java.test.TestConstants;
 import com.fern.model.codegen.types.EnumGenerator;
 import com.fern.types.DeclaredTypeName;
@@ -25,8 +28,11 @@ import com.fern.types.EnumValue;
 import com.fern.types.FernFilepath;
 import com.fern.types.Type;
 import com.fern.types.TypeDeclaration;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
 import java.util.List;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 public class EnumGeneratorTest {
 
@@ -53,4 +59,83 @@ public class EnumGeneratorTest {
         GeneratedEnum generatedEnum = enumGenerator.generate();
         System.out.println(generatedEnum.file().toString());
     }
+
+    @Test
+    public void test_valueOfMatchesRawValue() {
+        EnumTypeDeclaration statusEnumDef = EnumTypeDeclaration.builder()
+                .addValues(EnumValue.builder().name("ON").value("on").build())
+                .addValues(EnumValue.builder().name("OFF").value("off").build())
+                .build();
+        EnumGenerator enumGenerator = new EnumGenerator(
+                DeclaredTypeName.builder()
+                        .fernFilepath(FernFilepath.valueOf(List.of("com", "fern")))
+                        .name("Status")
+                        .build(),
+                PackageType.TYPES,
+                statusEnumDef,
+                TestConstants.GENERATOR_CONTEXT);
+        String generatedFile = enumGenerator.generate().file().toString();
+        System.out.println(generatedFile);
+        assertThat(generatedFile)
+                .contains("switch (value)")
+                .contains("value.equalsIgnoreCase(\"on\")")
+                .contains("UNKNOWN_VALUES.putIfAbsent(value, unknown)")
+                .contains("if (UNKNOWN_VALUES.size() < MAX_UNKNOWN_VALUES)")
+                .doesNotContain("synchronized")
+                .doesNotContain("toUpperCase");
+    }
+
+    @Test
+    public void test_jacksonCodecs() {
+        EnumTypeDeclaration statusEnumDef = EnumTypeDeclaration.builder()
+                .addValues(EnumValue.builder().name("ON").value("on").build())
+                .addValues(EnumValue.builder().name("OFF").value("off").build())
+                .build();
+        EnumGenerator enumGenerator = new EnumGenerator(
+                DeclaredTypeName.builder()
+                        .fernFilepath(FernFilepath.valueOf(List.of("com", "fern")))
+                        .name("Status")
+                        .build(),
+                PackageType.TYPES,
+                statusEnumDef,
+                TestConstants.JACKSON_GENERATOR_CONTEXT);
+        String generatedFile = enumGenerator.generate().file().toString();
+        System.out.println(generatedFile);
+        assertThat(generatedFile).contains("class JacksonSerializer").contains("class JacksonDeserializer");
+    }
+
+    @Test
+    public void test_unknownValuesCacheIsBounded(@TempDir Path tempDir) throws Exception {
+        EnumTypeDeclaration statusEnumDef = EnumTypeDeclaration.builder()
+                .addValues(EnumValue.builder().name("ON").value("on").build())
+                .build();
+        GeneratedEnum generatedEnum = new EnumGenerator(
+                        DeclaredTypeName.builder()
+                                .fernFilepath(FernFilepath.valueOf(List.of("com", "fern")))
+                                .name("Status")
+                                .build(),
+                        PackageType.TYPES,
+                        statusEnumDef,
+                        TestConstants.GENERATOR_CONTEXT)
+                .generate();
+        ClassLoader classLoader = GeneratedSources.compile(tempDir, List.of(generatedEnum.file()));
+        Method valueOf = Class.forName(generatedEnum.className().reflectionName(), true, classLoader)
+                .getMethod("valueOf", String.class);
+
+        assertThat(valueOf.invoke(null, "on")).isSameAs(valueOf.invoke(null, "ON"));
+        Object first = valueOf.invoke(null, "unknown-0");
+        assertThat(valueOf.invoke(null, "unknown-0")).isSameAs(first);
+        for (int i = 1; i < 256; i++) {
+            valueOf.invoke(null, "unknown-" + i);
+        }
+        // The cache holds 256 values, so values seen after it filled up are not cached
+        Object uncached = valueOf.invoke(null, "unknown-256");
+        assertThat(valueOf.invoke(null, "unknown-256")).isNotSameAs(uncached).isEqualTo(uncached);
+        assertThat(valueOf.invoke(null, "unknown-0")).isSameAs(first);
+
+        String longValue = "x".repeat(65);
+        assertThat(valueOf.invoke(null, longValue))
+                .isNotSameAs(valueOf.invoke(null, longValue))
+                .isEqualTo(valueOf.invoke(null, longValue));
+    }
 }
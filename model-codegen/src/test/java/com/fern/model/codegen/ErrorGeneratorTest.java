@@ -15,7 +15,12 @@
  */
 package com.fern.model.codegen;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import com.fern.codegen.GeneratedError;
+import com.fern.codegen.GeneratorContext;
+import com.fern.codegen.GeneratorOptions;
+import com.fern.codegen.IrIndex;
 import com.fern.java.test.TestConstants;
 import com.fern.model.codegen.errors.ErrorGenerator;
 import com.fern.types.ErrorDeclaration;
@@ -52,4 +57,32 @@ public class ErrorGeneratorTest {
         GeneratedError generatedError = errorGenerator.generate();
         System.out.println(generatedError.file().toString());
     }
+
+    @Test
+    public void test_stacklessErrors() {
+        GeneratorContext generatorContext = new GeneratorContext(GeneratorOptions.builder()
+                .irIndex(IrIndex.create(Collections.emptyList(), Collections.emptyList(), Collections.emptyList()))
+                .fernConstants(TestConstants.FERN_CONSTANTS)
+                .packagePrefix(TestConstants.PACKAGE_PREFIX)
+                .stacklessErrors(true)
+                .build());
+        ErrorGenerator errorGenerator = new ErrorGenerator(
+                ErrorDeclaration.builder()
+                        .name(ErrorName.builder()
+                                .fernFilepath(FernFilepath.valueOf(List.of("fern")))
+                                .name("NotFoundError")
+                                .build())
+                        .type(Type._object(ObjectTypeDeclaration.builder()
+                                .addProperties(ObjectProperty.builder()
+                                        .key("a")
+                                        .valueType(TypeReference.primitive(PrimitiveType.STRING))
+                                        .build())
+                                .build()))
+                        .build(),
+                generatorContext,
+                Collections.emptyMap());
+        String generatedFile = errorGenerator.generate().file().toString();
+        System.out.println(generatedFile);
+        assertThat(generatedFile).contains("super(true, false);");
+    }
 }
@@ -0,0 +1,274 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.model.codegen;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fern.codegen.GeneratorContext;
+import com.fern.codegen.GeneratorOptions;
+import com.fern.codegen.ImmutablesMode;
+import com.fern.codegen.IrIndex;
+import com.fern.java.test.GeneratedSources;
+import com.fern.java.test.TestConstants;
+import com.fern.types.AliasTypeDeclaration;
+import com.fern.types.DeclaredTypeName;
+import com.fern.types.EnumTypeDeclaration;
+import com.fern.types.EnumValue;
+import com.fern.types.FernFilepath;
+import com.fern.types.ObjectProperty;
+import com.fern.types.ObjectTypeDeclaration;
+import com.fern.types.PrimitiveType;
+import com.fern.types.SingleUnionType;
+import com.fern.types.Type;
+import com.fern.types.TypeDeclaration;
+import com.fern.types.TypeReference;
+import com.fern.types.UnionTypeDeclaration;
+import com.squareup.javapoet.JavaFile;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Compiles concrete models with Jackson codecs once, and reads and writes JSON through the generated module. */
+public class JacksonCodecsCompilationTest {
+
+    private static final TypeDeclaration POINT_TYPE = TypeDeclaration.builder()
+            .name(declaredTypeName("Point"))
+            .shape(Type._object(ObjectTypeDeclaration.builder()
+                    .addProperties(ObjectProperty.builder()
+                            .key("x")
+                            .valueType(TypeReference.primitive(PrimitiveType.INTEGER))
+                            .build())
+                    .addProperties(ObjectProperty.builder()
+                            .key("name")
+                            .valueType(TypeReference.primitive(PrimitiveType.STRING))
+                            .build())
+                    .build()))
+            .build();
+    private static final TypeDeclaration POINT_ALIAS_TYPE = TypeDeclaration.builder()
+            .name(declaredTypeName("PointAlias"))
+            .shape(Type.alias(AliasTypeDeclaration.builder()
+                    .aliasOf(TypeReference.named(POINT_TYPE.name()))
+                    .build()))
+            .build();
+    private static final TypeDeclaration STATUS_TYPE = TypeDeclaration.builder()
+            .name(declaredTypeName("Status"))
+            .shape(Type._enum(EnumTypeDeclaration.builder()
+                    .addValues(EnumValue.builder().name("ON").value("on").build())
+                    .addValues(EnumValue.builder().name("OFF").value("off").build())
+                    .build()))
+            .build();
+    private static final TypeDeclaration SHAPE_TYPE = TypeDeclaration.builder()
+            .name(declaredTypeName("Shape"))
+            .shape(Type.union(UnionTypeDeclaration.builder()
+                    .discriminant("type")
+                    .addTypes(SingleUnionType.builder()
+                            .discriminantValue("point")
+                            .valueType(TypeReference.named(POINT_TYPE.name()))
+                            .build())
+                    .addTypes(SingleUnionType.builder()
+                            .discriminantValue("aliased")
+                            .valueType(TypeReference.named(POINT_ALIAS_TYPE.name()))
+                            .build())
+                    .addTypes(SingleUnionType.builder()
+                            .discriminantValue("label")
+                            .valueType(TypeReference.primitive(PrimitiveType.STRING))
+                            .build())
+                    .addTypes(SingleUnionType.builder()
+                            .discriminantValue("status")
+                            .valueType(TypeReference.named(STATUS_TYPE.name()))
+                            .build())
+                    .addTypes(SingleUnionType.builder()
+                            .discriminantValue("empty")
+                            .valueType(TypeReference._void())
+                            .build())
+                    .build()))
+            .build();
+
+    @TempDir
+    static Path tempDir;
+
+    private static ModelGeneratorResult modelGeneratorResult;
+    private static ClassLoader classLoader;
+    private static ObjectMapper objectMapper;
+
+    @BeforeAll
+    public static void beforeAll() throws Exception {
+        List<TypeDeclaration> typeDeclarations = List.of(POINT_TYPE, POINT_ALIAS_TYPE, STATUS_TYPE, SHAPE_TYPE);
+        GeneratorContext generatorContext = new GeneratorContext(GeneratorOptions.builder()
+                .irIndex(IrIndex.create(typeDeclarations, Collections.emptyList(), Collections.emptyList()))
+                .fernConstants(TestConstants.FERN_CONSTANTS)
+                .packagePrefix(TestConstants.PACKAGE_PREFIX)
+                .immutablesMode(ImmutablesMode.CONCRETE)
+                .jacksonCodecs(true)
+                .build());
+        modelGeneratorResult = new ModelGenerator(
+                        Collections.emptyList(), typeDeclarations, Collections.emptyList(), generatorContext)
+                .generate();
+        List<JavaFile> javaFiles = new ArrayList<>();
+        modelGeneratorResult.typeFiles().values().forEach(typeFile -> javaFiles.add(typeFile.file()));
+        javaFiles.add(modelGeneratorResult.jacksonModule().get().file());
+        classLoader = GeneratedSources.compile(tempDir, javaFiles);
+        Class<?> moduleClass = Class.forName(
+                modelGeneratorResult.jacksonModule().get().className().reflectionName(), true, classLoader);
+        objectMapper = new ObjectMapper()
+                .registerModule((Module) moduleClass.getConstructor().newInstance());
+    }
+
+    @Test
+    public void test_moduleRegistersCodecs() throws Exception {
+        for (TypeDeclaration typeDeclaration : List.of(POINT_TYPE, STATUS_TYPE, SHAPE_TYPE)) {
+            Class<?> typeClass = loadType(typeDeclaration);
+            assertThat(objectMapper
+                            .getSerializerProviderInstance()
+                            .findValueSerializer(typeClass)
+                            .getClass()
+                            .getName())
+                    .isEqualTo(typeClass.getName() + "$JacksonSerializer");
+        }
+    }
+
+    @Test
+    public void test_roundTripsJson() throws Exception {
+        assertRoundTrips(POINT_TYPE, "{\"x\":1,\"name\":\"origin\"}");
+        assertRoundTrips(STATUS_TYPE, "\"on\"");
+        assertRoundTrips(SHAPE_TYPE, "{\"type\":\"point\",\"x\":1,\"name\":\"origin\"}");
+        assertRoundTrips(SHAPE_TYPE, "{\"type\":\"aliased\",\"x\":1,\"name\":\"origin\"}");
+        assertRoundTrips(SHAPE_TYPE, "{\"type\":\"label\",\"label\":\"origin\"}");
+        assertRoundTrips(SHAPE_TYPE, "{\"type\":\"status\",\"status\":\"off\"}");
+        assertRoundTrips(SHAPE_TYPE, "{\"type\":\"empty\"}");
+    }
+
+    @Test
+    public void test_unionDiscriminantPosition() throws Exception {
+        for (String json : List.of(
+                "{\"type\":\"point\",\"x\":1,\"name\":\"origin\"}",
+                "{\"x\":1,\"type\":\"point\",\"name\":\"origin\"}",
+                "{\"x\":1,\"name\":\"origin\",\"type\":\"point\"}")) {
+            assertUnionVariant(json, "isPoint", "{\"type\":\"point\",\"x\":1,\"name\":\"origin\"}");
+        }
+        for (String json : List.of(
+                "{\"type\":\"aliased\",\"x\":1,\"name\":\"origin\"}",
+                "{\"x\":1,\"type\":\"aliased\",\"name\":\"origin\"}",
+                "{\"x\":1,\"name\":\"origin\",\"type\":\"aliased\"}")) {
+            assertUnionVariant(json, "isAliased", "{\"type\":\"aliased\",\"x\":1,\"name\":\"origin\"}");
+        }
+        for (String json : List.of(
+                "{\"type\":\"label\",\"label\":\"origin\",\"other\":[1]}",
+                "{\"other\":{\"a\":1},\"type\":\"label\",\"label\":\"origin\"}",
+                "{\"label\":\"origin\",\"other\":2,\"type\":\"label\"}")) {
+            assertUnionVariant(json, "isLabel", "{\"type\":\"label\",\"label\":\"origin\"}");
+        }
+        for (String json :
+                List.of("{\"type\":\"status\",\"status\":\"off\"}", "{\"status\":\"off\",\"type\":\"status\"}")) {
+            assertUnionVariant(json, "isStatus", "{\"type\":\"status\",\"status\":\"off\"}");
+        }
+        for (String json :
+                List.of("{\"type\":\"empty\",\"other\":{\"a\":[1]}}", "{\"other\":{\"a\":[1]},\"type\":\"empty\"}")) {
+            assertUnionVariant(json, "isEmpty", "{\"type\":\"empty\"}");
+        }
+    }
+
+    @Test
+    public void test_unionMissingDiscriminant() throws Exception {
+        assertUnknownUnion("{\"x\":1,\"name\":\"origin\"}", "{\"x\":1,\"name\":\"origin\"}");
+        assertUnknownUnion("{\"label\":\"origin\"}", "{\"label\":\"origin\"}");
+        assertUnknownUnion("{}", "{}");
+    }
+
+    @Test
+    public void test_unionNonStringDiscriminant() throws Exception {
+        assertUnknownUnion("{\"type\":1,\"x\":1,\"name\":\"origin\"}", "{\"type\":1,\"x\":1,\"name\":\"origin\"}");
+        assertUnknownUnion("{\"label\":\"origin\",\"type\":{\"a\":1}}", "{\"label\":\"origin\",\"type\":{\"a\":1}}");
+    }
+
+    @Test
+    public void test_unionUnknownDiscriminant() throws Exception {
+        assertUnknownUnion(
+                "{\"type\":\"hexagon\",\"x\":1,\"name\":\"origin\"}",
+                "{\"type\":\"hexagon\",\"x\":1,\"name\":\"origin\"}");
+        assertUnknownUnion(
+                "{\"x\":1,\"type\":\"hexagon\",\"name\":\"origin\"}",
+                "{\"type\":\"hexagon\",\"x\":1,\"name\":\"origin\"}");
+        assertUnknownUnion("{\"sides\":[1,2],\"type\":\"hexagon\"}", "{\"type\":\"hexagon\",\"sides\":[1,2]}");
+    }
+
+    @Test
+    public void test_unionMissingVariantProperty() {
+        assertThatThrownBy(() -> objectMapper.readValue("{\"type\":\"label\"}", loadType(SHAPE_TYPE)))
+                .isInstanceOf(MismatchedInputException.class)
+                .hasMessageContaining("Missing required property 'label' of Shape");
+        assertThatThrownBy(
+                        () -> objectMapper.readValue("{\"name\":\"origin\",\"type\":\"point\"}", loadType(SHAPE_TYPE)))
+                .isInstanceOf(MismatchedInputException.class)
+                .hasMessageContaining("Missing required property 'x' of Point");
+    }
+
+    private static void assertUnionVariant(String json, String isVariantMethodName, String expectedJson)
+            throws Exception {
+        Class<?> shapeClass = loadType(SHAPE_TYPE);
+        Object value = objectMapper.readValue(json, shapeClass);
+        assertThat(shapeClass.getMethod(isVariantMethodName).invoke(value)).isEqualTo(true);
+        assertThat(value).isEqualTo(objectMapper.readValue(expectedJson, shapeClass));
+        assertThat(objectMapper.readTree(objectMapper.writeValueAsString(value)))
+                .isEqualTo(objectMapper.readTree(expectedJson));
+    }
+
+    /** Unknown values keep every non-null field, and are written back as they were read. */
+    private static void assertUnknownUnion(String json, String expectedJson) throws Exception {
+        Class<?> shapeClass = loadType(SHAPE_TYPE);
+        Object value = objectMapper.readValue(json, shapeClass);
+        for (String isVariantMethodName : List.of("isPoint", "isAliased", "isLabel", "isStatus", "isEmpty")) {
+            assertThat(shapeClass.getMethod(isVariantMethodName).invoke(value)).isEqualTo(false);
+        }
+        String written = objectMapper.writeValueAsString(value);
+        assertThat(written).isEqualTo(objectMapper.readTree(expectedJson).toString());
+        assertThat(objectMapper.readValue(written, shapeClass)).isEqualTo(value);
+    }
+
+    private static void assertRoundTrips(TypeDeclaration typeDeclaration, String json) throws Exception {
+        Class<?> typeClass = loadType(typeDeclaration);
+        Object value = objectMapper.readValue(json, typeClass);
+        String written = objectMapper.writeValueAsString(value);
+        assertThat(objectMapper.readTree(written)).isEqualTo(objectMapper.readTree(json));
+        assertThat(objectMapper.readValue(written, typeClass)).isEqualTo(value);
+    }
+
+    private static Class<?> loadType(TypeDeclaration typeDeclaration) throws Exception {
+        return Class.forName(
+                modelGeneratorResult
+                        .typeFiles()
+                        .get(typeDeclaration.name())
+                        .className()
+                        .reflectionName(),
+                true,
+                classLoader);
+    }
+
+    private static DeclaredTypeName declaredTypeName(String name) {
+        return DeclaredTypeName.builder()
+                .fernFilepath(FernFilepath.valueOf(List.of("com", "fern")))
+                .name(name)
+                .build();
+    }
+}
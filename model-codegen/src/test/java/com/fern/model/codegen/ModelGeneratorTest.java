@@ -0,0 +1,209 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.model.codegen;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fern.codegen.GeneratorContext;
+import com.fern.codegen.GeneratorOptions;
+import com.fern.codegen.IGeneratedFile;
+import com.fern.codegen.IrIndex;
+import com.fern.java.test.TestConstants;
+import com.fern.types.AliasTypeDeclaration;
+import com.fern.types.DeclaredTypeName;
+import com.fern.types.EnumTypeDeclaration;
+import com.fern.types.EnumValue;
+import com.fern.types.ErrorDeclaration;
+import com.fern.types.ErrorName;
+import com.fern.types.FernFilepath;
+import com.fern.types.ObjectProperty;
+import com.fern.types.ObjectTypeDeclaration;
+import com.fern.types.PrimitiveType;
+import com.fern.types.Type;
+import com.fern.types.TypeDeclaration;
+import com.fern.types.TypeReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+public class ModelGeneratorTest {
+
+    @Test
+    public void test_parallelMatchesSerial() {
+        List<TypeDeclaration> typeDeclarations = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            typeDeclarations.add(TypeDeclaration.builder()
+                    .name(declaredTypeName("Object" + i))
+                    .shape(Type._object(ObjectTypeDeclaration.builder()
+                            .addProperties(ObjectProperty.builder()
+                                    .key("id")
+                                    .valueType(TypeReference.primitive(PrimitiveType.STRING))
+                                    .build())
+                            .build()))
+                    .build());
+            typeDeclarations.add(TypeDeclaration.builder()
+                    .name(declaredTypeName("Alias" + i))
+                    .shape(Type.alias(AliasTypeDeclaration.builder()
+                            .aliasOf(TypeReference.primitive(PrimitiveType.LONG))
+                            .build()))
+                    .build());
+            typeDeclarations.add(TypeDeclaration.builder()
+                    .name(declaredTypeName("Enum" + i))
+                    .shape(Type._enum(EnumTypeDeclaration.builder()
+                            .addValues(EnumValue.builder().name("A").value("a").build())
+                            .addValues(EnumValue.builder().name("B").value("b").build())
+                            .build()))
+                    .build());
+        }
+        List<ErrorDeclaration> errorDeclarations = List.of(ErrorDeclaration.builder()
+                .name(ErrorName.builder()
+                        .fernFilepath(FernFilepath.valueOf(List.of("com", "fern")))
+                        .name("NotFoundError")
+                        .build())
+                .type(Type.alias(AliasTypeDeclaration.builder()
+                        .aliasOf(TypeReference.primitive(PrimitiveType.STRING))
+                        .build()))
+                .build());
+        GeneratorContext generatorContext = new GeneratorContext(
+                Optional.of(TestConstants.PACKAGE_PREFIX),
+                typeDeclarations.stream()
+                        .collect(Collectors.toUnmodifiableMap(TypeDeclaration::name, Function.identity())),
+                errorDeclarations.stream()
+                        .collect(Collectors.toUnmodifiableMap(ErrorDeclaration::name, Function.identity())),
+                TestConstants.FERN_CONSTANTS);
+
+        ModelGeneratorResult serialResult = new ModelGenerator(
+                        Collections.emptyList(), typeDeclarations, errorDeclarations, generatorContext)
+                .generate();
+        ExecutorService executorService = new ForkJoinPool(4);
+        ModelGeneratorResult parallelResult;
+        try {
+            parallelResult = new ModelGenerator(
+                            Collections.emptyList(),
+                            typeDeclarations,
+                            errorDeclarations,
+                            generatorContext,
+                            Optional.of(executorService))
+                    .generate();
+        } finally {
+            executorService.shutdown();
+        }
+
+        assertThat(render(parallelResult)).isEqualTo(render(serialResult));
+    }
+
+    @Test
+    public void test_typeFilterSkipsTypes() {
+        TypeDeclaration generatedType = TypeDeclaration.builder()
+                .name(declaredTypeName("Generated"))
+                .shape(Type.alias(AliasTypeDeclaration.builder()
+                        .aliasOf(TypeReference.primitive(PrimitiveType.STRING))
+                        .build()))
+                .build();
+        TypeDeclaration skippedType = TypeDeclaration.builder()
+                .name(declaredTypeName("Skipped"))
+                .shape(Type.alias(AliasTypeDeclaration.builder()
+                        .aliasOf(TypeReference.primitive(PrimitiveType.STRING))
+                        .build()))
+                .build();
+        ModelGeneratorResult modelGeneratorResult = new ModelGenerator(
+                        Collections.emptyList(),
+                        List.of(generatedType, skippedType),
+                        Collections.emptyList(),
+                        TestConstants.GENERATOR_CONTEXT,
+                        Optional.empty(),
+                        typeDeclaration -> !typeDeclaration.equals(skippedType))
+                .generate();
+
+        assertThat(modelGeneratorResult.typeFiles()).containsOnlyKeys(generatedType.name());
+        assertThat(modelGeneratorResult.aliases()).hasSize(1);
+    }
+
+    @Test
+    public void test_jacksonModuleRegistersCodecs() {
+        TypeDeclaration objectType = TypeDeclaration.builder()
+                .name(declaredTypeName("Registered"))
+                .shape(Type._object(ObjectTypeDeclaration.builder()
+                        .addProperties(ObjectProperty.builder()
+                                .key("id")
+                                .valueType(TypeReference.primitive(PrimitiveType.STRING))
+                                .build())
+                        .build()))
+                .build();
+        TypeDeclaration aliasType = TypeDeclaration.builder()
+                .name(declaredTypeName("Unregistered"))
+                .shape(Type.alias(AliasTypeDeclaration.builder()
+                        .aliasOf(TypeReference.primitive(PrimitiveType.STRING))
+                        .build()))
+                .build();
+        ErrorDeclaration errorDeclaration = ErrorDeclaration.builder()
+                .name(ErrorName.builder()
+                        .fernFilepath(FernFilepath.valueOf(List.of("com", "fern")))
+                        .name("ConflictError")
+                        .build())
+                .type(Type._enum(EnumTypeDeclaration.builder()
+                        .addValues(EnumValue.builder().name("A").value("a").build())
+                        .build()))
+                .build();
+        GeneratorContext generatorContext = new GeneratorContext(GeneratorOptions.builder()
+                .irIndex(IrIndex.create(
+                        List.of(objectType, aliasType), List.of(errorDeclaration), Collections.emptyList()))
+                .fernConstants(TestConstants.FERN_CONSTANTS)
+                .packagePrefix(TestConstants.PACKAGE_PREFIX)
+                .jacksonCodecs(true)
+                .build());
+        ModelGeneratorResult modelGeneratorResult = new ModelGenerator(
+                        Collections.emptyList(),
+                        List.of(objectType, aliasType),
+                        List.of(errorDeclaration),
+                        generatorContext,
+                        Optional.empty(),
+                        typeDeclaration -> false)
+                .generate();
+
+        assertThat(modelGeneratorResult.jacksonModule()).isPresent();
+        String jacksonModule = modelGeneratorResult.jacksonModule().get().file().toString();
+        System.out.println(jacksonModule);
+        assertThat(jacksonModule)
+                .contains("addSerializer(Registered.class, Registered.JacksonSerializer.INSTANCE)")
+                .contains("ConflictErrorBody.JacksonDeserializer.INSTANCE")
+                .doesNotContain("Unregistered");
+    }
+
+    private static List<String> render(ModelGeneratorResult modelGeneratorResult) {
+        List<IGeneratedFile> generatedFiles = new ArrayList<>();
+        generatedFiles.addAll(modelGeneratorResult.objects());
+        generatedFiles.addAll(modelGeneratorResult.aliases());
+        generatedFiles.addAll(modelGeneratorResult.enums());
+        generatedFiles.addAll(modelGeneratorResult.errors().values());
+        return generatedFiles.stream()
+                .map(generatedFile -> generatedFile.file().toString())
+                .collect(Collectors.toList());
+    }
+
+    private static DeclaredTypeName declaredTypeName(String name) {
+        return DeclaredTypeName.builder()
+                .fernFilepath(FernFilepath.valueOf(List.of("com", "fern")))
+                .name(name)
+                .build();
+    }
+}
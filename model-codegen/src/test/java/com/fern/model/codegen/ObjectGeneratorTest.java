@@ -15,6 +15,8 @@
  */
 package com.fern.model.codegen;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import com.fern.codegen.GeneratedInterface;
 import com.fern.codegen.GeneratedObject;
 import com.fern.codegen.utils.ClassNameUtils.PackageType;
@@ -155,4 +157,88 @@ public class ObjectGeneratorTest {
         GeneratedObject object = objectGenerator.generate();
         System.out.println(object.file().toString());
     }
+
+    @Test
+    public void test_concrete() {
+        ObjectTypeDeclaration objectTypeDeclaration = ObjectTypeDeclaration.builder()
+                .addProperties(ObjectProperty.builder()
+                        .key("id")
+                        .valueType(TypeReference.primitive(PrimitiveType.STRING))
+                        .build())
+                .addProperties(ObjectProperty.builder()
+                        .key("points")
+                        .valueType(TypeReference.primitive(PrimitiveType.DOUBLE))
+                        .build())
+                .addProperties(ObjectProperty.builder()
+                        .key("docs")
+                        .valueType(TypeReference.container(
+                                ContainerType.optional(TypeReference.primitive(PrimitiveType.STRING))))
+                        .build())
+                .addProperties(ObjectProperty.builder()
+                        .key("tags")
+                        .valueType(TypeReference.container(
+                                ContainerType.list(TypeReference.primitive(PrimitiveType.STRING))))
+                        .build())
+                .build();
+        ObjectGenerator objectGenerator = new ObjectGenerator(
+                DeclaredTypeName.builder()
+                        .fernFilepath(FernFilepath.valueOf(List.of("com", "fern")))
+                        .name("Concrete")
+                        .build(),
+                PackageType.TYPES,
+                objectTypeDeclaration,
+                Collections.emptyList(),
+                Optional.empty(),
+                TestConstants.CONCRETE_GENERATOR_CONTEXT);
+        GeneratedObject generatedObject = objectGenerator.generate();
+        String generatedFile = generatedObject.file().toString();
+        System.out.println(generatedFile);
+        assertThat(generatedFile)
+                .doesNotContain("Value.Immutable")
+                .contains("public final class Concrete")
+                .contains("IdBuildStage")
+                .contains("PointsBuildStage");
+    }
+
+    @Test
+    public void test_jacksonCodecs() {
+        ObjectTypeDeclaration objectTypeDeclaration = ObjectTypeDeclaration.builder()
+                .addProperties(ObjectProperty.builder()
+                        .key("id")
+                        .valueType(TypeReference.primitive(PrimitiveType.STRING))
+                        .build())
+                .addProperties(ObjectProperty.builder()
+                        .key("points")
+                        .valueType(TypeReference.primitive(PrimitiveType.DOUBLE))
+                        .build())
+                .addProperties(ObjectProperty.builder()
+                        .key("docs")
+                        .valueType(TypeReference.container(
+                                ContainerType.optional(TypeReference.primitive(PrimitiveType.STRING))))
+                        .build())
+                .addProperties(ObjectProperty.builder()
+                        .key("tags")
+                        .valueType(TypeReference.container(
+                                ContainerType.list(TypeReference.primitive(PrimitiveType.STRING))))
+                        .build())
+                .build();
+        ObjectGenerator objectGenerator = new ObjectGenerator(
+                DeclaredTypeName.builder()
+                        .fernFilepath(FernFilepath.valueOf(List.of("com", "fern")))
+                        .name("WithCodecs")
+                        .build(),
+                PackageType.TYPES,
+                objectTypeDeclaration,
+                Collections.emptyList(),
+                Optional.empty(),
+                TestConstants.JACKSON_GENERATOR_CONTEXT);
+        GeneratedObject generatedObject = objectGenerator.generate();
+        String generatedFile = generatedObject.file().toString();
+        System.out.println(generatedFile);
+        assertThat(generatedFile)
+                .doesNotContain("@JsonDeserialize")
+                .contains("class JacksonSerializer")
+                .contains("class JacksonDeserializer")
+                .contains("TAGS_TYPE");
+    }
 }
@@ -15,14 +15,20 @@
  */
 package com.fern.model.codegen;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import com.fern.codegen.GeneratedUnion;
 import com.fern.codegen.GeneratorContext;
+import com.fern.codegen.GeneratorOptions;
+import com.fern.codegen.IrIndex;
 import com.fern.codegen.utils.ClassNameUtils.PackageType;
 import com.fern.java.test.TestConstants;
 import com.fern.model.codegen.types.UnionGenerator;
 import com.fern.types.ContainerType;
 import com.fern.types.DeclaredTypeName;
 import com.fern.types.FernFilepath;
+import com.fern.types.ObjectProperty;
+import com.fern.types.ObjectTypeDeclaration;
 import com.fern.types.PrimitiveType;
 import com.fern.types.SingleUnionType;
 import com.fern.types.Type;
@@ -121,4 +127,60 @@ public class UnionGeneratorTest {
         GeneratedUnion generatedUnion = unionGenerator.generate();
         System.out.println(generatedUnion.file().toString());
     }
+
+    @Test
+    public void test_jacksonCodecs() {
+        TypeDeclaration pointTypeDefinition = TypeDeclaration.builder()
+                .name(DeclaredTypeName.builder()
+                        .fernFilepath(FernFilepath.valueOf(List.of("com", "fern")))
+                        .name("Point")
+                        .build())
+                .shape(Type._object(ObjectTypeDeclaration.builder()
+                        .addProperties(ObjectProperty.builder()
+                                .key("x")
+                                .valueType(TypeReference.primitive(PrimitiveType.DOUBLE))
+                                .build())
+                        .build()))
+                .build();
+        UnionTypeDeclaration unionTypeDefinition = UnionTypeDeclaration.builder()
+                .discriminant("_type")
+                .addTypes(SingleUnionType.builder()
+                        .discriminantValue("point")
+                        .valueType(TypeReference.named(pointTypeDefinition.name()))
+                        .build())
+                .addTypes(SingleUnionType.builder()
+                        .discriminantValue("label")
+                        .valueType(TypeReference.primitive(PrimitiveType.STRING))
+                        .build())
+                .addTypes(SingleUnionType.builder()
+                        .discriminantValue("empty")
+                        .valueType(TypeReference._void())
+                        .build())
+                .build();
+        TypeDeclaration shapeTypeDefinition = TypeDeclaration.builder()
+                .name(DeclaredTypeName.builder()
+                        .fernFilepath(FernFilepath.valueOf(List.of("com", "fern")))
+                        .name("Shape")
+                        .build())
+                .shape(Type.union(unionTypeDefinition))
+                .build();
+        GeneratorContext generatorContext = new GeneratorContext(GeneratorOptions.builder()
+                .irIndex(IrIndex.create(
+                        List.of(pointTypeDefinition, shapeTypeDefinition),
+                        Collections.emptyList(),
+                        Collections.emptyList()))
+                .fernConstants(TestConstants.FERN_CONSTANTS)
+                .packagePrefix(TestConstants.PACKAGE_PREFIX)
+                .jacksonCodecs(true)
+                .build());
+        UnionGenerator unionGenerator = new UnionGenerator(
+                shapeTypeDefinition.name(), PackageType.TYPES, unionTypeDefinition, generatorContext);
+        String generatedFile = unionGenerator.generate().file().toString();
+        System.out.println(generatedFile);
+        assertThat(generatedFile)
+                .contains("Point.JacksonSerializer.INSTANCE.serializeFields")
+                .contains("class JacksonDeserializer")
+                .contains("TokenBuffer")
+                .doesNotContain("readTree");
+    }
 }
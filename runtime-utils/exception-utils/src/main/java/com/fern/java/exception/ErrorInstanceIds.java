@@ -0,0 +1,60 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.exception;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates error instance ids with a replaceable {@link ErrorInstanceIdGenerator}. The default generator produces
+ * time-ordered ids in the UUID format from {@link ThreadLocalRandom}, so unlike {@link UUID#randomUUID()} it never
+ * contends on a shared SecureRandom.
+ */
+public final class ErrorInstanceIds {
+
+    private static final ErrorInstanceIdGenerator TIME_ORDERED = ErrorInstanceIds::timeOrderedId;
+
+    private static volatile ErrorInstanceIdGenerator generator = TIME_ORDERED;
+
+    private ErrorInstanceIds() {}
+
+    public static String generate() {
+        return generator.generate();
+    }
+
+    /** Replaces the generator used by every subsequently created error. */
+    public static void setGenerator(ErrorInstanceIdGenerator errorInstanceIdGenerator) {
+        if (errorInstanceIdGenerator == null) {
+            throw new IllegalArgumentException("errorInstanceIdGenerator must not be null");
+        }
+        generator = errorInstanceIdGenerator;
+    }
+
+    public static ErrorInstanceIdGenerator timeOrdered() {
+        return TIME_ORDERED;
+    }
+
+    /**
+     * Lays out the id like a version 7 UUID. The first 48 bits are the Unix time in milliseconds, and the version,
+     * variant and remaining random bits follow.
+     */
+    private static String timeOrderedId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (System.currentTimeMillis() << 16) | 0x7000L | (random.nextLong() & 0x0FFFL);
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+}
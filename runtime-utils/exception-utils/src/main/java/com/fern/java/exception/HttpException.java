@@ -15,13 +15,25 @@
  */
 package com.fern.java.exception;
 
-import java.util.UUID;
-
 public abstract class HttpException extends Exception {
 
+    private final String errorInstanceId = ErrorInstanceIds.generate();
+
+    protected HttpException() {}
+
+    /**
+     * @param enableSuppression whether exceptions can be added as suppressed to this one, as in {@link Throwable}
+     * @param writableStackTrace whether the stack trace is captured. Errors that are thrown on expected control paths
+     *     skip it, because filling in the stack trace dominates the cost of throwing them.
+     */
+    protected HttpException(boolean enableSuppression, boolean writableStackTrace) {
+        super(null, null, enableSuppression, writableStackTrace);
+    }
+
     public abstract int getStatusCode();
 
+    /** The id is generated once, so the id that is logged matches the id in the error response. */
     public final String getErrorInstanceId() {
-        return UUID.randomUUID().toString();
+        return errorInstanceId;
     }
 }
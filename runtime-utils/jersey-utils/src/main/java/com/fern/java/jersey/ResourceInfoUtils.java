@@ -16,13 +16,41 @@
 
 package com.fern.java.jersey;
 
+import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import javax.ws.rs.container.ResourceInfo;
 
 public final class ResourceInfoUtils {
 
+    /** Returned by {@link #getEndpointKey(ResourceInfo)} when the resource method is not declared by an interface. */
+    public static final String UNKNOWN_ENDPOINT_KEY = "";
+
+    /** Endpoint keys of each resource class, keyed by both the interface methods and their implementations. */
+    private static final ClassValue<Map<Method, String>> ENDPOINT_KEYS = new ClassValue<>() {
+        @Override
+        protected Map<Method, String> computeValue(Class<?> resourceClass) {
+            Map<Method, String> endpointKeys = new HashMap<>();
+            for (Class<?> resourceInterface : resourceClass.getInterfaces()) {
+                for (Method interfaceMethod : resourceInterface.getMethods()) {
+                    String endpointKey = getEndpointKey(resourceInterface.getSimpleName(), interfaceMethod.getName());
+                    endpointKeys.putIfAbsent(interfaceMethod, endpointKey);
+                    try {
+                        endpointKeys.putIfAbsent(
+                                resourceClass.getMethod(interfaceMethod.getName(), interfaceMethod.getParameterTypes()),
+                                endpointKey);
+                    } catch (NoSuchMethodException e) {
+                        // Abstract resource classes need not implement every interface method
+                    }
+                }
+            }
+            return endpointKeys;
+        }
+    };
+
     private ResourceInfoUtils() {}
 
     public static List<String> getInterfaceNames(ResourceInfo resourceInfo) {
@@ -34,4 +62,21 @@ public final class ResourceInfoUtils {
     public static String getMethodName(ResourceInfo resourceInfo) {
         return resourceInfo.getResourceMethod().getName();
     }
+
+    /**
+     * Returns the key of the endpoint handling the request, computed once per resource class. Generated exception
+     * mappers switch on it, so mapping an error does not allocate.
+     */
+    public static String getEndpointKey(ResourceInfo resourceInfo) {
+        Class<?> resourceClass = resourceInfo.getResourceClass();
+        Method resourceMethod = resourceInfo.getResourceMethod();
+        if (resourceClass == null || resourceMethod == null) {
+            return UNKNOWN_ENDPOINT_KEY;
+        }
+        return ENDPOINT_KEYS.get(resourceClass).getOrDefault(resourceMethod, UNKNOWN_ENDPOINT_KEY);
+    }
+
+    public static String getEndpointKey(String interfaceName, String methodName) {
+        return interfaceName + "." + methodName;
+    }
 }
@@ -16,13 +16,42 @@
 
 package com.fern.java.spring;
 
+import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import org.springframework.web.method.HandlerMethod;
 
 public final class HandlerMethodUtils {
 
+    /** Returned by {@link #getEndpointKey(HandlerMethod)} when the handler method is not declared by an interface. */
+    public static final String UNKNOWN_ENDPOINT_KEY = "";
+
+    /** Endpoint keys of each controller class, keyed by both the interface methods and their implementations. */
+    private static final ClassValue<Map<Method, String>> ENDPOINT_KEYS = new ClassValue<>() {
+        @Override
+        protected Map<Method, String> computeValue(Class<?> controllerClass) {
+            Map<Method, String> endpointKeys = new HashMap<>();
+            for (Class<?> controllerInterface : controllerClass.getInterfaces()) {
+                for (Method interfaceMethod : controllerInterface.getMethods()) {
+                    String endpointKey = getEndpointKey(controllerInterface.getSimpleName(), interfaceMethod.getName());
+                    endpointKeys.putIfAbsent(interfaceMethod, endpointKey);
+                    try {
+                        endpointKeys.putIfAbsent(
+                                controllerClass.getMethod(
+                                        interfaceMethod.getName(), interfaceMethod.getParameterTypes()),
+                                endpointKey);
+                    } catch (NoSuchMethodException e) {
+                        // Abstract controller classes need not implement every interface method
+                    }
+                }
+            }
+            return endpointKeys;
+        }
+    };
+
     private HandlerMethodUtils() {}
 
     public static List<String> getInterfaceNames(HandlerMethod handlerMethod) {
@@ -34,4 +63,17 @@ public final class HandlerMethodUtils {
     public static String getMethodName(HandlerMethod handlerMethod) {
         return handlerMethod.getMethod().getName();
     }
+
+    /**
+     * Returns the key of the endpoint that handled the request, computed once per controller class. Generated
+     * exception handlers switch on it, so handling an error does not allocate.
+     */
+    public static String getEndpointKey(HandlerMethod handlerMethod) {
+        Method method = handlerMethod.getMethod();
+        return ENDPOINT_KEYS.get(method.getDeclaringClass()).getOrDefault(method, UNKNOWN_ENDPOINT_KEY);
+    }
+
+    public static String getEndpointKey(String interfaceName, String methodName) {
+        return interfaceName + "." + methodName;
+    }
 }
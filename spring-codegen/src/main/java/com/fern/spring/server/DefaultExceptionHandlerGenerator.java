@@ -20,6 +20,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fern.codegen.GeneratedFile;
 import com.fern.codegen.GeneratorContext;
+import com.fern.codegen.ImmutablesMode;
 import com.fern.codegen.utils.ClassNameConstants;
 import com.fern.codegen.utils.ClassNameUtils.PackageType;
 import com.fern.model.codegen.Generator;
@@ -31,8 +32,8 @@ import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeSpec;
 import java.util.Optional;
-import java.util.UUID;
 import javax.lang.model.element.Modifier;
+import org.immutables.value.Value;
 import org.immutables.value.Value.Immutable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -47,15 +48,6 @@ public final class DefaultExceptionHandlerGenerator extends Generator {
     private static final String DEFAULT_EXCEPTION_BODY_CREATE_METHOD_NAME = "create";
     private static final String BODY_LOCAL_VAR_NAME = "body";
     private static final String ERROR_INSTANCE_ID_METHOD_NAME = "errorInstanceId";
-    private static final String RANDOM_UUID_METHOD_NAME;
-
-    static {
-        try {
-            RANDOM_UUID_METHOD_NAME = UUID.class.getMethod("randomUUID").getName();
-        } catch (NoSuchMethodException e) {
-            throw new RuntimeException("Failed to find UUID.randomUUID method name", e);
-        }
-    }
 
     private final ClassName defaultExceptionMapperClassName;
     private final ClassName defaultExceptionBodyClassname;
@@ -71,7 +63,9 @@ public final class DefaultExceptionHandlerGenerator extends Generator {
 
     @Override
     public GeneratedFile generate() {
-        TypeSpec defaultResponseBodyClass = generateDefaultResponseBodyNestedClass();
+        TypeSpec defaultResponseBodyClass = generatorContext.getImmutablesMode() == ImmutablesMode.CONCRETE
+                ? generateConcreteDefaultResponseBodyNestedClass()
+                : generateDefaultResponseBodyNestedClass();
         TypeSpec defaultExceptionMapperTypeSpec = TypeSpec.classBuilder(defaultExceptionMapperClassName)
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .superclass(ResponseEntityExceptionHandler.class)
@@ -151,8 +145,12 @@ public final class DefaultExceptionHandlerGenerator extends Generator {
                                         "$S",
                                         generatorContext.getFernConstants().errorInstanceIdKey())
                                 .build())
+                        .addAnnotation(Value.Derived.class)
                         .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
-                        .addStatement("return $T.$N().toString()", UUID.class, RANDOM_UUID_METHOD_NAME)
+                        .addStatement(
+                                "return $T.$L()",
+                                ClassNameConstants.ERROR_INSTANCE_IDS_CLASSNAME,
+                                ClassNameConstants.ERROR_INSTANCE_IDS_GENERATE_METHOD_NAME)
                         .returns(String.class)
                         .build())
                 .addMethod(MethodSpec.methodBuilder(DEFAULT_EXCEPTION_BODY_CREATE_METHOD_NAME)
@@ -162,4 +160,48 @@ public final class DefaultExceptionHandlerGenerator extends Generator {
                         .build())
                 .build();
     }
+
+    private TypeSpec generateConcreteDefaultResponseBodyNestedClass() {
+        return TypeSpec.classBuilder(defaultExceptionBodyClassname)
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .addField(String.class, ERROR_INSTANCE_ID_METHOD_NAME, Modifier.PRIVATE, Modifier.FINAL)
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PRIVATE)
+                        .addParameter(String.class, ERROR_INSTANCE_ID_METHOD_NAME)
+                        .addStatement("this.$L = $L", ERROR_INSTANCE_ID_METHOD_NAME, ERROR_INSTANCE_ID_METHOD_NAME)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("errorType")
+                        .addAnnotation(AnnotationSpec.builder(JsonProperty.class)
+                                .addMember(
+                                        "value",
+                                        "$S",
+                                        generatorContext.getFernConstants().errorDiscriminant())
+                                .build())
+                        .addModifiers(Modifier.PUBLIC)
+                        .addStatement(
+                                "return $S", generatorContext.getFernConstants().unknownErrorDiscriminantValue())
+                        .returns(String.class)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder(ERROR_INSTANCE_ID_METHOD_NAME)
+                        .addAnnotation(AnnotationSpec.builder(JsonProperty.class)
+                                .addMember(
+                                        "value",
+                                        "$S",
+                                        generatorContext.getFernConstants().errorInstanceIdKey())
+                                .build())
+                        .addModifiers(Modifier.PUBLIC)
+                        .addStatement("return $L", ERROR_INSTANCE_ID_METHOD_NAME)
+                        .returns(String.class)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder(DEFAULT_EXCEPTION_BODY_CREATE_METHOD_NAME)
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addStatement(
+                                "return new $T($T.$L())",
+                                defaultExceptionBodyClassname,
+                                ClassNameConstants.ERROR_INSTANCE_IDS_CLASSNAME,
+                                ClassNameConstants.ERROR_INSTANCE_IDS_GENERATE_METHOD_NAME)
+                        .returns(defaultExceptionBodyClassname)
+                        .build())
+                .build();
+    }
 }
@@ -32,14 +32,17 @@ import com.fern.types.services.HttpEndpoint;
 import com.fern.types.services.HttpService;
 import com.squareup.javapoet.AnnotationSpec;
 import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeSpec;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import javax.lang.model.element.Modifier;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
@@ -59,6 +62,18 @@ public final class ErrorExceptionHandlerGenerator extends Generator {
 
     private static final String HANDLER_METHOD_PARAMETER_NAME = "handlerMethod";
 
+    private static final String GET_ENDPOINT_KEY_METHOD_NAME;
+
+    static {
+        try {
+            GET_ENDPOINT_KEY_METHOD_NAME = HandlerMethodUtils.class
+                    .getMethod("getEndpointKey", HandlerMethod.class)
+                    .getName();
+        } catch (NoSuchMethodException e) {
+            throw new RuntimeException("Failed to find HandlerMethodUtils.getEndpointKey method name", e);
+        }
+    }
+
     private final Map<HttpService, List<HttpEndpoint>> endpointsThrowingError;
     private final Map<HttpService, Map<EndpointId, GeneratedEndpointModel>> generatedEndpointModels;
     private final Map<HttpService, GeneratedHttpServiceServer> generatedHttpServers;
@@ -135,28 +150,26 @@ public final class ErrorExceptionHandlerGenerator extends Generator {
                 ClassNameConstants.HTTP_EXCEPTION_ERROR_INSTANCE_ID_METHOD_NAME,
                 EXCEPTION_PARAMETER_NAME);
 
-        boolean firstServiceCondition = true;
+        CodeBlock.Builder dispatchCodeBlockBuilder = CodeBlock.builder()
+                .beginControlFlow(
+                        "switch ($T.$L($L))",
+                        HandlerMethodUtils.class,
+                        GET_ENDPOINT_KEY_METHOD_NAME,
+                        HANDLER_METHOD_PARAMETER_NAME);
+        // Services with the same simple name share keys, so only the first endpoint with a key is dispatched to
+        Set<String> endpointKeys = new HashSet<>();
         for (Map.Entry<HttpService, List<HttpEndpoint>> entry : endpointsThrowingError.entrySet()) {
             HttpService httpService = entry.getKey();
             GeneratedHttpServiceServer generatedHttpServiceServer = generatedHttpServers.get(httpService);
-            toResponseMethodBuilder.beginControlFlow(
-                    firstServiceCondition ? "if ($T.$L($L).contains($S))" : "else if ($T.$L($L).contains($S))",
-                    HandlerMethodUtils.class,
-                    ClassNameConstants.RESOURCE_INFO_GET_INTERFACE_NAMES_METHOD_NAME,
-                    HANDLER_METHOD_PARAMETER_NAME,
-                    generatedHttpServiceServer.className().simpleName());
-
-            boolean firstEndpointCondition = true;
             for (HttpEndpoint httpEndpoint : entry.getValue()) {
                 EndpointId endpointId = httpEndpoint.endpointId();
                 MethodSpec endpointMethodSpec =
                         generatedHttpServiceServer.methodsByEndpointId().get(endpointId);
-                toResponseMethodBuilder.beginControlFlow(
-                        firstEndpointCondition ? "if ($T.$L($L).contains($S))" : "else if ($T.$L($L).contains($S))",
-                        HandlerMethodUtils.class,
-                        ClassNameConstants.RESOURCE_INFO_GET_METHOD_NAME_METHOD_NAME,
-                        HANDLER_METHOD_PARAMETER_NAME,
-                        endpointMethodSpec.name);
+                String endpointKey = HandlerMethodUtils.getEndpointKey(
+                        generatedHttpServiceServer.className().simpleName(), endpointMethodSpec.name);
+                if (!endpointKeys.add(endpointKey)) {
+                    continue;
+                }
                 GeneratedEndpointModel generatedEndpointModel =
                         generatedEndpointModels.get(httpService).get(endpointId);
                 GeneratedEndpointError generatedEndpointError = generatedEndpointModel
@@ -164,28 +177,32 @@ public final class ErrorExceptionHandlerGenerator extends Generator {
                         .orElseThrow(() -> new IllegalStateException(
                                 "Expected endpoint error to exist, but not found. EndpointId=" + endpointId));
 
-                toResponseMethodBuilder.addStatement(
-                        "return new $T<>($T.$L($L), $T.valueOf($L.$L()))",
-                        ResponseEntity.class,
-                        generatedEndpointError.className(),
-                        generatedEndpointError
-                                .constructorsByResponseError()
-                                .get(generatedError.errorDeclaration().name())
-                                .name,
-                        EXCEPTION_PARAMETER_NAME,
-                        HttpStatus.class,
-                        EXCEPTION_PARAMETER_NAME,
-                        ErrorGenerator.GET_STATUS_CODE_METHOD_NAME);
-
-                toResponseMethodBuilder.endControlFlow();
-                firstEndpointCondition = false;
+                dispatchCodeBlockBuilder
+                        .add("case $S:\n", endpointKey)
+                        .indent()
+                        .addStatement(
+                                "return new $T<>($T.$L($L), $T.valueOf($L.$L()))",
+                                ResponseEntity.class,
+                                generatedEndpointError.className(),
+                                generatedEndpointError
+                                        .constructorsByResponseError()
+                                        .get(generatedError.errorDeclaration().name())
+                                        .name,
+                                EXCEPTION_PARAMETER_NAME,
+                                HttpStatus.class,
+                                EXCEPTION_PARAMETER_NAME,
+                                ErrorGenerator.GET_STATUS_CODE_METHOD_NAME)
+                        .unindent();
             }
-
-            toResponseMethodBuilder.endControlFlow();
-            firstServiceCondition = false;
         }
-
-        toResponseMethodBuilder.addStatement("return null");
+        dispatchCodeBlockBuilder
+                .add("default:\n")
+                .indent()
+                .addStatement("return null")
+                .unindent()
+                .endControlFlow();
+
+        toResponseMethodBuilder.addCode(dispatchCodeBlockBuilder.build());
         return toResponseMethodBuilder.build();
     }
 }
@@ -0,0 +1,86 @@
+/*
+ * (c) Copyright 2022 Birch Solutions Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fern.java.test;
+
+import com.squareup.javapoet.JavaFile;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+/** Compiles generated files against the classpath of the running tests, without annotation processing. */
+public final class GeneratedSources {
+
+    private GeneratedSources() {}
+
+    /** Compiles the files under the directory and returns a class loader for them, failing on any compile error. */
+    public static ClassLoader compile(Path directory, List<JavaFile> javaFiles) {
+        try {
+            Path sourceDirectory = directory.resolve("src");
+            Path classesDirectory = Files.createDirectories(directory.resolve("classes"));
+            for (JavaFile javaFile : javaFiles) {
+                javaFile.writeTo(sourceDirectory);
+            }
+            List<File> sourceFiles;
+            try (Stream<Path> paths = Files.walk(sourceDirectory)) {
+                sourceFiles = paths.filter(path -> path.toString().endsWith(".java"))
+                        .map(Path::toFile)
+                        .collect(Collectors.toList());
+            }
+            JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+            DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+            boolean success;
+            try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+                success = compiler.getTask(
+                                null,
+                                fileManager,
+                                diagnostics,
+                                List.of(
+                                        "-proc:none",
+                                        "-classpath",
+                                        System.getProperty("java.class.path"),
+                                        "-d",
+                                        classesDirectory.toString()),
+                                null,
+                                fileManager.getJavaFileObjectsFromFiles(sourceFiles))
+                        .call();
+            }
+            if (!success) {
+                throw new IllegalStateException("Generated sources failed to compile:\n"
+                        + diagnostics.getDiagnostics().stream()
+                                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                                .map(diagnostic -> diagnostic.getMessage(Locale.ROOT))
+                                .collect(Collectors.joining("\n")));
+            }
+            return new URLClassLoader(
+                    new URL[] {classesDirectory.toUri().toURL()}, GeneratedSources.class.getClassLoader());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to compile generated sources", e);
+        }
+    }
+}
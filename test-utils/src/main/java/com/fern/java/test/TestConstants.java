@@ -16,6 +16,9 @@
 package com.fern.java.test;
 
 import com.fern.codegen.GeneratorContext;
+import com.fern.codegen.GeneratorOptions;
+import com.fern.codegen.ImmutablesMode;
+import com.fern.codegen.IrIndex;
 import com.fern.types.FernConstants;
 import java.util.Collections;
 import java.util.Optional;
@@ -33,5 +36,19 @@ public final class TestConstants {
     public static final GeneratorContext GENERATOR_CONTEXT = new GeneratorContext(
             Optional.of(PACKAGE_PREFIX), Collections.emptyMap(), Collections.emptyMap(), FERN_CONSTANTS);
 
+    public static final GeneratorContext CONCRETE_GENERATOR_CONTEXT = new GeneratorContext(GeneratorOptions.builder()
+            .irIndex(IrIndex.create(Collections.emptyList(), Collections.emptyList(), Collections.emptyList()))
+            .fernConstants(FERN_CONSTANTS)
+            .packagePrefix(PACKAGE_PREFIX)
+            .immutablesMode(ImmutablesMode.CONCRETE)
+            .build());
+
+    public static final GeneratorContext JACKSON_GENERATOR_CONTEXT = new GeneratorContext(GeneratorOptions.builder()
+            .irIndex(IrIndex.create(Collections.emptyList(), Collections.emptyList(), Collections.emptyList()))
+            .fernConstants(FERN_CONSTANTS)
+            .packagePrefix(PACKAGE_PREFIX)
+            .jacksonCodecs(true)
+            .build());
+
     private TestConstants() {}
 }